@@ -0,0 +1,59 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jxe.benchmarks;
+
+import org.apache.xerces.jaxp.SAXParserFactoryImpl;
+
+import javax.xml.parsers.SAXParserFactory;
+import java.util.function.Supplier;
+
+/**
+ * The parser backends that are benchmarked.
+ */
+
+public enum JXEBenchmarkBackend
+{
+  /**
+   * The parser built into the JDK.
+   */
+
+  JDK {
+    @Override
+    Supplier<SAXParserFactory> parsers()
+    {
+      return SAXParserFactory::newDefaultNSInstance;
+    }
+  },
+
+  /**
+   * Apache Xerces.
+   */
+
+  XERCES {
+    @Override
+    Supplier<SAXParserFactory> parsers()
+    {
+      return () -> {
+        final var factory = new SAXParserFactoryImpl();
+        factory.setNamespaceAware(true);
+        return factory;
+      };
+    }
+  };
+
+  abstract Supplier<SAXParserFactory> parsers();
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jxe.benchmarks;
+
+/**
+ * The sizes of generated documents.
+ */
+
+public enum JXEBenchmarkDocumentSize
+{
+  /**
+   * A document containing a single record (a few hundred bytes).
+   */
+
+  SMALL(1),
+
+  /**
+   * A document containing a thousand records (roughly 80KiB).
+   */
+
+  MEDIUM(1_000),
+
+  /**
+   * A document containing half a million records (roughly 40MiB).
+   */
+
+  LARGE(500_000);
+
+  private final int records;
+
+  JXEBenchmarkDocumentSize(
+    final int inRecords)
+  {
+    this.records = inRecords;
+  }
+
+  int records()
+  {
+    return this.records;
+  }
+}
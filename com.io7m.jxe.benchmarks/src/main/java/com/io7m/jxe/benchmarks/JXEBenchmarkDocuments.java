@@ -0,0 +1,183 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jxe.benchmarks;
+
+import com.io7m.jxe.core.JXESchemaDefinition;
+import com.io7m.jxe.core.JXESchemaDefinitions;
+import com.io7m.jxe.core.JXESchemaResolutionMappings;
+import org.xml.sax.Attributes;
+import org.xml.sax.ErrorHandler;
+import org.xml.sax.SAXException;
+import org.xml.sax.SAXParseException;
+import org.xml.sax.helpers.DefaultHandler;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * Functions to generate the documents and schemas used by benchmarks.
+ */
+
+final class JXEBenchmarkDocuments
+{
+  static final URI RECORDS_NAMESPACE =
+    URI.create("urn:com.io7m.jxe.benchmarks:records:1:0");
+
+  static final String RECORDS_FILE_IDENTIFIER =
+    "/records_1_0.xsd";
+
+  private JXEBenchmarkDocuments()
+  {
+
+  }
+
+  /**
+   * Copy the records schema into the given directory and return mappings
+   * that refer to it.
+   */
+
+  static JXESchemaResolutionMappings mappings(
+    final Path directory)
+    throws IOException
+  {
+    final var file = directory.resolve("records.xsd");
+    try (InputStream stream =
+           JXEBenchmarkDocuments.class.getResourceAsStream("records.xsd")) {
+      Files.copy(stream, file);
+    }
+
+    return JXESchemaDefinitions.mappingsOf(
+      JXESchemaDefinition.of(
+        RECORDS_NAMESPACE,
+        RECORDS_FILE_IDENTIFIER,
+        file.toUri().toURL())
+    );
+  }
+
+  /**
+   * Write a valid document of the given size into the given directory.
+   */
+
+  static Path write(
+    final Path directory,
+    final JXEBenchmarkDocumentSize size)
+    throws IOException
+  {
+    final var file =
+      directory.resolve("records-%s.xml".formatted(size.name()));
+
+    try (BufferedWriter writer =
+           Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+      writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+      writer.write("<records xmlns=\"");
+      writer.write(RECORDS_NAMESPACE.toString());
+      writer.write("\">\n");
+
+      for (int index = 1; index <= size.records(); ++index) {
+        writer.write("  <record id=\"");
+        writer.write(Integer.toString(index));
+        writer.write("\"><name>Record ");
+        writer.write(Integer.toString(index));
+        writer.write("</name><value>");
+        writer.write(Integer.toString(index * 31));
+        writer.write("</value></record>\n");
+      }
+
+      writer.write("</records>\n");
+    }
+    return file;
+  }
+
+  static Path createDirectory()
+    throws IOException
+  {
+    return Files.createTempDirectory("jxe-benchmarks-");
+  }
+
+  static void deleteDirectory(
+    final Path directory)
+    throws IOException
+  {
+    try (Stream<Path> paths = Files.walk(directory)) {
+      for (final var path : paths.sorted(Comparator.reverseOrder()).toList()) {
+        Files.deleteIfExists(path);
+      }
+    }
+  }
+
+  /**
+   * A content handler that counts elements, and an error handler that treats
+   * every error as fatal so that validation failures cannot go unnoticed.
+   */
+
+  static final class CountingHandler extends DefaultHandler
+    implements ErrorHandler
+  {
+    private long elements;
+
+    CountingHandler()
+    {
+
+    }
+
+    long elements()
+    {
+      return this.elements;
+    }
+
+    @Override
+    public void startElement(
+      final String uri,
+      final String localName,
+      final String qName,
+      final Attributes attributes)
+    {
+      ++this.elements;
+    }
+
+    @Override
+    public void warning(
+      final SAXParseException e)
+      throws SAXException
+    {
+      throw e;
+    }
+
+    @Override
+    public void error(
+      final SAXParseException e)
+      throws SAXException
+    {
+      throw e;
+    }
+
+    @Override
+    public void fatalError(
+      final SAXParseException e)
+      throws SAXException
+    {
+      throw e;
+    }
+  }
+}
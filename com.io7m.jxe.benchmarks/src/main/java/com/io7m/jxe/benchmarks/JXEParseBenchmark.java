@@ -0,0 +1,192 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jxe.benchmarks;
+
+import com.io7m.jxe.core.JXEHardenedSAXParsers;
+import com.io7m.jxe.core.JXEReaderTemplateType;
+import com.io7m.jxe.core.JXESAXRecorder;
+import com.io7m.jxe.core.JXESAXRecording;
+import com.io7m.jxe.core.JXEXInclude;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end parsing, with and without validation, of generated documents
+ * of various sizes, and replay of a recorded parse of the same documents.
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class JXEParseBenchmark
+{
+  @Param({"JDK", "XERCES"})
+  private JXEBenchmarkBackend backend;
+
+  @Param({"SMALL", "MEDIUM", "LARGE"})
+  private JXEBenchmarkDocumentSize size;
+
+  private Path directory;
+  private String documentSystemId;
+  private JXEReaderTemplateType nonValidating;
+  private JXEReaderTemplateType validating;
+  private JXESAXRecording recording;
+
+  /**
+   * Construct a benchmark.
+   */
+
+  public JXEParseBenchmark()
+  {
+
+  }
+
+  /**
+   * Generate the document and prepare reader templates.
+   *
+   * @throws Exception On errors
+   */
+
+  @Setup(Level.Trial)
+  public void setup()
+    throws Exception
+  {
+    this.directory =
+      JXEBenchmarkDocuments.createDirectory();
+
+    final var mappings =
+      JXEBenchmarkDocuments.mappings(this.directory);
+
+    this.documentSystemId =
+      JXEBenchmarkDocuments.write(this.directory, this.size)
+        .getFileName()
+        .toString();
+
+    final var parsers =
+      new JXEHardenedSAXParsers(this.backend.parsers());
+
+    this.nonValidating =
+      parsers.createNonValidatingReaderTemplate(
+        Optional.of(this.directory),
+        JXEXInclude.XINCLUDE_DISABLED
+      );
+    this.validating =
+      parsers.createValidatingReaderTemplate(
+        Optional.of(this.directory),
+        JXEXInclude.XINCLUDE_DISABLED,
+        mappings
+      );
+
+    final var recorder = JXESAXRecorder.create();
+    final var reader = this.validating.newReader();
+    reader.setContentHandler(recorder);
+    final var source = this.validating.openDocument(this.documentSystemId);
+    try (var ignored = source.getByteStream()) {
+      reader.parse(source);
+    }
+    this.recording = recorder.recording();
+  }
+
+  /**
+   * Delete generated files.
+   *
+   * @throws Exception On errors
+   */
+
+  @TearDown(Level.Trial)
+  public void tearDown()
+    throws Exception
+  {
+    JXEBenchmarkDocuments.deleteDirectory(this.directory);
+  }
+
+  /**
+   * @return The number of elements parsed
+   *
+   * @throws Exception On errors
+   */
+
+  @Benchmark
+  public long parseNonValidating()
+    throws Exception
+  {
+    return this.parse(this.nonValidating);
+  }
+
+  /**
+   * @return The number of elements parsed
+   *
+   * @throws Exception On errors
+   */
+
+  @Benchmark
+  public long parseValidating()
+    throws Exception
+  {
+    return this.parse(this.validating);
+  }
+
+  /**
+   * @return The number of elements replayed from a recording of a
+   *         validated parse
+   *
+   * @throws Exception On errors
+   */
+
+  @Benchmark
+  public long replayRecording()
+    throws Exception
+  {
+    final var handler = new JXEBenchmarkDocuments.CountingHandler();
+    this.recording.replay(handler);
+    return handler.elements();
+  }
+
+  private long parse(
+    final JXEReaderTemplateType template)
+    throws Exception
+  {
+    final var handler = new JXEBenchmarkDocuments.CountingHandler();
+    final var reader = template.newReader();
+    reader.setContentHandler(handler);
+    reader.setErrorHandler(handler);
+
+    final var source = template.openDocument(this.documentSystemId);
+    try (var ignored = source.getByteStream()) {
+      reader.parse(source);
+    }
+    return handler.elements();
+  }
+}
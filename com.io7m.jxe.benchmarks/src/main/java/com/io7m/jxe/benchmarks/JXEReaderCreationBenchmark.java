@@ -0,0 +1,154 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jxe.benchmarks;
+
+import com.io7m.jxe.core.JXEHardenedSAXParsers;
+import com.io7m.jxe.core.JXESchemaResolutionMappings;
+import com.io7m.jxe.core.JXEValidatingReaderTemplate;
+import com.io7m.jxe.core.JXEXInclude;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.xml.sax.XMLReader;
+
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The cost of creating hardened readers, both directly from a provider and
+ * from a prepared template.
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class JXEReaderCreationBenchmark
+{
+  @Param({"JDK", "XERCES"})
+  private JXEBenchmarkBackend backend;
+
+  private Path directory;
+  private JXEHardenedSAXParsers parsers;
+  private JXESchemaResolutionMappings mappings;
+  private JXEValidatingReaderTemplate template;
+
+  /**
+   * Construct a benchmark.
+   */
+
+  public JXEReaderCreationBenchmark()
+  {
+
+  }
+
+  /**
+   * Prepare the provider and schemas.
+   *
+   * @throws Exception On errors
+   */
+
+  @Setup(Level.Trial)
+  public void setup()
+    throws Exception
+  {
+    this.directory =
+      JXEBenchmarkDocuments.createDirectory();
+    this.mappings =
+      JXEBenchmarkDocuments.mappings(this.directory);
+    this.parsers =
+      new JXEHardenedSAXParsers(this.backend.parsers());
+    this.template =
+      this.parsers.createValidatingReaderTemplate(
+        Optional.of(this.directory),
+        JXEXInclude.XINCLUDE_DISABLED,
+        this.mappings
+      );
+  }
+
+  /**
+   * Delete generated files.
+   *
+   * @throws Exception On errors
+   */
+
+  @TearDown(Level.Trial)
+  public void tearDown()
+    throws Exception
+  {
+    JXEBenchmarkDocuments.deleteDirectory(this.directory);
+  }
+
+  /**
+   * @return A new non-validating reader
+   *
+   * @throws Exception On errors
+   */
+
+  @Benchmark
+  public XMLReader createXMLReaderNonValidating()
+    throws Exception
+  {
+    return this.parsers.createXMLReaderNonValidating(
+      Optional.of(this.directory),
+      JXEXInclude.XINCLUDE_DISABLED
+    );
+  }
+
+  /**
+   * @return A new validating reader
+   *
+   * @throws Exception On errors
+   */
+
+  @Benchmark
+  public XMLReader createXMLReader()
+    throws Exception
+  {
+    return this.parsers.createXMLReader(
+      Optional.of(this.directory),
+      JXEXInclude.XINCLUDE_DISABLED,
+      this.mappings
+    );
+  }
+
+  /**
+   * @return A new validating reader from a prepared template
+   *
+   * @throws Exception On errors
+   */
+
+  @Benchmark
+  public XMLReader createXMLReaderFromTemplate()
+    throws Exception
+  {
+    return this.template.newReader();
+  }
+}
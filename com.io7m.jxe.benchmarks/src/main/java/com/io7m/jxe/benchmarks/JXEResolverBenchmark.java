@@ -0,0 +1,182 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jxe.benchmarks;
+
+import com.io7m.jxe.core.JXEHardenedDispatchingResolver;
+import com.io7m.jxe.core.JXESchemaContentCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.xml.sax.InputSource;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The throughput of entity resolution, both for schemas held in the
+ * resolver's mappings and for files resolved from the base directory.
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class JXEResolverBenchmark
+{
+  private Path directory;
+  private JXEHardenedDispatchingResolver resolver;
+  private JXEHardenedDispatchingResolver resolverCached;
+  private String documentSystemId;
+
+  /**
+   * Construct a benchmark.
+   */
+
+  public JXEResolverBenchmark()
+  {
+
+  }
+
+  /**
+   * Prepare the resolvers.
+   *
+   * @throws Exception On errors
+   */
+
+  @Setup(Level.Trial)
+  public void setup()
+    throws Exception
+  {
+    this.directory =
+      JXEBenchmarkDocuments.createDirectory();
+
+    final var mappings =
+      JXEBenchmarkDocuments.mappings(this.directory);
+    final var contents =
+      JXESchemaContentCache.create();
+    contents.preload(mappings);
+
+    this.resolver =
+      JXEHardenedDispatchingResolver.create(
+        Optional.of(this.directory), mappings);
+    this.resolverCached =
+      JXEHardenedDispatchingResolver.create(
+        Optional.of(this.directory), mappings, contents);
+
+    this.documentSystemId =
+      JXEBenchmarkDocuments.write(
+          this.directory, JXEBenchmarkDocumentSize.SMALL)
+        .getFileName()
+        .toString();
+  }
+
+  /**
+   * Delete generated files.
+   *
+   * @throws Exception On errors
+   */
+
+  @TearDown(Level.Trial)
+  public void tearDown()
+    throws Exception
+  {
+    JXEBenchmarkDocuments.deleteDirectory(this.directory);
+  }
+
+  /**
+   * Resolve a schema by file identifier, reading it from its location.
+   *
+   * @param blackhole The blackhole
+   *
+   * @throws Exception On errors
+   */
+
+  @Benchmark
+  public void resolveSchema(
+    final Blackhole blackhole)
+    throws Exception
+  {
+    consume(
+      blackhole,
+      this.resolver.resolveEntity(
+        null, null, null, JXEBenchmarkDocuments.RECORDS_FILE_IDENTIFIER)
+    );
+  }
+
+  /**
+   * Resolve a schema by file identifier, serving it from a content cache.
+   *
+   * @param blackhole The blackhole
+   *
+   * @throws Exception On errors
+   */
+
+  @Benchmark
+  public void resolveSchemaCached(
+    final Blackhole blackhole)
+    throws Exception
+  {
+    consume(
+      blackhole,
+      this.resolverCached.resolveEntity(
+        null, null, null, JXEBenchmarkDocuments.RECORDS_FILE_IDENTIFIER)
+    );
+  }
+
+  /**
+   * Resolve a file relative to the base directory.
+   *
+   * @param blackhole The blackhole
+   *
+   * @throws Exception On errors
+   */
+
+  @Benchmark
+  public void resolveFile(
+    final Blackhole blackhole)
+    throws Exception
+  {
+    consume(
+      blackhole,
+      this.resolver.resolveEntity(null, null, null, this.documentSystemId)
+    );
+  }
+
+  private static void consume(
+    final Blackhole blackhole,
+    final InputSource source)
+    throws IOException
+  {
+    try (var stream = source.getByteStream()) {
+      blackhole.consume(stream.read());
+    }
+  }
+}
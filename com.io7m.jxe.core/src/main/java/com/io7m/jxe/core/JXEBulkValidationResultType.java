@@ -0,0 +1,64 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jxe.core;
+
+import com.io7m.immutables.styles.ImmutablesStyleType;
+import org.immutables.value.Value;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * The result of validating a single document in a batch.
+ */
+
+@ImmutablesStyleType
+@Value.Immutable
+public interface JXEBulkValidationResultType
+{
+  /**
+   * @return The system ID of the document
+   */
+
+  @Value.Parameter
+  String systemId();
+
+  /**
+   * @return The time taken to parse and validate the document, including
+   *         the time taken to open it but not the time spent waiting for
+   *         a reader
+   */
+
+  @Value.Parameter
+  Duration duration();
+
+  /**
+   * @return The error that caused the document to be rejected, if any
+   */
+
+  @Value.Parameter
+  Optional<Exception> error();
+
+  /**
+   * @return {@code true} if the document is well-formed and valid
+   */
+
+  default boolean isValid()
+  {
+    return this.error().isEmpty();
+  }
+}
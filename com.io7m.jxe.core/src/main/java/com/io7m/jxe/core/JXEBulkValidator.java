@@ -0,0 +1,270 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jxe.core;
+
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+
+/**
+ * <p>A validator that validates batches of documents in parallel against a
+ * single validating reader template.</p>
+ *
+ * <p>All documents are validated using readers borrowed from a pool created
+ * from the template, and so the compiled schema (and, on Xerces, the parsed
+ * grammars) are shared between all workers. At most
+ * {@link JXEBulkValidatorConfigurationType#maximumConcurrency()} documents
+ * are validated at once. Validators are safe to share between threads.</p>
+ */
+
+public final class JXEBulkValidator
+{
+  private final JXEBulkValidatorConfiguration configuration;
+  private final JXEXMLReaderPool pool;
+
+  private JXEBulkValidator(
+    final JXEBulkValidatorConfiguration inConfiguration,
+    final JXEXMLReaderPool inPool)
+  {
+    this.configuration =
+      Objects.requireNonNull(inConfiguration, "configuration");
+    this.pool =
+      Objects.requireNonNull(inPool, "pool");
+  }
+
+  /**
+   * Create a bulk validator.
+   *
+   * @param configuration The validator configuration
+   *
+   * @return A new validator
+   */
+
+  public static JXEBulkValidator create(
+    final JXEBulkValidatorConfiguration configuration)
+  {
+    Objects.requireNonNull(configuration, "configuration");
+
+    return new JXEBulkValidator(
+      configuration,
+      configuration.template().createPool(configuration.maximumConcurrency())
+    );
+  }
+
+  /**
+   * @return The validator configuration
+   */
+
+  public JXEBulkValidatorConfiguration configuration()
+  {
+    return this.configuration;
+  }
+
+  /**
+   * Validate the files at the given paths. Each file is opened by the worker
+   * that validates it, so at most
+   * {@link JXEBulkValidatorConfigurationType#maximumConcurrency()} files
+   * are open at once.
+   *
+   * @param paths The files
+   *
+   * @return One result per file, in the order of the given paths
+   *
+   * @throws InterruptedException If interrupted whilst waiting
+   */
+
+  public List<JXEBulkValidationResult> validatePaths(
+    final Collection<Path> paths)
+    throws InterruptedException
+  {
+    Objects.requireNonNull(paths, "paths");
+
+    final var tasks = new ArrayList<Task>(paths.size());
+    for (final var path : paths) {
+      Objects.requireNonNull(path, "path");
+      final var systemId = path.toUri().toString();
+      tasks.add(new Task(systemId, () -> {
+        final var source = new InputSource(Files.newInputStream(path));
+        source.setSystemId(systemId);
+        return source;
+      }));
+    }
+    return this.run(tasks);
+  }
+
+  /**
+   * Validate the given input sources. Each source is consumed by the
+   * validator; byte and character streams are closed once validation of the
+   * corresponding document has completed.
+   *
+   * @param sources The input sources
+   *
+   * @return One result per source, in the order of the given sources
+   *
+   * @throws InterruptedException If interrupted whilst waiting
+   */
+
+  public List<JXEBulkValidationResult> validateSources(
+    final Collection<InputSource> sources)
+    throws InterruptedException
+  {
+    Objects.requireNonNull(sources, "sources");
+
+    final var tasks = new ArrayList<Task>(sources.size());
+    for (final var source : sources) {
+      Objects.requireNonNull(source, "source");
+      final var systemId =
+        Objects.requireNonNullElse(source.getSystemId(), "");
+      tasks.add(new Task(systemId, () -> source));
+    }
+    return this.run(tasks);
+  }
+
+  private List<JXEBulkValidationResult> run(
+    final List<Task> tasks)
+    throws InterruptedException
+  {
+    final var specified = this.configuration.executor();
+    final ExecutorService owned;
+    if (specified.isPresent()) {
+      owned = null;
+    } else {
+      owned = JXEExecutors.newVirtualThreadPerTaskExecutor(
+        "com.io7m.jxe.core.bulk");
+    }
+
+    final var executor = specified.isPresent() ? specified.get() : owned;
+    final var permits =
+      new Semaphore(this.configuration.maximumConcurrency());
+    final var futures =
+      new ArrayList<CompletableFuture<JXEBulkValidationResult>>(tasks.size());
+
+    try {
+      for (final var task : tasks) {
+        permits.acquire();
+        try {
+          futures.add(CompletableFuture.supplyAsync(() -> {
+            try {
+              return this.validateOne(task);
+            } finally {
+              permits.release();
+            }
+          }, executor));
+        } catch (final RejectedExecutionException e) {
+          permits.release();
+          throw e;
+        }
+      }
+
+      final var results =
+        new ArrayList<JXEBulkValidationResult>(futures.size());
+      for (final var future : futures) {
+        results.add(future.join());
+      }
+      return List.copyOf(results);
+    } finally {
+      if (owned != null) {
+        owned.shutdown();
+      }
+    }
+  }
+
+  private JXEBulkValidationResult validateOne(
+    final Task task)
+  {
+    /*
+     * The time spent waiting for a reader to become available in the pool
+     * is not included in the duration of the validation.
+     */
+
+    var timeThen = System.nanoTime();
+
+    Exception error = null;
+    try (var pooled = this.pool.borrow()) {
+      timeThen = System.nanoTime();
+
+      final var reader = pooled.reader();
+      reader.setErrorHandler(JXEFatalErrorHandler.INSTANCE);
+
+      final var source = task.opener.open();
+      try {
+        reader.parse(source);
+      } finally {
+        closeSource(source);
+      }
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      error = e;
+    } catch (final IOException
+                   | SAXException
+                   | ParserConfigurationException e) {
+      error = e;
+    } catch (final JXEResolutionException e) {
+      error = (Exception) e.getCause();
+    } catch (final RuntimeException e) {
+      error = e;
+    }
+
+    final var duration = Duration.ofNanos(System.nanoTime() - timeThen);
+    return JXEBulkValidationResult.builder()
+      .setSystemId(task.systemId)
+      .setDuration(duration)
+      .setError(Optional.ofNullable(error))
+      .build();
+  }
+
+  private static void closeSource(
+    final InputSource source)
+    throws IOException
+  {
+    final var bytes = source.getByteStream();
+    if (bytes != null) {
+      bytes.close();
+    }
+    final var chars = source.getCharacterStream();
+    if (chars != null) {
+      chars.close();
+    }
+  }
+
+  private interface SourceOpenerType
+  {
+    InputSource open()
+      throws IOException;
+  }
+
+  private record Task(
+    String systemId,
+    SourceOpenerType opener)
+  {
+
+  }
+}
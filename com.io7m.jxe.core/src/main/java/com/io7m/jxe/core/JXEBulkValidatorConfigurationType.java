@@ -0,0 +1,72 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jxe.core;
+
+import com.io7m.immutables.styles.ImmutablesStyleType;
+import org.immutables.value.Value;
+
+import java.util.Optional;
+import java.util.concurrent.Executor;
+
+/**
+ * Configuration for a {@link JXEBulkValidator}.
+ */
+
+@ImmutablesStyleType
+@Value.Immutable
+public interface JXEBulkValidatorConfigurationType
+{
+  /**
+   * @return The template from which validating readers are created
+   */
+
+  JXEValidatingReaderTemplate template();
+
+  /**
+   * @return The maximum number of documents validated at once
+   */
+
+  @Value.Default
+  default int maximumConcurrency()
+  {
+    return Runtime.getRuntime().availableProcessors();
+  }
+
+  /**
+   * The executor on which documents are validated. If no executor is
+   * specified, each batch is validated on virtual threads.
+   *
+   * @return The executor, if any
+   */
+
+  Optional<Executor> executor();
+
+  /**
+   * Check preconditions for the type.
+   */
+
+  @Value.Check
+  default void checkPreconditions()
+  {
+    if (this.maximumConcurrency() < 1) {
+      throw new IllegalArgumentException(
+        "Maximum concurrency must be positive (received %d)".formatted(
+          Integer.valueOf(this.maximumConcurrency()))
+      );
+    }
+  }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jxe.core;
+
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A token used to cancel parses cooperatively. Cancelling a token aborts
+ * every parse in progress whose budget refers to the token, and every
+ * subsequent such parse fails immediately. Tokens are safe to share
+ * between threads.
+ */
+
+public final class JXECancellationToken
+{
+  private final Set<JXEParseGuard> guards;
+  private volatile boolean cancelled;
+
+  private JXECancellationToken()
+  {
+    this.guards = ConcurrentHashMap.newKeySet();
+  }
+
+  /**
+   * @return A new token that has not been cancelled
+   */
+
+  public static JXECancellationToken create()
+  {
+    return new JXECancellationToken();
+  }
+
+  /**
+   * Cancel the token. Cancelling a token more than once has no effect.
+   */
+
+  public void cancel()
+  {
+    this.cancelled = true;
+    for (final var guard : this.guards) {
+      guard.cancel();
+    }
+  }
+
+  /**
+   * @return {@code true} if the token has been cancelled
+   */
+
+  public boolean isCancelled()
+  {
+    return this.cancelled;
+  }
+
+  void register(
+    final JXEParseGuard guard)
+  {
+    this.guards.add(Objects.requireNonNull(guard, "guard"));
+
+    /*
+     * The token may have been cancelled before the guard was visible to
+     * cancel(); checking afterwards means that the cancellation is not
+     * missed.
+     */
+
+    if (this.cancelled) {
+      guard.cancel();
+    }
+  }
+
+  void unregister(
+    final JXEParseGuard guard)
+  {
+    this.guards.remove(guard);
+  }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jxe.core;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Objects;
+
+/**
+ * A stream that counts the bytes read from it and reports the total to a
+ * metrics listener exactly once, when closed.
+ */
+
+final class JXECountingInputStream extends FilterInputStream
+{
+  private final JXEMetricsListenerType listener;
+  private final JXEResolutionSource source;
+  private long count;
+  private boolean closed;
+
+  private JXECountingInputStream(
+    final InputStream inStream,
+    final JXEMetricsListenerType inListener,
+    final JXEResolutionSource inSource)
+  {
+    super(Objects.requireNonNull(inStream, "stream"));
+    this.listener = Objects.requireNonNull(inListener, "listener");
+    this.source = Objects.requireNonNull(inSource, "source");
+  }
+
+  /**
+   * Wrap the given stream if the listener is interested in measurements.
+   *
+   * @param stream   The stream
+   * @param listener The listener
+   * @param source   The source of the stream
+   *
+   * @return The stream, possibly wrapped
+   */
+
+  static InputStream wrap(
+    final InputStream stream,
+    final JXEMetricsListenerType listener,
+    final JXEResolutionSource source)
+  {
+    if (JXEMetricsListeners.isNoop(listener)) {
+      return stream;
+    }
+    return new JXECountingInputStream(stream, listener, source);
+  }
+
+  @Override
+  public int read()
+    throws IOException
+  {
+    final var r = super.read();
+    if (r >= 0) {
+      ++this.count;
+    }
+    return r;
+  }
+
+  @Override
+  public int read(
+    final byte[] buffer,
+    final int offset,
+    final int length)
+    throws IOException
+  {
+    final var r = super.read(buffer, offset, length);
+    if (r > 0) {
+      this.count += r;
+    }
+    return r;
+  }
+
+  @Override
+  public long skip(
+    final long n)
+    throws IOException
+  {
+    final var r = super.skip(n);
+    this.count += r;
+    return r;
+  }
+
+  @Override
+  public boolean markSupported()
+  {
+    return false;
+  }
+
+  @Override
+  public void close()
+    throws IOException
+  {
+    try {
+      super.close();
+    } finally {
+      if (!this.closed) {
+        this.closed = true;
+        this.listener.onBytesServed(this.source, this.count);
+      }
+    }
+  }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jxe.core;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Objects;
+
+/**
+ * A stream over decompressed data that fails once more than a given number
+ * of bytes have been read from it. This defends against files that
+ * decompress to far more data than their compressed size suggests.
+ */
+
+final class JXEDecompressedInputStream extends FilterInputStream
+{
+  private final String name;
+  private final long limit;
+  private long count;
+
+  JXEDecompressedInputStream(
+    final InputStream inStream,
+    final String inName,
+    final long inLimit)
+  {
+    super(Objects.requireNonNull(inStream, "stream"));
+    this.name = Objects.requireNonNull(inName, "name");
+    this.limit = inLimit;
+  }
+
+  private void check()
+    throws IOException
+  {
+    if (this.count > this.limit) {
+      throw new IOException(
+        "Decompressed size of %s exceeds the limit of %d bytes".formatted(
+          this.name,
+          Long.valueOf(this.limit))
+      );
+    }
+  }
+
+  @Override
+  public int read()
+    throws IOException
+  {
+    final var r = super.read();
+    if (r >= 0) {
+      ++this.count;
+      this.check();
+    }
+    return r;
+  }
+
+  @Override
+  public int read(
+    final byte[] buffer,
+    final int offset,
+    final int length)
+    throws IOException
+  {
+    final var r = super.read(buffer, offset, length);
+    if (r > 0) {
+      this.count += r;
+      this.check();
+    }
+    return r;
+  }
+
+  @Override
+  public long skip(
+    final long n)
+    throws IOException
+  {
+    final var r = super.skip(n);
+    this.count += r;
+    this.check();
+    return r;
+  }
+
+  @Override
+  public boolean markSupported()
+  {
+    return false;
+  }
+}
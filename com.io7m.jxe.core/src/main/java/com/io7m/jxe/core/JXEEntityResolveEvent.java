@@ -0,0 +1,102 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jxe.core;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A flight recorder event emitted when a resolver resolves, or refuses to
+ * resolve, an entity or document.
+ */
+
+@Name("jxe.EntityResolve")
+@Label("Entity Resolve")
+@Category("JXE")
+@Description("A resolver resolved, or refused to resolve, a resource")
+@StackTrace(false)
+final class JXEEntityResolveEvent extends jdk.jfr.Event
+{
+  /**
+   * The outcome recorded when resolution failed with an I/O or other
+   * unexpected error.
+   */
+
+  static final String OUTCOME_FAILED = "FAILED";
+
+  /**
+   * The outcome recorded when resolution succeeded.
+   */
+
+  static final String OUTCOME_RESOLVED = "RESOLVED";
+
+  /**
+   * The source recorded when nothing was resolved.
+   */
+
+  static final String SOURCE_NONE = "NONE";
+
+  @Label("System ID")
+  @Description("The system ID of the resource")
+  private String systemId;
+
+  @Label("Source")
+  @Description("The place from which the resource was resolved")
+  private String source = SOURCE_NONE;
+
+  @Label("Outcome")
+  @Description("RESOLVED, FAILED, or the reason that resolution was refused")
+  private String outcome = OUTCOME_FAILED;
+
+  JXEEntityResolveEvent()
+  {
+
+  }
+
+  /**
+   * @param value The system ID of the resource
+   */
+
+  void setSystemId(
+    final String value)
+  {
+    this.systemId = value;
+  }
+
+  /**
+   * @param value The place from which the resource was resolved
+   */
+
+  void setSource(
+    final String value)
+  {
+    this.source = value;
+  }
+
+  /**
+   * @param value The outcome of resolution
+   */
+
+  void setOutcome(
+    final String value)
+  {
+    this.outcome = value;
+  }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jxe.core;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Functions to create executors.
+ */
+
+final class JXEExecutors
+{
+  private JXEExecutors()
+  {
+
+  }
+
+  /**
+   * Create an executor that runs each task on a new virtual thread. The
+   * library targets a Java version that predates virtual threads, and so
+   * the executor is created reflectively; on platforms without virtual
+   * threads, a cached pool of platform daemon threads is used instead.
+   *
+   * @param name The name prefix used for fallback platform threads
+   *
+   * @return A new executor
+   */
+
+  static ExecutorService newVirtualThreadPerTaskExecutor(
+    final String name)
+  {
+    try {
+      final var method =
+        Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+      return (ExecutorService) method.invoke(null);
+    } catch (final NoSuchMethodException
+                   | IllegalAccessException
+                   | InvocationTargetException e) {
+      final var threads = new AtomicLong();
+      return Executors.newCachedThreadPool(runnable -> {
+        final var thread = new Thread(runnable);
+        thread.setName(
+          "%s[%d]".formatted(name, Long.valueOf(threads.incrementAndGet())));
+        thread.setDaemon(true);
+        return thread;
+      });
+    }
+  }
+
+  /**
+   * Create a scheduled executor backed by a single platform daemon thread.
+   * Cancelled tasks are removed from the executor's queue immediately.
+   *
+   * @param name The name of the thread
+   *
+   * @return A new executor
+   */
+
+  static ScheduledExecutorService newDaemonScheduledExecutor(
+    final String name)
+  {
+    final var executor =
+      new ScheduledThreadPoolExecutor(1, runnable -> {
+        final var thread = new Thread(runnable);
+        thread.setName(name);
+        thread.setDaemon(true);
+        return thread;
+      });
+    executor.setRemoveOnCancelPolicy(true);
+    return executor;
+  }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jxe.core;
+
+import org.xml.sax.ErrorHandler;
+import org.xml.sax.SAXException;
+import org.xml.sax.SAXParseException;
+
+/**
+ * An error handler that ignores warnings and treats every error as fatal.
+ */
+
+final class JXEFatalErrorHandler implements ErrorHandler
+{
+  /**
+   * The shared instance; the handler is stateless.
+   */
+
+  static final ErrorHandler INSTANCE = new JXEFatalErrorHandler();
+
+  private JXEFatalErrorHandler()
+  {
+
+  }
+
+  @Override
+  public void warning(
+    final SAXParseException e)
+  {
+
+  }
+
+  @Override
+  public void error(
+    final SAXParseException e)
+    throws SAXException
+  {
+    throw e;
+  }
+
+  @Override
+  public void fatalError(
+    final SAXParseException e)
+    throws SAXException
+  {
+    throw e;
+  }
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jxe.core;
+
+/**
+ * A compression format that can be decompressed transparently when files
+ * are resolved from a base directory. Formats are recognized by file name
+ * suffix.
+ *
+ * @see JXEFileInputConfigurationType#decompression()
+ */
+
+public enum JXEFileCompression
+{
+  /**
+   * The gzip format (RFC 1952), recognized by the suffix {@code .gz}.
+   */
+
+  GZIP,
+
+  /**
+   * The zlib-wrapped deflate format (RFC 1950), recognized by the suffixes
+   * {@code .zz} and {@code .deflate}.
+   */
+
+  DEFLATE
+}
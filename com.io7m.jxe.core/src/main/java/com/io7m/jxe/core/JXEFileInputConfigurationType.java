@@ -0,0 +1,112 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jxe.core;
+
+import com.io7m.immutables.styles.ImmutablesStyleType;
+import org.immutables.value.Value;
+
+import java.util.Set;
+
+/**
+ * Configuration for reading files resolved from a base directory.
+ */
+
+@ImmutablesStyleType
+@Value.Immutable
+public interface JXEFileInputConfigurationType
+{
+  /**
+   * The default size in bytes at and above which files are memory mapped.
+   */
+
+  long DEFAULT_MEMORY_MAP_THRESHOLD = 64L * 1024L * 1024L;
+
+  /**
+   * The default maximum size in bytes of the decompressed content of a
+   * single compressed file.
+   */
+
+  long DEFAULT_MAXIMUM_DECOMPRESSED_SIZE = 256L * 1024L * 1024L;
+
+  /**
+   * @return The file input mode
+   */
+
+  @Value.Default
+  default JXEFileInputMode mode()
+  {
+    return JXEFileInputMode.FILE_INPUT_STREAM;
+  }
+
+  /**
+   * @return The size in bytes at and above which files are memory mapped
+   *         when using {@link JXEFileInputMode#FILE_INPUT_NIO}
+   */
+
+  @Value.Default
+  default long memoryMapThreshold()
+  {
+    return DEFAULT_MEMORY_MAP_THRESHOLD;
+  }
+
+  /**
+   * The compression formats that are decompressed transparently. Files
+   * whose names end with the suffix of an enabled format are decompressed
+   * as they are read, so that both documents opened from the base
+   * directory and the entities and XIncludes that they reference may be
+   * stored compressed. By default, no files are decompressed.
+   *
+   * @return The enabled compression formats
+   */
+
+  Set<JXEFileCompression> decompression();
+
+  /**
+   * The maximum size in bytes of the decompressed content of a single
+   * compressed file. Reading beyond this size fails with an I/O error,
+   * which defends against compression bombs.
+   *
+   * @return The maximum decompressed size
+   */
+
+  @Value.Default
+  default long maximumDecompressedSize()
+  {
+    return DEFAULT_MAXIMUM_DECOMPRESSED_SIZE;
+  }
+
+  /**
+   * Check preconditions for the type.
+   */
+
+  @Value.Check
+  default void checkPreconditions()
+  {
+    if (this.memoryMapThreshold() < 0L) {
+      throw new IllegalArgumentException(
+        "Memory map threshold must be non-negative (received %d)".formatted(
+          Long.valueOf(this.memoryMapThreshold()))
+      );
+    }
+    if (this.maximumDecompressedSize() < 1L) {
+      throw new IllegalArgumentException(
+        "Maximum decompressed size must be positive (received %d)".formatted(
+          Long.valueOf(this.maximumDecompressedSize()))
+      );
+    }
+  }
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jxe.core;
+
+/**
+ * A specification of how files resolved from a base directory are read.
+ */
+
+public enum JXEFileInputMode
+{
+  /**
+   * Files are read using a standard file input stream.
+   */
+
+  FILE_INPUT_STREAM,
+
+  /**
+   * Files are read through a {@link java.nio.channels.FileChannel}. Files
+   * at least as large as the configured memory map threshold are memory
+   * mapped instead.
+   *
+   * @see JXEFileInputConfigurationType#memoryMapThreshold()
+   */
+
+  FILE_INPUT_NIO
+}
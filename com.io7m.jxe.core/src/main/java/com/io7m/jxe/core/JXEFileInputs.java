@@ -0,0 +1,180 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jxe.core;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Functions to open files that have already been checked by a
+ * {@link JXEHardenedDispatchingResolver}.
+ */
+
+final class JXEFileInputs
+{
+  private static final int DECOMPRESSION_BUFFER_SIZE = 65536;
+
+  private JXEFileInputs()
+  {
+
+  }
+
+  /**
+   * Open the given file according to the given configuration. The file is
+   * opened without following symbolic links.
+   *
+   * @param path          The file
+   * @param configuration The file input configuration
+   *
+   * @return A stream over the file
+   *
+   * @throws IOException On I/O errors
+   */
+
+  static InputStream open(
+    final Path path,
+    final JXEFileInputConfiguration configuration)
+    throws IOException
+  {
+    Objects.requireNonNull(path, "path");
+    Objects.requireNonNull(configuration, "configuration");
+
+    return switch (configuration.mode()) {
+      case FILE_INPUT_STREAM -> {
+        yield Files.newInputStream(
+          path,
+          StandardOpenOption.READ,
+          LinkOption.NOFOLLOW_LINKS
+        );
+      }
+      case FILE_INPUT_NIO -> {
+        yield openChannel(path, configuration.memoryMapThreshold());
+      }
+    };
+  }
+
+  private static InputStream openChannel(
+    final Path path,
+    final long threshold)
+    throws IOException
+  {
+    final var channel =
+      FileChannel.open(path, StandardOpenOption.READ, LinkOption.NOFOLLOW_LINKS);
+
+    try {
+      final var size = channel.size();
+      if (size > 0L && size >= threshold) {
+        return new JXEMappedFileInputStream(channel, size);
+      }
+      return Channels.newInputStream(channel);
+    } catch (final IOException | RuntimeException e) {
+      channel.close();
+      throw e;
+    }
+  }
+
+  /**
+   * Wrap the given stream over the given file in a decompressing stream, if
+   * the file's name indicates a compression format that is enabled in the
+   * given configuration. The given stream is closed if decompression cannot
+   * begin.
+   *
+   * @param path          The file
+   * @param stream        The stream over the file's raw content
+   * @param configuration The file input configuration
+   *
+   * @return A stream over the file's content, decompressed if necessary
+   *
+   * @throws IOException On I/O errors, or if the file is not in the
+   *                     format its name indicates
+   */
+
+  static InputStream decompress(
+    final Path path,
+    final InputStream stream,
+    final JXEFileInputConfiguration configuration)
+    throws IOException
+  {
+    Objects.requireNonNull(path, "path");
+    Objects.requireNonNull(stream, "stream");
+    Objects.requireNonNull(configuration, "configuration");
+
+    final var compression =
+      compressionOf(path, configuration);
+    if (compression.isEmpty()) {
+      return stream;
+    }
+
+    try {
+      final InputStream decompressed = switch (compression.get()) {
+        case GZIP -> {
+          yield new GZIPInputStream(stream, DECOMPRESSION_BUFFER_SIZE);
+        }
+        case DEFLATE -> {
+          yield new InflaterInputStream(
+            new BufferedInputStream(stream, DECOMPRESSION_BUFFER_SIZE));
+        }
+      };
+
+      return new JXEDecompressedInputStream(
+        decompressed,
+        path.toString(),
+        configuration.maximumDecompressedSize()
+      );
+    } catch (final IOException | RuntimeException e) {
+      stream.close();
+      throw e;
+    }
+  }
+
+  private static Optional<JXEFileCompression> compressionOf(
+    final Path path,
+    final JXEFileInputConfiguration configuration)
+  {
+    final var formats = configuration.decompression();
+    if (formats.isEmpty()) {
+      return Optional.empty();
+    }
+
+    final var fileName = path.getFileName();
+    if (fileName == null) {
+      return Optional.empty();
+    }
+
+    final var name = fileName.toString().toLowerCase(Locale.ROOT);
+    if (formats.contains(JXEFileCompression.GZIP) && name.endsWith(".gz")) {
+      return Optional.of(JXEFileCompression.GZIP);
+    }
+    if (formats.contains(JXEFileCompression.DEFLATE)
+        && (name.endsWith(".zz") || name.endsWith(".deflate"))) {
+      return Optional.of(JXEFileCompression.DEFLATE);
+    }
+    return Optional.empty();
+  }
+}
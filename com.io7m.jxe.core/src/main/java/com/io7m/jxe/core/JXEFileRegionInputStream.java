@@ -0,0 +1,108 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jxe.core;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Objects;
+
+/**
+ * An input stream over a region of a file. The stream uses positional reads,
+ * and so any number of streams may read from a single channel at once. The
+ * channel is not closed when the stream is closed.
+ */
+
+final class JXEFileRegionInputStream extends InputStream
+{
+  private final FileChannel channel;
+  private final long end;
+  private long position;
+  private boolean closed;
+
+  JXEFileRegionInputStream(
+    final FileChannel inChannel,
+    final long inStart,
+    final long inEnd)
+  {
+    this.channel = Objects.requireNonNull(inChannel, "channel");
+    this.position = inStart;
+    this.end = inEnd;
+  }
+
+  @Override
+  public int read()
+    throws IOException
+  {
+    final var single = new byte[1];
+    final var count = this.read(single, 0, 1);
+    if (count < 0) {
+      return -1;
+    }
+    return single[0] & 0xff;
+  }
+
+  @Override
+  public int read(
+    final byte[] buffer,
+    final int offset,
+    final int length)
+    throws IOException
+  {
+    Objects.checkFromIndexSize(offset, length, buffer.length);
+    if (this.closed) {
+      throw new IOException("Stream closed");
+    }
+    if (length == 0) {
+      return 0;
+    }
+
+    final var remaining = this.end - this.position;
+    if (remaining <= 0L) {
+      return -1;
+    }
+
+    final var target =
+      ByteBuffer.wrap(buffer, offset, (int) Math.min(length, remaining));
+    final var count = this.channel.read(target, this.position);
+    if (count < 0) {
+      return -1;
+    }
+    this.position += count;
+    return count;
+  }
+
+  @Override
+  public long skip(
+    final long count)
+  {
+    if (count <= 0L) {
+      return 0L;
+    }
+
+    final var skipped = Math.min(count, Math.max(0L, this.end - this.position));
+    this.position += skipped;
+    return skipped;
+  }
+
+  @Override
+  public void close()
+  {
+    this.closed = true;
+  }
+}
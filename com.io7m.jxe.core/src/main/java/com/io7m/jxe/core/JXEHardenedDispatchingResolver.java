@@ -16,6 +16,7 @@
 
 package com.io7m.jxe.core;
 
+import jdk.jfr.EventType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.xml.sax.InputSource;
@@ -31,6 +32,9 @@ import java.nio.file.Files;
 import java.nio.file.LinkOption;
 import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 
@@ -45,20 +49,46 @@ public final class JXEHardenedDispatchingResolver implements EntityResolver2
 {
   private static final Logger LOG =
     LoggerFactory.getLogger(JXEHardenedDispatchingResolver.class);
+  private static final EventType RESOLVE_EVENT_TYPE =
+    EventType.getEventType(JXEEntityResolveEvent.class);
 
   private final Optional<Path> base_directory;
-  private final JXESchemaResolutionMappings schemas;
+  private final Map<String, JXESchemaDefinition> by_file_identifier;
+  private final Map<URI, JXESchemaDefinition> by_namespace;
+  private final Optional<JXESchemaContentCache> contents;
+  private final JXEFileInputConfiguration file_input;
+  private final JXEMetricsListenerType metrics;
+  private final Optional<JXEResolvedFileCache> file_cache;
 
   private JXEHardenedDispatchingResolver(
-    final Optional<Path> in_base_directory,
-    final JXESchemaResolutionMappings in_schemas)
+    final JXEResolverConfiguration configuration)
   {
+    Objects.requireNonNull(configuration, "Configuration");
+
     this.base_directory =
-      Objects.requireNonNull(in_base_directory, "Base directory")
+      configuration.baseDirectory()
         .map(p -> p.toAbsolutePath().normalize());
 
-    this.schemas =
-      Objects.requireNonNull(in_schemas, "Schemas");
+    final var schemas = configuration.schemas();
+
+    /*
+     * Index the schemas by file identifier and by namespace once, so that
+     * resolution does not need to scan the mappings. If several schemas
+     * share a file identifier, the first in mapping order wins.
+     */
+
+    final var identifiers =
+      new HashMap<String, JXESchemaDefinition>(schemas.mappings().size());
+    for (final var definition : schemas.mappings().values()) {
+      identifiers.putIfAbsent(definition.fileIdentifier(), definition);
+    }
+
+    this.by_file_identifier = Map.copyOf(identifiers);
+    this.by_namespace = Map.copyOf(schemas.mappings());
+    this.contents = configuration.contentCache();
+    this.file_input = configuration.fileInput();
+    this.metrics = configuration.metrics();
+    this.file_cache = configuration.fileCache();
   }
 
   /**
@@ -77,7 +107,87 @@ public final class JXEHardenedDispatchingResolver implements EntityResolver2
     final Optional<Path> in_base_directory,
     final JXESchemaResolutionMappings in_schemas)
   {
-    return new JXEHardenedDispatchingResolver(in_base_directory, in_schemas);
+    return create(
+      JXEResolverConfiguration.builder()
+        .setBaseDirectory(
+          Objects.requireNonNull(in_base_directory, "Base directory"))
+        .setSchemas(in_schemas)
+        .build()
+    );
+  }
+
+  /**
+   * Create a new resolver. The resolver will resolve schemas from the given
+   * schema mappings, serving their content from the given content cache
+   * rather than opening each schema location on every resolution. Other file
+   * resources will optionally be resolved from the given base directory. If
+   * no base directory is provided, no resolution of resources from the
+   * filesystem will occur.
+   *
+   * @param in_base_directory The base directory used to resolve resources, if any
+   * @param in_schemas        A set of schema mappings
+   * @param in_contents       A cache of schema content
+   *
+   * @return A new resolver
+   */
+
+  public static JXEHardenedDispatchingResolver create(
+    final Optional<Path> in_base_directory,
+    final JXESchemaResolutionMappings in_schemas,
+    final JXESchemaContentCache in_contents)
+  {
+    return create(
+      JXEResolverConfiguration.builder()
+        .setBaseDirectory(
+          Objects.requireNonNull(in_base_directory, "Base directory"))
+        .setSchemas(in_schemas)
+        .setContentCache(in_contents)
+        .build()
+    );
+  }
+
+  /**
+   * Create a new resolver from the given configuration.
+   *
+   * @param in_configuration The resolver configuration
+   *
+   * @return A new resolver
+   */
+
+  public static JXEHardenedDispatchingResolver create(
+    final JXEResolverConfiguration in_configuration)
+  {
+    return new JXEHardenedDispatchingResolver(in_configuration);
+  }
+
+  /**
+   * Find the schema with the given file identifier.
+   *
+   * @param file_identifier The file identifier
+   *
+   * @return The schema, if any
+   */
+
+  public Optional<JXESchemaDefinition> schemaForFileIdentifier(
+    final String file_identifier)
+  {
+    Objects.requireNonNull(file_identifier, "file_identifier");
+    return Optional.ofNullable(this.by_file_identifier.get(file_identifier));
+  }
+
+  /**
+   * Find the schema with the given namespace.
+   *
+   * @param namespace The namespace
+   *
+   * @return The schema, if any
+   */
+
+  public Optional<JXESchemaDefinition> schemaForNamespace(
+    final URI namespace)
+  {
+    Objects.requireNonNull(namespace, "namespace");
+    return Optional.ofNullable(this.by_namespace.get(namespace));
   }
 
   @Override
@@ -101,24 +211,126 @@ public final class JXEHardenedDispatchingResolver implements EntityResolver2
     final String system_id)
     throws SAXException, IOException
   {
-    LOG.debug(
-      "resolveEntity: {} {} {} {}", name, public_id, base_uri, system_id);
+    if (LOG.isDebugEnabled()) {
+      LOG.debug(
+        "resolveEntity: {} {} {} {}", name, public_id, base_uri, system_id);
+    }
 
-    final Optional<JXESchemaDefinition> schema_opt =
-      this.schemas.mappings()
-        .values()
-        .stream()
-        .filter(def -> Objects.equals(def.fileIdentifier(), system_id))
-        .findAny();
+    final var event = beginEvent();
 
-    if (schema_opt.isPresent()) {
-      final JXESchemaDefinition schema = schema_opt.get();
-      final URL location = schema.location();
-      LOG.debug(
-        "resolving {} from internal resources -> {}", system_id, location);
-      return createSource(
-        location.openStream(),
-        location.toString());
+    try {
+      final JXESchemaDefinition schema =
+        system_id != null ? this.by_file_identifier.get(system_id) : null;
+
+      if (schema != null) {
+        final URL location = schema.location();
+        LOG.debug(
+          "resolving {} from internal resources -> {}", system_id, location);
+        final var stream = this.openSchema(schema);
+        this.resolved(event, JXEResolutionSource.RESOLVED_FROM_SCHEMA_MAPPINGS);
+        return createSource(
+          JXECountingInputStream.wrap(
+            stream,
+            this.metrics,
+            JXEResolutionSource.RESOLVED_FROM_SCHEMA_MAPPINGS),
+          location.toString());
+      }
+
+      return this.resolveFromFilesystem(system_id, event);
+    } finally {
+      commit(event, system_id);
+    }
+  }
+
+  /**
+   * Open a top-level document from the base directory. The document is
+   * subject to exactly the same checks as any other resource resolved from
+   * the filesystem, and is read according to the resolver's file input
+   * configuration.
+   *
+   * @param system_id The system ID of the document, relative to the base
+   *                  directory
+   *
+   * @return An input source for the document
+   *
+   * @throws SAXException If the resolver refuses to open the document
+   * @throws IOException  On I/O errors
+   */
+
+  public InputSource openDocument(
+    final String system_id)
+    throws SAXException, IOException
+  {
+    Objects.requireNonNull(system_id, "system_id");
+
+    final var event = beginEvent();
+
+    try {
+      return this.resolveFromFilesystem(system_id, event);
+    } finally {
+      commit(event, system_id);
+    }
+  }
+
+  /*
+   * Resolution is on the hot path of every parse, and so an event is only
+   * allocated when the event type is enabled. Every method that accepts an
+   * event accepts null to indicate that no event is being recorded.
+   */
+
+  private static JXEEntityResolveEvent beginEvent()
+  {
+    if (!RESOLVE_EVENT_TYPE.isEnabled()) {
+      return null;
+    }
+    final var event = new JXEEntityResolveEvent();
+    event.begin();
+    return event;
+  }
+
+  private static void commit(
+    final JXEEntityResolveEvent event,
+    final String system_id)
+  {
+    if (event != null && event.shouldCommit()) {
+      event.setSystemId(system_id);
+      event.commit();
+    }
+  }
+
+  private void resolved(
+    final JXEEntityResolveEvent event,
+    final JXEResolutionSource source)
+  {
+    if (event != null) {
+      event.setSource(source.name());
+      event.setOutcome(JXEEntityResolveEvent.OUTCOME_RESOLVED);
+    }
+    this.metrics.onResolved(source);
+  }
+
+  private void rejected(
+    final JXEEntityResolveEvent event,
+    final JXEResolutionRejection reason)
+  {
+    if (event != null) {
+      event.setOutcome(reason.name());
+    }
+    this.metrics.onResolutionRejected(reason);
+  }
+
+  private InputSource resolveFromFilesystem(
+    final String system_id,
+    final JXEEntityResolveEvent event)
+    throws SAXException, IOException
+  {
+    if (this.file_cache.isPresent() && this.base_directory.isPresent()) {
+      final var cached =
+        this.file_cache.get()
+          .validatedPath(this.base_directory.get(), system_id);
+      if (cached.isPresent()) {
+        return this.openResolved(cached.get(), event);
+      }
     }
 
     final String line_separator = System.lineSeparator();
@@ -127,6 +339,8 @@ public final class JXEHardenedDispatchingResolver implements EntityResolver2
       final String scheme = uri.getScheme();
 
       if (!isResolvable(scheme)) {
+        this.rejected(
+          event, JXEResolutionRejection.REJECTED_NON_FILE_URI);
         throw new SAXException(
           new StringBuilder(128)
             .append("Refusing to resolve a non-file URI.")
@@ -141,6 +355,8 @@ public final class JXEHardenedDispatchingResolver implements EntityResolver2
       }
 
       if (!this.base_directory.isPresent()) {
+        this.rejected(
+          event, JXEResolutionRejection.REJECTED_FILESYSTEM_ACCESS_DISABLED);
         throw new SAXException(
           new StringBuilder(128)
             .append(
@@ -161,6 +377,8 @@ public final class JXEHardenedDispatchingResolver implements EntityResolver2
           .normalize();
 
       if (!resolved.startsWith(base)) {
+        this.rejected(
+          event, JXEResolutionRejection.REJECTED_PATH_TRAVERSAL);
         throw new SAXException(
           new StringBuilder(128)
             .append(
@@ -175,16 +393,13 @@ public final class JXEHardenedDispatchingResolver implements EntityResolver2
             .toString());
       }
 
-      if (!Files.isRegularFile(resolved, LinkOption.NOFOLLOW_LINKS)) {
-        throw new NoSuchFileException(
-          resolved.toString(),
-          null,
-          "File does not exist or is not a regular file");
+      if (this.file_cache.isPresent()) {
+        this.file_cache.get().putValidatedPath(base, system_id, resolved);
       }
-
-
-      return createSource(Files.newInputStream(resolved), resolved.toString());
+      return this.openResolved(resolved, event);
     } catch (final URISyntaxException e) {
+      this.rejected(
+        event, JXEResolutionRejection.REJECTED_UNPARSEABLE_URI);
       throw new SAXException(
         new StringBuilder(128)
           .append("Refusing to resolve an unparseable URI.")
@@ -200,6 +415,72 @@ public final class JXEHardenedDispatchingResolver implements EntityResolver2
     }
   }
 
+  private InputSource openResolved(
+    final Path resolved,
+    final JXEEntityResolveEvent event)
+    throws IOException
+  {
+    final InputStream stream;
+    if (this.file_cache.isPresent()) {
+      final var attributes = readAttributes(resolved);
+      if (attributes == null || !attributes.isRegularFile()) {
+        throw this.notRegularFile(resolved, event);
+      }
+      stream = this.file_cache.get()
+        .open(resolved, attributes, this.file_input);
+    } else {
+      if (!Files.isRegularFile(resolved, LinkOption.NOFOLLOW_LINKS)) {
+        throw this.notRegularFile(resolved, event);
+      }
+      stream = JXEFileInputs.open(resolved, this.file_input);
+    }
+
+    final var content =
+      JXEFileInputs.decompress(resolved, stream, this.file_input);
+
+    this.resolved(event, JXEResolutionSource.RESOLVED_FROM_FILESYSTEM);
+    return createSource(
+      JXECountingInputStream.wrap(
+        content,
+        this.metrics,
+        JXEResolutionSource.RESOLVED_FROM_FILESYSTEM),
+      resolved.toString());
+  }
+
+  private static BasicFileAttributes readAttributes(
+    final Path resolved)
+  {
+    try {
+      return Files.readAttributes(
+        resolved,
+        BasicFileAttributes.class,
+        LinkOption.NOFOLLOW_LINKS);
+    } catch (final IOException e) {
+      return null;
+    }
+  }
+
+  private NoSuchFileException notRegularFile(
+    final Path resolved,
+    final JXEEntityResolveEvent event)
+  {
+    this.rejected(event, JXEResolutionRejection.REJECTED_NOT_REGULAR_FILE);
+    return new NoSuchFileException(
+      resolved.toString(),
+      null,
+      "File does not exist or is not a regular file");
+  }
+
+  private InputStream openSchema(
+    final JXESchemaDefinition schema)
+    throws IOException
+  {
+    if (this.contents.isPresent()) {
+      return this.contents.get().open(schema);
+    }
+    return schema.location().openStream();
+  }
+
   /*
    * It's necessary to explicitly set a system ID for the input
    * source, or Xerces XIncludeHandler.searchForRecursiveIncludes()
@@ -19,18 +19,15 @@ package com.io7m.jxe.core;
 import org.xml.sax.SAXException;
 import org.xml.sax.XMLReader;
 
-import javax.xml.XMLConstants;
+import org.xml.sax.ext.EntityResolver2;
+
 import javax.xml.parsers.ParserConfigurationException;
-import javax.xml.parsers.SAXParser;
 import javax.xml.parsers.SAXParserFactory;
-import javax.xml.transform.Source;
-import javax.xml.transform.stream.StreamSource;
-import javax.xml.validation.Schema;
-import javax.xml.validation.SchemaFactory;
-import java.io.IOException;
 import java.nio.file.Path;
+import java.util.LinkedHashMap;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Supplier;
 
 /**
@@ -39,7 +36,11 @@ import java.util.function.Supplier;
 
 public final class JXEHardenedSAXParsers
 {
-  private final Supplier<SAXParserFactory> parsers;
+  private final JXEHardenedSAXParsersConfiguration configuration;
+  private final LinkedHashMap<JXESchemaResolutionMappings, JXEXercesGrammarPool> grammarPools;
+  private final ReentrantLock grammarPoolsLock;
+  private final ReentrantLock backendLock;
+  private volatile JXEParserBackend backend;
 
   /**
    * Construct a provider.
@@ -53,7 +54,8 @@ public final class JXEHardenedSAXParsers
   }
 
   /**
-   * Construct a provider.
+   * Construct a provider. The provider will use a new private schema
+   * cache with the default size.
    *
    * @param inParsers The factory of SAX parsers to use
    */
@@ -61,213 +63,150 @@ public final class JXEHardenedSAXParsers
   public JXEHardenedSAXParsers(
     final Supplier<SAXParserFactory> inParsers)
   {
-    this.parsers =
-      Objects.requireNonNull(inParsers, "inParsers");
+    this(inParsers, JXESchemaCache.create());
   }
 
   /**
-   * Create a non-validating XML reader.
+   * Construct a provider. Compiled schemas will be retrieved from the
+   * given cache, which may be shared between providers.
    *
-   * @param baseDirectory A directory that will contain parsed resources, if any
-   * @param xinclude       A specification of whether XInclude should be enabled
+   * @param inParsers     The factory of SAX parsers to use
+   * @param inSchemaCache The cache of compiled schemas
+   */
+
+  public JXEHardenedSAXParsers(
+    final Supplier<SAXParserFactory> inParsers,
+    final JXESchemaCache inSchemaCache)
+  {
+    this(
+      JXEHardenedSAXParsersConfiguration.builder()
+        .setParsers(Objects.requireNonNull(inParsers, "inParsers"))
+        .setSchemaCache(Objects.requireNonNull(inSchemaCache, "inSchemaCache"))
+        .build()
+    );
+  }
+
+  /**
+   * Construct a provider.
    *
-   * @return A new non-validating XML reader
+   * @param inConfiguration The provider configuration
+   */
+
+  public JXEHardenedSAXParsers(
+    final JXEHardenedSAXParsersConfiguration inConfiguration)
+  {
+    this.configuration =
+      Objects.requireNonNull(inConfiguration, "inConfiguration");
+    this.grammarPools =
+      new LinkedHashMap<>(16, 0.75f, true);
+    this.grammarPoolsLock =
+      new ReentrantLock();
+    this.backendLock =
+      new ReentrantLock();
+  }
+
+  /**
+   * Determine the backend profile that applies to the parsers produced by
+   * this provider. The backend is detected on first use and then cached
+   * for the lifetime of the provider.
+   *
+   * @return The backend profile in use
    *
    * @throws ParserConfigurationException On parser configuration errors
    * @throws SAXException                 On SAX parser errors
    */
 
-  public XMLReader createXMLReaderNonValidating(
-    final Optional<Path> baseDirectory,
-    final JXEXInclude xinclude)
+  public JXEParserBackendProfileType backendProfile()
     throws ParserConfigurationException, SAXException
   {
-    Objects.requireNonNull(baseDirectory, "Base directory");
-    Objects.requireNonNull(xinclude, "xinclude");
-
-    final var parser =
-      this.parsers.get().newSAXParser();
-
-    final var className =
-      parser.getClass().getCanonicalName();
-
-    if (className.startsWith("org.apache.xerces.jaxp.")) {
-      return createXMLReaderNonValidatingXerces(
-        baseDirectory,
-        xinclude,
-        parser
-      );
-    }
-
-    return createXMLReaderNonValidatingJDK(baseDirectory, xinclude, parser);
+    return this.backend().profile();
   }
 
-  private static XMLReader createXMLReaderNonValidatingXerces(
-    final Optional<Path> baseDirectory,
-    final JXEXInclude xinclude,
-    final SAXParser parser)
-    throws SAXException
+  private JXEParserBackend backend()
+    throws ParserConfigurationException, SAXException
   {
-    final var reader =
-      parser.getXMLReader();
-
-    /*
-     * Turn on "secure processing". Sets various resource limits to prevent
-     * various denial of service attacks.
-     */
-
-    reader.setFeature(
-      XMLConstants.FEATURE_SECURE_PROCESSING,
-      true
-    );
-
-    /*
-     * Don't load DTDs at all.
-     */
-
-    reader.setFeature(
-      "http://apache.org/xml/features/nonvalidating/load-external-dtd",
-      false
-    );
-
-    /*
-     * Enable XInclude.
-     */
-
-    reader.setFeature(
-      "http://apache.org/xml/features/xinclude",
-      xinclude == JXEXInclude.XINCLUDE_ENABLED
-    );
-
-    /*
-     * Ensure namespace processing is enabled.
-     */
-
-    reader.setFeature(
-      "http://xml.org/sax/features/namespaces",
-      true
-    );
-
-    /*
-     * Disable validation.
-     */
+    final var existing = this.backend;
+    if (existing != null) {
+      return existing;
+    }
 
-    reader.setFeature(
-      "http://xml.org/sax/features/validation",
-      false
-    );
+    this.backendLock.lock();
+    try {
+      if (this.backend == null) {
+        this.backend = JXEParserBackend.detect(
+          this.configuration.parsers(),
+          this.configuration.backendProfiles(),
+          this.configuration.tuning()
+        );
+      }
+      return this.backend;
+    } finally {
+      this.backendLock.unlock();
+    }
+  }
 
-    reader.setFeature(
-      "http://apache.org/xml/features/validation/schema",
-      false
-    );
+  /**
+   * @return The configuration of this provider
+   */
 
-    /*
-     * Tell the parser to use the full EntityResolver2 interface (by default,
-     * the extra EntityResolver2 methods will not be called - only those of
-     * the original EntityResolver interface would be called).
-     */
+  public JXEHardenedSAXParsersConfiguration configuration()
+  {
+    return this.configuration;
+  }
 
-    reader.setFeature(
-      "http://xml.org/sax/features/use-entity-resolver2",
-      true
-    );
+  /**
+   * @return The cache of compiled schemas used by this provider
+   */
 
-    reader.setEntityResolver(
-      JXEHardenedDispatchingResolver.create(
-        baseDirectory, JXESchemaResolutionMappings.builder().build()));
-    return reader;
+  public JXESchemaCache schemaCache()
+  {
+    return this.configuration.schemaCache();
   }
 
-  private static XMLReader createXMLReaderNonValidatingJDK(
+  /**
+   * Create a non-validating XML reader.
+   *
+   * @param baseDirectory A directory that will contain parsed resources, if any
+   * @param xinclude       A specification of whether XInclude should be enabled
+   *
+   * @return A new non-validating XML reader
+   *
+   * @throws ParserConfigurationException On parser configuration errors
+   * @throws SAXException                 On SAX parser errors
+   */
+
+  public XMLReader createXMLReaderNonValidating(
     final Optional<Path> baseDirectory,
-    final JXEXInclude xinclude,
-    final SAXParser parser)
-    throws SAXException
+    final JXEXInclude xinclude)
+    throws ParserConfigurationException, SAXException
   {
-    final var reader =
-      parser.getXMLReader();
-
-    /*
-     * Turn on "secure processing". Sets various resource limits to prevent
-     * various denial of service attacks.
-     */
-
-    reader.setFeature(
-      XMLConstants.FEATURE_SECURE_PROCESSING,
-      true
-    );
-
-    /*
-     * Don't allow access to schemas or DTD files.
-     */
-
-    reader.setProperty(
-      XMLConstants.ACCESS_EXTERNAL_SCHEMA,
-      ""
-    );
-
-    reader.setProperty(
-      XMLConstants.ACCESS_EXTERNAL_DTD,
-      ""
-    );
-
-    /*
-     * Don't load DTDs at all.
-     */
-
-    reader.setFeature(
-      "http://apache.org/xml/features/nonvalidating/load-external-dtd",
-      false
-    );
-
-    /*
-     * Enable XInclude.
-     */
-
-    reader.setFeature(
-      "http://apache.org/xml/features/xinclude",
-      xinclude == JXEXInclude.XINCLUDE_ENABLED
-    );
-
-    /*
-     * Ensure namespace processing is enabled.
-     */
-
-    reader.setFeature(
-      "http://xml.org/sax/features/namespaces",
-      true
-    );
-
-    /*
-     * Disable validation.
-     */
-
-    reader.setFeature(
-      "http://xml.org/sax/features/validation",
-      false
-    );
-
-    reader.setFeature(
-      "http://apache.org/xml/features/validation/schema",
-      false
-    );
+    return this.createNonValidatingReaderTemplate(baseDirectory, xinclude)
+      .newReader();
+  }
 
-    /*
-     * Tell the parser to use the full EntityResolver2 interface (by default,
-     * the extra EntityResolver2 methods will not be called - only those of
-     * the original EntityResolver interface would be called).
-     */
+  /**
+   * Create a template from which non-validating XML readers can be created.
+   *
+   * @param baseDirectory A directory that will contain parsed resources, if any
+   * @param xinclude       A specification of whether XInclude should be enabled
+   *
+   * @return A new reader template
+   *
+   * @throws ParserConfigurationException On parser configuration errors
+   * @throws SAXException                 On SAX parser errors
+   */
 
-    reader.setFeature(
-      "http://xml.org/sax/features/use-entity-resolver2",
-      true
+  public JXENonValidatingReaderTemplate createNonValidatingReaderTemplate(
+    final Optional<Path> baseDirectory,
+    final JXEXInclude xinclude)
+    throws ParserConfigurationException, SAXException
+  {
+    return JXENonValidatingReaderTemplate.create(
+      this.configuration,
+      this.backend(),
+      baseDirectory,
+      xinclude
     );
-
-    reader.setEntityResolver(
-      JXEHardenedDispatchingResolver.create(
-        baseDirectory, JXESchemaResolutionMappings.builder().build()));
-    return reader;
   }
 
   /**
@@ -289,270 +228,115 @@ public final class JXEHardenedSAXParsers
     final JXESchemaResolutionMappings inSchemas)
     throws ParserConfigurationException, SAXException
   {
-    Objects.requireNonNull(baseDirectory, "Base directory");
-    Objects.requireNonNull(xinclude, "xinclude");
-    Objects.requireNonNull(inSchemas, "Schemas");
-
-    final var parserFactory =
-      this.parsers.get();
-
-    final Schema schema;
-    try {
-      schema = createCompositeSchemaFromMappings(inSchemas);
-    } catch (final IOException e) {
-      throw new SAXException(e);
-    }
-
-    parserFactory.setSchema(schema);
-
-    final var parser =
-      parserFactory.newSAXParser();
-    final var className =
-      parser.getClass().getCanonicalName();
-
-    /*
-     * Sadly, Xerces requires a different set of properties to be set for
-     * validation.
-     */
-
-    if (className.startsWith("org.apache.xerces.jaxp.")) {
-      return createXMLReaderXerces(
-        baseDirectory,
-        xinclude,
-        inSchemas,
-        parser
-      );
-    }
-
-    return createXMLReaderJDK(baseDirectory, xinclude, inSchemas, parser);
+    return this.createValidatingReaderTemplate(
+      baseDirectory,
+      xinclude,
+      inSchemas
+    ).newReader();
   }
 
-  private static Schema createCompositeSchemaFromMappings(
-    final JXESchemaResolutionMappings schemaMappings)
-    throws IOException, SAXException
-  {
-    final var schemaFactory =
-      SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
-    final var schemaDefinitions =
-      schemaMappings.mappings().values();
-    final var schemaSources =
-      new Source[schemaDefinitions.size()];
-
-    final var index = 0;
-    for (final var schemaMapping : schemaDefinitions) {
-        final var schemaStream =
-          schemaMapping.location().openStream();
-        final var streamSource =
-          new StreamSource(schemaStream, schemaMapping.fileIdentifier());
-        schemaSources[index] = streamSource;
-    }
-
-    return schemaFactory.newSchema(schemaSources);
-  }
+  /**
+   * Create a template from which XSD-validating XML readers can be created.
+   * The template performs all of the expensive work of reader configuration
+   * (including schema compilation) once, and can then be used to create
+   * any number of readers cheaply.
+   *
+   * @param xinclude      A specification of whether or not XInclude should be enabled for parsers
+   * @param baseDirectory A directory that will contain parsed resources
+   * @param inSchemas     A set of schemas that will be consulted for validation
+   *
+   * @return A new reader template
+   *
+   * @throws ParserConfigurationException On parser configuration errors
+   * @throws SAXException                 On SAX parser errors
+   */
 
-  private static XMLReader createXMLReaderJDK(
+  public JXEValidatingReaderTemplate createValidatingReaderTemplate(
     final Optional<Path> baseDirectory,
     final JXEXInclude xinclude,
-    final JXESchemaResolutionMappings inSchemas,
-    final SAXParser parser)
-    throws SAXException
+    final JXESchemaResolutionMappings inSchemas)
+    throws ParserConfigurationException, SAXException
   {
-    final var reader =
-      parser.getXMLReader();
-
-    /*
-     * Turn on "secure processing". Sets various resource limits to prevent
-     * various denial of service attacks.
-     */
-
-    reader.setFeature(
-      XMLConstants.FEATURE_SECURE_PROCESSING,
-      true
-    );
-
-    /*
-     * Only allow access to schema files using a "file" URL scheme. This is
-     * restricted even further via a custom entity resolver.
-     */
-
-    reader.setProperty(
-      XMLConstants.ACCESS_EXTERNAL_SCHEMA,
-      "file"
-    );
-
-    /*
-     * Deny access to external DTD files.
-     */
-
-    reader.setProperty(
-      XMLConstants.ACCESS_EXTERNAL_DTD,
-      ""
-    );
-
-    /*
-     * Don't load DTDs at all.
-     */
-
-    reader.setFeature(
-      "http://apache.org/xml/features/nonvalidating/load-external-dtd",
-      false
-    );
-
-    /*
-     * Enable XInclude.
-     */
-
-    reader.setFeature(
-      "http://apache.org/xml/features/xinclude",
-      xinclude == JXEXInclude.XINCLUDE_ENABLED
-    );
-
-    /*
-     * Ensure namespace processing is enabled.
-     */
-
-    reader.setFeature(
-      "http://xml.org/sax/features/namespaces",
-      true
+    return JXEValidatingReaderTemplate.create(
+      this.configuration,
+      this.backend(),
+      (loader, resolver) -> this.grammarPoolFor(inSchemas, loader, resolver),
+      baseDirectory,
+      xinclude,
+      inSchemas
     );
-
-    /*
-     * Enable validation and, more to the point, enable XSD schema validation.
-     */
-
-    reader.setFeature(
-      "http://xml.org/sax/features/validation",
-      true
-    );
-    reader.setFeature(
-      "http://apache.org/xml/features/validation/schema",
-      true
-    );
-
-    /*
-     * Create a space separated list of mappings from namespace URIs to
-     * schema system IDs. This will indicate to the parser that when it encounters
-     * a given namespace, it should ask the _entity resolver_ to resolve the
-     * corresponding system ID specified here.
-     */
-
-    final var locations = new StringBuilder(128);
-    inSchemas.mappings().forEach((uri, schema) -> {
-      locations.append(uri);
-      locations.append(' ');
-      locations.append(schema.fileIdentifier());
-      locations.append(' ');
-    });
-
-    reader.setProperty(
-      "http://apache.org/xml/properties/schema/external-schemaLocation",
-      locations.toString()
-    );
-
-    /*
-     * Tell the parser to use the full EntityResolver2 interface (by default,
-     * the extra EntityResolver2 methods will not be called - only those of
-     * the original EntityResolver interface would be called).
-     */
-
-    reader.setFeature(
-      "http://xml.org/sax/features/use-entity-resolver2",
-      true
-    );
-
-    reader.setEntityResolver(
-      JXEHardenedDispatchingResolver.create(baseDirectory, inSchemas));
-
-    return reader;
   }
 
-  private static XMLReader createXMLReaderXerces(
+  /**
+   * Create a template from which XSD-validating XML readers can be created,
+   * and which compiles each schema in the mappings only when an element in
+   * its namespace is first validated. This is preferable to
+   * {@link #createValidatingReaderTemplate(Optional, JXEXInclude, JXESchemaResolutionMappings)}
+   * when the mappings contain many schemas but documents use few of them.
+   *
+   * @param xinclude      A specification of whether or not XInclude should be enabled for parsers
+   * @param baseDirectory A directory that will contain parsed resources
+   * @param inSchemas     A set of schemas that will be consulted for validation
+   *
+   * @return A new reader template
+   *
+   * @throws ParserConfigurationException On parser configuration errors
+   * @throws SAXException                 On SAX parser errors
+   *
+   * @see JXELazyValidatingReaderTemplate
+   */
+
+  public JXELazyValidatingReaderTemplate createLazyValidatingReaderTemplate(
     final Optional<Path> baseDirectory,
     final JXEXInclude xinclude,
-    final JXESchemaResolutionMappings inSchemas,
-    final SAXParser parser)
-    throws SAXException
+    final JXESchemaResolutionMappings inSchemas)
+    throws ParserConfigurationException, SAXException
   {
-    final var reader =
-      parser.getXMLReader();
-
-    /*
-     * Turn on "secure processing". Sets various resource limits to prevent
-     * various denial of service attacks.
-     */
-
-    reader.setFeature(
-      XMLConstants.FEATURE_SECURE_PROCESSING,
-      true
-    );
-
-    /*
-     * Enable XInclude.
-     */
-
-    reader.setFeature(
-      "http://apache.org/xml/features/xinclude",
-      xinclude == JXEXInclude.XINCLUDE_ENABLED
+    return JXELazyValidatingReaderTemplate.create(
+      this.configuration,
+      this.backend(),
+      baseDirectory,
+      xinclude,
+      inSchemas
     );
+  }
 
-    /*
-     * Ensure namespace processing is enabled.
-     */
-
-    reader.setFeature(
-      "http://xml.org/sax/features/namespaces",
-      true
-    );
-
-    /*
-     * Enable validation.
-     *
-     * @see "https://xerces.apache.org/xerces2-j/faq-pcfp.html#faq-2"
-     */
-
-    reader.setFeature(
-      "http://xml.org/sax/features/validation",
-      true
-    );
-    reader.setFeature(
-      "http://apache.org/xml/features/validation/schema",
-      true
-    );
-
-    /*
-     * Create a space separated list of mappings from namespace URIs to
-     * schema system IDs. This will indicate to the parser that when it encounters
-     * a given namespace, it should ask the _entity resolver_ to resolve the
-     * corresponding system ID specified here.
-     */
-
-    final var locations = new StringBuilder(128);
-    inSchemas.mappings().forEach((uri, schema) -> {
-      locations.append(uri);
-      locations.append(' ');
-      locations.append(schema.fileIdentifier());
-      locations.append(' ');
-    });
-
-    reader.setProperty(
-      "http://apache.org/xml/properties/schema/external-schemaLocation",
-      locations.toString()
-    );
+  private JXEXercesGrammarPool grammarPoolFor(
+    final JXESchemaResolutionMappings schemas,
+    final ClassLoader loader,
+    final EntityResolver2 resolver)
+    throws SAXException
+  {
+    final var shared = this.configuration.grammarPool();
+    if (shared.isPresent()) {
+      return shared.get();
+    }
 
     /*
-     * Tell the parser to use the full EntityResolver2 interface (by default,
-     * the extra EntityResolver2 methods will not be called - only those of
-     * the original EntityResolver interface would be called).
+     * Pools are preloaded while holding the lock so that concurrent
+     * requests for the same mappings load the schemas only once.
      */
 
-    reader.setFeature(
-      "http://xml.org/sax/features/use-entity-resolver2",
-      true
-    );
-
-    reader.setEntityResolver(
-      JXEHardenedDispatchingResolver.create(baseDirectory, inSchemas));
-
-    return reader;
+    this.grammarPoolsLock.lock();
+    try {
+      final var existing = this.grammarPools.get(schemas);
+      if (existing != null) {
+        return existing;
+      }
+
+      final var pool =
+        JXEXercesGrammarPool.createPreloaded(loader, schemas, resolver);
+      this.grammarPools.put(schemas, pool);
+
+      final var maximum = this.configuration.maximumGrammarPools();
+      final var iterator = this.grammarPools.keySet().iterator();
+      while (this.grammarPools.size() > maximum && iterator.hasNext()) {
+        iterator.next();
+        iterator.remove();
+      }
+      return pool;
+    } finally {
+      this.grammarPoolsLock.unlock();
+    }
   }
 }
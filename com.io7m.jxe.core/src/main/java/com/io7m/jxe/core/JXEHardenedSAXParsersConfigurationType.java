@@ -0,0 +1,201 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jxe.core;
+
+import com.io7m.immutables.styles.ImmutablesStyleType;
+import org.immutables.value.Value;
+
+import javax.xml.parsers.SAXParserFactory;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Configuration for a {@link JXEHardenedSAXParsers} provider.
+ */
+
+@ImmutablesStyleType
+@Value.Immutable
+public interface JXEHardenedSAXParsersConfigurationType
+{
+  /**
+   * The default maximum number of grammar pools held by a provider.
+   */
+
+  int DEFAULT_MAXIMUM_GRAMMAR_POOLS = 32;
+
+  /**
+   * @return The factory of SAX parsers to use
+   */
+
+  @Value.Default
+  default Supplier<SAXParserFactory> parsers()
+  {
+    return SAXParserFactory::newNSInstance;
+  }
+
+  /**
+   * The listener that receives measurements of reader creation, schema
+   * compilation, and entity resolution for readers created by the provider.
+   * A schema cache specified explicitly with {@link #schemaCache()} reports
+   * compilation times to its own listener instead.
+   *
+   * @return The metrics listener
+   */
+
+  @Value.Default
+  default JXEMetricsListenerType metrics()
+  {
+    return JXEMetricsListeners.noop();
+  }
+
+  /**
+   * @return The cache of compiled schemas
+   */
+
+  @Value.Default
+  default JXESchemaCache schemaCache()
+  {
+    return JXESchemaCache.create(
+      JXESchemaCache.DEFAULT_MAXIMUM_SIZE,
+      JXESchemaContentCache.create(),
+      this.metrics()
+    );
+  }
+
+  /**
+   * A cache of validated paths and file content shared by every resolver
+   * created from this configuration. No caching is performed if no cache
+   * is specified.
+   *
+   * @return The resolved file cache, if any
+   */
+
+  Optional<JXEResolvedFileCache> fileCache();
+
+  /**
+   * @return The configuration used to read files from base directories
+   */
+
+  @Value.Default
+  default JXEFileInputConfiguration fileInput()
+  {
+    return JXEFileInputConfiguration.builder().build();
+  }
+
+  /**
+   * The parser backend profiles consulted, in order, to determine how to
+   * harden the parsers produced by {@link #parsers()}. Detection happens
+   * once per provider.
+   *
+   * @return The candidate backend profiles
+   */
+
+  @Value.Default
+  default List<JXEParserBackendProfileType> backendProfiles()
+  {
+    return JXEParserBackendProfiles.standard();
+  }
+
+  /**
+   * A grammar pool shared by every validating reader created by the provider
+   * when the underlying parser is Xerces. If no pool is specified, the
+   * provider creates one pool per distinct set of schema mappings, loads
+   * the mapped schemas into it, and locks it so that documents cannot add
+   * grammars of their own. A pool specified here is shared regardless of
+   * the mappings, and so should only be specified when all readers use the
+   * same schemas for each namespace. The pool must be locked, for example by
+   * creating it with
+   * {@link JXEXercesGrammarPool#createLocked(JXESchemaResolutionMappings)}.
+   *
+   * @return The shared Xerces grammar pool, if any
+   */
+
+  Optional<JXEXercesGrammarPool> grammarPool();
+
+  /**
+   * The maximum number of grammar pools held by the provider when no
+   * {@link #grammarPool()} is specified. When the limit is exceeded, the
+   * pool for the least recently used set of schema mappings is discarded;
+   * templates that already use the pool are unaffected.
+   *
+   * @return The maximum number of grammar pools
+   */
+
+  @Value.Default
+  default int maximumGrammarPools()
+  {
+    return DEFAULT_MAXIMUM_GRAMMAR_POOLS;
+  }
+
+  /**
+   * A symbol table shared by every reader created by the provider when the
+   * underlying parser is Xerces, so that element and attribute names are
+   * interned once rather than once per reader. If no table is specified,
+   * each reader uses a private symbol table. Symbol tables hold only names,
+   * and so a table may be shared regardless of the schema mappings, and
+   * between providers.
+   *
+   * @return The shared Xerces symbol table, if any
+   */
+
+  Optional<JXEXercesSymbolTable> symbolTable();
+
+  /**
+   * The resource limits applied to every parse performed by readers created
+   * by the provider. Limits are enforced natively by backends that support
+   * them, and by inspecting parse events otherwise. If no limits are
+   * specified, only the defaults of the parser's secure processing mode
+   * apply.
+   *
+   * @return The resource limits, if any
+   */
+
+  Optional<JXEResourceLimits> resourceLimits();
+
+  /**
+   * @return The tuning options applied to every reader created by the
+   *         provider
+   */
+
+  @Value.Default
+  default JXEParserTuning tuning()
+  {
+    return JXEParserTuning.builder().build();
+  }
+
+  /**
+   * Check preconditions for the type.
+   */
+
+  @Value.Check
+  default void checkPreconditions()
+  {
+    this.grammarPool().ifPresent(pool -> {
+      if (!pool.isLocked()) {
+        throw new IllegalArgumentException(
+          "A shared grammar pool must be locked");
+      }
+    });
+    if (this.maximumGrammarPools() < 1) {
+      throw new IllegalArgumentException(
+        "Maximum grammar pools must be positive (received %d)".formatted(
+          Integer.valueOf(this.maximumGrammarPools()))
+      );
+    }
+  }
+}
@@ -0,0 +1,262 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jxe.core;
+
+import org.xml.sax.SAXException;
+
+import javax.xml.XMLConstants;
+import javax.xml.stream.XMLEventReader;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.validation.Schema;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * <p>A provider of hardened StAX readers.</p>
+ *
+ * <p>Readers never process DTDs and never load external entities. Any
+ * entity resolution requested by the underlying implementation is routed
+ * through a {@link JXEHardenedDispatchingResolver}, and so is subject to the
+ * same base directory restrictions as SAX readers. StAX has no equivalent
+ * of XInclude, and so XInclude processing is not available.</p>
+ */
+
+public final class JXEHardenedStAXParsers
+{
+  private final Supplier<XMLInputFactory> factories;
+  private final JXESchemaCache schemaCache;
+
+  /**
+   * Construct a provider using the StAX implementation built into the JDK.
+   */
+
+  public JXEHardenedStAXParsers()
+  {
+    this(XMLInputFactory::newDefaultFactory);
+  }
+
+  /**
+   * Construct a provider. The provider will use a new private schema
+   * cache with the default size.
+   *
+   * @param inFactories The factory of StAX input factories to use
+   */
+
+  public JXEHardenedStAXParsers(
+    final Supplier<XMLInputFactory> inFactories)
+  {
+    this(inFactories, JXESchemaCache.create());
+  }
+
+  /**
+   * Construct a provider.
+   *
+   * @param inFactories   The factory of StAX input factories to use
+   * @param inSchemaCache The cache of compiled schemas
+   */
+
+  public JXEHardenedStAXParsers(
+    final Supplier<XMLInputFactory> inFactories,
+    final JXESchemaCache inSchemaCache)
+  {
+    this.factories =
+      Objects.requireNonNull(inFactories, "inFactories");
+    this.schemaCache =
+      Objects.requireNonNull(inSchemaCache, "inSchemaCache");
+  }
+
+  /**
+   * @return The cache of compiled schemas used by this provider
+   */
+
+  public JXESchemaCache schemaCache()
+  {
+    return this.schemaCache;
+  }
+
+  /**
+   * Create a non-validating stream reader.
+   *
+   * @param baseDirectory A directory that will contain parsed resources
+   * @param stream        The input stream
+   * @param systemId      The system ID of the document
+   *
+   * @return A new stream reader
+   *
+   * @throws XMLStreamException On errors
+   */
+
+  public XMLStreamReader createXMLStreamReader(
+    final Optional<Path> baseDirectory,
+    final InputStream stream,
+    final String systemId)
+    throws XMLStreamException
+  {
+    Objects.requireNonNull(stream, "stream");
+    Objects.requireNonNull(systemId, "systemId");
+
+    return this.createFactory(
+      baseDirectory,
+      JXESchemaResolutionMappings.builder().build()
+    ).createXMLStreamReader(systemId, stream);
+  }
+
+  /**
+   * Create a stream reader that validates the document against the given
+   * schemas as it is read.
+   *
+   * @param baseDirectory A directory that will contain parsed resources
+   * @param schemas       A set of schemas that will be consulted for
+   *                      validation
+   * @param stream        The input stream
+   * @param systemId      The system ID of the document
+   *
+   * @return A new stream reader
+   *
+   * @throws XMLStreamException On errors
+   */
+
+  public XMLStreamReader createValidatingXMLStreamReader(
+    final Optional<Path> baseDirectory,
+    final JXESchemaResolutionMappings schemas,
+    final InputStream stream,
+    final String systemId)
+    throws XMLStreamException
+  {
+    Objects.requireNonNull(schemas, "schemas");
+    Objects.requireNonNull(stream, "stream");
+    Objects.requireNonNull(systemId, "systemId");
+
+    final Schema schema;
+    try {
+      schema = this.schemaCache.schemaFor(schemas);
+    } catch (final IOException | SAXException e) {
+      throw new XMLStreamException(e.getMessage(), e);
+    }
+
+    return JXEValidatingStreamReader.create(
+      this.createFactory(baseDirectory, schemas)
+        .createXMLStreamReader(systemId, stream),
+      schema
+    );
+  }
+
+  /**
+   * Create a non-validating event reader.
+   *
+   * @param baseDirectory A directory that will contain parsed resources
+   * @param stream        The input stream
+   * @param systemId      The system ID of the document
+   *
+   * @return A new event reader
+   *
+   * @throws XMLStreamException On errors
+   */
+
+  public XMLEventReader createXMLEventReader(
+    final Optional<Path> baseDirectory,
+    final InputStream stream,
+    final String systemId)
+    throws XMLStreamException
+  {
+    final var reader =
+      this.createXMLStreamReader(baseDirectory, stream, systemId);
+    return this.factories.get().createXMLEventReader(reader);
+  }
+
+  /**
+   * Create an event reader that validates the document against the given
+   * schemas as it is read.
+   *
+   * @param baseDirectory A directory that will contain parsed resources
+   * @param schemas       A set of schemas that will be consulted for
+   *                      validation
+   * @param stream        The input stream
+   * @param systemId      The system ID of the document
+   *
+   * @return A new event reader
+   *
+   * @throws XMLStreamException On errors
+   */
+
+  public XMLEventReader createValidatingXMLEventReader(
+    final Optional<Path> baseDirectory,
+    final JXESchemaResolutionMappings schemas,
+    final InputStream stream,
+    final String systemId)
+    throws XMLStreamException
+  {
+    final var reader =
+      this.createValidatingXMLStreamReader(
+        baseDirectory, schemas, stream, systemId);
+    return this.factories.get().createXMLEventReader(reader);
+  }
+
+  private XMLInputFactory createFactory(
+    final Optional<Path> baseDirectory,
+    final JXESchemaResolutionMappings schemas)
+  {
+    Objects.requireNonNull(baseDirectory, "Base directory");
+
+    final var factory = this.factories.get();
+
+    /*
+     * Don't process DTDs at all, and never load external entities.
+     */
+
+    factory.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
+    factory.setProperty(
+      XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+    factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, Boolean.TRUE);
+
+    /*
+     * Deny access to external DTDs and schemas on implementations that
+     * understand the JAXP access properties.
+     */
+
+    setIfSupported(factory, XMLConstants.ACCESS_EXTERNAL_DTD, "");
+    setIfSupported(factory, XMLConstants.ACCESS_EXTERNAL_SCHEMA, "");
+
+    /*
+     * Route any resolution that does occur through the hardened resolver.
+     */
+
+    factory.setXMLResolver(
+      new JXEStAXResolver(
+        JXEHardenedDispatchingResolver.create(
+          baseDirectory, schemas, this.schemaCache.contentCache())
+      )
+    );
+    return factory;
+  }
+
+  private static void setIfSupported(
+    final XMLInputFactory factory,
+    final String name,
+    final Object value)
+  {
+    if (factory.isPropertySupported(name)) {
+      factory.setProperty(name, value);
+    }
+  }
+}
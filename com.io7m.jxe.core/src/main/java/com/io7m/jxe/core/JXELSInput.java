@@ -0,0 +1,154 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jxe.core;
+
+import org.w3c.dom.ls.LSInput;
+
+import java.io.InputStream;
+import java.io.Reader;
+
+/**
+ * A trivial mutable {@link LSInput}, as required by the interface.
+ */
+
+final class JXELSInput implements LSInput
+{
+  private Reader characterStream;
+  private InputStream byteStream;
+  private String stringData;
+  private String systemId;
+  private String publicId;
+  private String baseURI;
+  private String encoding;
+  private boolean certifiedText;
+
+  JXELSInput(
+    final InputStream inByteStream,
+    final String inSystemId,
+    final String inPublicId,
+    final String inBaseURI)
+  {
+    this.byteStream = inByteStream;
+    this.systemId = inSystemId;
+    this.publicId = inPublicId;
+    this.baseURI = inBaseURI;
+  }
+
+  @Override
+  public Reader getCharacterStream()
+  {
+    return this.characterStream;
+  }
+
+  @Override
+  public void setCharacterStream(
+    final Reader inCharacterStream)
+  {
+    this.characterStream = inCharacterStream;
+  }
+
+  @Override
+  public InputStream getByteStream()
+  {
+    return this.byteStream;
+  }
+
+  @Override
+  public void setByteStream(
+    final InputStream inByteStream)
+  {
+    this.byteStream = inByteStream;
+  }
+
+  @Override
+  public String getStringData()
+  {
+    return this.stringData;
+  }
+
+  @Override
+  public void setStringData(
+    final String inStringData)
+  {
+    this.stringData = inStringData;
+  }
+
+  @Override
+  public String getSystemId()
+  {
+    return this.systemId;
+  }
+
+  @Override
+  public void setSystemId(
+    final String inSystemId)
+  {
+    this.systemId = inSystemId;
+  }
+
+  @Override
+  public String getPublicId()
+  {
+    return this.publicId;
+  }
+
+  @Override
+  public void setPublicId(
+    final String inPublicId)
+  {
+    this.publicId = inPublicId;
+  }
+
+  @Override
+  public String getBaseURI()
+  {
+    return this.baseURI;
+  }
+
+  @Override
+  public void setBaseURI(
+    final String inBaseURI)
+  {
+    this.baseURI = inBaseURI;
+  }
+
+  @Override
+  public String getEncoding()
+  {
+    return this.encoding;
+  }
+
+  @Override
+  public void setEncoding(
+    final String inEncoding)
+  {
+    this.encoding = inEncoding;
+  }
+
+  @Override
+  public boolean getCertifiedText()
+  {
+    return this.certifiedText;
+  }
+
+  @Override
+  public void setCertifiedText(
+    final boolean inCertifiedText)
+  {
+    this.certifiedText = inCertifiedText;
+  }
+}
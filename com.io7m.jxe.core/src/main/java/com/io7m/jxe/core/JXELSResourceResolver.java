@@ -0,0 +1,130 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jxe.core;
+
+import org.w3c.dom.ls.LSInput;
+import org.w3c.dom.ls.LSResourceResolver;
+import org.xml.sax.SAXException;
+
+import javax.xml.XMLConstants;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * An adapter that exposes a hardened dispatching resolver as an
+ * {@link LSResourceResolver}.
+ *
+ * An {@link LSResourceResolver} that returns {@code null} asks the caller
+ * to fall back to its own, unrestricted, resolution. This adapter never
+ * does that: a refusal from the underlying resolver is thrown as a
+ * {@link JXEResolutionException}, which callers unwrap to recover the
+ * original exception. Schemas are only ever loaded for namespaces that
+ * appear in the mappings.
+ */
+
+final class JXELSResourceResolver implements LSResourceResolver
+{
+  private final JXEHardenedDispatchingResolver resolver;
+
+  JXELSResourceResolver(
+    final JXEHardenedDispatchingResolver inResolver)
+  {
+    this.resolver = Objects.requireNonNull(inResolver, "resolver");
+  }
+
+  @Override
+  public LSInput resolveResource(
+    final String type,
+    final String namespaceURI,
+    final String publicId,
+    final String systemId,
+    final String baseURI)
+  {
+    /*
+     * A request for a schema whose namespace appears in the mappings is
+     * always served from the mappings, regardless of any location hint in
+     * the document. This is how schemas are located by namespace alone
+     * when validating against a lazily populated schema.
+     */
+
+    if (XMLConstants.W3C_XML_SCHEMA_NS_URI.equals(type)) {
+      final var mapped = this.schemaFor(namespaceURI);
+      if (mapped.isPresent()) {
+        return this.resolve(publicId, baseURI, mapped.get().fileIdentifier());
+      }
+
+      /*
+       * A schema for any other namespace could only come from a location
+       * hint. Compiled grammars are shared by every document validated
+       * against the same schema, and so following the hint would allow one
+       * document to add grammars against which later documents are
+       * validated.
+       */
+
+      throw new JXEResolutionException(
+        new SAXException(
+          "Refusing to load a schema for an unmapped namespace (namespace %s, system ID %s)"
+            .formatted(namespaceURI, systemId))
+      );
+    }
+
+    if (systemId == null) {
+      throw new JXEResolutionException(
+        new SAXException(
+          "Refusing to resolve a resource without a system ID (namespace %s)"
+            .formatted(namespaceURI))
+      );
+    }
+
+    return this.resolve(publicId, baseURI, systemId);
+  }
+
+  private Optional<JXESchemaDefinition> schemaFor(
+    final String namespaceURI)
+  {
+    if (namespaceURI == null) {
+      return Optional.empty();
+    }
+    try {
+      return this.resolver.schemaForNamespace(new URI(namespaceURI));
+    } catch (final URISyntaxException e) {
+      return Optional.empty();
+    }
+  }
+
+  private LSInput resolve(
+    final String publicId,
+    final String baseURI,
+    final String systemId)
+  {
+    try {
+      final var source =
+        this.resolver.resolveEntity(null, publicId, baseURI, systemId);
+      return new JXELSInput(
+        source.getByteStream(),
+        source.getSystemId(),
+        publicId,
+        baseURI
+      );
+    } catch (final SAXException | IOException e) {
+      throw new JXEResolutionException(e);
+    }
+  }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jxe.core;
+
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.XMLFilterImpl;
+
+import javax.xml.validation.ValidatorHandler;
+import java.io.IOException;
+import java.util.Objects;
+
+/**
+ * A filter that passes the events of a hardened, non-validating reader
+ * through a validator before delivering them to the application.
+ *
+ * The filter installs its parent's entity resolver as its own, so that the
+ * parent continues to resolve entities through the hardened resolver rather
+ * than through the filter's default (unrestricted) resolution. Validation
+ * errors are delivered to the application's error handler exactly as they
+ * would be by a validating parser, and are ignored if no handler is set.
+ */
+
+final class JXELazyValidatingFilter extends XMLFilterImpl
+{
+  private final ValidatorHandler validator;
+
+  JXELazyValidatingFilter(
+    final XMLReader inParent,
+    final ValidatorHandler inValidator)
+  {
+    super(Objects.requireNonNull(inParent, "parent"));
+    this.validator = Objects.requireNonNull(inValidator, "validator");
+    this.setEntityResolver(inParent.getEntityResolver());
+  }
+
+  @Override
+  public void parse(
+    final InputSource input)
+    throws SAXException, IOException
+  {
+    final var parent = this.getParent();
+
+    this.validator.setContentHandler(this.getContentHandler());
+    this.validator.setErrorHandler(this);
+
+    parent.setEntityResolver(this.getEntityResolver());
+    parent.setDTDHandler(this);
+    parent.setErrorHandler(this);
+    parent.setContentHandler(this.validator);
+
+    try {
+      parent.parse(input);
+    } catch (final JXEResolutionException e) {
+      e.rethrow();
+    }
+  }
+
+  @Override
+  public void parse(
+    final String systemId)
+    throws SAXException, IOException
+  {
+    this.parse(new InputSource(systemId));
+  }
+}
@@ -0,0 +1,254 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jxe.core;
+
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.SAXNotRecognizedException;
+import org.xml.sax.XMLReader;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.validation.Schema;
+import javax.xml.validation.ValidatorHandler;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * <p>An immutable template from which XSD-validating XML readers can be
+ * created cheaply, and which compiles schemas only when they are needed.</p>
+ *
+ * <p>Unlike a {@link JXEValidatingReaderTemplate}, which compiles a single
+ * composite schema from every schema in the mappings when the template is
+ * created, this template compiles nothing up front. The schema for a
+ * namespace is loaded from the mappings and compiled the first time that an
+ * element or attribute in that namespace is validated by any reader created
+ * from the template, and is retained for use by all subsequent readers. When
+ * a mapping set contains many schemas of which each document uses only a
+ * few, this reduces startup time and memory in proportion to the namespaces
+ * that are actually used.</p>
+ *
+ * <p>Schemas are always located by namespace through the mappings; location
+ * hints in documents are never followed, and a document that refers to a
+ * schema for a namespace outside the mappings is rejected.
+ * Each reader is a hardened, non-validating reader whose events are passed
+ * through a validator before being delivered to the application. Compiled
+ * grammars may be released by the platform under memory pressure, in which
+ * case they are recompiled when next needed. Templates are safe to share
+ * between threads.</p>
+ */
+
+public final class JXELazyValidatingReaderTemplate
+  implements JXEReaderTemplateType
+{
+  private final Optional<Path> baseDirectory;
+  private final JXEXInclude xinclude;
+  private final JXESchemaResolutionMappings schemas;
+  private final JXEReaderConfiguration configuration;
+  private final Optional<JXEXercesSymbolTable> symbolTable;
+
+  private JXELazyValidatingReaderTemplate(
+    final Optional<Path> inBaseDirectory,
+    final JXEXInclude inXInclude,
+    final JXESchemaResolutionMappings inSchemas,
+    final JXEReaderConfiguration inConfiguration,
+    final Optional<JXEXercesSymbolTable> inSymbolTable)
+  {
+    this.baseDirectory =
+      Objects.requireNonNull(inBaseDirectory, "baseDirectory");
+    this.xinclude =
+      Objects.requireNonNull(inXInclude, "xinclude");
+    this.schemas =
+      Objects.requireNonNull(inSchemas, "schemas");
+    this.configuration =
+      Objects.requireNonNull(inConfiguration, "configuration");
+    this.symbolTable =
+      Objects.requireNonNull(inSymbolTable, "symbolTable");
+  }
+
+  static JXELazyValidatingReaderTemplate create(
+    final JXEHardenedSAXParsersConfiguration parsers,
+    final JXEParserBackend backend,
+    final Optional<Path> baseDirectory,
+    final JXEXInclude xinclude,
+    final JXESchemaResolutionMappings schemas)
+    throws ParserConfigurationException, SAXException
+  {
+    Objects.requireNonNull(parsers, "parsers");
+    Objects.requireNonNull(backend, "backend");
+    Objects.requireNonNull(baseDirectory, "Base directory");
+    Objects.requireNonNull(xinclude, "xinclude");
+    Objects.requireNonNull(schemas, "Schemas");
+
+    final var resolver =
+      JXEHardenedDispatchingResolver.create(
+        JXEResolverConfiguration.builder()
+          .setBaseDirectory(baseDirectory)
+          .setSchemas(schemas)
+          .setContentCache(parsers.schemaCache().contentCache())
+          .setFileInput(parsers.fileInput())
+          .setFileCache(parsers.fileCache())
+          .setMetrics(parsers.metrics())
+          .build()
+      );
+
+    final var schemaResolver =
+      new JXELSResourceResolver(resolver);
+    final var schema =
+      JXESchemaCompiler.lazy();
+
+    final var properties =
+      new LinkedHashMap<>(backend.tuningProperties());
+    properties.putAll(backend.nonValidatingProperties());
+    properties.putAll(backend.resourceLimitProperties(parsers.resourceLimits()));
+
+    final var symbolTable =
+      backend.symbolTable(parsers.symbolTable());
+    symbolTable.ifPresent(table -> {
+      properties.put(JXEXercesSymbolTable.SYMBOL_TABLE_PROPERTY, table);
+    });
+
+    /*
+     * Resource limits are enforced on the events of the raw reader, before
+     * they reach the validator.
+     */
+
+    final JXEReaderDecoratorType validating = reader -> {
+      return new JXELazyValidatingFilter(
+        reader,
+        newValidatorHandler(schema, schemaResolver)
+      );
+    };
+
+    final var configuration =
+      JXEReaderConfiguration.create(
+        parsers.parsers(),
+        backend.nonValidatingFeatures(xinclude),
+        Collections.unmodifiableMap(properties),
+        resolver,
+        backend.profile().name(),
+        true,
+        parsers.metrics(),
+        backend.resourceLimitDecorator(parsers.resourceLimits())
+          .andThen(validating)
+      );
+
+    return new JXELazyValidatingReaderTemplate(
+      baseDirectory,
+      xinclude,
+      schemas,
+      configuration,
+      symbolTable
+    );
+  }
+
+  private static ValidatorHandler newValidatorHandler(
+    final Schema schema,
+    final JXELSResourceResolver schemaResolver)
+    throws SAXException
+  {
+    final var handler = schema.newValidatorHandler();
+
+    /*
+     * Turn on "secure processing", and deny access to external DTDs and
+     * schemas on implementations that understand the JAXP access properties.
+     * Schemas supplied by the resource resolver are not external resources,
+     * and so can still be loaded.
+     */
+
+    handler.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+    setIfRecognized(handler, XMLConstants.ACCESS_EXTERNAL_DTD, "");
+    setIfRecognized(handler, XMLConstants.ACCESS_EXTERNAL_SCHEMA, "");
+    handler.setResourceResolver(schemaResolver);
+    return handler;
+  }
+
+  private static void setIfRecognized(
+    final ValidatorHandler handler,
+    final String name,
+    final Object value)
+    throws SAXException
+  {
+    try {
+      handler.setProperty(name, value);
+    } catch (final SAXNotRecognizedException e) {
+      // The implementation does not support the property.
+    }
+  }
+
+  /**
+   * Create a new XSD-validating XML reader.
+   *
+   * @return A new XSD-validating XML reader
+   *
+   * @throws ParserConfigurationException On parser configuration errors
+   * @throws SAXException                 On SAX parser errors
+   */
+
+  @Override
+  public XMLReader newReader()
+    throws ParserConfigurationException, SAXException
+  {
+    return this.configuration.newReader();
+  }
+
+  @Override
+  public JXEXMLReaderPool createPool(
+    final int maximumSize)
+  {
+    return JXEXMLReaderPool.create(this.configuration, maximumSize);
+  }
+
+  @Override
+  public InputSource openDocument(
+    final String systemId)
+    throws SAXException, IOException
+  {
+    return this.configuration.resolver().openDocument(systemId);
+  }
+
+  @Override
+  public Optional<Path> baseDirectory()
+  {
+    return this.baseDirectory;
+  }
+
+  @Override
+  public JXEXInclude xinclude()
+  {
+    return this.xinclude;
+  }
+
+  @Override
+  public Optional<JXEXercesSymbolTable> symbolTable()
+  {
+    return this.symbolTable;
+  }
+
+  /**
+   * @return The schema mappings used for validation
+   */
+
+  public JXESchemaResolutionMappings schemas()
+  {
+    return this.schemas;
+  }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jxe.core;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Objects;
+
+/**
+ * An input stream over a memory-mapped file. Files larger than the maximum
+ * size of a single mapping are mapped as a sequence of windows.
+ */
+
+final class JXEMappedFileInputStream extends InputStream
+{
+  private static final long WINDOW_SIZE = 1L << 30;
+
+  private final FileChannel channel;
+  private final long size;
+  private MappedByteBuffer window;
+  private long windowEnd;
+  private boolean closed;
+
+  JXEMappedFileInputStream(
+    final FileChannel inChannel,
+    final long inSize)
+  {
+    this.channel = Objects.requireNonNull(inChannel, "channel");
+    this.size = inSize;
+    this.windowEnd = 0L;
+  }
+
+  private boolean ensureWindow()
+    throws IOException
+  {
+    if (this.closed) {
+      throw new IOException("Stream closed");
+    }
+    if (this.window != null && this.window.hasRemaining()) {
+      return true;
+    }
+    if (this.windowEnd >= this.size) {
+      return false;
+    }
+
+    final var length = Math.min(WINDOW_SIZE, this.size - this.windowEnd);
+    this.window =
+      this.channel.map(FileChannel.MapMode.READ_ONLY, this.windowEnd, length);
+    this.windowEnd += length;
+    return true;
+  }
+
+  @Override
+  public int read()
+    throws IOException
+  {
+    if (!this.ensureWindow()) {
+      return -1;
+    }
+    return this.window.get() & 0xff;
+  }
+
+  @Override
+  public int read(
+    final byte[] buffer,
+    final int offset,
+    final int length)
+    throws IOException
+  {
+    Objects.checkFromIndexSize(offset, length, buffer.length);
+    if (length == 0) {
+      return 0;
+    }
+    if (!this.ensureWindow()) {
+      return -1;
+    }
+
+    final var count = Math.min(length, this.window.remaining());
+    this.window.get(buffer, offset, count);
+    return count;
+  }
+
+  @Override
+  public long skip(
+    final long count)
+    throws IOException
+  {
+    if (count <= 0L || !this.ensureWindow()) {
+      return 0L;
+    }
+
+    final var skipped = Math.min(count, (long) this.window.remaining());
+    this.window.position(this.window.position() + (int) skipped);
+    return skipped;
+  }
+
+  @Override
+  public int available()
+    throws IOException
+  {
+    if (this.closed || this.window == null) {
+      return 0;
+    }
+    return this.window.remaining();
+  }
+
+  @Override
+  public void close()
+    throws IOException
+  {
+    if (!this.closed) {
+      this.closed = true;
+      this.window = null;
+      this.channel.close();
+    }
+  }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jxe.core;
+
+/**
+ * <p>A listener that receives measurements from the library.</p>
+ *
+ * <p>Every method has an empty default implementation, so implementations
+ * need only override the measurements they are interested in. Methods are
+ * called synchronously on the thread doing the measured work, and may be
+ * called concurrently from many threads; implementations must be
+ * thread-safe and should return quickly. Durations are given in
+ * nanoseconds so that no objects are allocated to report them.</p>
+ *
+ * <p>When the listener is {@link JXEMetricsListeners#noop()}, the library
+ * skips taking measurements entirely.</p>
+ */
+
+public interface JXEMetricsListenerType
+{
+  /**
+   * A reader was created.
+   *
+   * @param backend       The name of the parser backend profile
+   * @param validating    {@code true} if the reader validates
+   * @param durationNanos The time taken to create and configure the reader
+   */
+
+  default void onReaderCreated(
+    final String backend,
+    final boolean validating,
+    final long durationNanos)
+  {
+
+  }
+
+  /**
+   * A composite schema was compiled.
+   *
+   * @param durationNanos The time taken to compile the schema
+   * @param succeeded     {@code true} if compilation succeeded
+   */
+
+  default void onSchemaCompiled(
+    final long durationNanos,
+    final boolean succeeded)
+  {
+
+  }
+
+  /**
+   * A resource was resolved.
+   *
+   * @param source The place from which the resource was resolved
+   */
+
+  default void onResolved(
+    final JXEResolutionSource source)
+  {
+
+  }
+
+  /**
+   * A resolver refused to resolve a resource.
+   *
+   * @param reason The reason for the refusal
+   */
+
+  default void onResolutionRejected(
+    final JXEResolutionRejection reason)
+  {
+
+  }
+
+  /**
+   * A resolved resource was closed after some number of bytes were read
+   * from it.
+   *
+   * @param source The place from which the resource was resolved
+   * @param bytes  The number of bytes read
+   */
+
+  default void onBytesServed(
+    final JXEResolutionSource source,
+    final long bytes)
+  {
+
+  }
+}
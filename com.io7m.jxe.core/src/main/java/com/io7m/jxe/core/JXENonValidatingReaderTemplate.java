@@ -0,0 +1,166 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jxe.core;
+
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * An immutable template from which non-validating XML readers can be
+ * created cheaply. Templates are safe to share between threads.
+ */
+
+public final class JXENonValidatingReaderTemplate
+  implements JXEReaderTemplateType
+{
+  private final Optional<Path> baseDirectory;
+  private final JXEXInclude xinclude;
+  private final JXEReaderConfiguration configuration;
+  private final Optional<JXEXercesSymbolTable> symbolTable;
+
+  private JXENonValidatingReaderTemplate(
+    final Optional<Path> inBaseDirectory,
+    final JXEXInclude inXInclude,
+    final JXEReaderConfiguration inConfiguration,
+    final Optional<JXEXercesSymbolTable> inSymbolTable)
+  {
+    this.baseDirectory =
+      Objects.requireNonNull(inBaseDirectory, "baseDirectory");
+    this.xinclude =
+      Objects.requireNonNull(inXInclude, "xinclude");
+    this.configuration =
+      Objects.requireNonNull(inConfiguration, "configuration");
+    this.symbolTable =
+      Objects.requireNonNull(inSymbolTable, "symbolTable");
+  }
+
+  static JXENonValidatingReaderTemplate create(
+    final JXEHardenedSAXParsersConfiguration parsers,
+    final JXEParserBackend backend,
+    final Optional<Path> baseDirectory,
+    final JXEXInclude xinclude)
+    throws ParserConfigurationException, SAXException
+  {
+    Objects.requireNonNull(parsers, "parsers");
+    Objects.requireNonNull(backend, "backend");
+    Objects.requireNonNull(baseDirectory, "Base directory");
+    Objects.requireNonNull(xinclude, "xinclude");
+
+    final var resolver =
+      JXEHardenedDispatchingResolver.create(
+        JXEResolverConfiguration.builder()
+          .setBaseDirectory(baseDirectory)
+          .setFileInput(parsers.fileInput())
+          .setFileCache(parsers.fileCache())
+          .setMetrics(parsers.metrics())
+          .build()
+      );
+
+    final var properties =
+      new LinkedHashMap<>(backend.tuningProperties());
+    properties.putAll(backend.nonValidatingProperties());
+    properties.putAll(backend.resourceLimitProperties(parsers.resourceLimits()));
+
+    /*
+     * Xerces interns names into a symbol table; installing a shared table
+     * means that each name is interned once for every reader.
+     */
+
+    final var symbolTable =
+      backend.symbolTable(parsers.symbolTable());
+    symbolTable.ifPresent(table -> {
+      properties.put(JXEXercesSymbolTable.SYMBOL_TABLE_PROPERTY, table);
+    });
+
+    final var configuration =
+      JXEReaderConfiguration.create(
+        parsers.parsers(),
+        backend.nonValidatingFeatures(xinclude),
+        Collections.unmodifiableMap(properties),
+        resolver,
+        backend.profile().name(),
+        false,
+        parsers.metrics(),
+        backend.resourceLimitDecorator(parsers.resourceLimits())
+      );
+
+    return new JXENonValidatingReaderTemplate(
+      baseDirectory,
+      xinclude,
+      configuration,
+      symbolTable
+    );
+  }
+
+  /**
+   * Create a new non-validating XML reader.
+   *
+   * @return A new non-validating XML reader
+   *
+   * @throws ParserConfigurationException On parser configuration errors
+   * @throws SAXException                 On SAX parser errors
+   */
+
+  @Override
+  public XMLReader newReader()
+    throws ParserConfigurationException, SAXException
+  {
+    return this.configuration.newReader();
+  }
+
+  @Override
+  public JXEXMLReaderPool createPool(
+    final int maximumSize)
+  {
+    return JXEXMLReaderPool.create(this.configuration, maximumSize);
+  }
+
+  @Override
+  public InputSource openDocument(
+    final String systemId)
+    throws SAXException, IOException
+  {
+    return this.configuration.resolver().openDocument(systemId);
+  }
+
+  @Override
+  public Optional<Path> baseDirectory()
+  {
+    return this.baseDirectory;
+  }
+
+  @Override
+  public JXEXInclude xinclude()
+  {
+    return this.xinclude;
+  }
+
+  @Override
+  public Optional<JXEXercesSymbolTable> symbolTable()
+  {
+    return this.symbolTable;
+  }
+}
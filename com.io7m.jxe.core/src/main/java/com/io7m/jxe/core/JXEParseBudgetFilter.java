@@ -0,0 +1,224 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jxe.core;
+
+import org.xml.sax.Attributes;
+import org.xml.sax.EntityResolver;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.ext.EntityResolver2;
+import org.xml.sax.helpers.XMLFilterImpl;
+
+import java.io.IOException;
+import java.util.Objects;
+
+/**
+ * A filter that applies a {@link JXEParseBudget} to each parse performed
+ * by a hardened reader.
+ *
+ * The filter installs itself as its parent's entity resolver for the
+ * duration of each parse. Resolution is delegated to the parent's original
+ * (hardened) resolver, and the input of every resolved resource is counted
+ * against the same budget as the document. The budget is also checked on
+ * each content event, so that a parse that consumes no further input is
+ * still aborted promptly. A document given only as a system ID is opened
+ * through the hardened resolver. Whatever exception a parse fails with, an
+ * abort is always reported to the caller as the corresponding
+ * {@link JXEParseAbortedException}.
+ */
+
+final class JXEParseBudgetFilter
+  extends XMLFilterImpl implements EntityResolver2
+{
+  private final JXEParseBudget budget;
+  private JXEParseGuard guard;
+
+  JXEParseBudgetFilter(
+    final XMLReader inParent,
+    final JXEParseBudget inBudget)
+  {
+    super(Objects.requireNonNull(inParent, "parent"));
+    this.budget = Objects.requireNonNull(inBudget, "budget");
+    this.setEntityResolver(inParent.getEntityResolver());
+  }
+
+  @Override
+  public void parse(
+    final InputSource input)
+    throws SAXException, IOException
+  {
+    final var parent = this.getParent();
+
+    try (var parseGuard = JXEParseGuard.start(this.budget)) {
+      this.guard = parseGuard;
+
+      parent.setEntityResolver(this);
+      parent.setDTDHandler(this);
+      parent.setErrorHandler(this);
+      parent.setContentHandler(this);
+
+      try {
+        parent.parse(parseGuard.guard(this.open(input)));
+      } catch (final SAXException | IOException | RuntimeException e) {
+        final var reason = parseGuard.abortReason();
+        if (reason.isPresent()) {
+          final var abort = reason.get();
+          if (abort != e) {
+            abort.addSuppressed(e);
+          }
+          throw abort;
+        }
+        throw e;
+      } finally {
+        parent.setEntityResolver(this.getEntityResolver());
+        this.guard = null;
+      }
+    }
+  }
+
+  /*
+   * A document given only as a system ID is opened through the hardened
+   * resolver, which applies the same base directory and scheme checks as
+   * for any other resource, so that its input can be counted.
+   */
+
+  private InputSource open(
+    final InputSource input)
+    throws SAXException, IOException
+  {
+    if (input == null
+        || input.getByteStream() != null
+        || input.getCharacterStream() != null
+        || input.getSystemId() == null) {
+      return input;
+    }
+
+    if (this.getEntityResolver() instanceof final JXEHardenedDispatchingResolver resolver) {
+      final var opened = resolver.openDocument(input.getSystemId());
+      opened.setPublicId(input.getPublicId());
+      opened.setEncoding(input.getEncoding());
+      return opened;
+    }
+    return input;
+  }
+
+  @Override
+  public void parse(
+    final String systemId)
+    throws SAXException, IOException
+  {
+    this.parse(new InputSource(systemId));
+  }
+
+  @Override
+  public InputSource getExternalSubset(
+    final String name,
+    final String baseURI)
+    throws SAXException, IOException
+  {
+    if (this.getEntityResolver() instanceof final EntityResolver2 resolver) {
+      return this.guard.guard(resolver.getExternalSubset(name, baseURI));
+    }
+    return null;
+  }
+
+  @Override
+  public InputSource resolveEntity(
+    final String name,
+    final String publicId,
+    final String baseURI,
+    final String systemId)
+    throws SAXException, IOException
+  {
+    this.guard.check();
+
+    final EntityResolver resolver = this.getEntityResolver();
+    if (resolver instanceof final EntityResolver2 resolver2) {
+      return this.guard.guard(
+        resolver2.resolveEntity(name, publicId, baseURI, systemId));
+    }
+    if (resolver != null) {
+      return this.guard.guard(resolver.resolveEntity(publicId, systemId));
+    }
+    return null;
+  }
+
+  @Override
+  public InputSource resolveEntity(
+    final String publicId,
+    final String systemId)
+    throws SAXException, IOException
+  {
+    return this.resolveEntity(null, publicId, null, systemId);
+  }
+
+  @Override
+  public void startElement(
+    final String uri,
+    final String localName,
+    final String qName,
+    final Attributes atts)
+    throws SAXException
+  {
+    this.guard.check();
+    super.startElement(uri, localName, qName, atts);
+  }
+
+  @Override
+  public void endElement(
+    final String uri,
+    final String localName,
+    final String qName)
+    throws SAXException
+  {
+    this.guard.check();
+    super.endElement(uri, localName, qName);
+  }
+
+  @Override
+  public void characters(
+    final char[] ch,
+    final int start,
+    final int length)
+    throws SAXException
+  {
+    this.guard.check();
+    super.characters(ch, start, length);
+  }
+
+  @Override
+  public void ignorableWhitespace(
+    final char[] ch,
+    final int start,
+    final int length)
+    throws SAXException
+  {
+    this.guard.check();
+    super.ignorableWhitespace(ch, start, length);
+  }
+
+  @Override
+  public void processingInstruction(
+    final String target,
+    final String data)
+    throws SAXException
+  {
+    this.guard.check();
+    super.processingInstruction(target, data);
+  }
+}
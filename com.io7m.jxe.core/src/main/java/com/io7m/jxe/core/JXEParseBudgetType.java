@@ -0,0 +1,94 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jxe.core;
+
+import com.io7m.immutables.styles.ImmutablesStyleType;
+import org.immutables.value.Value;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Bounds on the time and input consumed by each parse performed by a
+ * reader. A parse that exceeds its budget, or that is cancelled, is
+ * aborted with a {@link JXEParseAbortedException}.
+ *
+ * @see JXEReaderTemplateType#newReader(JXEParseBudget)
+ */
+
+@ImmutablesStyleType
+@Value.Immutable
+public interface JXEParseBudgetType
+{
+  /**
+   * The maximum time that a single parse may take, measured from the
+   * moment that the parse begins. A parse that is blocked reading input
+   * when the time elapses is unblocked by closing its input.
+   *
+   * @return The timeout, if any
+   */
+
+  Optional<Duration> timeout();
+
+  /**
+   * The maximum number of bytes that a single parse may read, counted
+   * across the document and every resource resolved during the parse.
+   * Documents supplied as character streams are counted in characters.
+   * A value of zero indicates that input is not limited.
+   *
+   * @return The maximum number of input bytes
+   */
+
+  @Value.Default
+  default long maximumInputBytes()
+  {
+    return 0L;
+  }
+
+  /**
+   * A token that cancels every parse that uses this budget. Parses are
+   * also cancelled if the parsing thread is interrupted.
+   *
+   * @return The cancellation token, if any
+   */
+
+  Optional<JXECancellationToken> cancellation();
+
+  /**
+   * Check preconditions for the type.
+   */
+
+  @Value.Check
+  default void checkPreconditions()
+  {
+    final var timeout = this.timeout();
+    if (timeout.isPresent()) {
+      final var time = timeout.get();
+      if (time.isNegative() || time.isZero()) {
+        throw new IllegalArgumentException(
+          "Timeout must be positive (received %s)".formatted(time)
+        );
+      }
+    }
+    if (this.maximumInputBytes() < 0L) {
+      throw new IllegalArgumentException(
+        "Maximum input bytes must be non-negative (received %d)".formatted(
+          Long.valueOf(this.maximumInputBytes()))
+      );
+    }
+  }
+}
@@ -0,0 +1,353 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jxe.core;
+
+import org.xml.sax.InputSource;
+
+import java.io.Closeable;
+import java.io.FilterInputStream;
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * The state of a single parse performed under a {@link JXEParseBudget}.
+ *
+ * A guard counts the input read by the parse, and records the reason that
+ * the parse was aborted, if any. Aborts requested from other threads (by
+ * the deadline timer or by a cancellation token) close every stream that
+ * the parse currently has open, so that a parse blocked reading input is
+ * unblocked promptly. The parsing thread observes the abort on its next
+ * read or event.
+ */
+
+final class JXEParseGuard implements AutoCloseable
+{
+  private static final ScheduledExecutorService DEADLINES =
+    JXEExecutors.newDaemonScheduledExecutor("com.io7m.jxe.deadlines");
+
+  private final JXEParseBudget budget;
+  private final Thread thread;
+  private final Set<Closeable> open;
+  private final AtomicReference<JXEParseAbortedException> aborted;
+  private ScheduledFuture<?> deadline;
+  private long inputBytes;
+
+  private JXEParseGuard(
+    final JXEParseBudget inBudget)
+  {
+    this.budget = Objects.requireNonNull(inBudget, "budget");
+    this.thread = Thread.currentThread();
+    this.open = ConcurrentHashMap.newKeySet();
+    this.aborted = new AtomicReference<>();
+  }
+
+  /**
+   * Start guarding a parse on the current thread.
+   *
+   * @param budget The budget
+   *
+   * @return A guard that must be closed when the parse completes
+   */
+
+  static JXEParseGuard start(
+    final JXEParseBudget budget)
+  {
+    final var guard = new JXEParseGuard(budget);
+
+    final var timeout = budget.timeout();
+    if (timeout.isPresent()) {
+      final var time = timeout.get();
+      guard.deadline = DEADLINES.schedule(
+        () -> {
+          guard.abort(new JXEParseTimeoutException(
+            "Parse exceeded the timeout of %s".formatted(time)
+          ));
+        },
+        time.toNanos(),
+        TimeUnit.NANOSECONDS
+      );
+    }
+
+    budget.cancellation().ifPresent(token -> token.register(guard));
+    return guard;
+  }
+
+  /**
+   * Cancel the parse.
+   */
+
+  void cancel()
+  {
+    this.abort(new JXEParseCancelledException("Parse was cancelled"));
+  }
+
+  private JXEParseAbortedException abort(
+    final JXEParseAbortedException exception)
+  {
+    if (this.aborted.compareAndSet(null, exception)) {
+      for (final var stream : this.open) {
+        try {
+          stream.close();
+        } catch (final IOException e) {
+          // Nothing can be done about a stream that fails to close.
+        }
+      }
+    }
+    return this.aborted.get();
+  }
+
+  /**
+   * @return The reason that the parse was aborted, if it was
+   */
+
+  Optional<JXEParseAbortedException> abortReason()
+  {
+    return Optional.ofNullable(this.aborted.get());
+  }
+
+  /**
+   * Check whether the parse should continue.
+   *
+   * @throws JXEParseAbortedException If the parse must be aborted
+   */
+
+  void check()
+    throws JXEParseAbortedException
+  {
+    final var reason = this.aborted.get();
+    if (reason != null) {
+      throw reason;
+    }
+    if (this.thread.isInterrupted()) {
+      throw this.abort(new JXEParseCancelledException(
+        "Parsing thread was interrupted"));
+    }
+  }
+
+  private void checkInput()
+    throws IOException
+  {
+    try {
+      this.check();
+    } catch (final JXEParseAbortedException e) {
+      throw new IOException(e.getMessage(), e);
+    }
+  }
+
+  private void countInput(
+    final long count)
+    throws IOException
+  {
+    this.inputBytes += count;
+
+    final var maximum = this.budget.maximumInputBytes();
+    if (maximum > 0L && this.inputBytes > maximum) {
+      this.abort(new JXEParseInputLimitException(
+        "Parse read more than the maximum of %d bytes (or characters) of input".formatted(
+          Long.valueOf(maximum))
+      ));
+    }
+    this.checkInput();
+  }
+
+  /**
+   * Wrap the input of the given source so that reads are counted against
+   * the budget. Byte streams are counted in bytes, and character streams are
+   * counted in characters. A source that has neither stream is refused:
+   * opening it here would bypass the checks made by the hardened resolver,
+   * and leaving it to the parser would leave its input uncounted.
+   *
+   * @param source The source, or {@code null}
+   *
+   * @return A guarded source, or {@code null} if {@code source} was null
+   *
+   * @throws IOException On I/O errors, or if the source has no stream
+   */
+
+  InputSource guard(
+    final InputSource source)
+    throws IOException
+  {
+    if (source == null) {
+      return null;
+    }
+
+    this.checkInput();
+
+    final var guarded = new InputSource();
+    guarded.setPublicId(source.getPublicId());
+    guarded.setSystemId(source.getSystemId());
+    guarded.setEncoding(source.getEncoding());
+
+    final var characters = source.getCharacterStream();
+    final var bytes = source.getByteStream();
+    if (characters != null) {
+      guarded.setCharacterStream(this.register(new GuardedReader(characters)));
+    } else if (bytes != null) {
+      guarded.setByteStream(this.register(new GuardedStream(bytes)));
+    } else {
+      throw new IOException(
+        "Refusing to open a source that has no byte or character stream (system ID %s)"
+          .formatted(source.getSystemId()));
+    }
+    return guarded;
+  }
+
+  private <T extends Closeable> T register(
+    final T stream)
+    throws IOException
+  {
+    this.open.add(stream);
+    if (this.aborted.get() != null) {
+      stream.close();
+    }
+    return stream;
+  }
+
+  @Override
+  public void close()
+  {
+    if (this.deadline != null) {
+      this.deadline.cancel(false);
+    }
+    this.budget.cancellation().ifPresent(token -> token.unregister(this));
+    this.open.clear();
+  }
+
+  private final class GuardedStream extends FilterInputStream
+  {
+    GuardedStream(
+      final InputStream inStream)
+    {
+      super(inStream);
+    }
+
+    @Override
+    public int read()
+      throws IOException
+    {
+      final var r = super.read();
+      JXEParseGuard.this.countInput(r >= 0 ? 1L : 0L);
+      return r;
+    }
+
+    @Override
+    public int read(
+      final byte[] buffer,
+      final int offset,
+      final int length)
+      throws IOException
+    {
+      final var r = super.read(buffer, offset, length);
+      JXEParseGuard.this.countInput(Math.max(r, 0));
+      return r;
+    }
+
+    @Override
+    public long skip(
+      final long n)
+      throws IOException
+    {
+      final var r = super.skip(n);
+      JXEParseGuard.this.countInput(r);
+      return r;
+    }
+
+    @Override
+    public boolean markSupported()
+    {
+      return false;
+    }
+
+    @Override
+    public void close()
+      throws IOException
+    {
+      JXEParseGuard.this.open.remove(this);
+      super.close();
+    }
+  }
+
+  /*
+   * A character stream has no bytes to count, and so its characters are
+   * counted against the input limit instead.
+   */
+
+  private final class GuardedReader extends FilterReader
+  {
+    GuardedReader(
+      final Reader inReader)
+    {
+      super(inReader);
+    }
+
+    @Override
+    public int read()
+      throws IOException
+    {
+      final var r = super.read();
+      JXEParseGuard.this.countInput(r >= 0 ? 1L : 0L);
+      return r;
+    }
+
+    @Override
+    public int read(
+      final char[] buffer,
+      final int offset,
+      final int length)
+      throws IOException
+    {
+      final var r = super.read(buffer, offset, length);
+      JXEParseGuard.this.countInput(Math.max(r, 0));
+      return r;
+    }
+
+    @Override
+    public long skip(
+      final long n)
+      throws IOException
+    {
+      final var r = super.skip(n);
+      JXEParseGuard.this.countInput(r);
+      return r;
+    }
+
+    @Override
+    public boolean markSupported()
+    {
+      return false;
+    }
+
+    @Override
+    public void close()
+      throws IOException
+    {
+      JXEParseGuard.this.open.remove(this);
+      super.close();
+    }
+  }
+}
@@ -0,0 +1,353 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jxe.core;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.parsers.SAXParserFactory;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * A detected parser backend: the profile that matched the parsers produced
+ * by a factory supplier, and the feature sets of that profile, verified once
+ * against the factory and precomputed for every XInclude mode.
+ */
+
+final class JXEParserBackend
+{
+  private static final Logger LOG =
+    LoggerFactory.getLogger(JXEParserBackend.class);
+
+  private final JXEParserBackendProfileType profile;
+  private final ClassLoader parserClassLoader;
+  private final EnumMap<JXEXInclude, Map<String, Boolean>> nonValidatingFeatures;
+  private final EnumMap<JXEXInclude, Map<String, Boolean>> validatingFeatures;
+  private final Map<String, Object> nonValidatingProperties;
+  private final Map<String, Object> tuningProperties;
+
+  private JXEParserBackend(
+    final JXEParserBackendProfileType inProfile,
+    final ClassLoader inParserClassLoader,
+    final EnumMap<JXEXInclude, Map<String, Boolean>> inNonValidatingFeatures,
+    final EnumMap<JXEXInclude, Map<String, Boolean>> inValidatingFeatures,
+    final Map<String, Object> inNonValidatingProperties,
+    final Map<String, Object> inTuningProperties)
+  {
+    this.profile =
+      Objects.requireNonNull(inProfile, "profile");
+    this.parserClassLoader =
+      inParserClassLoader;
+    this.nonValidatingFeatures =
+      Objects.requireNonNull(inNonValidatingFeatures, "nonValidatingFeatures");
+    this.validatingFeatures =
+      Objects.requireNonNull(inValidatingFeatures, "validatingFeatures");
+    this.nonValidatingProperties =
+      Objects.requireNonNull(
+        inNonValidatingProperties, "nonValidatingProperties");
+    this.tuningProperties =
+      Objects.requireNonNull(inTuningProperties, "tuningProperties");
+  }
+
+  /**
+   * Detect the backend used by the given factory supplier. The first
+   * matching profile is selected, falling back to the JDK profile if no
+   * profile matches. Every feature of the selected profile is then checked
+   * against a factory once; a backend that does not support a feature is
+   * rejected rather than silently used without it. The features and
+   * properties that implement the tuning options are checked in the same
+   * way, and are merged with the hardening features; a tuning option that
+   * would change a hardening feature or property is rejected.
+   *
+   * @param parsers  The factory supplier
+   * @param profiles The candidate profiles
+   * @param tuning   The tuning options
+   *
+   * @return The detected backend
+   *
+   * @throws ParserConfigurationException If the backend does not support a
+   *                                      required feature, or if tuning
+   *                                      would weaken hardening
+   * @throws SAXException                 On SAX parser errors
+   */
+
+  static JXEParserBackend detect(
+    final Supplier<SAXParserFactory> parsers,
+    final List<JXEParserBackendProfileType> profiles,
+    final JXEParserTuning tuning)
+    throws ParserConfigurationException, SAXException
+  {
+    Objects.requireNonNull(parsers, "parsers");
+    Objects.requireNonNull(profiles, "profiles");
+    Objects.requireNonNull(tuning, "tuning");
+
+    final var parser = parsers.get().newSAXParser();
+    final var profile =
+      profiles.stream()
+        .filter(p -> p.matches(parser))
+        .findFirst()
+        .orElse(JXEParserBackendProfiles.jdk());
+
+    LOG.debug(
+      "parser {} uses backend profile {}",
+      parser.getClass().getName(),
+      profile.name());
+
+    final var nonValidating =
+      new EnumMap<JXEXInclude, Map<String, Boolean>>(JXEXInclude.class);
+    final var validating =
+      new EnumMap<JXEXInclude, Map<String, Boolean>>(JXEXInclude.class);
+
+    final var tuningFeatures =
+      checkFeatures(parsers, profile, profile.tuningFeatures(tuning));
+
+    for (final var xinclude : JXEXInclude.values()) {
+      nonValidating.put(
+        xinclude,
+        merge(
+          profile,
+          checkFeatures(
+            parsers, profile, profile.nonValidatingFeatures(xinclude)),
+          tuningFeatures
+        )
+      );
+      validating.put(
+        xinclude,
+        merge(
+          profile,
+          checkFeatures(
+            parsers, profile, profile.validatingFeatures(xinclude)),
+          tuningFeatures
+        )
+      );
+    }
+
+    final var nonValidatingProperties =
+      Map.copyOf(profile.nonValidatingProperties());
+    final var tuningProperties =
+      Map.copyOf(profile.tuningProperties(tuning));
+
+    checkProperties(
+      parser.getXMLReader(),
+      profile,
+      nonValidatingProperties,
+      tuningProperties
+    );
+
+    return new JXEParserBackend(
+      profile,
+      parser.getClass().getClassLoader(),
+      nonValidating,
+      validating,
+      nonValidatingProperties,
+      tuningProperties
+    );
+  }
+
+  private static Map<String, Boolean> merge(
+    final JXEParserBackendProfileType profile,
+    final Map<String, Boolean> hardening,
+    final Map<String, Boolean> tuning)
+    throws ParserConfigurationException
+  {
+    final var merged = new LinkedHashMap<>(tuning);
+    for (final var name : hardening.keySet()) {
+      if (merged.containsKey(name)) {
+        throw new ParserConfigurationException(
+          "Parser backend '%s' tuning must not change the hardening feature %s"
+            .formatted(profile.name(), name)
+        );
+      }
+    }
+    merged.putAll(hardening);
+    return Collections.unmodifiableMap(merged);
+  }
+
+  private static void checkProperties(
+    final XMLReader reader,
+    final JXEParserBackendProfileType profile,
+    final Map<String, Object> hardening,
+    final Map<String, Object> tuning)
+    throws ParserConfigurationException
+  {
+    for (final var entry : tuning.entrySet()) {
+      final var name = entry.getKey();
+      if (hardening.containsKey(name)) {
+        throw new ParserConfigurationException(
+          "Parser backend '%s' tuning must not change the hardening property %s"
+            .formatted(profile.name(), name)
+        );
+      }
+
+      try {
+        reader.setProperty(name, entry.getValue());
+      } catch (final SAXException e) {
+        final var ex = new ParserConfigurationException(
+          "Parser backend '%s' does not support the tuning property %s"
+            .formatted(profile.name(), name)
+        );
+        ex.initCause(e);
+        throw ex;
+      }
+    }
+  }
+
+  private static Map<String, Boolean> checkFeatures(
+    final Supplier<SAXParserFactory> parsers,
+    final JXEParserBackendProfileType profile,
+    final Map<String, Boolean> features)
+    throws ParserConfigurationException
+  {
+    final var factory = parsers.get();
+    for (final var entry : features.entrySet()) {
+      try {
+        factory.setFeature(entry.getKey(), entry.getValue().booleanValue());
+      } catch (final SAXException e) {
+        final var ex = new ParserConfigurationException(
+          "Parser backend '%s' does not support the required feature %s"
+            .formatted(profile.name(), entry.getKey())
+        );
+        ex.initCause(e);
+        throw ex;
+      }
+    }
+    return features;
+  }
+
+  /**
+   * @return The selected profile
+   */
+
+  JXEParserBackendProfileType profile()
+  {
+    return this.profile;
+  }
+
+  /**
+   * @return The class loader that loaded the parser, or {@code null} for
+   *         the bootstrap class loader
+   */
+
+  ClassLoader parserClassLoader()
+  {
+    return this.parserClassLoader;
+  }
+
+  /**
+   * @param xinclude Whether XInclude is enabled
+   *
+   * @return The verified features for non-validating readers
+   */
+
+  Map<String, Boolean> nonValidatingFeatures(
+    final JXEXInclude xinclude)
+  {
+    return this.nonValidatingFeatures.get(xinclude);
+  }
+
+  /**
+   * @param xinclude Whether XInclude is enabled
+   *
+   * @return The verified features for validating readers
+   */
+
+  Map<String, Boolean> validatingFeatures(
+    final JXEXInclude xinclude)
+  {
+    return this.validatingFeatures.get(xinclude);
+  }
+
+  /**
+   * @return The properties for non-validating readers
+   */
+
+  Map<String, Object> nonValidatingProperties()
+  {
+    return this.nonValidatingProperties;
+  }
+
+  /**
+   * @param symbolTable The symbol table to share, if any
+   *
+   * @return The symbol table that readers will use, if the backend
+   *         supports shared symbol tables
+   */
+
+  Optional<JXEXercesSymbolTable> symbolTable(
+    final Optional<JXEXercesSymbolTable> symbolTable)
+  {
+    if (this.profile.supportsXercesSymbolTables()) {
+      return symbolTable;
+    }
+    return Optional.empty();
+  }
+
+  /**
+   * @return The properties that implement the tuning options; these are
+   *         applied before, and so cannot override, any hardening
+   *         properties
+   */
+
+  Map<String, Object> tuningProperties()
+  {
+    return this.tuningProperties;
+  }
+
+  /**
+   * @param limits The resource limits, if any
+   *
+   * @return The properties with which readers enforce the limits natively
+   */
+
+  Map<String, Object> resourceLimitProperties(
+    final Optional<JXEResourceLimits> limits)
+  {
+    return limits.map(this.profile::resourceLimitProperties)
+      .orElse(Map.of());
+  }
+
+  /**
+   * @param limits The resource limits, if any
+   *
+   * @return A decorator that enforces any limits that the backend cannot
+   *         enforce natively
+   */
+
+  JXEReaderDecoratorType resourceLimitDecorator(
+    final Optional<JXEResourceLimits> limits)
+  {
+    if (limits.isEmpty()) {
+      return JXEReaderDecoratorType.IDENTITY;
+    }
+
+    final var limitsNow = limits.get();
+    if (this.profile.enforcesResourceLimits(limitsNow)) {
+      return JXEReaderDecoratorType.IDENTITY;
+    }
+    return reader -> new JXEResourceLimitingFilter(reader, limitsNow);
+  }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jxe.core;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.SAXParser;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The profile for the parser built into the JDK. This profile also serves
+ * as the fallback for parsers that no other profile matches, as it only
+ * uses features and properties defined by JAXP.
+ */
+
+final class JXEParserBackendProfileJDK implements JXEParserBackendProfileType
+{
+  private static final Map<String, Object> NON_VALIDATING_PROPERTIES =
+    Map.of(
+      XMLConstants.ACCESS_EXTERNAL_SCHEMA, "",
+      XMLConstants.ACCESS_EXTERNAL_DTD, ""
+    );
+
+  JXEParserBackendProfileJDK()
+  {
+
+  }
+
+  @Override
+  public String name()
+  {
+    return "jdk";
+  }
+
+  @Override
+  public boolean matches(
+    final SAXParser parser)
+  {
+    return parser.getClass()
+      .getName()
+      .startsWith("com.sun.org.apache.xerces.internal.jaxp.");
+  }
+
+  @Override
+  public Map<String, Boolean> nonValidatingFeatures(
+    final JXEXInclude xinclude)
+  {
+    return JXEReaderFeatures.features(xinclude, false, true);
+  }
+
+  /*
+   * Don't allow access to schemas or DTD files.
+   */
+
+  @Override
+  public Map<String, Object> nonValidatingProperties()
+  {
+    return NON_VALIDATING_PROPERTIES;
+  }
+
+  @Override
+  public Map<String, Boolean> validatingFeatures(
+    final JXEXInclude xinclude)
+  {
+    return JXEReaderFeatures.features(xinclude, true, true);
+  }
+
+  @Override
+  public Map<String, Object> validatingProperties(
+    final JXESchemaResolutionMappings schemas)
+  {
+    /*
+     * Only allow access to schema files using a "file" URL scheme. This is
+     * restricted even further via a custom entity resolver. Access to
+     * external DTD files is denied.
+     */
+
+    final var properties = new LinkedHashMap<String, Object>();
+    properties.put(XMLConstants.ACCESS_EXTERNAL_SCHEMA, "file");
+    properties.put(XMLConstants.ACCESS_EXTERNAL_DTD, "");
+    properties.put(
+      JXEReaderFeatures.SCHEMA_LOCATION,
+      JXEReaderFeatures.schemaLocations(schemas)
+    );
+    return Collections.unmodifiableMap(properties);
+  }
+
+  /*
+   * The JDK parser's security manager accepts its limits as reader
+   * properties, and these take precedence over both the secure processing
+   * defaults and any limits specified as system properties. A value of
+   * zero means "unlimited" to the JDK, as it does to us. There is no JDK
+   * limit on the total number of characters in a document.
+   */
+
+  @Override
+  public Map<String, Object> resourceLimitProperties(
+    final JXEResourceLimits limits)
+  {
+    return Map.of(
+      "jdk.xml.maxElementDepth",
+      String.valueOf(limits.maximumElementDepth()),
+      "jdk.xml.elementAttributeLimit",
+      String.valueOf(limits.maximumAttributeCount()),
+      "jdk.xml.totalEntitySizeLimit",
+      String.valueOf(limits.maximumTotalEntitySize()),
+      "jdk.xml.maxXMLNameLimit",
+      String.valueOf(limits.maximumNameLength())
+    );
+  }
+
+  @Override
+  public boolean enforcesResourceLimits(
+    final JXEResourceLimits limits)
+  {
+    return limits.maximumTotalCharacters() == 0L;
+  }
+
+  @Override
+  public Map<String, Boolean> tuningFeatures(
+    final JXEParserTuning tuning)
+  {
+    return JXEReaderFeatures.tuningFeatures(tuning);
+  }
+
+  @Override
+  public Map<String, Object> tuningProperties(
+    final JXEParserTuning tuning)
+  {
+    return JXEReaderFeatures.tuningProperties(tuning);
+  }
+}
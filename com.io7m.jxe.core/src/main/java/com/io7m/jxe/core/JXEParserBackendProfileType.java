@@ -0,0 +1,153 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jxe.core;
+
+import javax.xml.parsers.SAXParser;
+import java.util.Map;
+
+/**
+ * <p>A profile describing how to harden readers produced by a particular
+ * SAX parser implementation.</p>
+ *
+ * <p>Profiles are consulted once per parser provider: the first profile
+ * that {@link #matches(SAXParser) matches} a parser produced by the
+ * provider's factory is used for every reader the provider creates.
+ * Additional profiles may be registered as services of this type, or
+ * supplied directly in a {@link JXEHardenedSAXParsersConfiguration}.</p>
+ *
+ * <p>Profiles must never weaken hardening: a feature set returned by a
+ * profile must disable external DTDs and external entities that are not
+ * routed through the entity resolver, and must enable secure processing.</p>
+ *
+ * @see JXEParserBackendProfiles
+ */
+
+public interface JXEParserBackendProfileType
+{
+  /**
+   * @return The name of the backend
+   */
+
+  String name();
+
+  /**
+   * @param parser A parser produced by the configured factory
+   *
+   * @return {@code true} if this profile applies to the given parser
+   */
+
+  boolean matches(SAXParser parser);
+
+  /**
+   * @param xinclude Whether XInclude is enabled
+   *
+   * @return The features applied to non-validating readers
+   */
+
+  Map<String, Boolean> nonValidatingFeatures(JXEXInclude xinclude);
+
+  /**
+   * @return The properties applied to non-validating readers
+   */
+
+  Map<String, Object> nonValidatingProperties();
+
+  /**
+   * @param xinclude Whether XInclude is enabled
+   *
+   * @return The features applied to validating readers
+   */
+
+  Map<String, Boolean> validatingFeatures(JXEXInclude xinclude);
+
+  /**
+   * @param schemas The schema mappings used for validation
+   *
+   * @return The properties applied to validating readers
+   */
+
+  Map<String, Object> validatingProperties(JXESchemaResolutionMappings schemas);
+
+  /**
+   * @return {@code true} if readers accept a {@link JXEXercesGrammarPool}
+   */
+
+  default boolean supportsXercesGrammarPools()
+  {
+    return false;
+  }
+
+  /**
+   * @return {@code true} if readers accept a {@link JXEXercesSymbolTable}
+   */
+
+  default boolean supportsXercesSymbolTables()
+  {
+    return false;
+  }
+
+  /**
+   * @param limits The resource limits
+   *
+   * @return The properties that cause readers to enforce the given limits
+   *         natively
+   */
+
+  default Map<String, Object> resourceLimitProperties(
+    final JXEResourceLimits limits)
+  {
+    return Map.of();
+  }
+
+  /**
+   * @param limits The resource limits
+   *
+   * @return {@code true} if the properties returned by
+   *         {@link #resourceLimitProperties(JXEResourceLimits)} cause every
+   *         one of the given limits to be enforced
+   */
+
+  default boolean enforcesResourceLimits(
+    final JXEResourceLimits limits)
+  {
+    return false;
+  }
+
+  /**
+   * @param tuning The tuning options
+   *
+   * @return The features that implement the given tuning options
+   */
+
+  default Map<String, Boolean> tuningFeatures(
+    final JXEParserTuning tuning)
+  {
+    return Map.of();
+  }
+
+  /**
+   * @param tuning The tuning options
+   *
+   * @return The properties that implement the given tuning options
+   */
+
+  default Map<String, Object> tuningProperties(
+    final JXEParserTuning tuning)
+  {
+    return Map.of();
+  }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jxe.core;
+
+import javax.xml.parsers.SAXParser;
+import java.util.Map;
+
+/**
+ * The profile for Apache Xerces.
+ */
+
+final class JXEParserBackendProfileXerces
+  implements JXEParserBackendProfileType
+{
+  JXEParserBackendProfileXerces()
+  {
+
+  }
+
+  @Override
+  public String name()
+  {
+    return "xerces";
+  }
+
+  @Override
+  public boolean matches(
+    final SAXParser parser)
+  {
+    return parser.getClass()
+      .getName()
+      .startsWith("org.apache.xerces.jaxp.");
+  }
+
+  @Override
+  public Map<String, Boolean> nonValidatingFeatures(
+    final JXEXInclude xinclude)
+  {
+    return JXEReaderFeatures.features(xinclude, false, true);
+  }
+
+  @Override
+  public Map<String, Object> nonValidatingProperties()
+  {
+    return Map.of();
+  }
+
+  /*
+   * Sadly, Xerces requires a different set of features to be set for
+   * validation.
+   */
+
+  @Override
+  public Map<String, Boolean> validatingFeatures(
+    final JXEXInclude xinclude)
+  {
+    return JXEReaderFeatures.features(xinclude, true, false);
+  }
+
+  @Override
+  public Map<String, Object> validatingProperties(
+    final JXESchemaResolutionMappings schemas)
+  {
+    return Map.of(
+      JXEReaderFeatures.SCHEMA_LOCATION,
+      JXEReaderFeatures.schemaLocations(schemas)
+    );
+  }
+
+  @Override
+  public boolean supportsXercesGrammarPools()
+  {
+    return true;
+  }
+
+  @Override
+  public boolean supportsXercesSymbolTables()
+  {
+    return true;
+  }
+
+  @Override
+  public Map<String, Boolean> tuningFeatures(
+    final JXEParserTuning tuning)
+  {
+    return JXEReaderFeatures.tuningFeatures(tuning);
+  }
+
+  @Override
+  public Map<String, Object> tuningProperties(
+    final JXEParserTuning tuning)
+  {
+    return JXEReaderFeatures.tuningProperties(tuning);
+  }
+}
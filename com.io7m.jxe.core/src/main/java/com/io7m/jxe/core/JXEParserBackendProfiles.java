@@ -0,0 +1,74 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jxe.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ServiceLoader;
+
+/**
+ * Access to the standard parser backend profiles.
+ */
+
+public final class JXEParserBackendProfiles
+{
+  private static final JXEParserBackendProfileType JDK =
+    new JXEParserBackendProfileJDK();
+  private static final JXEParserBackendProfileType XERCES =
+    new JXEParserBackendProfileXerces();
+
+  private JXEParserBackendProfiles()
+  {
+
+  }
+
+  /**
+   * @return The profile for the parser built into the JDK
+   */
+
+  public static JXEParserBackendProfileType jdk()
+  {
+    return JDK;
+  }
+
+  /**
+   * @return The profile for Apache Xerces
+   */
+
+  public static JXEParserBackendProfileType xerces()
+  {
+    return XERCES;
+  }
+
+  /**
+   * The standard list of profiles: any profiles registered as services,
+   * followed by the Xerces and JDK profiles. The JDK profile is used as a
+   * fallback for parsers that no profile matches.
+   *
+   * @return The standard list of profiles
+   */
+
+  public static List<JXEParserBackendProfileType> standard()
+  {
+    final var profiles = new ArrayList<JXEParserBackendProfileType>();
+    ServiceLoader.load(JXEParserBackendProfileType.class)
+      .forEach(profiles::add);
+    profiles.add(XERCES);
+    profiles.add(JDK);
+    return List.copyOf(profiles);
+  }
+}
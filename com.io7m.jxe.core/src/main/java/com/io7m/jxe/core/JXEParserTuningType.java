@@ -0,0 +1,153 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jxe.core;
+
+import com.io7m.immutables.styles.ImmutablesStyleType;
+import org.immutables.value.Value;
+
+/**
+ * Performance-related options for the parsers produced by a
+ * {@link JXEHardenedSAXParsers} provider. The default values are those of
+ * the parsers themselves. Tuning options never affect hardening: a backend
+ * profile that maps an option onto a hardening feature or property is
+ * rejected when the backend is detected.
+ *
+ * @see JXEParserBackendProfileType#tuningFeatures(JXEParserTuning)
+ * @see JXEParserBackendProfileType#tuningProperties(JXEParserTuning)
+ */
+
+@ImmutablesStyleType
+@Value.Immutable
+public interface JXEParserTuningType
+{
+  /**
+   * The default input buffer size.
+   */
+
+  int DEFAULT_INPUT_BUFFER_SIZE = 8192;
+
+  /**
+   * The minimum input buffer size. Parsers ignore smaller values.
+   */
+
+  int MINIMUM_INPUT_BUFFER_SIZE = 64;
+
+  /**
+   * The maximum input buffer size.
+   */
+
+  int MAXIMUM_INPUT_BUFFER_SIZE = 64 * 1024 * 1024;
+
+  /**
+   * The size of the buffer that the parser's scanner reads input into.
+   * Larger buffers reduce the number of reads, and the number of separate
+   * character events, for large documents at the cost of memory per reader.
+   *
+   * @return The input buffer size in bytes
+   */
+
+  @Value.Default
+  default int inputBufferSize()
+  {
+    return DEFAULT_INPUT_BUFFER_SIZE;
+  }
+
+  /**
+   * Whether schemas are checked for errors that are expensive to detect,
+   * such as particle restrictions and unique particle attribution.
+   *
+   * @return {@code true} if full schema checking is enabled
+   */
+
+  @Value.Default
+  default boolean schemaFullChecking()
+  {
+    return false;
+  }
+
+  /**
+   * Whether identity constraints ({@code xs:key}, {@code xs:keyref} and
+   * {@code xs:unique}) are checked during validation.
+   *
+   * @return {@code true} if identity constraints are checked
+   */
+
+  @Value.Default
+  default boolean identityConstraintChecking()
+  {
+    return true;
+  }
+
+  /**
+   * Whether content models with large {@code maxOccurs} values are compiled
+   * into balanced syntax trees, reducing the stack depth required to
+   * compile them.
+   *
+   * @return {@code true} if syntax trees are balanced
+   */
+
+  @Value.Default
+  default boolean balanceSyntaxTrees()
+  {
+    return false;
+  }
+
+  /**
+   * Whether {@code xml:base} attributes are added to elements included
+   * with XInclude.
+   *
+   * @return {@code true} if base URIs are fixed up
+   */
+
+  @Value.Default
+  default boolean xincludeFixupBaseURIs()
+  {
+    return true;
+  }
+
+  /**
+   * Whether {@code xml:lang} attributes are added to elements included
+   * with XInclude.
+   *
+   * @return {@code true} if languages are fixed up
+   */
+
+  @Value.Default
+  default boolean xincludeFixupLanguage()
+  {
+    return true;
+  }
+
+  /**
+   * Check preconditions for the type.
+   */
+
+  @Value.Check
+  default void checkPreconditions()
+  {
+    final var size = this.inputBufferSize();
+    if (size < MINIMUM_INPUT_BUFFER_SIZE || size > MAXIMUM_INPUT_BUFFER_SIZE) {
+      throw new IllegalArgumentException(
+        "Input buffer size must be in the range [%d, %d] (received %d)"
+          .formatted(
+            Integer.valueOf(MINIMUM_INPUT_BUFFER_SIZE),
+            Integer.valueOf(MAXIMUM_INPUT_BUFFER_SIZE),
+            Integer.valueOf(size))
+      );
+    }
+  }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jxe.core;
+
+import org.xml.sax.XMLReader;
+
+import javax.xml.parsers.SAXParser;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * An XML reader borrowed from a {@link JXEXMLReaderPool}. Closing the
+ * borrowed reader returns it to the pool. The reader must not be used after
+ * it has been closed.
+ */
+
+public final class JXEPooledXMLReader implements AutoCloseable
+{
+  private final JXEXMLReaderPool pool;
+  private final SAXParser parser;
+  private final XMLReader rawReader;
+  private final XMLReader reader;
+  private final AtomicBoolean closed;
+
+  JXEPooledXMLReader(
+    final JXEXMLReaderPool inPool,
+    final SAXParser inParser,
+    final XMLReader inRawReader,
+    final XMLReader inReader)
+  {
+    this.pool =
+      Objects.requireNonNull(inPool, "pool");
+    this.parser =
+      Objects.requireNonNull(inParser, "parser");
+    this.rawReader =
+      Objects.requireNonNull(inRawReader, "rawReader");
+    this.reader =
+      Objects.requireNonNull(inReader, "reader");
+    this.closed =
+      new AtomicBoolean(false);
+  }
+
+  /**
+   * @return The borrowed reader
+   */
+
+  public XMLReader reader()
+  {
+    if (this.closed.get()) {
+      throw new IllegalStateException("Reader has been returned to the pool.");
+    }
+    return this.reader;
+  }
+
+  /**
+   * @param budget The budget applied to each parse
+   *
+   * @return The borrowed reader, applying the given budget to each parse
+   *
+   * @see JXEReaderTemplateType#newReader(JXEParseBudget)
+   */
+
+  public XMLReader reader(
+    final JXEParseBudget budget)
+  {
+    Objects.requireNonNull(budget, "budget");
+    return new JXEParseBudgetFilter(this.reader(), budget);
+  }
+
+  SAXParser parser()
+  {
+    return this.parser;
+  }
+
+  XMLReader rawReader()
+  {
+    return this.rawReader;
+  }
+
+  /**
+   * Return the reader to the pool. Closing a reader more than once has
+   * no effect.
+   */
+
+  @Override
+  public void close()
+  {
+    if (this.closed.compareAndSet(false, true)) {
+      this.pool.release(this);
+    }
+  }
+}
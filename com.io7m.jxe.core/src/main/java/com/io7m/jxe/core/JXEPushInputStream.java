@@ -0,0 +1,243 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jxe.core;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Objects;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A stream fed with chunks of bytes by a producer. Producers never block;
+ * the consuming parser blocks until input is available.
+ */
+
+final class JXEPushInputStream extends InputStream
+{
+  private final long maximumBufferedBytes;
+  private final ReentrantLock lock;
+  private final Condition changed;
+  private final ArrayDeque<ByteBuffer> chunks;
+  private long buffered;
+  private boolean finished;
+  private boolean closed;
+  private IOException failure;
+
+  JXEPushInputStream(
+    final long inMaximumBufferedBytes)
+  {
+    this.maximumBufferedBytes = inMaximumBufferedBytes;
+    this.lock = new ReentrantLock();
+    this.changed = this.lock.newCondition();
+    this.chunks = new ArrayDeque<>();
+  }
+
+  /**
+   * Append a copy of the remaining bytes of the given buffer.
+   *
+   * @param chunk The bytes
+   *
+   * @throws IOException If the stream has failed, or if accepting the bytes
+   *                     would exceed the buffer limit
+   */
+
+  void push(
+    final ByteBuffer chunk)
+    throws IOException
+  {
+    Objects.requireNonNull(chunk, "chunk");
+
+    this.lock.lock();
+    try {
+      if (this.finished) {
+        throw new IllegalStateException("Input has already been completed");
+      }
+      if (this.failure != null) {
+        throw this.failure;
+      }
+      if (this.closed) {
+        return;
+      }
+
+      final var size = chunk.remaining();
+      if (size == 0) {
+        return;
+      }
+
+      if (this.buffered + size > this.maximumBufferedBytes) {
+        this.failLocked(new IOException(
+          "Buffered input exceeds the limit of %d bytes".formatted(
+            Long.valueOf(this.maximumBufferedBytes))
+        ));
+        throw this.failure;
+      }
+
+      final var copy = ByteBuffer.allocate(size);
+      copy.put(chunk);
+      copy.flip();
+      this.chunks.addLast(copy);
+      this.buffered += size;
+      this.changed.signalAll();
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  /**
+   * Indicate that no more input will be pushed.
+   */
+
+  void finish()
+  {
+    this.lock.lock();
+    try {
+      this.finished = true;
+      this.changed.signalAll();
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  /**
+   * Fail the stream; subsequent reads and pushes raise the given exception.
+   *
+   * @param exception The exception
+   */
+
+  void fail(
+    final IOException exception)
+  {
+    this.lock.lock();
+    try {
+      this.failLocked(exception);
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  private void failLocked(
+    final IOException exception)
+  {
+    if (this.failure == null) {
+      this.failure = exception;
+    }
+    this.chunks.clear();
+    this.buffered = 0L;
+    this.changed.signalAll();
+  }
+
+  /**
+   * @return The number of bytes pushed but not yet read
+   */
+
+  long buffered()
+  {
+    this.lock.lock();
+    try {
+      return this.buffered;
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  @Override
+  public int read()
+    throws IOException
+  {
+    final var single = new byte[1];
+    final var r = this.read(single, 0, 1);
+    return r < 0 ? -1 : single[0] & 0xff;
+  }
+
+  @Override
+  public int read(
+    final byte[] buffer,
+    final int offset,
+    final int length)
+    throws IOException
+  {
+    Objects.checkFromIndexSize(offset, length, buffer.length);
+    if (length == 0) {
+      return 0;
+    }
+
+    this.lock.lock();
+    try {
+      while (true) {
+        if (this.failure != null) {
+          throw this.failure;
+        }
+        if (this.closed) {
+          throw new IOException("Stream closed");
+        }
+
+        final var head = this.chunks.peekFirst();
+        if (head != null) {
+          final var count = Math.min(length, head.remaining());
+          head.get(buffer, offset, count);
+          if (!head.hasRemaining()) {
+            this.chunks.removeFirst();
+          }
+          this.buffered -= count;
+          return count;
+        }
+
+        if (this.finished) {
+          return -1;
+        }
+
+        try {
+          this.changed.await();
+        } catch (final InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new InterruptedIOException();
+        }
+      }
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  @Override
+  public int available()
+  {
+    this.lock.lock();
+    try {
+      return (int) Math.min(Integer.MAX_VALUE, this.buffered);
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  @Override
+  public void close()
+  {
+    this.lock.lock();
+    try {
+      this.closed = true;
+      this.chunks.clear();
+      this.buffered = 0L;
+      this.changed.signalAll();
+    } finally {
+      this.lock.unlock();
+    }
+  }
+}
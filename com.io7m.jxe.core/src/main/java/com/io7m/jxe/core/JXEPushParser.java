@@ -0,0 +1,122 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jxe.core;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * <p>A single document being parsed from pushed chunks of bytes.</p>
+ *
+ * <p>Producers call {@link #push(ByteBuffer)} as chunks arrive, and
+ * {@link #complete()} at the end of the input. Neither method blocks. The
+ * document is parsed on an executor thread as input becomes available, and
+ * SAX events are delivered to the document's handlers on that thread. The
+ * future returned by {@link #result()} completes when parsing completes,
+ * or completes exceptionally with the parse error.</p>
+ *
+ * <p>Push parsers are safe to use from multiple threads, but chunks pushed
+ * concurrently are appended in an unspecified order.</p>
+ */
+
+public final class JXEPushParser
+{
+  private final String systemId;
+  private final JXEPushInputStream stream;
+  private final CompletableFuture<Void> result;
+
+  JXEPushParser(
+    final String inSystemId,
+    final JXEPushInputStream inStream,
+    final CompletableFuture<Void> inResult)
+  {
+    this.systemId = Objects.requireNonNull(inSystemId, "systemId");
+    this.stream = Objects.requireNonNull(inStream, "stream");
+    this.result = Objects.requireNonNull(inResult, "result");
+  }
+
+  /**
+   * @return The system ID of the document
+   */
+
+  public String systemId()
+  {
+    return this.systemId;
+  }
+
+  /**
+   * Push a chunk of the document. The remaining bytes of the buffer are
+   * copied, and the buffer's position is advanced to its limit; the caller
+   * may reuse the buffer as soon as this method returns.
+   *
+   * @param chunk The bytes
+   *
+   * @throws IOException           If parsing has already failed, or if the
+   *                               chunk would exceed the limit on buffered
+   *                               bytes
+   * @throws IllegalStateException If {@link #complete()} has been called
+   */
+
+  public void push(
+    final ByteBuffer chunk)
+    throws IOException
+  {
+    this.stream.push(chunk);
+  }
+
+  /**
+   * Indicate that the whole document has been pushed.
+   */
+
+  public void complete()
+  {
+    this.stream.finish();
+  }
+
+  /**
+   * Abandon the document. The future returned by {@link #result()} completes
+   * exceptionally with a {@link CancellationException} if parsing has not
+   * already completed.
+   */
+
+  public void cancel()
+  {
+    this.result.cancel(false);
+    this.stream.fail(new IOException("Parsing was cancelled"));
+  }
+
+  /**
+   * @return The number of bytes pushed but not yet consumed by the parser
+   */
+
+  public long bufferedBytes()
+  {
+    return this.stream.buffered();
+  }
+
+  /**
+   * @return A future that completes when the document has been parsed
+   */
+
+  public CompletableFuture<Void> result()
+  {
+    return this.result;
+  }
+}
@@ -0,0 +1,206 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jxe.core;
+
+import org.xml.sax.ContentHandler;
+import org.xml.sax.ErrorHandler;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.IOException;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * <p>A provider of push parsers, which parse documents from chunks of bytes
+ * pushed by the caller rather than from streams pulled by the parser.</p>
+ *
+ * <p>JAXP parsers can only pull input, and so each document in flight is
+ * parsed by a task on an executor that blocks until input is pushed. By
+ * default, tasks run on virtual threads where the platform supports them,
+ * so a single producer thread can feed many documents at once without
+ * dedicating a platform thread to each. Readers are borrowed from a pool
+ * created from the configured template, so every document receives exactly
+ * the same hardening and validation as readers created directly from the
+ * template, and at most
+ * {@link JXEPushParsersConfigurationType#maximumConcurrency()} documents
+ * hold a reader at once.</p>
+ */
+
+public final class JXEPushParsers implements AutoCloseable
+{
+  private final JXEPushParsersConfiguration configuration;
+  private final JXEXMLReaderPool pool;
+  private final Executor executor;
+  private final ExecutorService owned;
+
+  private JXEPushParsers(
+    final JXEPushParsersConfiguration inConfiguration,
+    final JXEXMLReaderPool inPool,
+    final Executor inExecutor,
+    final ExecutorService inOwned)
+  {
+    this.configuration =
+      Objects.requireNonNull(inConfiguration, "configuration");
+    this.pool =
+      Objects.requireNonNull(inPool, "pool");
+    this.executor =
+      Objects.requireNonNull(inExecutor, "executor");
+    this.owned =
+      inOwned;
+  }
+
+  /**
+   * Create a push parser provider.
+   *
+   * @param configuration The configuration
+   *
+   * @return A new provider
+   */
+
+  public static JXEPushParsers create(
+    final JXEPushParsersConfiguration configuration)
+  {
+    Objects.requireNonNull(configuration, "configuration");
+
+    final var pool =
+      configuration.template().createPool(configuration.maximumConcurrency());
+
+    final var specified = configuration.executor();
+    if (specified.isPresent()) {
+      return new JXEPushParsers(configuration, pool, specified.get(), null);
+    }
+
+    final var owned =
+      JXEExecutors.newVirtualThreadPerTaskExecutor("com.io7m.jxe.core.push");
+    return new JXEPushParsers(configuration, pool, owned, owned);
+  }
+
+  /**
+   * @return The provider configuration
+   */
+
+  public JXEPushParsersConfiguration configuration()
+  {
+    return this.configuration;
+  }
+
+  /**
+   * Begin parsing a document. Errors and warnings are fatal.
+   *
+   * @param systemId The system ID of the document
+   * @param handler  The content handler that receives the document's events
+   *
+   * @return A push parser for the document
+   */
+
+  public JXEPushParser begin(
+    final String systemId,
+    final ContentHandler handler)
+  {
+    return this.begin(systemId, handler, JXEFatalErrorHandler.INSTANCE);
+  }
+
+  /**
+   * Begin parsing a document. The system ID is used as the base against
+   * which relative references in the document are resolved, exactly as for
+   * documents parsed from a stream, and so should be a path relative to the
+   * template's base directory rather than an opaque URI.
+   *
+   * @param systemId     The system ID of the document
+   * @param handler      The content handler that receives the document's
+   *                     events
+   * @param errorHandler The error handler
+   *
+   * @return A push parser for the document
+   */
+
+  public JXEPushParser begin(
+    final String systemId,
+    final ContentHandler handler,
+    final ErrorHandler errorHandler)
+  {
+    Objects.requireNonNull(systemId, "systemId");
+    Objects.requireNonNull(handler, "handler");
+    Objects.requireNonNull(errorHandler, "errorHandler");
+
+    final var stream =
+      new JXEPushInputStream(this.configuration.maximumBufferedBytes());
+    final var result =
+      new CompletableFuture<Void>();
+
+    try {
+      this.executor.execute(() -> {
+        this.parse(systemId, handler, errorHandler, stream, result);
+      });
+    } catch (final RuntimeException e) {
+      result.completeExceptionally(e);
+      stream.fail(new IOException(e));
+    }
+
+    return new JXEPushParser(systemId, stream, result);
+  }
+
+  private void parse(
+    final String systemId,
+    final ContentHandler handler,
+    final ErrorHandler errorHandler,
+    final JXEPushInputStream stream,
+    final CompletableFuture<Void> result)
+  {
+    try (var pooled = this.pool.borrow()) {
+      if (result.isDone()) {
+        return;
+      }
+
+      final var reader = pooled.reader();
+      reader.setContentHandler(handler);
+      reader.setErrorHandler(errorHandler);
+
+      final var source = new InputSource(stream);
+      source.setSystemId(systemId);
+      reader.parse(source);
+      result.complete(null);
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      result.completeExceptionally(e);
+    } catch (final IOException
+                   | SAXException
+                   | ParserConfigurationException
+                   | RuntimeException e) {
+      result.completeExceptionally(e);
+    } finally {
+      stream.fail(new IOException("Parsing has completed"));
+    }
+  }
+
+  /**
+   * Shut down the executor created by the provider, if any. Documents
+   * already in flight continue to completion.
+   */
+
+  @Override
+  public void close()
+  {
+    if (this.owned != null) {
+      this.owned.shutdown();
+    }
+  }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jxe.core;
+
+import com.io7m.immutables.styles.ImmutablesStyleType;
+import org.immutables.value.Value;
+
+import java.util.Optional;
+import java.util.concurrent.Executor;
+
+/**
+ * Configuration for a {@link JXEPushParsers} provider.
+ */
+
+@ImmutablesStyleType
+@Value.Immutable
+public interface JXEPushParsersConfigurationType
+{
+  /**
+   * The default maximum number of bytes buffered for a single document.
+   */
+
+  long DEFAULT_MAXIMUM_BUFFERED_BYTES = 16L * 1024L * 1024L;
+
+  /**
+   * @return The template from which readers are created
+   */
+
+  JXEReaderTemplateType template();
+
+  /**
+   * @return The maximum number of documents parsed at once
+   */
+
+  @Value.Default
+  default int maximumConcurrency()
+  {
+    return Runtime.getRuntime().availableProcessors();
+  }
+
+  /**
+   * The maximum number of bytes that may be pushed to a single document
+   * but not yet consumed by the parser. A document that exceeds the limit
+   * fails, which prevents a slow parse from buffering an unbounded amount
+   * of input.
+   *
+   * @return The maximum number of buffered bytes per document
+   */
+
+  @Value.Default
+  default long maximumBufferedBytes()
+  {
+    return DEFAULT_MAXIMUM_BUFFERED_BYTES;
+  }
+
+  /**
+   * The executor on which documents are parsed. If no executor is
+   * specified, each document is parsed on a virtual thread.
+   *
+   * @return The executor, if any
+   */
+
+  Optional<Executor> executor();
+
+  /**
+   * Check preconditions for the type.
+   */
+
+  @Value.Check
+  default void checkPreconditions()
+  {
+    if (this.maximumConcurrency() < 1) {
+      throw new IllegalArgumentException(
+        "Maximum concurrency must be positive (received %d)".formatted(
+          Integer.valueOf(this.maximumConcurrency()))
+      );
+    }
+    if (this.maximumBufferedBytes() < 1L) {
+      throw new IllegalArgumentException(
+        "Maximum buffered bytes must be positive (received %d)".formatted(
+          Long.valueOf(this.maximumBufferedBytes()))
+      );
+    }
+  }
+}
@@ -0,0 +1,285 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jxe.core;
+
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.parsers.SAXParser;
+import javax.xml.parsers.SAXParserFactory;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Supplier;
+
+/**
+ * A fully prepared reader configuration: parser factories with all hardening
+ * features already applied, the per-reader properties that factories cannot
+ * carry, and the entity resolver installed on every reader.
+ *
+ * JAXP factories are not thread-safe, and so each factory is used by one
+ * thread at a time. Idle factories are kept for reuse, and a new factory is
+ * created whenever all existing factories are in use, so threads creating
+ * parsers never wait for each other.
+ */
+
+final class JXEReaderConfiguration
+{
+  private final Supplier<SAXParserFactory> factories;
+  private final ConcurrentLinkedQueue<SAXParserFactory> idleFactories;
+  private final Map<String, Boolean> features;
+  private final Map<String, Object> properties;
+  private final JXEHardenedDispatchingResolver resolver;
+  private final String backendName;
+  private final boolean validating;
+  private final JXEMetricsListenerType metrics;
+  private final JXEReaderDecoratorType decorator;
+
+  private JXEReaderConfiguration(
+    final Supplier<SAXParserFactory> inFactories,
+    final Map<String, Boolean> inFeatures,
+    final Map<String, Object> inProperties,
+    final JXEHardenedDispatchingResolver inResolver,
+    final String inBackendName,
+    final boolean inValidating,
+    final JXEMetricsListenerType inMetrics,
+    final JXEReaderDecoratorType inDecorator)
+  {
+    this.factories =
+      Objects.requireNonNull(inFactories, "factories");
+    this.features =
+      Objects.requireNonNull(inFeatures, "features");
+    this.properties =
+      Objects.requireNonNull(inProperties, "properties");
+    this.resolver =
+      Objects.requireNonNull(inResolver, "resolver");
+    this.backendName =
+      Objects.requireNonNull(inBackendName, "backendName");
+    this.validating =
+      inValidating;
+    this.metrics =
+      Objects.requireNonNull(inMetrics, "metrics");
+    this.decorator =
+      Objects.requireNonNull(inDecorator, "decorator");
+    this.idleFactories =
+      new ConcurrentLinkedQueue<>();
+  }
+
+  /**
+   * Prepare a configuration. The given features are applied to every factory
+   * produced by the given supplier so that every parser produced by the
+   * factories is created with them already set. One factory is created
+   * immediately, so that unsupported features are reported here.
+   *
+   * @param factories  A supplier of parser factories
+   * @param features   The features
+   * @param properties The per-reader properties
+   * @param resolver   The entity resolver
+   * @param backend    The name of the parser backend profile
+   * @param validating {@code true} if the readers validate
+   * @param metrics    The listener notified of reader creation
+   * @param decorator  The decorator applied to every reader
+   *
+   * @return A configuration
+   *
+   * @throws ParserConfigurationException On parser configuration errors
+   * @throws SAXException                 On SAX parser errors
+   */
+
+  static JXEReaderConfiguration create(
+    final Supplier<SAXParserFactory> factories,
+    final Map<String, Boolean> features,
+    final Map<String, Object> properties,
+    final JXEHardenedDispatchingResolver resolver,
+    final String backend,
+    final boolean validating,
+    final JXEMetricsListenerType metrics,
+    final JXEReaderDecoratorType decorator)
+    throws ParserConfigurationException, SAXException
+  {
+    final var configuration =
+      new JXEReaderConfiguration(
+        factories,
+        features,
+        properties,
+        resolver,
+        backend,
+        validating,
+        metrics,
+        decorator
+      );
+    configuration.idleFactories.add(configuration.newFactory());
+    return configuration;
+  }
+
+  private SAXParserFactory newFactory()
+    throws ParserConfigurationException, SAXException
+  {
+    final var factory = this.factories.get();
+    for (final var entry : this.features.entrySet()) {
+      factory.setFeature(entry.getKey(), entry.getValue().booleanValue());
+    }
+    return factory;
+  }
+
+  /**
+   * @return A new parser, created by a factory not in use by any other thread
+   *
+   * @throws ParserConfigurationException On parser configuration errors
+   * @throws SAXException                 On SAX parser errors
+   */
+
+  SAXParser newParser()
+    throws ParserConfigurationException, SAXException
+  {
+    var factory = this.idleFactories.poll();
+    if (factory == null) {
+      factory = this.newFactory();
+    }
+    try {
+      return factory.newSAXParser();
+    } finally {
+      this.idleFactories.offer(factory);
+    }
+  }
+
+  /**
+   * Create a new parser and configure its reader, reporting the time taken
+   * to the metrics listener and to the flight recorder.
+   *
+   * @return A new parser with a configured reader
+   *
+   * @throws ParserConfigurationException On parser configuration errors
+   * @throws SAXException                 On SAX parser errors
+   */
+
+  SAXParser newConfiguredParser()
+    throws ParserConfigurationException, SAXException
+  {
+    final var timed = !JXEMetricsListeners.isNoop(this.metrics);
+    final var timeThen = timed ? System.nanoTime() : 0L;
+    final var event = new JXEReaderCreateEvent();
+    event.begin();
+
+    final var parser = this.newParser();
+    this.configure(parser.getXMLReader());
+
+    if (event.shouldCommit()) {
+      event.setBackend(this.backendName);
+      event.setValidating(this.validating);
+      event.commit();
+    }
+    if (timed) {
+      this.metrics.onReaderCreated(
+        this.backendName,
+        this.validating,
+        System.nanoTime() - timeThen
+      );
+    }
+    return parser;
+  }
+
+  /**
+   * @return A new configured reader
+   *
+   * @throws ParserConfigurationException On parser configuration errors
+   * @throws SAXException                 On SAX parser errors
+   */
+
+  XMLReader newReader()
+    throws ParserConfigurationException, SAXException
+  {
+    return this.decorate(this.newConfiguredParser().getXMLReader());
+  }
+
+  /**
+   * Wrap a configured reader in the form exposed to the application.
+   *
+   * @param reader The configured reader
+   *
+   * @return The reader exposed to the application
+   *
+   * @throws SAXException On SAX parser errors
+   */
+
+  XMLReader decorate(
+    final XMLReader reader)
+    throws SAXException
+  {
+    return this.decorator.decorate(reader);
+  }
+
+  /**
+   * Apply the per-reader properties and entity resolver to the given reader.
+   * A shared symbol table is given to the reader as the table that it
+   * currently wraps, which changes when the table becomes full.
+   *
+   * @param reader The reader
+   *
+   * @throws SAXException On SAX parser errors
+   */
+
+  void configure(
+    final XMLReader reader)
+    throws SAXException
+  {
+    for (final var entry : this.properties.entrySet()) {
+      final var value = entry.getValue();
+      if (value instanceof final JXEXercesSymbolTable table) {
+        reader.setProperty(entry.getKey(), table.table());
+      } else {
+        reader.setProperty(entry.getKey(), value);
+      }
+    }
+    reader.setEntityResolver(this.resolver);
+  }
+
+  /**
+   * @return The entity resolver installed on every reader
+   */
+
+  JXEHardenedDispatchingResolver resolver()
+  {
+    return this.resolver;
+  }
+
+  /**
+   * Check that the given reader still has every hardening feature set to
+   * its expected value.
+   *
+   * @param reader The reader
+   *
+   * @return {@code true} if the reader is still hardened
+   */
+
+  boolean isHardened(
+    final XMLReader reader)
+  {
+    try {
+      for (final var entry : this.features.entrySet()) {
+        final var expected = entry.getValue().booleanValue();
+        if (reader.getFeature(entry.getKey()) != expected) {
+          return false;
+        }
+      }
+      return reader.getEntityResolver() == this.resolver;
+    } catch (final SAXException e) {
+      return false;
+    }
+  }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jxe.core;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A flight recorder event emitted when a hardened reader is created.
+ */
+
+@Name("jxe.ReaderCreate")
+@Label("Reader Create")
+@Category("JXE")
+@Description("A hardened XML reader was created and configured")
+@StackTrace(false)
+final class JXEReaderCreateEvent extends jdk.jfr.Event
+{
+  @Label("Backend")
+  @Description("The name of the parser backend profile")
+  private String backend;
+
+  @Label("Validating")
+  @Description("True if the reader validates")
+  private boolean validating;
+
+  JXEReaderCreateEvent()
+  {
+
+  }
+
+  /**
+   * @param value The name of the parser backend profile
+   */
+
+  void setBackend(
+    final String value)
+  {
+    this.backend = value;
+  }
+
+  /**
+   * @param value {@code true} if the reader validates
+   */
+
+  void setValidating(
+    final boolean value)
+  {
+    this.validating = value;
+  }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jxe.core;
+
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+
+/**
+ * A function that wraps a fully configured, hardened reader before it is
+ * handed to the application.
+ */
+
+interface JXEReaderDecoratorType
+{
+  /**
+   * The decorator that returns readers unchanged.
+   */
+
+  JXEReaderDecoratorType IDENTITY = reader -> reader;
+
+  /**
+   * Wrap the given reader.
+   *
+   * @param reader The hardened reader
+   *
+   * @return The reader exposed to the application
+   *
+   * @throws SAXException On SAX parser errors
+   */
+
+  XMLReader decorate(XMLReader reader)
+    throws SAXException;
+
+  /**
+   * @param next The decorator applied to the result of this decorator
+   *
+   * @return A decorator that applies this decorator and then {@code next}
+   */
+
+  default JXEReaderDecoratorType andThen(
+    final JXEReaderDecoratorType next)
+  {
+    return reader -> next.decorate(this.decorate(reader));
+  }
+}
@@ -0,0 +1,208 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jxe.core;
+
+import javax.xml.XMLConstants;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The building blocks from which parser backend profiles assemble the
+ * features and properties applied to hardened readers.
+ */
+
+final class JXEReaderFeatures
+{
+  /**
+   * The Xerces property used to pass namespace to schema location mappings
+   * to the parser.
+   */
+
+  static final String SCHEMA_LOCATION =
+    "http://apache.org/xml/properties/schema/external-schemaLocation";
+
+  /**
+   * The property that sets the size of the scanner's input buffer.
+   */
+
+  static final String INPUT_BUFFER_SIZE =
+    "http://apache.org/xml/properties/input-buffer-size";
+
+  private JXEReaderFeatures()
+  {
+
+  }
+
+  /**
+   * Assemble a set of hardening features.
+   *
+   * @param xinclude           Whether XInclude is enabled
+   * @param validation         Whether XSD validation is enabled
+   * @param disableExternalDTD Whether the loading of external DTDs should be
+   *                           explicitly disabled
+   *
+   * @return A read-only map of features
+   */
+
+  static Map<String, Boolean> features(
+    final JXEXInclude xinclude,
+    final boolean validation,
+    final boolean disableExternalDTD)
+  {
+    final var features = new LinkedHashMap<String, Boolean>();
+
+    /*
+     * Turn on "secure processing". Sets various resource limits to prevent
+     * various denial of service attacks.
+     */
+
+    features.put(XMLConstants.FEATURE_SECURE_PROCESSING, Boolean.TRUE);
+
+    /*
+     * Don't load DTDs at all.
+     */
+
+    if (disableExternalDTD) {
+      features.put(
+        "http://apache.org/xml/features/nonvalidating/load-external-dtd",
+        Boolean.FALSE
+      );
+    }
+
+    /*
+     * Enable XInclude.
+     */
+
+    features.put(
+      "http://apache.org/xml/features/xinclude",
+      Boolean.valueOf(xinclude == JXEXInclude.XINCLUDE_ENABLED)
+    );
+
+    /*
+     * Ensure namespace processing is enabled.
+     */
+
+    features.put("http://xml.org/sax/features/namespaces", Boolean.TRUE);
+
+    /*
+     * Enable or disable validation and, more to the point, XSD schema
+     * validation.
+     *
+     * @see "https://xerces.apache.org/xerces2-j/faq-pcfp.html#faq-2"
+     */
+
+    features.put(
+      "http://xml.org/sax/features/validation",
+      Boolean.valueOf(validation)
+    );
+    features.put(
+      "http://apache.org/xml/features/validation/schema",
+      Boolean.valueOf(validation)
+    );
+
+    /*
+     * Tell the parser to use the full EntityResolver2 interface (by default,
+     * the extra EntityResolver2 methods will not be called - only those of
+     * the original EntityResolver interface would be called).
+     */
+
+    features.put(
+      "http://xml.org/sax/features/use-entity-resolver2",
+      Boolean.TRUE
+    );
+    return Collections.unmodifiableMap(features);
+  }
+
+  /**
+   * Create a space separated list of mappings from namespace URIs to
+   * schema system IDs. This will indicate to the parser that when it
+   * encounters a given namespace, it should ask the <i>entity resolver</i>
+   * to resolve the corresponding system ID specified here.
+   *
+   * @param schemas The schema mappings
+   *
+   * @return A schema location string
+   */
+
+  static String schemaLocations(
+    final JXESchemaResolutionMappings schemas)
+  {
+    final var locations = new StringBuilder(128);
+    schemas.mappings().forEach((uri, schema) -> {
+      locations.append(uri);
+      locations.append(' ');
+      locations.append(schema.fileIdentifier());
+      locations.append(' ');
+    });
+    return locations.toString();
+  }
+
+  /**
+   * Assemble the features that implement the given tuning options on
+   * Xerces-derived parsers.
+   *
+   * @param tuning The tuning options
+   *
+   * @return A read-only map of features
+   */
+
+  static Map<String, Boolean> tuningFeatures(
+    final JXEParserTuning tuning)
+  {
+    final var features = new LinkedHashMap<String, Boolean>();
+    features.put(
+      "http://apache.org/xml/features/validation/schema-full-checking",
+      Boolean.valueOf(tuning.schemaFullChecking())
+    );
+    features.put(
+      "http://apache.org/xml/features/validation/identity-constraint-checking",
+      Boolean.valueOf(tuning.identityConstraintChecking())
+    );
+    features.put(
+      "http://apache.org/xml/features/validation/balance-syntax-trees",
+      Boolean.valueOf(tuning.balanceSyntaxTrees())
+    );
+    features.put(
+      "http://apache.org/xml/features/xinclude/fixup-base-uris",
+      Boolean.valueOf(tuning.xincludeFixupBaseURIs())
+    );
+    features.put(
+      "http://apache.org/xml/features/xinclude/fixup-language",
+      Boolean.valueOf(tuning.xincludeFixupLanguage())
+    );
+    return Collections.unmodifiableMap(features);
+  }
+
+  /**
+   * Assemble the properties that implement the given tuning options on
+   * Xerces-derived parsers.
+   *
+   * @param tuning The tuning options
+   *
+   * @return A read-only map of properties
+   */
+
+  static Map<String, Object> tuningProperties(
+    final JXEParserTuning tuning)
+  {
+    return Map.of(
+      INPUT_BUFFER_SIZE,
+      Integer.valueOf(tuning.inputBufferSize())
+    );
+  }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jxe.core;
+
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * The type of immutable templates from which hardened XML readers can be
+ * created cheaply. Templates are safe to share between threads.
+ */
+
+public interface JXEReaderTemplateType
+{
+  /**
+   * @return The base directory used to resolve resources, if any
+   */
+
+  Optional<Path> baseDirectory();
+
+  /**
+   * @return The XInclude setting applied to every reader
+   */
+
+  JXEXInclude xinclude();
+
+  /**
+   * @return The Xerces symbol table shared by readers from this template,
+   *         if the underlying parser is Xerces and a table was specified
+   */
+
+  Optional<JXEXercesSymbolTable> symbolTable();
+
+  /**
+   * Create a new XML reader.
+   *
+   * @return A new XML reader
+   *
+   * @throws ParserConfigurationException On parser configuration errors
+   * @throws SAXException                 On SAX parser errors
+   */
+
+  XMLReader newReader()
+    throws ParserConfigurationException, SAXException;
+
+  /**
+   * Create a new XML reader that applies the given budget to each parse
+   * that it performs. A parse that exceeds the budget is aborted with a
+   * {@link JXEParseAbortedException}.
+   *
+   * @param budget The budget applied to each parse
+   *
+   * @return A new XML reader
+   *
+   * @throws ParserConfigurationException On parser configuration errors
+   * @throws SAXException                 On SAX parser errors
+   */
+
+  default XMLReader newReader(
+    final JXEParseBudget budget)
+    throws ParserConfigurationException, SAXException
+  {
+    Objects.requireNonNull(budget, "budget");
+    return new JXEParseBudgetFilter(this.newReader(), budget);
+  }
+
+  /**
+   * Open a top-level document from the base directory. The document is
+   * subject to the same path traversal checks, and is read in the same way,
+   * as any resource resolved from the filesystem during parsing.
+   *
+   * @param systemId The system ID of the document, relative to the base
+   *                 directory
+   *
+   * @return An input source for the document
+   *
+   * @throws SAXException If the document cannot be opened
+   * @throws IOException  On I/O errors
+   *
+   * @see JXEHardenedDispatchingResolver#openDocument(String)
+   */
+
+  InputSource openDocument(String systemId)
+    throws SAXException, IOException;
+
+  /**
+   * Create a new bounded pool of readers produced by this template.
+   *
+   * @param maximumSize The maximum number of readers that may be borrowed
+   *                    from the pool at any one time
+   *
+   * @return A new pool
+   */
+
+  JXEXMLReaderPool createPool(int maximumSize);
+}
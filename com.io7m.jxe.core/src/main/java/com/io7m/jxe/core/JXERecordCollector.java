@@ -0,0 +1,209 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jxe.core;
+
+import org.xml.sax.Attributes;
+import org.xml.sax.ContentHandler;
+import org.xml.sax.Locator;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>A content handler that records each top-level child of the root
+ * element of a document as a separate document.</p>
+ *
+ * <p>Each recording begins with the prefix mappings that were declared on
+ * the root element, followed by those declared on the child itself, so
+ * that every recording is a complete, self-contained namespace-aware
+ * document. Events that occur directly within the root element but outside
+ * of any child, such as whitespace between records, are discarded.</p>
+ */
+
+final class JXERecordCollector implements ContentHandler
+{
+  private final ArrayList<String[]> rootMappings;
+  private final ArrayList<String[]> pendingMappings;
+  private final ArrayList<JXESAXRecording> records;
+  private JXESAXRecorder recorder;
+  private boolean closing;
+  private int depth;
+
+  JXERecordCollector()
+  {
+    this.rootMappings = new ArrayList<>();
+    this.pendingMappings = new ArrayList<>();
+    this.records = new ArrayList<>();
+  }
+
+  /**
+   * @return The records completed so far
+   */
+
+  List<JXESAXRecording> records()
+  {
+    return List.copyOf(this.records);
+  }
+
+  private void finishRecord()
+  {
+    if (!this.closing) {
+      return;
+    }
+
+    for (int index = this.rootMappings.size() - 1; index >= 0; --index) {
+      this.recorder.endPrefixMapping(this.rootMappings.get(index)[0]);
+    }
+    this.recorder.endDocument();
+    this.records.add(this.recorder.recording());
+    this.recorder = null;
+    this.closing = false;
+  }
+
+  @Override
+  public void setDocumentLocator(
+    final Locator locator)
+  {
+
+  }
+
+  @Override
+  public void startDocument()
+  {
+
+  }
+
+  @Override
+  public void endDocument()
+  {
+    this.finishRecord();
+  }
+
+  @Override
+  public void startPrefixMapping(
+    final String prefix,
+    final String uri)
+  {
+    this.finishRecord();
+
+    switch (this.depth) {
+      case 0 -> this.rootMappings.add(new String[]{prefix, uri});
+      case 1 -> this.pendingMappings.add(new String[]{prefix, uri});
+      default -> this.recorder.startPrefixMapping(prefix, uri);
+    }
+  }
+
+  @Override
+  public void endPrefixMapping(
+    final String prefix)
+  {
+    if (this.recorder != null) {
+      this.recorder.endPrefixMapping(prefix);
+    }
+  }
+
+  @Override
+  public void startElement(
+    final String uri,
+    final String localName,
+    final String qName,
+    final Attributes attributes)
+  {
+    this.finishRecord();
+
+    if (this.depth == 1) {
+      this.recorder = JXESAXRecorder.create();
+      this.recorder.startDocument();
+      for (final var mapping : this.rootMappings) {
+        this.recorder.startPrefixMapping(mapping[0], mapping[1]);
+      }
+      for (final var mapping : this.pendingMappings) {
+        this.recorder.startPrefixMapping(mapping[0], mapping[1]);
+      }
+      this.pendingMappings.clear();
+    }
+
+    if (this.recorder != null) {
+      this.recorder.startElement(uri, localName, qName, attributes);
+    }
+    ++this.depth;
+  }
+
+  @Override
+  public void endElement(
+    final String uri,
+    final String localName,
+    final String qName)
+  {
+    this.finishRecord();
+
+    --this.depth;
+    if (this.recorder != null) {
+      this.recorder.endElement(uri, localName, qName);
+      this.closing = this.depth == 1;
+    }
+  }
+
+  @Override
+  public void characters(
+    final char[] ch,
+    final int start,
+    final int length)
+  {
+    this.finishRecord();
+
+    if (this.recorder != null) {
+      this.recorder.characters(ch, start, length);
+    }
+  }
+
+  @Override
+  public void ignorableWhitespace(
+    final char[] ch,
+    final int start,
+    final int length)
+  {
+    this.finishRecord();
+
+    if (this.recorder != null) {
+      this.recorder.ignorableWhitespace(ch, start, length);
+    }
+  }
+
+  @Override
+  public void processingInstruction(
+    final String target,
+    final String data)
+  {
+    this.finishRecord();
+
+    if (this.recorder != null) {
+      this.recorder.processingInstruction(target, data);
+    }
+  }
+
+  @Override
+  public void skippedEntity(
+    final String name)
+  {
+    this.finishRecord();
+
+    if (this.recorder != null) {
+      this.recorder.skippedEntity(name);
+    }
+  }
+}
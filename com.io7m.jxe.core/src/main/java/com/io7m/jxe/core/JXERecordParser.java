@@ -0,0 +1,398 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jxe.core;
+
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.SAXParseException;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * <p>A parser that parses large documents consisting of a root element
+ * with many top-level children ("records") in parallel.</p>
+ *
+ * <p>The document is split into chunks at boundaries between records. Each
+ * chunk is parsed as a separate document consisting of the original
+ * document's prologue (including the XML declaration, the document type
+ * declaration, and the root element's start tag with all of its namespace
+ * declarations and attributes), followed by the records of the chunk,
+ * followed by an end tag for the root element. Every chunk contains at
+ * least one whole record, and the final chunk ends with the original end
+ * of the document. Chunks are parsed in parallel on a
+ * fork/join pool using readers borrowed from a pool created from the
+ * configured template, so every chunk receives exactly the same hardening
+ * and validation as a document parsed with a reader created directly from
+ * the template, and every byte of the document is parsed by exactly one
+ * such reader.</p>
+ *
+ * <p>Each record is delivered as a recording of its events, in document
+ * order, on the thread that called the parser. Because each chunk is
+ * validated separately, schema constraints that span records (such as
+ * identity constraints, or occurrence constraints on the root element's
+ * children) are checked only within each chunk, and resource limits
+ * apply to each chunk rather than to the document as a whole. Line numbers
+ * in errors refer to lines of the original document.</p>
+ *
+ * <p>Documents must be in an encoding in which XML markup is encoded as
+ * single ASCII bytes, such as UTF-8. Parsers are safe to share between
+ * threads.</p>
+ */
+
+public final class JXERecordParser
+{
+  private final JXERecordParserConfiguration configuration;
+  private final JXEXMLReaderPool readers;
+
+  private JXERecordParser(
+    final JXERecordParserConfiguration inConfiguration,
+    final JXEXMLReaderPool inReaders)
+  {
+    this.configuration =
+      Objects.requireNonNull(inConfiguration, "configuration");
+    this.readers =
+      Objects.requireNonNull(inReaders, "readers");
+  }
+
+  /**
+   * Create a record parser.
+   *
+   * @param configuration The parser configuration
+   *
+   * @return A new parser
+   */
+
+  public static JXERecordParser create(
+    final JXERecordParserConfiguration configuration)
+  {
+    Objects.requireNonNull(configuration, "configuration");
+
+    return new JXERecordParser(
+      configuration,
+      configuration.template().createPool(configuration.maximumConcurrency())
+    );
+  }
+
+  /**
+   * @return The parser configuration
+   */
+
+  public JXERecordParserConfiguration configuration()
+  {
+    return this.configuration;
+  }
+
+  /**
+   * Parse the file at the given path, delivering each record to the given
+   * receiver. If the document is rejected, every record that precedes the
+   * point of rejection is delivered before the error is raised. Errors and
+   * warnings are fatal.
+   *
+   * @param file     The file
+   * @param receiver The record receiver
+   *
+   * @return The number of records delivered
+   *
+   * @throws IOException                  On I/O errors
+   * @throws SAXException                 If the document is rejected, or
+   *                                      the receiver raises an exception
+   * @throws ParserConfigurationException On parser configuration errors
+   * @throws InterruptedException         If interrupted whilst waiting
+   */
+
+  public long parse(
+    final Path file,
+    final JXERecordReceiverType receiver)
+    throws IOException,
+    SAXException,
+    ParserConfigurationException,
+    InterruptedException
+  {
+    Objects.requireNonNull(file, "file");
+    Objects.requireNonNull(receiver, "receiver");
+
+    final var systemId =
+      file.toUri().toString();
+    final var forkJoinPool =
+      this.configuration.pool().orElseGet(ForkJoinPool::commonPool);
+    final var abandoned =
+      new AtomicBoolean(false);
+    final var inFlight =
+      new ArrayDeque<ChunkTask>();
+
+    try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      final var scanner = JXERecordScanner.open(channel, systemId);
+      final var chunks = new Chunks(
+        channel,
+        systemId,
+        scanner.prologue(),
+        scanner.rootEndTag(),
+        scanner.prologueNewlines(),
+        abandoned
+      );
+
+      long index = 0L;
+      long start = 0L;
+      long startNewlines = 0L;
+
+      try {
+        while (true) {
+          final var minimum =
+            Math.max(start, scanner.prologue().length)
+              + this.configuration.chunkSize();
+          final var end =
+            scanner.isFinished() ? -1L : scanner.nextBoundary(minimum);
+          final var last =
+            end < 0L;
+
+          final var task =
+            new ChunkTask(
+              this.readers,
+              chunks,
+              start,
+              last ? channel.size() : end,
+              last,
+              startNewlines
+            );
+
+          forkJoinPool.execute(task);
+          inFlight.add(task);
+
+          if (inFlight.size() >= this.configuration.maximumConcurrency()) {
+            index = deliver(inFlight.remove(), receiver, index);
+          }
+          if (last) {
+            break;
+          }
+
+          start = end;
+          startNewlines = scanner.newlines();
+        }
+
+        while (!inFlight.isEmpty()) {
+          index = deliver(inFlight.remove(), receiver, index);
+        }
+        return index;
+      } finally {
+        abandoned.set(true);
+        for (final var task : inFlight) {
+          task.quietlyJoin();
+        }
+      }
+    }
+  }
+
+  private static long deliver(
+    final ChunkTask task,
+    final JXERecordReceiverType receiver,
+    final long index)
+    throws IOException,
+    SAXException,
+    ParserConfigurationException,
+    InterruptedException
+  {
+    final ChunkResult result;
+    try {
+      result = task.get();
+    } catch (final ExecutionException e) {
+      throw rethrow(e.getCause());
+    }
+
+    long next = index;
+    for (final var recording : result.records) {
+      receiver.receive(JXERecord.of(next, recording));
+      ++next;
+    }
+
+    final var error = result.error;
+    if (error == null) {
+      return next;
+    }
+    throw rethrow(error);
+  }
+
+  /**
+   * Rethrow the given exception with its own type if it is one that
+   * {@link #parse(Path, JXERecordReceiverType)} declares, or is unchecked.
+   * Any other exception is unexpected, and is wrapped.
+   */
+
+  private static IllegalStateException rethrow(
+    final Throwable error)
+    throws IOException,
+    SAXException,
+    ParserConfigurationException,
+    InterruptedException
+  {
+    if (error instanceof final IOException x) {
+      throw x;
+    }
+    if (error instanceof final SAXException x) {
+      throw x;
+    }
+    if (error instanceof final ParserConfigurationException x) {
+      throw x;
+    }
+    if (error instanceof final InterruptedException x) {
+      throw x;
+    }
+    if (error instanceof final RuntimeException x) {
+      throw x;
+    }
+    if (error instanceof final Error x) {
+      throw x;
+    }
+    return new IllegalStateException(error);
+  }
+
+  private record Chunks(
+    FileChannel channel,
+    String systemId,
+    byte[] prologue,
+    byte[] rootEndTag,
+    long prologueNewlines,
+    AtomicBoolean abandoned)
+  {
+    InputStream open(
+      final long start,
+      final long end,
+      final boolean last)
+    {
+      final var streams = new ArrayList<InputStream>(3);
+      if (start > 0L) {
+        streams.add(new ByteArrayInputStream(this.prologue));
+      }
+      streams.add(new JXEFileRegionInputStream(this.channel, start, end));
+      if (!last) {
+        streams.add(new ByteArrayInputStream(this.rootEndTag));
+      }
+      return new SequenceInputStream(Collections.enumeration(streams));
+    }
+
+    /**
+     * Translate the line number of an error in a chunk to the line number
+     * in the original document. The first line of a chunk's content follows
+     * a copy of the prologue, and so is offset by the number of lines in
+     * the prologue.
+     */
+
+    SAXParseException relocate(
+      final SAXParseException e,
+      final long start,
+      final long startNewlines)
+    {
+      final var line = e.getLineNumber();
+      if (start == 0L || line <= 0 || !this.systemId.equals(e.getSystemId())) {
+        return e;
+      }
+
+      final var relocated =
+        (long) line + (startNewlines - this.prologueNewlines);
+
+      return new SAXParseException(
+        e.getMessage(),
+        e.getPublicId(),
+        e.getSystemId(),
+        Math.toIntExact(Math.min(relocated, Integer.MAX_VALUE)),
+        e.getColumnNumber(),
+        e
+      );
+    }
+  }
+
+  private record ChunkResult(
+    List<JXESAXRecording> records,
+    Exception error)
+  {
+
+  }
+
+  private static final class ChunkTask extends RecursiveTask<ChunkResult>
+  {
+    private final JXEXMLReaderPool readers;
+    private final Chunks chunks;
+    private final long start;
+    private final long end;
+    private final boolean last;
+    private final long startNewlines;
+
+    ChunkTask(
+      final JXEXMLReaderPool inReaders,
+      final Chunks inChunks,
+      final long inStart,
+      final long inEnd,
+      final boolean inLast,
+      final long inStartNewlines)
+    {
+      this.readers = inReaders;
+      this.chunks = inChunks;
+      this.start = inStart;
+      this.end = inEnd;
+      this.last = inLast;
+      this.startNewlines = inStartNewlines;
+    }
+
+    @Override
+    protected ChunkResult compute()
+    {
+      final var collector = new JXERecordCollector();
+      if (this.chunks.abandoned.get()) {
+        return new ChunkResult(List.of(), null);
+      }
+
+      Exception error = null;
+      try (var pooled = this.readers.borrow()) {
+        final var reader = pooled.reader();
+        reader.setContentHandler(collector);
+        reader.setErrorHandler(JXEFatalErrorHandler.INSTANCE);
+
+        final var source =
+          new InputSource(this.chunks.open(this.start, this.end, this.last));
+        source.setSystemId(this.chunks.systemId);
+        reader.parse(source);
+      } catch (final SAXParseException e) {
+        error = this.chunks.relocate(e, this.start, this.startNewlines);
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+        error = e;
+      } catch (final IOException
+                     | SAXException
+                     | ParserConfigurationException
+                     | RuntimeException e) {
+        error = e;
+      }
+
+      return new ChunkResult(collector.records(), error);
+    }
+  }
+}
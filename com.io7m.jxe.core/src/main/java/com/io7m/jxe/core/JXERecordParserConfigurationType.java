@@ -0,0 +1,99 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jxe.core;
+
+import com.io7m.immutables.styles.ImmutablesStyleType;
+import org.immutables.value.Value;
+
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Configuration for a {@link JXERecordParser}.
+ */
+
+@ImmutablesStyleType
+@Value.Immutable
+public interface JXERecordParserConfigurationType
+{
+  /**
+   * The default minimum size of a chunk.
+   */
+
+  long DEFAULT_CHUNK_SIZE = 4L * 1024L * 1024L;
+
+  /**
+   * @return The template from which readers are created
+   */
+
+  JXEReaderTemplateType template();
+
+  /**
+   * @return The maximum number of chunks parsed at once
+   */
+
+  @Value.Default
+  default int maximumConcurrency()
+  {
+    return Runtime.getRuntime().availableProcessors();
+  }
+
+  /**
+   * The minimum size in bytes of each chunk. Documents are split into
+   * chunks of at least this size, each containing as many whole records
+   * as fit, and the records of a chunk are held in memory until they are
+   * delivered.
+   *
+   * @return The minimum chunk size
+   */
+
+  @Value.Default
+  default long chunkSize()
+  {
+    return DEFAULT_CHUNK_SIZE;
+  }
+
+  /**
+   * The pool on which chunks are parsed. If no pool is specified, the
+   * common pool is used.
+   *
+   * @return The fork/join pool, if any
+   */
+
+  Optional<ForkJoinPool> pool();
+
+  /**
+   * Check preconditions for the type.
+   */
+
+  @Value.Check
+  default void checkPreconditions()
+  {
+    if (this.maximumConcurrency() < 1) {
+      throw new IllegalArgumentException(
+        "Maximum concurrency must be positive (received %d)".formatted(
+          Integer.valueOf(this.maximumConcurrency()))
+      );
+    }
+    if (this.chunkSize() < 1L) {
+      throw new IllegalArgumentException(
+        "Chunk size must be positive (received %d)".formatted(
+          Long.valueOf(this.chunkSize()))
+      );
+    }
+  }
+}
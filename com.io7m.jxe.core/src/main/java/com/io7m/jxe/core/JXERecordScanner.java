@@ -0,0 +1,508 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jxe.core;
+
+import org.xml.sax.SAXParseException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Objects;
+
+/**
+ * <p>A scanner that locates the boundaries between the top-level children
+ * of the root element of a document, without parsing the document.</p>
+ *
+ * <p>The scanner recognizes only as much of the XML syntax as is needed to
+ * track element depth: tags, quoted attribute values, comments, CDATA
+ * sections, processing instructions, and the document type declaration.
+ * It does not check well-formedness; every byte of the document is
+ * subsequently parsed by a real parser, and so a document that confuses
+ * the scanner is rejected by the parser rather than accepted. The scanner
+ * works on bytes, and so only supports encodings in which the characters
+ * of the XML markup are encoded as single ASCII bytes, such as UTF-8.</p>
+ */
+
+final class JXERecordScanner
+{
+  private static final int BUFFER_SIZE = 65536;
+
+  private final FileChannel channel;
+  private final String systemId;
+  private final ByteBuffer buffer;
+  private long offset;
+  private long newlines;
+  private int pushback;
+  private int pendingTag;
+  private byte[] prologue;
+  private byte[] rootName;
+  private long prologueNewlines;
+  private boolean finished;
+
+  private JXERecordScanner(
+    final FileChannel inChannel,
+    final String inSystemId)
+  {
+    this.channel =
+      Objects.requireNonNull(inChannel, "channel");
+    this.systemId =
+      Objects.requireNonNull(inSystemId, "systemId");
+    this.buffer =
+      ByteBuffer.allocate(BUFFER_SIZE);
+    this.buffer.flip();
+    this.pushback = -2;
+    this.pendingTag = -2;
+  }
+
+  /**
+   * Open a scanner and scan the prologue of the document up to and
+   * including the start tag of the root element.
+   *
+   * @param channel  The file channel, positioned at the start of the file
+   * @param systemId The system ID of the document
+   *
+   * @return A scanner positioned after the root element's start tag
+   *
+   * @throws IOException       On I/O errors
+   * @throws SAXParseException If the document cannot be split
+   */
+
+  static JXERecordScanner open(
+    final FileChannel channel,
+    final String systemId)
+    throws IOException, SAXParseException
+  {
+    final var scanner = new JXERecordScanner(channel, systemId);
+    scanner.scanPrologue();
+    return scanner;
+  }
+
+  /**
+   * @return The bytes of the document up to and including the start tag of
+   *         the root element
+   */
+
+  byte[] prologue()
+  {
+    return this.prologue;
+  }
+
+  /**
+   * @return The number of newlines in the prologue
+   */
+
+  long prologueNewlines()
+  {
+    return this.prologueNewlines;
+  }
+
+  /**
+   * @return The bytes of an end tag that closes the root element
+   */
+
+  byte[] rootEndTag()
+  {
+    final var tag = new byte[this.rootName.length + 3];
+    tag[0] = '<';
+    tag[1] = '/';
+    System.arraycopy(this.rootName, 0, tag, 2, this.rootName.length);
+    tag[tag.length - 1] = '>';
+    return tag;
+  }
+
+  /**
+   * @return The number of newlines consumed so far
+   */
+
+  long newlines()
+  {
+    return this.newlines;
+  }
+
+  /**
+   * @return {@code true} if the end of the root element's content has been
+   *         reached
+   */
+
+  boolean isFinished()
+  {
+    return this.finished;
+  }
+
+  /**
+   * Find the start of the first top-level child that begins at or after the
+   * given offset, and that is preceded by at least one other top-level
+   * child since the previous boundary. Each range between two boundaries
+   * therefore contains at least one whole child.
+   *
+   * @param minimumOffset The minimum offset
+   *
+   * @return The offset of the child's start tag, or {@code -1} if the end of
+   *         the root element's content was reached
+   *
+   * @throws IOException On I/O errors
+   */
+
+  long nextBoundary(
+    final long minimumOffset)
+    throws IOException
+  {
+    int depth = 0;
+    boolean children = false;
+
+    if (this.pendingTag != -2) {
+      children = true;
+      if (!this.skipTag(this.pendingTag)) {
+        depth = 1;
+      }
+      this.pendingTag = -2;
+    }
+
+    while (true) {
+      int c = this.read();
+      if (c == -1) {
+        this.finished = true;
+        return -1L;
+      }
+      if (c != '<') {
+        continue;
+      }
+
+      final var tagStart = this.offset - 1L;
+      c = this.read();
+      switch (c) {
+        case -1 -> {
+          this.finished = true;
+          return -1L;
+        }
+        case '/' -> {
+          if (depth == 0) {
+            this.finished = true;
+            return -1L;
+          }
+          this.skipTag(this.read());
+          --depth;
+        }
+        case '?' -> this.skipProcessingInstruction();
+        case '!' -> this.skipMarkupDeclaration();
+        default -> {
+          if (depth == 0) {
+            if (children && tagStart >= minimumOffset) {
+              this.pendingTag = c;
+              return tagStart;
+            }
+            children = true;
+          }
+          if (!this.skipTag(c)) {
+            ++depth;
+          }
+        }
+      }
+    }
+  }
+
+  private void scanPrologue()
+    throws IOException, SAXParseException
+  {
+    int c = this.skipByteOrderMark();
+
+    while (true) {
+      while (isSpace(c)) {
+        c = this.read();
+      }
+      if (c == -1) {
+        throw this.error("The document has no root element.");
+      }
+      if (c != '<') {
+        throw this.error(
+          "Content is not allowed in the prologue, or the document is "
+            + "not in an ASCII-compatible encoding.");
+      }
+
+      c = this.read();
+      if (c == 0) {
+        throw this.error(
+          "The document is not in an ASCII-compatible encoding.");
+      }
+
+      switch (c) {
+        case '?' -> this.skipProcessingInstruction();
+        case '!' -> this.skipPrologueDeclaration();
+        default -> {
+          if (c <= 0x20 || c == '/' || c == '>') {
+            throw this.error("Malformed root element start tag.");
+          }
+          this.scanRoot(c);
+          return;
+        }
+      }
+      c = this.read();
+    }
+  }
+
+  /**
+   * Skip a UTF-8 byte order mark, if present.
+   *
+   * @return The first byte following the byte order mark
+   */
+
+  private int skipByteOrderMark()
+    throws IOException, SAXParseException
+  {
+    final int c = this.read();
+    if (c == 0xEF) {
+      if (this.read() != 0xBB || this.read() != 0xBF) {
+        throw this.error("Malformed byte order mark.");
+      }
+      return this.read();
+    }
+    return c;
+  }
+
+  /**
+   * Skip a comment or document type declaration in the prologue, following
+   * the initial {@code <!}.
+   */
+
+  private void skipPrologueDeclaration()
+    throws IOException, SAXParseException
+  {
+    final int c = this.read();
+    if (c == '-') {
+      if (this.read() != '-') {
+        throw this.error("Malformed comment in the prologue.");
+      }
+      this.skipUntil('-', '-', '>');
+    } else if (c == 'D') {
+      this.skipDoctype();
+    } else {
+      throw this.error("Unexpected markup in the prologue.");
+    }
+  }
+
+  private void scanRoot(
+    final int first)
+    throws IOException
+  {
+    final var name = new ByteArrayOutputStream(32);
+    int c = first;
+    while (c != -1 && !isSpace(c) && c != '/' && c != '>') {
+      name.write(c);
+      c = this.read();
+    }
+
+    this.rootName = name.toByteArray();
+    if (this.skipTag(c)) {
+      this.finished = true;
+    }
+
+    this.prologueNewlines = this.newlines;
+    this.prologue = new byte[Math.toIntExact(this.offset)];
+
+    final var target = ByteBuffer.wrap(this.prologue);
+    while (target.hasRemaining()) {
+      final var position = (long) target.position();
+      if (this.channel.read(target, position) < 0) {
+        throw new IOException("Unexpected end of file.");
+      }
+    }
+  }
+
+  /**
+   * Skip the remainder of a tag, starting with the given byte.
+   *
+   * @return {@code true} if the tag was an empty-element tag
+   */
+
+  private boolean skipTag(
+    final int first)
+    throws IOException
+  {
+    int c = first;
+    int quote = 0;
+    int last = 0;
+
+    while (c != -1) {
+      if (quote != 0) {
+        if (c == quote) {
+          quote = 0;
+        }
+      } else if (c == '"' || c == '\'') {
+        quote = c;
+      } else if (c == '>') {
+        return last == '/';
+      }
+      last = c;
+      c = this.read();
+    }
+    return false;
+  }
+
+  private void skipMarkupDeclaration()
+    throws IOException
+  {
+    final int c = this.read();
+    if (c == '-') {
+      this.read();
+      this.skipUntil('-', '-', '>');
+    } else if (c == '[') {
+      this.skipUntil(']', ']', '>');
+    } else {
+      this.unread(c);
+    }
+  }
+
+  private void skipDoctype()
+    throws IOException
+  {
+    int c = this.read();
+    int quote = 0;
+    boolean subset = false;
+
+    while (c != -1) {
+      if (quote != 0) {
+        if (c == quote) {
+          quote = 0;
+        }
+      } else if (c == '"' || c == '\'') {
+        quote = c;
+      } else if (c == '[') {
+        subset = true;
+      } else if (c == ']') {
+        subset = false;
+      } else if (c == '>' && !subset) {
+        return;
+      } else if (c == '<' && subset) {
+        c = this.read();
+        if (c == '?') {
+          this.skipProcessingInstruction();
+        } else if (c == '!') {
+          c = this.read();
+          if (c == '-') {
+            this.read();
+            this.skipUntil('-', '-', '>');
+          } else {
+            this.unread(c);
+          }
+        } else {
+          this.unread(c);
+        }
+      }
+      c = this.read();
+    }
+  }
+
+  private void skipProcessingInstruction()
+    throws IOException
+  {
+    int previous = 0;
+    while (true) {
+      final int c = this.read();
+      if (c == -1 || (previous == '?' && c == '>')) {
+        return;
+      }
+      previous = c;
+    }
+  }
+
+  /**
+   * Skip input up to and including the first occurrence of the given three
+   * bytes.
+   */
+
+  private void skipUntil(
+    final int b0,
+    final int b1,
+    final int b2)
+    throws IOException
+  {
+    int p0 = 0;
+    int p1 = 0;
+    while (true) {
+      final int c = this.read();
+      if (c == -1) {
+        return;
+      }
+      if (p0 == b0 && p1 == b1 && c == b2) {
+        return;
+      }
+      p0 = p1;
+      p1 = c;
+    }
+  }
+
+  private static boolean isSpace(
+    final int c)
+  {
+    return c == ' ' || c == '\t' || c == '\r' || c == '\n';
+  }
+
+  private SAXParseException error(
+    final String message)
+  {
+    return new SAXParseException(
+      message,
+      null,
+      this.systemId,
+      Math.toIntExact(Math.min(this.newlines + 1L, Integer.MAX_VALUE)),
+      -1
+    );
+  }
+
+  private void unread(
+    final int c)
+  {
+    if (c == -1) {
+      return;
+    }
+    this.pushback = c;
+    --this.offset;
+    if (c == '\n') {
+      --this.newlines;
+    }
+  }
+
+  private int read()
+    throws IOException
+  {
+    final int c;
+    if (this.pushback != -2) {
+      c = this.pushback;
+      this.pushback = -2;
+    } else {
+      if (!this.buffer.hasRemaining()) {
+        this.buffer.clear();
+        int count = 0;
+        while (count == 0) {
+          count = this.channel.read(this.buffer);
+        }
+        this.buffer.flip();
+        if (count < 0) {
+          return -1;
+        }
+      }
+      c = this.buffer.get() & 0xff;
+    }
+
+    ++this.offset;
+    if (c == '\n') {
+      ++this.newlines;
+    }
+    return c;
+  }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jxe.core;
+
+import com.io7m.immutables.styles.ImmutablesStyleType;
+import org.immutables.value.Value;
+
+/**
+ * A single top-level child of the root element of a document parsed by a
+ * {@link JXERecordParser}.
+ */
+
+@ImmutablesStyleType
+@Value.Immutable
+public interface JXERecordType
+{
+  /**
+   * @return The index of the record within the document, starting at zero
+   */
+
+  @Value.Parameter
+  long index();
+
+  /**
+   * The events of the record. The recording is a complete document whose
+   * root element is the record, and which declares the namespace prefixes
+   * that were in scope on the document's root element.
+   *
+   * @return The recorded events of the record
+   */
+
+  @Value.Parameter
+  JXESAXRecording recording();
+}
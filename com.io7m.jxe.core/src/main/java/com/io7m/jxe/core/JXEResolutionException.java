@@ -0,0 +1,56 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jxe.core;
+
+import org.xml.sax.SAXException;
+
+import java.io.IOException;
+import java.util.Objects;
+
+/**
+ * An unchecked carrier for resolution failures that occur inside callback
+ * interfaces that cannot throw checked exceptions.
+ */
+
+final class JXEResolutionException extends RuntimeException
+{
+  JXEResolutionException(
+    final Exception inCause)
+  {
+    super(Objects.requireNonNull(inCause, "cause"));
+  }
+
+  /**
+   * Rethrow the original checked exception.
+   *
+   * @throws SAXException If the original exception was a SAX exception
+   * @throws IOException  If the original exception was an I/O exception
+   */
+
+  void rethrow()
+    throws SAXException, IOException
+  {
+    final var cause = this.getCause();
+    if (cause instanceof final SAXException e) {
+      throw e;
+    }
+    if (cause instanceof final IOException e) {
+      throw e;
+    }
+    throw new SAXException((Exception) cause);
+  }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jxe.core;
+
+/**
+ * The reason that a resolver refused to resolve a resource.
+ */
+
+public enum JXEResolutionRejection
+{
+  /**
+   * The URI could not be parsed.
+   */
+
+  REJECTED_UNPARSEABLE_URI,
+
+  /**
+   * The URI used a scheme other than {@code file}.
+   */
+
+  REJECTED_NON_FILE_URI,
+
+  /**
+   * No base directory was provided, so no filesystem access is allowed.
+   */
+
+  REJECTED_FILESYSTEM_ACCESS_DISABLED,
+
+  /**
+   * The resolved path was outside the base directory.
+   */
+
+  REJECTED_PATH_TRAVERSAL,
+
+  /**
+   * The resolved path did not refer to an existing regular file.
+   */
+
+  REJECTED_NOT_REGULAR_FILE
+}
@@ -0,0 +1,373 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jxe.core;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.LinkedHashMap;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * <p>A thread-safe cache of files resolved from the filesystem by
+ * {@link JXEHardenedDispatchingResolver} instances.</p>
+ *
+ * <p>The cache holds two kinds of entries. The first maps a base directory
+ * and a system ID to the path that the system ID resolved to, once that path
+ * has passed the resolver's URI and path traversal checks; this avoids
+ * repeating URI parsing and path normalization for files that are included
+ * many times. Only successful resolutions are remembered, so refused system
+ * IDs are checked, and reported, every time.</p>
+ *
+ * <p>The second maps a resolved path to the content of the file. Each entry
+ * records the file key, last modified time, and size of the file at the time
+ * it was read; the attributes of the file are read on every resolution, and
+ * the entry is discarded and the file reread if any of them differ. Content
+ * entries are bounded by their total size in bytes, and the least recently
+ * used entries are evicted first. Files larger than the bound are never
+ * cached.</p>
+ *
+ * <p>Because paths are cached per base directory, and contents are cached
+ * by absolute path, a single cache may be shared by any number of
+ * resolvers.</p>
+ */
+
+public final class JXEResolvedFileCache
+{
+  /**
+   * The default maximum number of resolved paths held in a cache.
+   */
+
+  public static final int DEFAULT_MAXIMUM_PATHS = 4096;
+
+  private final long maximumBytes;
+  private final int maximumPaths;
+  private final ReentrantLock lock;
+  private final LinkedHashMap<PathKey, Path> paths;
+  private final LinkedHashMap<Path, Content> contents;
+  private long bytes;
+  private long hits;
+  private long misses;
+
+  private JXEResolvedFileCache(
+    final long inMaximumBytes,
+    final int inMaximumPaths)
+  {
+    this.maximumBytes = inMaximumBytes;
+    this.maximumPaths = inMaximumPaths;
+    this.lock = new ReentrantLock();
+    this.paths = new LinkedHashMap<>(16, 0.75f, true);
+    this.contents = new LinkedHashMap<>(16, 0.75f, true);
+  }
+
+  /**
+   * Create a new cache that holds at most {@link #DEFAULT_MAXIMUM_PATHS}
+   * resolved paths.
+   *
+   * @param maximumBytes The maximum total size of cached file content
+   *
+   * @return A new cache
+   */
+
+  public static JXEResolvedFileCache create(
+    final long maximumBytes)
+  {
+    return create(maximumBytes, DEFAULT_MAXIMUM_PATHS);
+  }
+
+  /**
+   * Create a new cache.
+   *
+   * @param maximumBytes The maximum total size of cached file content
+   * @param maximumPaths The maximum number of resolved paths held
+   *
+   * @return A new cache
+   */
+
+  public static JXEResolvedFileCache create(
+    final long maximumBytes,
+    final int maximumPaths)
+  {
+    if (maximumBytes < 0L) {
+      throw new IllegalArgumentException(
+        "Maximum bytes must be non-negative (received %d)".formatted(
+          Long.valueOf(maximumBytes))
+      );
+    }
+    if (maximumPaths < 1) {
+      throw new IllegalArgumentException(
+        "Maximum paths must be positive (received %d)".formatted(
+          Integer.valueOf(maximumPaths))
+      );
+    }
+    return new JXEResolvedFileCache(maximumBytes, maximumPaths);
+  }
+
+  /**
+   * Find the path that the given system ID previously resolved to.
+   *
+   * @param base      The absolute, normalized base directory
+   * @param system_id The system ID
+   *
+   * @return The resolved path, if it has been validated before
+   */
+
+  Optional<Path> validatedPath(
+    final Path base,
+    final String system_id)
+  {
+    this.lock.lock();
+    try {
+      return Optional.ofNullable(
+        this.paths.get(new PathKey(base, system_id)));
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  /**
+   * Record the path that the given system ID resolved to. The path must
+   * already have passed all of the resolver's checks.
+   *
+   * @param base      The absolute, normalized base directory
+   * @param system_id The system ID
+   * @param resolved  The resolved path
+   */
+
+  void putValidatedPath(
+    final Path base,
+    final String system_id,
+    final Path resolved)
+  {
+    this.lock.lock();
+    try {
+      this.paths.put(new PathKey(base, system_id), resolved);
+      final var iterator = this.paths.keySet().iterator();
+      while (this.paths.size() > this.maximumPaths && iterator.hasNext()) {
+        iterator.next();
+        iterator.remove();
+      }
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  /**
+   * Open the given regular file, serving its content from the cache if the
+   * cached content is still current.
+   *
+   * @param path          The file
+   * @param attributes    The attributes of the file, read just now
+   * @param configuration The configuration used to read uncached files
+   *
+   * @return A stream over the file content
+   *
+   * @throws IOException On I/O errors
+   */
+
+  InputStream open(
+    final Path path,
+    final BasicFileAttributes attributes,
+    final JXEFileInputConfiguration configuration)
+    throws IOException
+  {
+    this.lock.lock();
+    try {
+      final var existing = this.contents.get(path);
+      if (existing != null) {
+        if (existing.isCurrent(attributes)) {
+          ++this.hits;
+          return new ByteArrayInputStream(existing.data);
+        }
+        this.contents.remove(path);
+        this.bytes -= existing.data.length;
+      }
+      ++this.misses;
+    } finally {
+      this.lock.unlock();
+    }
+
+    if (attributes.size() > this.maximumBytes) {
+      return JXEFileInputs.open(path, configuration);
+    }
+
+    final byte[] data;
+    try (var stream = JXEFileInputs.open(path, configuration)) {
+      data = stream.readAllBytes();
+    }
+
+    /*
+     * If the file changed while it was being read, serve what was read but
+     * do not cache it.
+     */
+
+    final var after =
+      Files.readAttributes(
+        path,
+        BasicFileAttributes.class,
+        LinkOption.NOFOLLOW_LINKS);
+
+    final var content = new Content(attributes, data);
+    if (content.isCurrent(after) && data.length == attributes.size()) {
+      this.store(path, content);
+    }
+    return new ByteArrayInputStream(data);
+  }
+
+  private void store(
+    final Path path,
+    final Content content)
+  {
+    this.lock.lock();
+    try {
+      final var previous = this.contents.put(path, content);
+      if (previous != null) {
+        this.bytes -= previous.data.length;
+      }
+      this.bytes += content.data.length;
+
+      final var iterator = this.contents.values().iterator();
+      while (this.bytes > this.maximumBytes && iterator.hasNext()) {
+        this.bytes -= iterator.next().data.length;
+        iterator.remove();
+      }
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  /**
+   * Remove all entries from the cache.
+   */
+
+  public void clear()
+  {
+    this.lock.lock();
+    try {
+      this.paths.clear();
+      this.contents.clear();
+      this.bytes = 0L;
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  /**
+   * @return The maximum total size of cached file content
+   */
+
+  public long maximumBytes()
+  {
+    return this.maximumBytes;
+  }
+
+  /**
+   * @return The number of files whose content is held in the cache
+   */
+
+  public int size()
+  {
+    this.lock.lock();
+    try {
+      return this.contents.size();
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  /**
+   * @return The total size in bytes of the file content held in the cache
+   */
+
+  public long sizeInBytes()
+  {
+    this.lock.lock();
+    try {
+      return this.bytes;
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  /**
+   * @return The number of times file content was served from the cache
+   */
+
+  public long hits()
+  {
+    this.lock.lock();
+    try {
+      return this.hits;
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  /**
+   * @return The number of times file content was read from the filesystem
+   */
+
+  public long misses()
+  {
+    this.lock.lock();
+    try {
+      return this.misses;
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  private record PathKey(
+    Path base,
+    String systemId)
+  {
+
+  }
+
+  private static final class Content
+  {
+    private final Object fileKey;
+    private final FileTime lastModified;
+    private final long size;
+    private final byte[] data;
+
+    Content(
+      final BasicFileAttributes attributes,
+      final byte[] inData)
+    {
+      this.fileKey = attributes.fileKey();
+      this.lastModified = attributes.lastModifiedTime();
+      this.size = attributes.size();
+      this.data = inData;
+    }
+
+    boolean isCurrent(
+      final BasicFileAttributes attributes)
+    {
+      return Objects.equals(this.fileKey, attributes.fileKey())
+        && Objects.equals(this.lastModified, attributes.lastModifiedTime())
+        && this.size == attributes.size();
+    }
+  }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jxe.core;
+
+import com.io7m.immutables.styles.ImmutablesStyleType;
+import org.immutables.value.Value;
+
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * Configuration for a {@link JXEHardenedDispatchingResolver}.
+ */
+
+@ImmutablesStyleType
+@Value.Immutable
+public interface JXEResolverConfigurationType
+{
+  /**
+   * @return The base directory used to resolve resources, if any
+   */
+
+  Optional<Path> baseDirectory();
+
+  /**
+   * @return The schema mappings
+   */
+
+  @Value.Default
+  default JXESchemaResolutionMappings schemas()
+  {
+    return JXESchemaResolutionMappings.builder().build();
+  }
+
+  /**
+   * @return The cache used to serve schema content, if any
+   */
+
+  Optional<JXESchemaContentCache> contentCache();
+
+  /**
+   * @return The configuration used to read files from the base directory
+   */
+
+  @Value.Default
+  default JXEFileInputConfiguration fileInput()
+  {
+    return JXEFileInputConfiguration.builder().build();
+  }
+
+  /**
+   * @return The cache of validated paths and file content, if any
+   */
+
+  Optional<JXEResolvedFileCache> fileCache();
+
+  /**
+   * @return The listener that receives resolution measurements
+   */
+
+  @Value.Default
+  default JXEMetricsListenerType metrics()
+  {
+    return JXEMetricsListeners.noop();
+  }
+}
@@ -0,0 +1,417 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jxe.core;
+
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.Locator;
+import org.xml.sax.SAXException;
+import org.xml.sax.SAXNotRecognizedException;
+import org.xml.sax.SAXNotSupportedException;
+import org.xml.sax.SAXParseException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.ext.DeclHandler;
+import org.xml.sax.ext.LexicalHandler;
+import org.xml.sax.helpers.XMLFilterImpl;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Objects;
+
+/**
+ * A filter that enforces {@link JXEResourceLimits} on the events of a
+ * hardened reader, for parser backends that cannot enforce the limits
+ * themselves. A limit that is exceeded is reported to the application's
+ * error handler as a fatal error, and the parse is then aborted.
+ *
+ * As with {@link JXELazyValidatingFilter}, the filter installs its
+ * parent's entity resolver as its own. The filter registers itself as
+ * the parent's lexical and declaration handler in order to observe entity
+ * declarations and boundaries, and forwards all such events to the
+ * application's handlers.
+ */
+
+final class JXEResourceLimitingFilter
+  extends XMLFilterImpl implements LexicalHandler, DeclHandler
+{
+  private static final String LEXICAL_HANDLER =
+    "http://xml.org/sax/properties/lexical-handler";
+  private static final String DECLARATION_HANDLER =
+    "http://xml.org/sax/properties/declaration-handler";
+
+  private final JXEResourceLimits limits;
+  private final HashMap<String, Integer> internalEntitySizes;
+  private LexicalHandler lexicalHandler;
+  private DeclHandler declHandler;
+  private Locator locator;
+  private int elementDepth;
+  private int externalEntityDepth;
+  private long entityCharacters;
+  private long totalCharacters;
+
+  JXEResourceLimitingFilter(
+    final XMLReader inParent,
+    final JXEResourceLimits inLimits)
+  {
+    super(Objects.requireNonNull(inParent, "parent"));
+    this.limits = Objects.requireNonNull(inLimits, "limits");
+    this.internalEntitySizes = new HashMap<>();
+    this.setEntityResolver(inParent.getEntityResolver());
+  }
+
+  @Override
+  public void setProperty(
+    final String name,
+    final Object value)
+    throws SAXNotRecognizedException, SAXNotSupportedException
+  {
+    if (LEXICAL_HANDLER.equals(name)) {
+      this.lexicalHandler = (LexicalHandler) value;
+      return;
+    }
+    if (DECLARATION_HANDLER.equals(name)) {
+      this.declHandler = (DeclHandler) value;
+      return;
+    }
+    super.setProperty(name, value);
+  }
+
+  @Override
+  public Object getProperty(
+    final String name)
+    throws SAXNotRecognizedException, SAXNotSupportedException
+  {
+    if (LEXICAL_HANDLER.equals(name)) {
+      return this.lexicalHandler;
+    }
+    if (DECLARATION_HANDLER.equals(name)) {
+      return this.declHandler;
+    }
+    return super.getProperty(name);
+  }
+
+  @Override
+  public void parse(
+    final InputSource input)
+    throws SAXException, IOException
+  {
+    final var parent = this.getParent();
+
+    this.locator = null;
+    this.elementDepth = 0;
+    this.externalEntityDepth = 0;
+    this.entityCharacters = 0L;
+    this.totalCharacters = 0L;
+    this.internalEntitySizes.clear();
+
+    parent.setEntityResolver(this.getEntityResolver());
+    parent.setDTDHandler(this);
+    parent.setErrorHandler(this);
+    parent.setContentHandler(this);
+    parent.setProperty(LEXICAL_HANDLER, this);
+    parent.setProperty(DECLARATION_HANDLER, this);
+    parent.parse(input);
+  }
+
+  @Override
+  public void parse(
+    final String systemId)
+    throws SAXException, IOException
+  {
+    this.parse(new InputSource(systemId));
+  }
+
+  @Override
+  public void setDocumentLocator(
+    final Locator inLocator)
+  {
+    this.locator = inLocator;
+    super.setDocumentLocator(inLocator);
+  }
+
+  @Override
+  public void startElement(
+    final String uri,
+    final String localName,
+    final String qName,
+    final Attributes atts)
+    throws SAXException
+  {
+    ++this.elementDepth;
+    this.check(
+      "element depth",
+      this.elementDepth,
+      this.limits.maximumElementDepth()
+    );
+    this.checkName(qName);
+
+    final var attributeCount = atts.getLength();
+    this.check(
+      "attribute count",
+      attributeCount,
+      this.limits.maximumAttributeCount()
+    );
+    for (int index = 0; index < attributeCount; ++index) {
+      this.checkName(atts.getQName(index));
+    }
+
+    super.startElement(uri, localName, qName, atts);
+  }
+
+  @Override
+  public void endElement(
+    final String uri,
+    final String localName,
+    final String qName)
+    throws SAXException
+  {
+    --this.elementDepth;
+    super.endElement(uri, localName, qName);
+  }
+
+  @Override
+  public void characters(
+    final char[] ch,
+    final int start,
+    final int length)
+    throws SAXException
+  {
+    this.countCharacters(length);
+    super.characters(ch, start, length);
+  }
+
+  @Override
+  public void ignorableWhitespace(
+    final char[] ch,
+    final int start,
+    final int length)
+    throws SAXException
+  {
+    this.countCharacters(length);
+    super.ignorableWhitespace(ch, start, length);
+  }
+
+  private void countCharacters(
+    final int length)
+    throws SAXException
+  {
+    this.totalCharacters += length;
+    this.check(
+      "total characters",
+      this.totalCharacters,
+      this.limits.maximumTotalCharacters()
+    );
+
+    if (this.externalEntityDepth > 0) {
+      this.countEntityCharacters(length);
+    }
+  }
+
+  private void countEntityCharacters(
+    final long length)
+    throws SAXException
+  {
+    this.entityCharacters += length;
+    this.check(
+      "total entity size",
+      this.entityCharacters,
+      this.limits.maximumTotalEntitySize()
+    );
+  }
+
+  private void checkName(
+    final String name)
+    throws SAXException
+  {
+    if (name != null) {
+      this.check(
+        "name length",
+        name.length(),
+        this.limits.maximumNameLength()
+      );
+    }
+  }
+
+  private void check(
+    final String name,
+    final long value,
+    final long limit)
+    throws SAXException
+  {
+    if (limit > 0L && value > limit) {
+      final var exception =
+        new SAXParseException(
+          "Resource limit exceeded: The %s %d exceeds the limit %d".formatted(
+            name, Long.valueOf(value), Long.valueOf(limit)),
+          this.locator
+        );
+      this.fatalError(exception);
+      throw exception;
+    }
+  }
+
+  /*
+   * Parsers may deliver the characters of an internal entity after the
+   * entity has ended, so the size of an internal entity is taken from its
+   * declaration and counted in full each time that the entity is expanded.
+   * Nested references are reported as entities of their own, and so are
+   * counted as they are expanded. The characters of external entities are
+   * counted as they are delivered. Parameter entities and the external DTD
+   * subset are reported with names beginning with '%' and '[' respectively,
+   * and do not count towards the entity size.
+   */
+
+  private static boolean isGeneralEntity(
+    final String name)
+  {
+    return !name.startsWith("%") && !name.startsWith("[");
+  }
+
+  @Override
+  public void startEntity(
+    final String name)
+    throws SAXException
+  {
+    if (isGeneralEntity(name)) {
+      final var size = this.internalEntitySizes.get(name);
+      if (size != null) {
+        this.countEntityCharacters(size.longValue());
+      } else {
+        ++this.externalEntityDepth;
+      }
+    }
+    if (this.lexicalHandler != null) {
+      this.lexicalHandler.startEntity(name);
+    }
+  }
+
+  @Override
+  public void endEntity(
+    final String name)
+    throws SAXException
+  {
+    if (isGeneralEntity(name) && !this.internalEntitySizes.containsKey(name)) {
+      --this.externalEntityDepth;
+    }
+    if (this.lexicalHandler != null) {
+      this.lexicalHandler.endEntity(name);
+    }
+  }
+
+  @Override
+  public void internalEntityDecl(
+    final String name,
+    final String value)
+    throws SAXException
+  {
+    if (isGeneralEntity(name)) {
+      this.internalEntitySizes.putIfAbsent(
+        name, Integer.valueOf(value.length()));
+    }
+    if (this.declHandler != null) {
+      this.declHandler.internalEntityDecl(name, value);
+    }
+  }
+
+  @Override
+  public void externalEntityDecl(
+    final String name,
+    final String publicId,
+    final String systemId)
+    throws SAXException
+  {
+    if (this.declHandler != null) {
+      this.declHandler.externalEntityDecl(name, publicId, systemId);
+    }
+  }
+
+  @Override
+  public void elementDecl(
+    final String name,
+    final String model)
+    throws SAXException
+  {
+    if (this.declHandler != null) {
+      this.declHandler.elementDecl(name, model);
+    }
+  }
+
+  @Override
+  public void attributeDecl(
+    final String eName,
+    final String aName,
+    final String type,
+    final String mode,
+    final String value)
+    throws SAXException
+  {
+    if (this.declHandler != null) {
+      this.declHandler.attributeDecl(eName, aName, type, mode, value);
+    }
+  }
+
+  @Override
+  public void startDTD(
+    final String name,
+    final String publicId,
+    final String systemId)
+    throws SAXException
+  {
+    if (this.lexicalHandler != null) {
+      this.lexicalHandler.startDTD(name, publicId, systemId);
+    }
+  }
+
+  @Override
+  public void endDTD()
+    throws SAXException
+  {
+    if (this.lexicalHandler != null) {
+      this.lexicalHandler.endDTD();
+    }
+  }
+
+  @Override
+  public void startCDATA()
+    throws SAXException
+  {
+    if (this.lexicalHandler != null) {
+      this.lexicalHandler.startCDATA();
+    }
+  }
+
+  @Override
+  public void endCDATA()
+    throws SAXException
+  {
+    if (this.lexicalHandler != null) {
+      this.lexicalHandler.endCDATA();
+    }
+  }
+
+  @Override
+  public void comment(
+    final char[] ch,
+    final int start,
+    final int length)
+    throws SAXException
+  {
+    if (this.lexicalHandler != null) {
+      this.lexicalHandler.comment(ch, start, length);
+    }
+  }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jxe.core;
+
+import com.io7m.immutables.styles.ImmutablesStyleType;
+import org.immutables.value.Value;
+
+/**
+ * Limits on the resources that a single parse may consume. A parse that
+ * exceeds any limit fails immediately with a fatal error. A limit of zero
+ * indicates that the corresponding resource is not limited.
+ *
+ * The default values are those applied by the JDK parser when secure
+ * processing is enabled.
+ */
+
+@ImmutablesStyleType
+@Value.Immutable
+public interface JXEResourceLimitsType
+{
+  /**
+   * The default maximum element depth.
+   */
+
+  int DEFAULT_MAXIMUM_ELEMENT_DEPTH = 0;
+
+  /**
+   * The default maximum number of attributes on a single element.
+   */
+
+  int DEFAULT_MAXIMUM_ATTRIBUTE_COUNT = 10_000;
+
+  /**
+   * The default maximum total size of entity replacement text.
+   */
+
+  long DEFAULT_MAXIMUM_TOTAL_ENTITY_SIZE = 50_000_000L;
+
+  /**
+   * The default maximum length of element and attribute names.
+   */
+
+  int DEFAULT_MAXIMUM_NAME_LENGTH = 1_000;
+
+  /**
+   * The default maximum number of characters in a document.
+   */
+
+  long DEFAULT_MAXIMUM_TOTAL_CHARACTERS = 0L;
+
+  /**
+   * @return The maximum depth to which elements may be nested
+   */
+
+  @Value.Default
+  default int maximumElementDepth()
+  {
+    return DEFAULT_MAXIMUM_ELEMENT_DEPTH;
+  }
+
+  /**
+   * @return The maximum number of attributes on a single element
+   */
+
+  @Value.Default
+  default int maximumAttributeCount()
+  {
+    return DEFAULT_MAXIMUM_ATTRIBUTE_COUNT;
+  }
+
+  /**
+   * @return The maximum total number of characters produced by expanding
+   * entity references
+   */
+
+  @Value.Default
+  default long maximumTotalEntitySize()
+  {
+    return DEFAULT_MAXIMUM_TOTAL_ENTITY_SIZE;
+  }
+
+  /**
+   * @return The maximum length of element and attribute names
+   */
+
+  @Value.Default
+  default int maximumNameLength()
+  {
+    return DEFAULT_MAXIMUM_NAME_LENGTH;
+  }
+
+  /**
+   * @return The maximum total number of characters of text content in a
+   * document, including whitespace
+   */
+
+  @Value.Default
+  default long maximumTotalCharacters()
+  {
+    return DEFAULT_MAXIMUM_TOTAL_CHARACTERS;
+  }
+
+  /**
+   * Check preconditions for the type.
+   */
+
+  @Value.Check
+  default void checkPreconditions()
+  {
+    checkNonNegative("Maximum element depth", this.maximumElementDepth());
+    checkNonNegative("Maximum attribute count", this.maximumAttributeCount());
+    checkNonNegative("Maximum total entity size", this.maximumTotalEntitySize());
+    checkNonNegative("Maximum name length", this.maximumNameLength());
+    checkNonNegative("Maximum total characters", this.maximumTotalCharacters());
+  }
+
+  private static void checkNonNegative(
+    final String name,
+    final long value)
+  {
+    if (value < 0L) {
+      throw new IllegalArgumentException(
+        "%s must be non-negative (received %d)".formatted(
+          name, Long.valueOf(value))
+      );
+    }
+  }
+}
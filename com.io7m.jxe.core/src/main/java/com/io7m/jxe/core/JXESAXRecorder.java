@@ -0,0 +1,315 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jxe.core;
+
+import org.xml.sax.Attributes;
+import org.xml.sax.ContentHandler;
+import org.xml.sax.Locator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * <p>A content handler that records the SAX events it receives into a
+ * compact binary {@link JXESAXRecording}.</p>
+ *
+ * <p>Events are encoded as single-byte opcodes followed by variable-length
+ * integer operands. Names, namespace URIs, attribute values, and short
+ * character runs are stored once in a string table and referred to by
+ * index, so the repetitive names and indentation that make up most of a
+ * typical document cost only a byte or two per occurrence. Longer character
+ * runs are appended to a separate character buffer.</p>
+ *
+ * <p>Document locators are not recorded. A recorder is not thread-safe,
+ * and records a single document.</p>
+ */
+
+public final class JXESAXRecorder implements ContentHandler
+{
+  /**
+   * Character runs at most this long are stored in the string table.
+   */
+
+  static final int SHORT_TEXT_LIMIT = 64;
+
+  private final HashMap<String, Integer> stringIndices;
+  private final ArrayList<String> strings;
+  private byte[] events;
+  private int eventsSize;
+  private char[] text;
+  private int textSize;
+  private int longestText;
+  private JXESAXRecording recording;
+
+  private JXESAXRecorder()
+  {
+    this.stringIndices = new HashMap<>(256);
+    this.strings = new ArrayList<>(256);
+    this.strings.add(null);
+    this.events = new byte[4096];
+    this.text = new char[1024];
+  }
+
+  /**
+   * @return A new recorder
+   */
+
+  public static JXESAXRecorder create()
+  {
+    return new JXESAXRecorder();
+  }
+
+  /**
+   * @return The recording
+   *
+   * @throws IllegalStateException If the end of the document has not yet
+   *                               been received
+   */
+
+  public JXESAXRecording recording()
+  {
+    if (this.recording == null) {
+      throw new IllegalStateException(
+        "The end of the document has not been received");
+    }
+    return this.recording;
+  }
+
+  @Override
+  public void setDocumentLocator(
+    final Locator locator)
+  {
+
+  }
+
+  @Override
+  public void startDocument()
+  {
+    this.checkNotFinished();
+    this.writeByte(JXESAXRecording.OP_START_DOCUMENT);
+  }
+
+  @Override
+  public void endDocument()
+  {
+    this.checkNotFinished();
+    this.writeByte(JXESAXRecording.OP_END_DOCUMENT);
+    this.recording =
+      new JXESAXRecording(
+        Arrays.copyOf(this.events, this.eventsSize),
+        this.strings.toArray(new String[0]),
+        Arrays.copyOf(this.text, this.textSize),
+        this.longestText
+      );
+  }
+
+  @Override
+  public void startPrefixMapping(
+    final String prefix,
+    final String uri)
+  {
+    this.checkNotFinished();
+    this.writeByte(JXESAXRecording.OP_START_PREFIX_MAPPING);
+    this.writeString(prefix);
+    this.writeString(uri);
+  }
+
+  @Override
+  public void endPrefixMapping(
+    final String prefix)
+  {
+    this.checkNotFinished();
+    this.writeByte(JXESAXRecording.OP_END_PREFIX_MAPPING);
+    this.writeString(prefix);
+  }
+
+  @Override
+  public void startElement(
+    final String uri,
+    final String localName,
+    final String qName,
+    final Attributes attributes)
+  {
+    this.checkNotFinished();
+    this.writeByte(JXESAXRecording.OP_START_ELEMENT);
+    this.writeString(uri);
+    this.writeString(localName);
+    this.writeString(qName);
+
+    final var count = attributes.getLength();
+    this.writeInt(count);
+    for (int index = 0; index < count; ++index) {
+      this.writeString(attributes.getURI(index));
+      this.writeString(attributes.getLocalName(index));
+      this.writeString(attributes.getQName(index));
+      this.writeString(attributes.getType(index));
+      this.writeString(attributes.getValue(index));
+    }
+  }
+
+  @Override
+  public void endElement(
+    final String uri,
+    final String localName,
+    final String qName)
+  {
+    this.checkNotFinished();
+    this.writeByte(JXESAXRecording.OP_END_ELEMENT);
+    this.writeString(uri);
+    this.writeString(localName);
+    this.writeString(qName);
+  }
+
+  @Override
+  public void characters(
+    final char[] ch,
+    final int start,
+    final int length)
+  {
+    this.checkNotFinished();
+    this.writeText(
+      JXESAXRecording.OP_CHARACTERS_STRING,
+      JXESAXRecording.OP_CHARACTERS_BUFFER,
+      ch,
+      start,
+      length
+    );
+  }
+
+  @Override
+  public void ignorableWhitespace(
+    final char[] ch,
+    final int start,
+    final int length)
+  {
+    this.checkNotFinished();
+    this.writeText(
+      JXESAXRecording.OP_IGNORABLE_WHITESPACE_STRING,
+      JXESAXRecording.OP_IGNORABLE_WHITESPACE_BUFFER,
+      ch,
+      start,
+      length
+    );
+  }
+
+  @Override
+  public void processingInstruction(
+    final String target,
+    final String data)
+  {
+    this.checkNotFinished();
+    this.writeByte(JXESAXRecording.OP_PROCESSING_INSTRUCTION);
+    this.writeString(target);
+    this.writeString(data);
+  }
+
+  @Override
+  public void skippedEntity(
+    final String name)
+  {
+    this.checkNotFinished();
+    this.writeByte(JXESAXRecording.OP_SKIPPED_ENTITY);
+    this.writeString(name);
+  }
+
+  private void checkNotFinished()
+  {
+    if (this.recording != null) {
+      throw new IllegalStateException(
+        "The end of the document has already been received");
+    }
+  }
+
+  private void writeText(
+    final byte opString,
+    final byte opBuffer,
+    final char[] ch,
+    final int start,
+    final int length)
+  {
+    this.longestText = Math.max(this.longestText, length);
+
+    if (length <= SHORT_TEXT_LIMIT) {
+      this.writeByte(opString);
+      this.writeString(String.valueOf(ch, start, length));
+      return;
+    }
+
+    if (this.textSize + length > this.text.length) {
+      this.text = Arrays.copyOf(
+        this.text,
+        Math.max(this.text.length * 2, this.textSize + length));
+    }
+    System.arraycopy(ch, start, this.text, this.textSize, length);
+
+    this.writeByte(opBuffer);
+    this.writeInt(this.textSize);
+    this.writeInt(length);
+    this.textSize += length;
+  }
+
+  /*
+   * Index zero of the string table is reserved for null.
+   */
+
+  private void writeString(
+    final String value)
+  {
+    if (value == null) {
+      this.writeInt(0);
+      return;
+    }
+
+    final var existing = this.stringIndices.get(value);
+    if (existing != null) {
+      this.writeInt(existing.intValue());
+      return;
+    }
+
+    final var index = this.strings.size();
+    this.strings.add(value);
+    this.stringIndices.put(value, Integer.valueOf(index));
+    this.writeInt(index);
+  }
+
+  /*
+   * Unsigned LEB128: seven bits per byte, with the high bit set on every
+   * byte except the last.
+   */
+
+  private void writeInt(
+    final int value)
+  {
+    var remaining = value;
+    while ((remaining & ~0x7f) != 0) {
+      this.writeByte((byte) ((remaining & 0x7f) | 0x80));
+      remaining >>>= 7;
+    }
+    this.writeByte((byte) remaining);
+  }
+
+  private void writeByte(
+    final byte value)
+  {
+    if (this.eventsSize == this.events.length) {
+      this.events = Arrays.copyOf(this.events, this.events.length * 2);
+    }
+    this.events[this.eventsSize] = value;
+    ++this.eventsSize;
+  }
+}
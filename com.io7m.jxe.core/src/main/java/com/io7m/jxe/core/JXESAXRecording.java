@@ -0,0 +1,272 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jxe.core;
+
+import org.xml.sax.ContentHandler;
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.AttributesImpl;
+
+import java.util.Objects;
+
+/**
+ * <p>An immutable recording of the SAX events of a single document,
+ * produced by a {@link JXESAXRecorder}.</p>
+ *
+ * <p>A recording may be replayed any number of times, from any number of
+ * threads at once. Each replay delivers text to the handler in a buffer
+ * private to that replay, so handlers cannot observe or disturb each
+ * other. No document locator is delivered during replay.</p>
+ */
+
+public final class JXESAXRecording
+{
+  static final byte OP_START_DOCUMENT = 0;
+  static final byte OP_END_DOCUMENT = 1;
+  static final byte OP_START_PREFIX_MAPPING = 2;
+  static final byte OP_END_PREFIX_MAPPING = 3;
+  static final byte OP_START_ELEMENT = 4;
+  static final byte OP_END_ELEMENT = 5;
+  static final byte OP_CHARACTERS_STRING = 6;
+  static final byte OP_CHARACTERS_BUFFER = 7;
+  static final byte OP_IGNORABLE_WHITESPACE_STRING = 8;
+  static final byte OP_IGNORABLE_WHITESPACE_BUFFER = 9;
+  static final byte OP_PROCESSING_INSTRUCTION = 10;
+  static final byte OP_SKIPPED_ENTITY = 11;
+
+  private final byte[] events;
+  private final String[] strings;
+  private final char[] text;
+  private final int longestText;
+
+  JXESAXRecording(
+    final byte[] inEvents,
+    final String[] inStrings,
+    final char[] inText,
+    final int inLongestText)
+  {
+    this.events = Objects.requireNonNull(inEvents, "events");
+    this.strings = Objects.requireNonNull(inStrings, "strings");
+    this.text = Objects.requireNonNull(inText, "text");
+    this.longestText = inLongestText;
+  }
+
+  /**
+   * @return The size in bytes of the encoded events
+   */
+
+  public int eventsSizeInBytes()
+  {
+    return this.events.length;
+  }
+
+  /**
+   * @return The number of distinct strings in the string table
+   */
+
+  public int stringCount()
+  {
+    return this.strings.length - 1;
+  }
+
+  /**
+   * @return The number of characters held outside the string table
+   */
+
+  public int textSizeInChars()
+  {
+    return this.text.length;
+  }
+
+  /**
+   * @return The length of the longest run of text in the recording, and
+   *         therefore the size of the buffer each replay uses to deliver text
+   */
+
+  public int longestTextInChars()
+  {
+    return this.longestText;
+  }
+
+  /**
+   * Deliver the recorded events to the given handler.
+   *
+   * @param handler The content handler
+   *
+   * @throws SAXException If the handler raises an exception
+   */
+
+  public void replay(
+    final ContentHandler handler)
+    throws SAXException
+  {
+    Objects.requireNonNull(handler, "handler");
+    new Replay(this, handler).run();
+  }
+
+  private static final class Replay
+  {
+    private final JXESAXRecording recording;
+    private final ContentHandler handler;
+    private final AttributesImpl attributes;
+    private char[] scratch;
+    private int position;
+
+    Replay(
+      final JXESAXRecording inRecording,
+      final ContentHandler inHandler)
+    {
+      this.recording = inRecording;
+      this.handler = inHandler;
+      this.attributes = new AttributesImpl();
+    }
+
+    void run()
+      throws SAXException
+    {
+      final var events = this.recording.events;
+      while (this.position < events.length) {
+        final var op = events[this.position];
+        ++this.position;
+
+        switch (op) {
+          case OP_START_DOCUMENT -> {
+            this.handler.startDocument();
+          }
+          case OP_END_DOCUMENT -> {
+            this.handler.endDocument();
+          }
+          case OP_START_PREFIX_MAPPING -> {
+            final var prefix = this.readString();
+            this.handler.startPrefixMapping(prefix, this.readString());
+          }
+          case OP_END_PREFIX_MAPPING -> {
+            this.handler.endPrefixMapping(this.readString());
+          }
+          case OP_START_ELEMENT -> {
+            this.startElement();
+          }
+          case OP_END_ELEMENT -> {
+            final var uri = this.readString();
+            final var localName = this.readString();
+            this.handler.endElement(uri, localName, this.readString());
+          }
+          case OP_CHARACTERS_STRING -> {
+            final var length = this.readStringText();
+            this.handler.characters(this.scratch, 0, length);
+          }
+          case OP_CHARACTERS_BUFFER -> {
+            final var length = this.readBufferText();
+            this.handler.characters(this.scratch, 0, length);
+          }
+          case OP_IGNORABLE_WHITESPACE_STRING -> {
+            final var length = this.readStringText();
+            this.handler.ignorableWhitespace(this.scratch, 0, length);
+          }
+          case OP_IGNORABLE_WHITESPACE_BUFFER -> {
+            final var length = this.readBufferText();
+            this.handler.ignorableWhitespace(this.scratch, 0, length);
+          }
+          case OP_PROCESSING_INSTRUCTION -> {
+            final var target = this.readString();
+            this.handler.processingInstruction(target, this.readString());
+          }
+          case OP_SKIPPED_ENTITY -> {
+            this.handler.skippedEntity(this.readString());
+          }
+          default -> {
+            throw new IllegalStateException(
+              "Unrecognized opcode %d".formatted(Integer.valueOf(op)));
+          }
+        }
+      }
+    }
+
+    private void startElement()
+      throws SAXException
+    {
+      final var uri = this.readString();
+      final var localName = this.readString();
+      final var qName = this.readString();
+      final var count = this.readInt();
+
+      this.attributes.clear();
+      for (int index = 0; index < count; ++index) {
+        final var attrURI = this.readString();
+        final var attrLocalName = this.readString();
+        final var attrQName = this.readString();
+        final var attrType = this.readString();
+        final var attrValue = this.readString();
+        this.attributes.addAttribute(
+          attrURI, attrLocalName, attrQName, attrType, attrValue);
+      }
+
+      this.handler.startElement(uri, localName, qName, this.attributes);
+    }
+
+    /*
+     * The scratch buffer is sized to the longest run of text in the
+     * recording, which is fixed when the recording is frozen. It is
+     * allocated on the first text event so that recordings without text
+     * cost nothing to replay.
+     */
+
+    private char[] scratch()
+    {
+      if (this.scratch == null) {
+        this.scratch = new char[this.recording.longestText];
+      }
+      return this.scratch;
+    }
+
+    private int readStringText()
+    {
+      final var value = this.readString();
+      final var length = value.length();
+      value.getChars(0, length, this.scratch(), 0);
+      return length;
+    }
+
+    private int readBufferText()
+    {
+      final var offset = this.readInt();
+      final var length = this.readInt();
+      System.arraycopy(this.recording.text, offset, this.scratch(), 0, length);
+      return length;
+    }
+
+    private String readString()
+    {
+      return this.recording.strings[this.readInt()];
+    }
+
+    private int readInt()
+    {
+      final var events = this.recording.events;
+      int result = 0;
+      int shift = 0;
+      while (true) {
+        final var b = events[this.position];
+        ++this.position;
+        result |= (b & 0x7f) << shift;
+        if ((b & 0x80) == 0) {
+          return result;
+        }
+        shift += 7;
+      }
+    }
+  }
+}
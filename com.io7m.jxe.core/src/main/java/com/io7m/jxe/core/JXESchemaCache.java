@@ -0,0 +1,307 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jxe.core;
+
+import org.xml.sax.SAXException;
+
+import javax.xml.validation.Schema;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A thread-safe, size-bounded cache of compiled schemas.
+ *
+ * Compiled schemas are keyed on a fingerprint of the schema mappings from
+ * which they were compiled. The fingerprint covers the namespaces, file
+ * identifiers, and content of each schema, and so two distinct but equivalent
+ * sets of mappings will share a compiled schema. When the cache is full,
+ * the least recently used schema is evicted. If multiple threads request the
+ * same schema concurrently, the schema is compiled exactly once and the other
+ * threads wait for the result.
+ *
+ * Schema content is read through a {@link JXESchemaContentCache}, so each
+ * schema document is loaded from its location at most once regardless of
+ * how many times it is fingerprinted or compiled.
+ */
+
+public final class JXESchemaCache
+{
+  /**
+   * The default maximum number of compiled schemas held in a cache.
+   */
+
+  public static final int DEFAULT_MAXIMUM_SIZE = 32;
+
+  private final int maximumSize;
+  private final JXESchemaContentCache contents;
+  private final JXEMetricsListenerType metrics;
+  private final ReentrantLock lock;
+  private final LinkedHashMap<String, CompletableFuture<Schema>> schemas;
+  private long hits;
+  private long misses;
+  private long evictions;
+
+  private JXESchemaCache(
+    final int inMaximumSize,
+    final JXESchemaContentCache inContents,
+    final JXEMetricsListenerType inMetrics)
+  {
+    this.maximumSize = inMaximumSize;
+    this.contents = Objects.requireNonNull(inContents, "contents");
+    this.metrics = Objects.requireNonNull(inMetrics, "metrics");
+    this.lock = new ReentrantLock();
+    this.schemas = new LinkedHashMap<>(16, 0.75f, true);
+  }
+
+  /**
+   * Create a new cache with the default maximum size.
+   *
+   * @return A new cache
+   *
+   * @see #DEFAULT_MAXIMUM_SIZE
+   */
+
+  public static JXESchemaCache create()
+  {
+    return create(DEFAULT_MAXIMUM_SIZE);
+  }
+
+  /**
+   * Create a new cache with a new private schema content cache.
+   *
+   * @param maximumSize The maximum number of compiled schemas held in the cache
+   *
+   * @return A new cache
+   */
+
+  public static JXESchemaCache create(
+    final int maximumSize)
+  {
+    return create(maximumSize, JXESchemaContentCache.create());
+  }
+
+  /**
+   * Create a new cache.
+   *
+   * @param maximumSize The maximum number of compiled schemas held in the cache
+   * @param contents    The cache of schema content
+   *
+   * @return A new cache
+   */
+
+  public static JXESchemaCache create(
+    final int maximumSize,
+    final JXESchemaContentCache contents)
+  {
+    return create(maximumSize, contents, JXEMetricsListeners.noop());
+  }
+
+  /**
+   * Create a new cache that reports schema compilation times to the given
+   * metrics listener.
+   *
+   * @param maximumSize The maximum number of compiled schemas held in the cache
+   * @param contents    The cache of schema content
+   * @param metrics     The metrics listener
+   *
+   * @return A new cache
+   */
+
+  public static JXESchemaCache create(
+    final int maximumSize,
+    final JXESchemaContentCache contents,
+    final JXEMetricsListenerType metrics)
+  {
+    Objects.requireNonNull(contents, "contents");
+    Objects.requireNonNull(metrics, "metrics");
+
+    if (maximumSize < 1) {
+      throw new IllegalArgumentException(
+        "Maximum size must be positive (received %d)".formatted(
+          Integer.valueOf(maximumSize))
+      );
+    }
+    return new JXESchemaCache(maximumSize, contents, metrics);
+  }
+
+  /**
+   * Retrieve a compiled schema for the given mappings, compiling it if
+   * it is not already present in the cache.
+   *
+   * @param mappings The schema mappings
+   *
+   * @return A compiled schema
+   *
+   * @throws IOException  On I/O errors
+   * @throws SAXException On schema errors
+   */
+
+  public Schema schemaFor(
+    final JXESchemaResolutionMappings mappings)
+    throws IOException, SAXException
+  {
+    Objects.requireNonNull(mappings, "mappings");
+
+    final var fingerprint =
+      JXESchemaFingerprints.fingerprint(mappings, this.contents);
+
+    final CompletableFuture<Schema> future;
+    final boolean compile;
+
+    this.lock.lock();
+    try {
+      final var existing = this.schemas.get(fingerprint);
+      if (existing != null) {
+        ++this.hits;
+        future = existing;
+        compile = false;
+      } else {
+        ++this.misses;
+        future = new CompletableFuture<>();
+        this.schemas.put(fingerprint, future);
+        this.evictExcess();
+        compile = true;
+      }
+    } finally {
+      this.lock.unlock();
+    }
+
+    if (compile) {
+      return this.compile(mappings, fingerprint, future);
+    }
+    return await(future);
+  }
+
+  private Schema compile(
+    final JXESchemaResolutionMappings mappings,
+    final String fingerprint,
+    final CompletableFuture<Schema> future)
+    throws IOException, SAXException
+  {
+    final var timed = !JXEMetricsListeners.isNoop(this.metrics);
+    final var timeThen = timed ? System.nanoTime() : 0L;
+    final var event = new JXESchemaCompileEvent();
+    event.begin();
+
+    try {
+      final var schema = JXESchemaCompiler.compile(mappings, this.contents);
+      future.complete(schema);
+      return schema;
+    } catch (final IOException | SAXException | RuntimeException e) {
+      future.completeExceptionally(e);
+      throw e;
+    } finally {
+      final var succeeded =
+        future.isDone() && !future.isCompletedExceptionally();
+
+      if (event.shouldCommit()) {
+        event.setNamespaceCount(mappings.mappings().size());
+        event.setSucceeded(succeeded);
+        event.commit();
+      }
+      if (timed) {
+        this.metrics.onSchemaCompiled(System.nanoTime() - timeThen, succeeded);
+      }
+      if (future.isCompletedExceptionally() || !future.isDone()) {
+        future.cancel(false);
+        this.lock.lock();
+        try {
+          this.schemas.remove(fingerprint, future);
+        } finally {
+          this.lock.unlock();
+        }
+      }
+    }
+  }
+
+  private static Schema await(
+    final CompletableFuture<Schema> future)
+    throws IOException, SAXException
+  {
+    try {
+      return future.join();
+    } catch (final CompletionException e) {
+      final var cause = e.getCause();
+      if (cause instanceof final IOException x) {
+        throw x;
+      }
+      if (cause instanceof final SAXException x) {
+        throw x;
+      }
+      throw new SAXException(e);
+    } catch (final RuntimeException e) {
+      throw new SAXException(e);
+    }
+  }
+
+  private void evictExcess()
+  {
+    final var iterator = this.schemas.keySet().iterator();
+    while (this.schemas.size() > this.maximumSize && iterator.hasNext()) {
+      iterator.next();
+      iterator.remove();
+      ++this.evictions;
+    }
+  }
+
+  /**
+   * @return The cache of schema content used by this cache
+   */
+
+  public JXESchemaContentCache contentCache()
+  {
+    return this.contents;
+  }
+
+  /**
+   * Remove all compiled schemas from the cache. Statistics are not reset.
+   */
+
+  public void clear()
+  {
+    this.lock.lock();
+    try {
+      this.schemas.clear();
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  /**
+   * @return A snapshot of the current cache statistics
+   */
+
+  public JXESchemaCacheStatistics statistics()
+  {
+    this.lock.lock();
+    try {
+      return JXESchemaCacheStatistics.of(
+        this.hits,
+        this.misses,
+        this.evictions,
+        this.schemas.size(),
+        this.maximumSize
+      );
+    } finally {
+      this.lock.unlock();
+    }
+  }
+}
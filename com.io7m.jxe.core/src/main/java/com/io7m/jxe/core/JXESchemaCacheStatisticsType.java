@@ -0,0 +1,64 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jxe.core;
+
+import com.io7m.immutables.styles.ImmutablesStyleType;
+import org.immutables.value.Value;
+
+/**
+ * A snapshot of the statistics of a compiled schema cache.
+ */
+
+@ImmutablesStyleType
+@Value.Immutable
+public interface JXESchemaCacheStatisticsType
+{
+  /**
+   * @return The number of requests that were served from the cache
+   */
+
+  @Value.Parameter
+  long hits();
+
+  /**
+   * @return The number of requests that required a schema to be compiled
+   */
+
+  @Value.Parameter
+  long misses();
+
+  /**
+   * @return The number of compiled schemas evicted from the cache
+   */
+
+  @Value.Parameter
+  long evictions();
+
+  /**
+   * @return The number of compiled schemas currently held in the cache
+   */
+
+  @Value.Parameter
+  int size();
+
+  /**
+   * @return The maximum number of compiled schemas held in the cache
+   */
+
+  @Value.Parameter
+  int maximumSize();
+}
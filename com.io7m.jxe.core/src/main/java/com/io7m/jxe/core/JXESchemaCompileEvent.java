@@ -0,0 +1,68 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jxe.core;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A flight recorder event emitted when a composite schema is compiled.
+ */
+
+@Name("jxe.SchemaCompile")
+@Label("Schema Compile")
+@Category("JXE")
+@Description("A composite schema was compiled from a set of schema mappings")
+@StackTrace(false)
+final class JXESchemaCompileEvent extends jdk.jfr.Event
+{
+  @Label("Namespace Count")
+  @Description("The number of namespaces in the schema mappings")
+  private int namespaceCount;
+
+  @Label("Succeeded")
+  @Description("True if the schema compiled successfully")
+  private boolean succeeded;
+
+  JXESchemaCompileEvent()
+  {
+
+  }
+
+  /**
+   * @param value The number of namespaces in the schema mappings
+   */
+
+  void setNamespaceCount(
+    final int value)
+  {
+    this.namespaceCount = value;
+  }
+
+  /**
+   * @param value {@code true} if the schema compiled successfully
+   */
+
+  void setSucceeded(
+    final boolean value)
+  {
+    this.succeeded = value;
+  }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jxe.core;
+
+import org.xml.sax.SAXException;
+import org.xml.sax.SAXNotRecognizedException;
+
+import javax.xml.XMLConstants;
+import javax.xml.transform.Source;
+import javax.xml.transform.stream.StreamSource;
+import javax.xml.validation.Schema;
+import javax.xml.validation.SchemaFactory;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Objects;
+
+/**
+ * Functions to compile composite schemas from schema mappings.
+ */
+
+final class JXESchemaCompiler
+{
+  private JXESchemaCompiler()
+  {
+
+  }
+
+  /**
+   * Compile a single composite schema from all of the schemas in the given
+   * mappings. Imports and includes of mapped schemas are served from the
+   * mappings and the content cache rather than from their location hints.
+   *
+   * @param schemaMappings The schema mappings
+   * @param contents       The cache of schema content
+   *
+   * @return A compiled schema
+   *
+   * @throws IOException  On I/O errors
+   * @throws SAXException On schema errors
+   */
+
+  static Schema compile(
+    final JXESchemaResolutionMappings schemaMappings,
+    final JXESchemaContentCache contents)
+    throws IOException, SAXException
+  {
+    Objects.requireNonNull(schemaMappings, "schemaMappings");
+    Objects.requireNonNull(contents, "contents");
+
+    /*
+     * Turn on "secure processing", and deny access to external DTDs and
+     * schemas on implementations that understand the JAXP access properties.
+     * Every schema is supplied by the import resolver, which refuses
+     * anything that is not in the mappings.
+     */
+
+    final var schemaFactory =
+      SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
+    schemaFactory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+    setIfRecognized(schemaFactory, XMLConstants.ACCESS_EXTERNAL_DTD, "");
+    setIfRecognized(schemaFactory, XMLConstants.ACCESS_EXTERNAL_SCHEMA, "");
+    schemaFactory.setResourceResolver(
+      new JXESchemaImportResolver(schemaMappings, contents));
+
+    final var schemaDefinitions =
+      schemaMappings.mappings().values();
+    final var schemaSources =
+      new Source[schemaDefinitions.size()];
+
+    var index = 0;
+    for (final var schemaMapping : schemaDefinitions) {
+      schemaSources[index] =
+        new StreamSource(
+          contents.open(schemaMapping),
+          schemaMapping.fileIdentifier()
+        );
+      ++index;
+    }
+
+    try {
+      return schemaFactory.newSchema(schemaSources);
+    } catch (final UncheckedIOException e) {
+      throw e.getCause();
+    } catch (final JXEResolutionException e) {
+      e.rethrow();
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static void setIfRecognized(
+    final SchemaFactory schemaFactory,
+    final String name,
+    final Object value)
+    throws SAXException
+  {
+    try {
+      schemaFactory.setProperty(name, value);
+    } catch (final SAXNotRecognizedException e) {
+      // The implementation does not support the property.
+    }
+  }
+
+  /**
+   * Create a schema that is populated lazily: each schema is loaded and
+   * compiled the first time that an element in its namespace is validated,
+   * and the compiled grammar is retained by the returned schema for use by
+   * all of its validators. Validators created from the schema must be given
+   * a resource resolver that locates schemas by namespace.
+   *
+   * @return A lazily populated schema
+   *
+   * @throws SAXException On schema errors
+   */
+
+  static Schema lazy()
+    throws SAXException
+  {
+    final var schemaFactory =
+      SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
+    schemaFactory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+    return schemaFactory.newSchema();
+  }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jxe.core;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A thread-safe cache of the raw bytes of schema documents.
+ *
+ * The content of each schema is read from {@link JXESchemaDefinition#location()}
+ * at most once, and is thereafter served from an immutable in-memory buffer.
+ * Content is keyed by the external form of the schema location, and is held
+ * for the lifetime of the cache; applications are expected to use a bounded
+ * set of schemas.
+ */
+
+public final class JXESchemaContentCache
+{
+  private final ConcurrentHashMap<String, byte[]> contents;
+
+  private JXESchemaContentCache()
+  {
+    this.contents = new ConcurrentHashMap<>();
+  }
+
+  /**
+   * @return A new, empty cache
+   */
+
+  public static JXESchemaContentCache create()
+  {
+    return new JXESchemaContentCache();
+  }
+
+  /**
+   * Load the content of every schema in the given mappings into the cache.
+   *
+   * @param mappings The schema mappings
+   *
+   * @throws IOException On errors reading schemas
+   */
+
+  public void preload(
+    final JXESchemaResolutionMappings mappings)
+    throws IOException
+  {
+    Objects.requireNonNull(mappings, "mappings");
+
+    for (final var definition : mappings.mappings().values()) {
+      this.bytes(definition);
+    }
+  }
+
+  /**
+   * Retrieve the content of the given schema, loading it if it is not
+   * already present in the cache.
+   *
+   * @param definition The schema definition
+   *
+   * @return A read-only view of the schema content
+   *
+   * @throws IOException On errors reading schemas
+   */
+
+  public ByteBuffer content(
+    final JXESchemaDefinition definition)
+    throws IOException
+  {
+    return ByteBuffer.wrap(this.bytes(definition)).asReadOnlyBuffer();
+  }
+
+  /**
+   * Open a stream over the content of the given schema, loading it if it
+   * is not already present in the cache.
+   *
+   * @param definition The schema definition
+   *
+   * @return A stream over the cached content
+   *
+   * @throws IOException On errors reading schemas
+   */
+
+  InputStream open(
+    final JXESchemaDefinition definition)
+    throws IOException
+  {
+    return new ByteArrayInputStream(this.bytes(definition));
+  }
+
+  /*
+   * The returned array is shared and must never be written to.
+   */
+
+  byte[] bytes(
+    final JXESchemaDefinition definition)
+    throws IOException
+  {
+    Objects.requireNonNull(definition, "definition");
+
+    final var location = definition.location();
+    final var key = location.toExternalForm();
+    final var existing = this.contents.get(key);
+    if (existing != null) {
+      return existing;
+    }
+
+    final byte[] data;
+    try (InputStream stream = location.openStream()) {
+      data = stream.readAllBytes();
+    }
+
+    final var raced = this.contents.putIfAbsent(key, data);
+    return raced != null ? raced : data;
+  }
+
+  /**
+   * @return The number of schemas held in the cache
+   */
+
+  public int size()
+  {
+    return this.contents.size();
+  }
+
+  /**
+   * @return The total size in bytes of the schemas held in the cache
+   */
+
+  public long sizeInBytes()
+  {
+    return this.contents.values()
+      .stream()
+      .mapToLong(data -> data.length)
+      .sum();
+  }
+}
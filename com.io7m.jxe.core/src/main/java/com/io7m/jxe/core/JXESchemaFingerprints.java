@@ -0,0 +1,112 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jxe.core;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Objects;
+
+/**
+ * Functions to compute stable fingerprints of schema mappings.
+ */
+
+final class JXESchemaFingerprints
+{
+  private JXESchemaFingerprints()
+  {
+
+  }
+
+  /**
+   * Compute a fingerprint of the given mappings. The fingerprint covers the
+   * namespaces, the file identifiers, and the content of every schema, and
+   * is independent of the iteration order of the mappings.
+   *
+   * @param mappings The mappings
+   * @param contents The cache of schema content
+   *
+   * @return A hex-encoded SHA-256 fingerprint
+   *
+   * @throws IOException On errors reading schemas
+   */
+
+  static String fingerprint(
+    final JXESchemaResolutionMappings mappings,
+    final JXESchemaContentCache contents)
+    throws IOException
+  {
+    Objects.requireNonNull(mappings, "mappings");
+    Objects.requireNonNull(contents, "contents");
+
+    final var digest = createDigest();
+
+    final var definitions =
+      mappings.mappings()
+        .values()
+        .stream()
+        .sorted(Comparator.comparing(d -> d.namespace().toString()))
+        .toList();
+
+    for (final var definition : definitions) {
+      updateString(digest, definition.namespace().toString());
+      updateString(digest, definition.fileIdentifier());
+
+      final var content = contents.bytes(definition);
+      digest.update(content);
+      updateLong(digest, content.length);
+    }
+
+    return HexFormat.of().formatHex(digest.digest());
+  }
+
+  /*
+   * Strings are length-prefixed, and schema content is length-suffixed, so
+   * that adjacent fields cannot be shifted into each other to produce the
+   * same digest input.
+   */
+
+  private static void updateString(
+    final MessageDigest digest,
+    final String text)
+  {
+    final var bytes = text.getBytes(StandardCharsets.UTF_8);
+    updateLong(digest, bytes.length);
+    digest.update(bytes);
+  }
+
+  private static void updateLong(
+    final MessageDigest digest,
+    final long value)
+  {
+    for (int shift = 56; shift >= 0; shift -= 8) {
+      digest.update((byte) (value >>> shift));
+    }
+  }
+
+  private static MessageDigest createDigest()
+  {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (final NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
@@ -0,0 +1,206 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jxe.core;
+
+import org.w3c.dom.ls.LSInput;
+import org.w3c.dom.ls.LSResourceResolver;
+import org.xml.sax.SAXException;
+
+import javax.xml.XMLConstants;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * An {@link LSResourceResolver} used during schema compilation that serves
+ * {@code xs:import} and {@code xs:include} targets from the schema
+ * mappings. Content is taken from the schema content cache, so a
+ * composite schema compiles without reading any schema more than once, and
+ * without fetching schema location hints from the filesystem or network.
+ *
+ * Requests that do not correspond to any mapped schema are refused with a
+ * {@link JXEResolutionException}; they are never left to the schema
+ * factory, which would otherwise load them from their location hints.
+ */
+
+final class JXESchemaImportResolver implements LSResourceResolver
+{
+  private final JXESchemaResolutionMappings mappings;
+  private final JXESchemaContentCache contents;
+  private final Map<String, JXESchemaDefinition> byFileIdentifier;
+  private final Map<String, JXESchemaDefinition> byLocation;
+
+  JXESchemaImportResolver(
+    final JXESchemaResolutionMappings inMappings,
+    final JXESchemaContentCache inContents)
+  {
+    this.mappings =
+      Objects.requireNonNull(inMappings, "mappings");
+    this.contents =
+      Objects.requireNonNull(inContents, "contents");
+
+    this.byFileIdentifier = new HashMap<>();
+    this.byLocation = new HashMap<>();
+    for (final var definition : this.mappings.mappings().values()) {
+      final var identifier = definition.fileIdentifier();
+      this.byFileIdentifier.put(identifier, definition);
+      this.byFileIdentifier.put(expanded(identifier), definition);
+      this.byLocation.put(definition.location().toString(), definition);
+    }
+  }
+
+  /*
+   * The schema factory expands the system IDs of its sources before using
+   * them as base URIs, so a file identifier such as "/a.xsd" is seen again
+   * as "file:///a.xsd".
+   */
+
+  private static String expanded(
+    final String identifier)
+  {
+    if (identifier.startsWith("/")) {
+      return "file://" + identifier;
+    }
+    return identifier;
+  }
+
+  @Override
+  public LSInput resolveResource(
+    final String type,
+    final String namespaceURI,
+    final String publicId,
+    final String systemId,
+    final String baseURI)
+  {
+    if (!XMLConstants.W3C_XML_SCHEMA_NS_URI.equals(type)) {
+      throw refused(type, namespaceURI, systemId);
+    }
+
+    final var definition =
+      this.schemaForLocation(systemId, baseURI)
+        .or(() -> this.schemaForImport(namespaceURI, baseURI));
+
+    if (definition.isEmpty()) {
+      throw refused(type, namespaceURI, systemId);
+    }
+
+    /*
+     * The system ID of the returned input is the file identifier of the
+     * schema, which is also the system ID under which the schema is given
+     * to the schema factory as a top-level source. The factory therefore
+     * recognizes the import as a schema it has already loaded, and does not
+     * parse it a second time.
+     */
+
+    final var schema = definition.get();
+    try {
+      return new JXELSInput(
+        this.contents.open(schema),
+        schema.fileIdentifier(),
+        publicId,
+        baseURI
+      );
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static JXEResolutionException refused(
+    final String type,
+    final String namespaceURI,
+    final String systemId)
+  {
+    return new JXEResolutionException(
+      new SAXException(
+        "Refusing to load a resource that is not in the schema mappings (type %s, namespace %s, system ID %s)"
+          .formatted(type, namespaceURI, systemId))
+    );
+  }
+
+  private Optional<JXESchemaDefinition> schemaForLocation(
+    final String systemId,
+    final String baseURI)
+  {
+    if (systemId == null) {
+      return Optional.empty();
+    }
+
+    final var direct = this.schemaForIdentifier(systemId);
+    if (direct.isPresent()) {
+      return direct;
+    }
+
+    if (baseURI == null) {
+      return Optional.empty();
+    }
+
+    try {
+      final var resolved = new URI(baseURI).resolve(new URI(systemId));
+      return this.schemaForIdentifier(resolved.toString());
+    } catch (final URISyntaxException | IllegalArgumentException e) {
+      return Optional.empty();
+    }
+  }
+
+  private Optional<JXESchemaDefinition> schemaForIdentifier(
+    final String identifier)
+  {
+    return Optional.ofNullable(this.byFileIdentifier.get(identifier))
+      .or(() -> Optional.ofNullable(this.byLocation.get(identifier)));
+  }
+
+  /*
+   * An xs:include carries the target namespace of the including schema.
+   * Serving the mapped schema for that namespace would hand the including
+   * schema its own text, so a namespace match is only used when it names
+   * a schema other than the one making the request.
+   */
+
+  private Optional<JXESchemaDefinition> schemaForImport(
+    final String namespaceURI,
+    final String baseURI)
+  {
+    if (namespaceURI == null) {
+      return Optional.empty();
+    }
+
+    final URI namespace;
+    try {
+      namespace = new URI(namespaceURI);
+    } catch (final URISyntaxException e) {
+      return Optional.empty();
+    }
+
+    final var mapped = this.mappings.mappings().get(namespace);
+    if (mapped == null) {
+      return Optional.empty();
+    }
+
+    if (baseURI != null) {
+      final var requester = this.schemaForIdentifier(baseURI);
+      if (requester.isPresent() && requester.get().equals(mapped)) {
+        return Optional.empty();
+      }
+    }
+    return Optional.of(mapped);
+  }
+}
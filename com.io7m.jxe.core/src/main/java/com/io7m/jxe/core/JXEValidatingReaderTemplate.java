@@ -0,0 +1,271 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jxe.core;
+
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.ext.EntityResolver2;
+
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.validation.Schema;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * An immutable template from which XSD-validating XML readers can be
+ * created cheaply.
+ *
+ * All of the work required to configure a validating reader (compiling the
+ * composite schema, and determining the set of features and properties to
+ * apply for the detected parser backend) is performed once when the template
+ * is created. Templates are safe to share between threads.
+ */
+
+public final class JXEValidatingReaderTemplate implements JXEReaderTemplateType
+{
+  private final Optional<Path> baseDirectory;
+  private final JXEXInclude xinclude;
+  private final JXESchemaResolutionMappings schemas;
+  private final Schema schema;
+  private final JXEReaderConfiguration configuration;
+  private final Optional<JXEXercesGrammarPool> grammarPool;
+  private final Optional<JXEXercesSymbolTable> symbolTable;
+
+  private JXEValidatingReaderTemplate(
+    final Optional<Path> inBaseDirectory,
+    final JXEXInclude inXInclude,
+    final JXESchemaResolutionMappings inSchemas,
+    final Schema inSchema,
+    final JXEReaderConfiguration inConfiguration,
+    final Optional<JXEXercesGrammarPool> inGrammarPool,
+    final Optional<JXEXercesSymbolTable> inSymbolTable)
+  {
+    this.baseDirectory =
+      Objects.requireNonNull(inBaseDirectory, "baseDirectory");
+    this.xinclude =
+      Objects.requireNonNull(inXInclude, "xinclude");
+    this.schemas =
+      Objects.requireNonNull(inSchemas, "schemas");
+    this.schema =
+      Objects.requireNonNull(inSchema, "schema");
+    this.configuration =
+      Objects.requireNonNull(inConfiguration, "configuration");
+    this.grammarPool =
+      Objects.requireNonNull(inGrammarPool, "grammarPool");
+    this.symbolTable =
+      Objects.requireNonNull(inSymbolTable, "symbolTable");
+  }
+
+  /**
+   * A source of grammar pools for templates.
+   */
+
+  interface GrammarPoolSourceType
+  {
+    /**
+     * @param loader   The class loader of the parser
+     * @param resolver The resolver used to load schemas into a new pool
+     *
+     * @return A grammar pool
+     *
+     * @throws SAXException If a pool cannot be created
+     */
+
+    JXEXercesGrammarPool grammarPoolFor(
+      ClassLoader loader,
+      EntityResolver2 resolver)
+      throws SAXException;
+  }
+
+  static JXEValidatingReaderTemplate create(
+    final JXEHardenedSAXParsersConfiguration parsers,
+    final JXEParserBackend backend,
+    final GrammarPoolSourceType grammarPools,
+    final Optional<Path> baseDirectory,
+    final JXEXInclude xinclude,
+    final JXESchemaResolutionMappings schemas)
+    throws ParserConfigurationException, SAXException
+  {
+    Objects.requireNonNull(parsers, "parsers");
+    Objects.requireNonNull(backend, "backend");
+    Objects.requireNonNull(grammarPools, "grammarPools");
+    Objects.requireNonNull(baseDirectory, "Base directory");
+    Objects.requireNonNull(xinclude, "xinclude");
+    Objects.requireNonNull(schemas, "Schemas");
+
+    final Schema schema;
+    try {
+      schema = parsers.schemaCache().schemaFor(schemas);
+    } catch (final IOException e) {
+      throw new SAXException(e);
+    }
+
+    final var resolver =
+      JXEHardenedDispatchingResolver.create(
+        JXEResolverConfiguration.builder()
+          .setBaseDirectory(baseDirectory)
+          .setSchemas(schemas)
+          .setContentCache(parsers.schemaCache().contentCache())
+          .setFileInput(parsers.fileInput())
+          .setFileCache(parsers.fileCache())
+          .setMetrics(parsers.metrics())
+          .build()
+      );
+
+    /*
+     * The backend profile determines the features and properties to apply;
+     * the features are set on each factory so that every parser produced by
+     * the factories is created with them already applied.
+     */
+
+    final var profile = backend.profile();
+    final var properties =
+      new LinkedHashMap<>(backend.tuningProperties());
+    properties.putAll(profile.validatingProperties(schemas));
+    properties.putAll(backend.resourceLimitProperties(parsers.resourceLimits()));
+
+    final var symbolTable =
+      backend.symbolTable(parsers.symbolTable());
+    symbolTable.ifPresent(table -> {
+      properties.put(JXEXercesSymbolTable.SYMBOL_TABLE_PROPERTY, table);
+    });
+
+    /*
+     * Xerces validates against grammars loaded via the schema locations.
+     * Installing a shared grammar pool means that each grammar is parsed
+     * once and then retrieved from the pool by namespace.
+     */
+
+    final Optional<JXEXercesGrammarPool> grammarPool;
+    if (profile.supportsXercesGrammarPools()) {
+      final var pool =
+        grammarPools.grammarPoolFor(backend.parserClassLoader(), resolver);
+      properties.put(JXEXercesGrammarPool.GRAMMAR_POOL_PROPERTY, pool.pool());
+      grammarPool = Optional.of(pool);
+    } else {
+      grammarPool = Optional.empty();
+    }
+
+    final var configuration =
+      JXEReaderConfiguration.create(
+        () -> {
+          final var factory = parsers.parsers().get();
+          factory.setSchema(schema);
+          return factory;
+        },
+        backend.validatingFeatures(xinclude),
+        Collections.unmodifiableMap(properties),
+        resolver,
+        backend.profile().name(),
+        true,
+        parsers.metrics(),
+        backend.resourceLimitDecorator(parsers.resourceLimits())
+      );
+
+    return new JXEValidatingReaderTemplate(
+      baseDirectory,
+      xinclude,
+      schemas,
+      schema,
+      configuration,
+      grammarPool,
+      symbolTable
+    );
+  }
+
+  /**
+   * Create a new XSD-validating XML reader.
+   *
+   * @return A new XSD-validating XML reader
+   *
+   * @throws ParserConfigurationException On parser configuration errors
+   * @throws SAXException                 On SAX parser errors
+   */
+
+  @Override
+  public XMLReader newReader()
+    throws ParserConfigurationException, SAXException
+  {
+    return this.configuration.newReader();
+  }
+
+  @Override
+  public JXEXMLReaderPool createPool(
+    final int maximumSize)
+  {
+    return JXEXMLReaderPool.create(this.configuration, maximumSize);
+  }
+
+  @Override
+  public InputSource openDocument(
+    final String systemId)
+    throws SAXException, IOException
+  {
+    return this.configuration.resolver().openDocument(systemId);
+  }
+
+  @Override
+  public Optional<Path> baseDirectory()
+  {
+    return this.baseDirectory;
+  }
+
+  @Override
+  public JXEXInclude xinclude()
+  {
+    return this.xinclude;
+  }
+
+  @Override
+  public Optional<JXEXercesSymbolTable> symbolTable()
+  {
+    return this.symbolTable;
+  }
+
+  /**
+   * @return The schema mappings used for validation
+   */
+
+  public JXESchemaResolutionMappings schemas()
+  {
+    return this.schemas;
+  }
+
+  /**
+   * @return The compiled composite schema used for validation
+   */
+
+  public Schema schema()
+  {
+    return this.schema;
+  }
+
+  /**
+   * @return The Xerces grammar pool shared by readers from this template,
+   *         if the underlying parser is Xerces
+   */
+
+  public Optional<JXEXercesGrammarPool> grammarPool()
+  {
+    return this.grammarPool;
+  }
+}
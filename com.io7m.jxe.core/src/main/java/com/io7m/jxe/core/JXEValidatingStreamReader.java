@@ -0,0 +1,258 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jxe.core;
+
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.AttributesImpl;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.util.StreamReaderDelegate;
+import javax.xml.validation.Schema;
+import javax.xml.validation.ValidatorHandler;
+import java.util.Objects;
+
+/**
+ * <p>A stream reader that validates the events it produces against a
+ * compiled schema.</p>
+ *
+ * <p>Every event pulled from the reader is pushed to a
+ * {@link ValidatorHandler} before it is returned, and a validation error
+ * is raised as an {@link XMLStreamException} from the call that pulled the
+ * offending event. Only the part of the document that is actually read is
+ * validated: a caller that stops reading early will not see errors in the
+ * remainder of the document.</p>
+ */
+
+final class JXEValidatingStreamReader extends StreamReaderDelegate
+{
+  private final ValidatorHandler validator;
+  private final AttributesImpl attributes;
+
+  private JXEValidatingStreamReader(
+    final XMLStreamReader inReader,
+    final ValidatorHandler inValidator)
+  {
+    super(Objects.requireNonNull(inReader, "reader"));
+    this.validator =
+      Objects.requireNonNull(inValidator, "validator");
+    this.attributes =
+      new AttributesImpl();
+  }
+
+  /**
+   * Create a validating reader. The given reader must be positioned at the
+   * start of the document.
+   *
+   * @param reader The underlying reader
+   * @param schema The schema
+   *
+   * @return A validating reader
+   *
+   * @throws XMLStreamException On errors
+   */
+
+  static XMLStreamReader create(
+    final XMLStreamReader reader,
+    final Schema schema)
+    throws XMLStreamException
+  {
+    Objects.requireNonNull(reader, "reader");
+    Objects.requireNonNull(schema, "schema");
+
+    final var validator = schema.newValidatorHandler();
+    validator.setErrorHandler(JXEFatalErrorHandler.INSTANCE);
+
+    final var result = new JXEValidatingStreamReader(reader, validator);
+    try {
+      validator.startDocument();
+    } catch (final SAXException e) {
+      throw result.wrap(e);
+    }
+    return result;
+  }
+
+  @Override
+  public int next()
+    throws XMLStreamException
+  {
+    final var event = super.next();
+    try {
+      this.dispatch(event);
+    } catch (final SAXException e) {
+      throw this.wrap(e);
+    }
+    return event;
+  }
+
+  /*
+   * The delegate implementations of nextTag() and getElementText() would
+   * advance the underlying reader directly, bypassing validation, and so
+   * both are implemented in terms of next() here.
+   */
+
+  @Override
+  public int nextTag()
+    throws XMLStreamException
+  {
+    var event = this.next();
+    while (isIgnorable(this, event)) {
+      event = this.next();
+    }
+
+    if (event != XMLStreamConstants.START_ELEMENT
+        && event != XMLStreamConstants.END_ELEMENT) {
+      throw new XMLStreamException(
+        "Expected a start or end element", this.getLocation());
+    }
+    return event;
+  }
+
+  @Override
+  public String getElementText()
+    throws XMLStreamException
+  {
+    if (this.getEventType() != XMLStreamConstants.START_ELEMENT) {
+      throw new XMLStreamException(
+        "The current event is not a start element", this.getLocation());
+    }
+
+    final var text = new StringBuilder(64);
+    var event = this.next();
+    while (event != XMLStreamConstants.END_ELEMENT) {
+      switch (event) {
+        case XMLStreamConstants.CHARACTERS,
+          XMLStreamConstants.CDATA,
+          XMLStreamConstants.SPACE,
+          XMLStreamConstants.ENTITY_REFERENCE -> text.append(this.getText());
+        case XMLStreamConstants.PROCESSING_INSTRUCTION,
+          XMLStreamConstants.COMMENT -> {
+          // Ignored.
+        }
+        case XMLStreamConstants.START_ELEMENT -> throw new XMLStreamException(
+          "Element text cannot contain elements", this.getLocation());
+        default -> throw new XMLStreamException(
+          "Unexpected event %d in element text".formatted(
+            Integer.valueOf(event)),
+          this.getLocation());
+      }
+      event = this.next();
+    }
+    return text.toString();
+  }
+
+  private static boolean isIgnorable(
+    final XMLStreamReader reader,
+    final int event)
+  {
+    return switch (event) {
+      case XMLStreamConstants.SPACE,
+        XMLStreamConstants.COMMENT,
+        XMLStreamConstants.PROCESSING_INSTRUCTION -> true;
+      case XMLStreamConstants.CHARACTERS,
+        XMLStreamConstants.CDATA -> reader.isWhiteSpace();
+      default -> false;
+    };
+  }
+
+  private void dispatch(
+    final int event)
+    throws SAXException
+  {
+    switch (event) {
+      case XMLStreamConstants.START_ELEMENT -> this.dispatchStartElement();
+      case XMLStreamConstants.END_ELEMENT -> this.dispatchEndElement();
+      case XMLStreamConstants.CHARACTERS,
+        XMLStreamConstants.CDATA,
+        XMLStreamConstants.SPACE -> this.validator.characters(
+        this.getTextCharacters(),
+        this.getTextStart(),
+        this.getTextLength()
+      );
+      case XMLStreamConstants.END_DOCUMENT -> this.validator.endDocument();
+      default -> {
+        // Other events are not significant to validation.
+      }
+    }
+  }
+
+  private void dispatchStartElement()
+    throws SAXException
+  {
+    final var namespaces = this.getNamespaceCount();
+    for (int index = 0; index < namespaces; ++index) {
+      this.validator.startPrefixMapping(
+        Objects.requireNonNullElse(this.getNamespacePrefix(index), ""),
+        Objects.requireNonNullElse(this.getNamespaceURI(index), "")
+      );
+    }
+
+    this.attributes.clear();
+    final var count = this.getAttributeCount();
+    for (int index = 0; index < count; ++index) {
+      final var name = this.getAttributeName(index);
+      this.attributes.addAttribute(
+        name.getNamespaceURI(),
+        name.getLocalPart(),
+        qualifiedName(name.getPrefix(), name.getLocalPart()),
+        this.getAttributeType(index),
+        this.getAttributeValue(index)
+      );
+    }
+
+    this.validator.startElement(
+      Objects.requireNonNullElse(this.getNamespaceURI(), ""),
+      this.getLocalName(),
+      qualifiedName(this.getPrefix(), this.getLocalName()),
+      this.attributes
+    );
+  }
+
+  private void dispatchEndElement()
+    throws SAXException
+  {
+    this.validator.endElement(
+      Objects.requireNonNullElse(this.getNamespaceURI(), ""),
+      this.getLocalName(),
+      qualifiedName(this.getPrefix(), this.getLocalName())
+    );
+
+    final var namespaces = this.getNamespaceCount();
+    for (int index = 0; index < namespaces; ++index) {
+      this.validator.endPrefixMapping(
+        Objects.requireNonNullElse(this.getNamespacePrefix(index), "")
+      );
+    }
+  }
+
+  private static String qualifiedName(
+    final String prefix,
+    final String localName)
+  {
+    if (prefix == null || prefix.isEmpty()) {
+      return localName;
+    }
+    return prefix + ":" + localName;
+  }
+
+  private XMLStreamException wrap(
+    final SAXException e)
+  {
+    return new XMLStreamException(e.getMessage(), this.getLocation(), e);
+  }
+}
@@ -0,0 +1,261 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jxe.core;
+
+import org.xml.sax.SAXException;
+import org.xml.sax.SAXNotRecognizedException;
+import org.xml.sax.SAXNotSupportedException;
+
+import javax.xml.XMLConstants;
+import javax.xml.transform.Source;
+import javax.xml.validation.Schema;
+import javax.xml.validation.Validator;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+
+/**
+ * <p>A validation-only entry point, for when the only question is whether a
+ * document is valid.</p>
+ *
+ * <p>Documents are validated directly with pooled
+ * {@link Validator} instances created from the compiled composite schema,
+ * without building a full validating {@link org.xml.sax.XMLReader}. Any
+ * {@link Source} supported by the platform validator may be used; in
+ * particular, {@link javax.xml.transform.stream.StreamSource},
+ * {@link javax.xml.transform.dom.DOMSource}, and
+ * {@link javax.xml.transform.stax.StAXSource} are supported by the JDK.
+ * Validators have secure processing enabled, are denied access to external
+ * DTDs and schemas, and resolve any other resources through a
+ * {@link JXEHardenedDispatchingResolver}.</p>
+ *
+ * <p>Instances are safe to share between threads. At most
+ * {@link JXEValidatorsConfigurationType#maximumPoolSize()} documents are
+ * validated at once; further calls block until a validator is returned.</p>
+ */
+
+public final class JXEValidators
+{
+  private final JXEValidatorsConfiguration configuration;
+  private final Schema schema;
+  private final JXELSResourceResolver resolver;
+  private final Semaphore permits;
+  private final ConcurrentLinkedDeque<Validator> idle;
+
+  private JXEValidators(
+    final JXEValidatorsConfiguration inConfiguration,
+    final Schema inSchema,
+    final JXELSResourceResolver inResolver)
+  {
+    this.configuration =
+      Objects.requireNonNull(inConfiguration, "configuration");
+    this.schema =
+      Objects.requireNonNull(inSchema, "schema");
+    this.resolver =
+      Objects.requireNonNull(inResolver, "resolver");
+    this.permits =
+      new Semaphore(inConfiguration.maximumPoolSize(), true);
+    this.idle =
+      new ConcurrentLinkedDeque<>();
+  }
+
+  /**
+   * Create a set of validators. The composite schema is compiled (or
+   * retrieved from the schema cache) immediately.
+   *
+   * @param configuration The configuration
+   *
+   * @return A new set of validators
+   *
+   * @throws SAXException On schema errors
+   */
+
+  public static JXEValidators create(
+    final JXEValidatorsConfiguration configuration)
+    throws SAXException
+  {
+    Objects.requireNonNull(configuration, "configuration");
+
+    final var schemaCache = configuration.schemaCache();
+    final Schema schema;
+    try {
+      schema = schemaCache.schemaFor(configuration.schemas());
+    } catch (final IOException e) {
+      throw new SAXException(e);
+    }
+
+    final var resolver =
+      JXEHardenedDispatchingResolver.create(
+        JXEResolverConfiguration.builder()
+          .setBaseDirectory(configuration.baseDirectory())
+          .setSchemas(configuration.schemas())
+          .setContentCache(schemaCache.contentCache())
+          .setFileInput(configuration.fileInput())
+          .setFileCache(configuration.fileCache())
+          .setMetrics(configuration.metrics())
+          .build()
+      );
+
+    return new JXEValidators(
+      configuration,
+      schema,
+      new JXELSResourceResolver(resolver)
+    );
+  }
+
+  /**
+   * @return The configuration
+   */
+
+  public JXEValidatorsConfiguration configuration()
+  {
+    return this.configuration;
+  }
+
+  /**
+   * @return The compiled composite schema
+   */
+
+  public Schema schema()
+  {
+    return this.schema;
+  }
+
+  /**
+   * Validate the given document.
+   *
+   * @param source The document
+   *
+   * @throws SAXException If the document is ill-formed or invalid
+   * @throws IOException  On I/O errors, or if interrupted whilst waiting
+   *                      for a validator
+   */
+
+  public void validate(
+    final Source source)
+    throws SAXException, IOException
+  {
+    Objects.requireNonNull(source, "source");
+
+    try {
+      this.permits.acquire();
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException(
+        "Interrupted whilst waiting for a validator");
+    }
+
+    try {
+      var validator = this.idle.pollFirst();
+      if (validator == null) {
+        validator = this.newValidator();
+      }
+
+      try {
+        validator.validate(source);
+      } catch (final JXEResolutionException e) {
+        e.rethrow();
+      } finally {
+        this.release(validator);
+      }
+    } finally {
+      this.permits.release();
+    }
+  }
+
+  /**
+   * Validate the given document, discarding the details of any errors.
+   *
+   * @param source The document
+   *
+   * @return {@code true} if the document is well-formed and valid
+   *
+   * @throws IOException On I/O errors, or if interrupted whilst waiting
+   *                     for a validator
+   */
+
+  public boolean isValid(
+    final Source source)
+    throws IOException
+  {
+    try {
+      this.validate(source);
+      return true;
+    } catch (final SAXException e) {
+      return false;
+    }
+  }
+
+  private void release(
+    final Validator validator)
+  {
+    try {
+      validator.reset();
+      this.configure(validator);
+      this.idle.offerFirst(validator);
+    } catch (final SAXException | RuntimeException e) {
+      // The validator cannot be reset; discard it.
+    }
+  }
+
+  private Validator newValidator()
+    throws SAXException
+  {
+    final var validator = this.schema.newValidator();
+    this.configure(validator);
+    return validator;
+  }
+
+  private void configure(
+    final Validator validator)
+    throws SAXException
+  {
+    /*
+     * Turn on "secure processing". Sets various resource limits to prevent
+     * various denial of service attacks.
+     */
+
+    validator.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+
+    /*
+     * Deny access to external DTDs and schemas on implementations that
+     * understand the JAXP access properties. The composite schema is
+     * already compiled, so no further schemas are ever required.
+     */
+
+    setIfRecognized(validator, XMLConstants.ACCESS_EXTERNAL_DTD, "");
+    setIfRecognized(validator, XMLConstants.ACCESS_EXTERNAL_SCHEMA, "");
+
+    validator.setErrorHandler(JXEFatalErrorHandler.INSTANCE);
+    validator.setResourceResolver(this.resolver);
+  }
+
+  private static void setIfRecognized(
+    final Validator validator,
+    final String name,
+    final Object value)
+    throws SAXNotSupportedException
+  {
+    try {
+      validator.setProperty(name, value);
+    } catch (final SAXNotRecognizedException e) {
+      // The implementation does not support the property.
+    }
+  }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jxe.core;
+
+import com.io7m.immutables.styles.ImmutablesStyleType;
+import org.immutables.value.Value;
+
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * Configuration for a {@link JXEValidators} instance.
+ */
+
+@ImmutablesStyleType
+@Value.Immutable
+public interface JXEValidatorsConfigurationType
+{
+  /**
+   * @return The schemas against which documents are validated
+   */
+
+  JXESchemaResolutionMappings schemas();
+
+  /**
+   * @return A directory that will contain resources referenced by
+   *         validated documents, if any
+   */
+
+  Optional<Path> baseDirectory();
+
+  /**
+   * @return The listener that receives schema compilation and resolution
+   *         measurements
+   */
+
+  @Value.Default
+  default JXEMetricsListenerType metrics()
+  {
+    return JXEMetricsListeners.noop();
+  }
+
+  /**
+   * @return The cache of compiled schemas
+   */
+
+  @Value.Default
+  default JXESchemaCache schemaCache()
+  {
+    return JXESchemaCache.create(
+      JXESchemaCache.DEFAULT_MAXIMUM_SIZE,
+      JXESchemaContentCache.create(),
+      this.metrics()
+    );
+  }
+
+  /**
+   * A cache of validated paths and file content shared by every resolver
+   * created from this configuration. No caching is performed if no cache
+   * is specified.
+   *
+   * @return The resolved file cache, if any
+   */
+
+  Optional<JXEResolvedFileCache> fileCache();
+
+  /**
+   * @return The configuration used to read files from the base directory
+   */
+
+  @Value.Default
+  default JXEFileInputConfiguration fileInput()
+  {
+    return JXEFileInputConfiguration.builder().build();
+  }
+
+  /**
+   * @return The maximum number of validators in use at once
+   */
+
+  @Value.Default
+  default int maximumPoolSize()
+  {
+    return Runtime.getRuntime().availableProcessors();
+  }
+
+  /**
+   * Check preconditions for the type.
+   */
+
+  @Value.Check
+  default void checkPreconditions()
+  {
+    if (this.maximumPoolSize() < 1) {
+      throw new IllegalArgumentException(
+        "Maximum pool size must be positive (received %d)".formatted(
+          Integer.valueOf(this.maximumPoolSize()))
+      );
+    }
+  }
+}
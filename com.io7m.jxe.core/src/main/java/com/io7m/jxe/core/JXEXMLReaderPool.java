@@ -0,0 +1,219 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jxe.core;
+
+import org.xml.sax.SAXException;
+
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.parsers.SAXParser;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded pool of hardened XML readers.
+ *
+ * Readers are borrowed from the pool and returned to it by closing the
+ * borrowed reader. At most {@code maximumSize} readers can be borrowed at
+ * any one time; further attempts to borrow a reader block until a reader is
+ * returned. Returned readers are reset, have their handlers cleared, have
+ * their properties and entity resolver reapplied, and are then checked
+ * against the full set of hardening features. Readers that fail any of these
+ * steps are discarded rather than reused.
+ *
+ * The pool uses no thread-local state and does not block whilst holding
+ * monitors, and so is suitable for use from virtual threads.
+ */
+
+public final class JXEXMLReaderPool
+{
+  private final JXEReaderConfiguration configuration;
+  private final int maximumSize;
+  private final Semaphore permits;
+  private final ConcurrentLinkedDeque<SAXParser> idle;
+  private final AtomicInteger idleCount;
+  private final LongAdder created;
+  private final LongAdder reused;
+  private final LongAdder discarded;
+
+  private JXEXMLReaderPool(
+    final JXEReaderConfiguration inConfiguration,
+    final int inMaximumSize)
+  {
+    this.configuration =
+      Objects.requireNonNull(inConfiguration, "configuration");
+    this.maximumSize =
+      inMaximumSize;
+    this.permits =
+      new Semaphore(inMaximumSize, true);
+    this.idle =
+      new ConcurrentLinkedDeque<>();
+    this.idleCount =
+      new AtomicInteger(0);
+    this.created =
+      new LongAdder();
+    this.reused =
+      new LongAdder();
+    this.discarded =
+      new LongAdder();
+  }
+
+  static JXEXMLReaderPool create(
+    final JXEReaderConfiguration configuration,
+    final int maximumSize)
+  {
+    if (maximumSize < 1) {
+      throw new IllegalArgumentException(
+        "Maximum size must be positive (received %d)".formatted(
+          Integer.valueOf(maximumSize))
+      );
+    }
+    return new JXEXMLReaderPool(configuration, maximumSize);
+  }
+
+  /**
+   * Borrow a reader from the pool, waiting for a reader to be returned if
+   * the maximum number of readers are already borrowed.
+   *
+   * @return A borrowed reader
+   *
+   * @throws InterruptedException         If interrupted whilst waiting
+   * @throws ParserConfigurationException On parser configuration errors
+   * @throws SAXException                 On SAX parser errors
+   */
+
+  public JXEPooledXMLReader borrow()
+    throws InterruptedException, ParserConfigurationException, SAXException
+  {
+    this.permits.acquire();
+    return this.take();
+  }
+
+  /**
+   * Borrow a reader from the pool, waiting at most {@code timeout} for a
+   * reader to be returned if the maximum number of readers are already
+   * borrowed.
+   *
+   * @param timeout The maximum time to wait
+   *
+   * @return A borrowed reader, or nothing if the timeout elapsed
+   *
+   * @throws InterruptedException         If interrupted whilst waiting
+   * @throws ParserConfigurationException On parser configuration errors
+   * @throws SAXException                 On SAX parser errors
+   */
+
+  public Optional<JXEPooledXMLReader> borrow(
+    final Duration timeout)
+    throws InterruptedException, ParserConfigurationException, SAXException
+  {
+    Objects.requireNonNull(timeout, "timeout");
+
+    if (!this.permits.tryAcquire(timeout.toNanos(), TimeUnit.NANOSECONDS)) {
+      return Optional.empty();
+    }
+    return Optional.of(this.take());
+  }
+
+  private JXEPooledXMLReader take()
+    throws ParserConfigurationException, SAXException
+  {
+    try {
+      final var existing = this.idle.pollFirst();
+      if (existing != null) {
+        this.idleCount.decrementAndGet();
+        this.reused.increment();
+        return this.wrap(existing);
+      }
+
+      final var parser = this.configuration.newConfiguredParser();
+      this.created.increment();
+      return this.wrap(parser);
+    } catch (final ParserConfigurationException
+                   | SAXException
+                   | RuntimeException e) {
+      this.permits.release();
+      throw e;
+    }
+  }
+
+  private JXEPooledXMLReader wrap(
+    final SAXParser parser)
+    throws SAXException
+  {
+    final var raw = parser.getXMLReader();
+    return new JXEPooledXMLReader(
+      this,
+      parser,
+      raw,
+      this.configuration.decorate(raw)
+    );
+  }
+
+  void release(
+    final JXEPooledXMLReader borrowed)
+  {
+    try {
+      if (this.reset(borrowed)) {
+        this.idle.offerFirst(borrowed.parser());
+        this.idleCount.incrementAndGet();
+      } else {
+        this.discarded.increment();
+      }
+    } finally {
+      this.permits.release();
+    }
+  }
+
+  private boolean reset(
+    final JXEPooledXMLReader borrowed)
+  {
+    try {
+      borrowed.parser().reset();
+
+      final var reader = borrowed.rawReader();
+      reader.setContentHandler(null);
+      reader.setDTDHandler(null);
+      reader.setErrorHandler(null);
+      this.configuration.configure(reader);
+      return this.configuration.isHardened(reader);
+    } catch (final SAXException | RuntimeException e) {
+      return false;
+    }
+  }
+
+  /**
+   * @return A snapshot of the current pool utilization
+   */
+
+  public JXEXMLReaderPoolStatistics statistics()
+  {
+    return JXEXMLReaderPoolStatistics.of(
+      this.maximumSize,
+      this.maximumSize - this.permits.availablePermits(),
+      this.idleCount.get(),
+      this.created.sum(),
+      this.reused.sum(),
+      this.discarded.sum()
+    );
+  }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jxe.core;
+
+import com.io7m.immutables.styles.ImmutablesStyleType;
+import org.immutables.value.Value;
+
+/**
+ * A snapshot of the utilization of an XML reader pool.
+ */
+
+@ImmutablesStyleType
+@Value.Immutable
+public interface JXEXMLReaderPoolStatisticsType
+{
+  /**
+   * @return The maximum number of readers that may be borrowed at once
+   */
+
+  @Value.Parameter
+  int maximumSize();
+
+  /**
+   * @return The number of readers currently borrowed
+   */
+
+  @Value.Parameter
+  int borrowed();
+
+  /**
+   * @return The number of idle readers held by the pool
+   */
+
+  @Value.Parameter
+  int idle();
+
+  /**
+   * @return The total number of readers created by the pool
+   */
+
+  @Value.Parameter
+  long created();
+
+  /**
+   * @return The total number of times an idle reader was reused
+   */
+
+  @Value.Parameter
+  long reused();
+
+  /**
+   * @return The total number of returned readers that were discarded
+   *         because they could not be reset or were no longer hardened
+   */
+
+  @Value.Parameter
+  long discarded();
+
+  /**
+   * @return The fraction of the pool currently borrowed, in {@code [0, 1]}
+   */
+
+  default double utilization()
+  {
+    return (double) this.borrowed() / (double) this.maximumSize();
+  }
+}
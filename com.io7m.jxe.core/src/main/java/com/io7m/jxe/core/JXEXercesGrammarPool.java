@@ -0,0 +1,384 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jxe.core;
+
+import org.xml.sax.SAXException;
+import org.xml.sax.ext.EntityResolver2;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Objects;
+
+/**
+ * <p>A thread-safe pool of parsed XSD grammars for use with Xerces.</p>
+ *
+ * <p>When Xerces is the underlying parser, validating readers that share a
+ * grammar pool parse each schema once and then retrieve the grammar from the
+ * pool by namespace, rather than reloading the schema through the entity
+ * resolver for every document. Grammars are keyed by target namespace, and
+ * so a pool should only be shared between readers that use the same set of
+ * schema mappings.</p>
+ *
+ * <p>A pool may be locked, after which no further grammars are added to it.
+ * Pools created by a {@link JXEHardenedSAXParsers} provider, and pools
+ * created with {@link #createLocked(JXESchemaResolutionMappings)}, are
+ * loaded with the grammars of their schema mappings and then locked, so
+ * that schema location hints in individual documents cannot add grammars to
+ * a pool that is shared between documents. Only locked pools may be shared
+ * between readers through a provider configuration.</p>
+ *
+ * <p>Xerces is accessed reflectively, and so this class can only be used
+ * when Xerces is visible to the given class loader.</p>
+ */
+
+public final class JXEXercesGrammarPool
+{
+  /**
+   * The Xerces property used to install a grammar pool on a parser.
+   */
+
+  static final String GRAMMAR_POOL_PROPERTY =
+    "http://apache.org/xml/properties/internal/grammar-pool";
+
+  private static final String POOL_CLASS =
+    "org.apache.xerces.util.XMLGrammarPoolImpl";
+  private static final String POOL_INTERFACE =
+    "org.apache.xerces.xni.grammars.XMLGrammarPool";
+  private static final String PREPARSER_CLASS =
+    "org.apache.xerces.parsers.XMLGrammarPreparser";
+  private static final String LOADER_INTERFACE =
+    "org.apache.xerces.xni.grammars.XMLGrammarLoader";
+  private static final String RESOLVER_WRAPPER_CLASS =
+    "org.apache.xerces.util.EntityResolver2Wrapper";
+  private static final String RESOLVER_INTERFACE =
+    "org.apache.xerces.xni.parser.XMLEntityResolver";
+  private static final String INPUT_SOURCE_CLASS =
+    "org.apache.xerces.xni.parser.XMLInputSource";
+  private static final String XSD_GRAMMAR_TYPE =
+    "http://www.w3.org/2001/XMLSchema";
+
+  private final Object pool;
+  private final Method retrieveInitialGrammarSet;
+  private final Method clear;
+  private final Method lockPool;
+  private volatile boolean locked;
+
+  private JXEXercesGrammarPool(
+    final Object inPool,
+    final Method inRetrieveInitialGrammarSet,
+    final Method inClear,
+    final Method inLockPool)
+  {
+    this.pool =
+      Objects.requireNonNull(inPool, "pool");
+    this.retrieveInitialGrammarSet =
+      Objects.requireNonNull(
+        inRetrieveInitialGrammarSet, "retrieveInitialGrammarSet");
+    this.clear =
+      Objects.requireNonNull(inClear, "clear");
+    this.lockPool =
+      Objects.requireNonNull(inLockPool, "lockPool");
+  }
+
+  /**
+   * Determine if Xerces is visible to the given class loader.
+   *
+   * @param loader The class loader
+   *
+   * @return {@code true} if a grammar pool can be created
+   */
+
+  public static boolean isAvailable(
+    final ClassLoader loader)
+  {
+    Objects.requireNonNull(loader, "loader");
+
+    try {
+      Class.forName(POOL_CLASS, false, loader);
+      return true;
+    } catch (final ClassNotFoundException e) {
+      return false;
+    }
+  }
+
+  /**
+   * Create a new empty grammar pool using the class loader that loaded
+   * this class.
+   *
+   * @return A new grammar pool
+   *
+   * @throws UnsupportedOperationException If Xerces is not available
+   */
+
+  public static JXEXercesGrammarPool create()
+  {
+    return create(JXEXercesGrammarPool.class.getClassLoader());
+  }
+
+  /**
+   * Create a new empty grammar pool using Xerces classes loaded from the
+   * given class loader. The class loader should be the one that loaded
+   * the parsers with which the pool will be used.
+   *
+   * @param loader The class loader
+   *
+   * @return A new grammar pool
+   *
+   * @throws UnsupportedOperationException If Xerces is not available
+   */
+
+  public static JXEXercesGrammarPool create(
+    final ClassLoader loader)
+  {
+    Objects.requireNonNull(loader, "loader");
+
+    try {
+      final var poolClass =
+        Class.forName(POOL_CLASS, true, loader);
+      final var pool =
+        poolClass.getConstructor().newInstance();
+
+      return new JXEXercesGrammarPool(
+        pool,
+        poolClass.getMethod("retrieveInitialGrammarSet", String.class),
+        poolClass.getMethod("clear"),
+        poolClass.getMethod("lockPool")
+      );
+    } catch (final ClassNotFoundException
+                   | NoSuchMethodException
+                   | InstantiationException
+                   | IllegalAccessException
+                   | InvocationTargetException e) {
+      throw new UnsupportedOperationException(
+        "Xerces grammar pools are not available", e);
+    }
+  }
+
+  /**
+   * Create a new grammar pool containing the grammars of all of the schemas
+   * in the given mappings, and then lock the pool, using the class loader
+   * that loaded this class.
+   *
+   * @param schemas The schema mappings
+   *
+   * @return A new locked grammar pool
+   *
+   * @throws SAXException                  If a schema cannot be loaded
+   * @throws UnsupportedOperationException If Xerces is not available
+   */
+
+  public static JXEXercesGrammarPool createLocked(
+    final JXESchemaResolutionMappings schemas)
+    throws SAXException
+  {
+    return createLocked(JXEXercesGrammarPool.class.getClassLoader(), schemas);
+  }
+
+  /**
+   * Create a new grammar pool containing the grammars of all of the schemas
+   * in the given mappings, and then lock the pool. Schemas are loaded from
+   * the mappings alone; the filesystem is never accessed. The class loader
+   * should be the one that loaded the parsers with which the pool will be
+   * used.
+   *
+   * @param loader  The class loader
+   * @param schemas The schema mappings
+   *
+   * @return A new locked grammar pool
+   *
+   * @throws SAXException                  If a schema cannot be loaded
+   * @throws UnsupportedOperationException If Xerces is not available
+   */
+
+  public static JXEXercesGrammarPool createLocked(
+    final ClassLoader loader,
+    final JXESchemaResolutionMappings schemas)
+    throws SAXException
+  {
+    return createPreloaded(
+      loader,
+      schemas,
+      JXEHardenedDispatchingResolver.create(
+        JXEResolverConfiguration.builder()
+          .setSchemas(schemas)
+          .build()
+      )
+    );
+  }
+
+  /**
+   * Create a new grammar pool containing the grammars of all of the schemas
+   * in the given mappings, and then lock the pool. Schemas, and any schemas
+   * that they import, are loaded through the given resolver.
+   *
+   * @param loader   The class loader
+   * @param schemas  The schema mappings
+   * @param resolver The resolver
+   *
+   * @return A new locked grammar pool
+   *
+   * @throws SAXException                  If a schema cannot be loaded
+   * @throws UnsupportedOperationException If Xerces is not available
+   */
+
+  static JXEXercesGrammarPool createPreloaded(
+    final ClassLoader loader,
+    final JXESchemaResolutionMappings schemas,
+    final EntityResolver2 resolver)
+    throws SAXException
+  {
+    Objects.requireNonNull(loader, "loader");
+    Objects.requireNonNull(schemas, "schemas");
+    Objects.requireNonNull(resolver, "resolver");
+
+    final var pool = create(loader);
+
+    try {
+      final var preparserClass =
+        Class.forName(PREPARSER_CLASS, true, loader);
+      final var inputSourceClass =
+        Class.forName(INPUT_SOURCE_CLASS, true, loader);
+      final var preparser =
+        preparserClass.getConstructor().newInstance();
+      final var wrapper =
+        Class.forName(RESOLVER_WRAPPER_CLASS, true, loader)
+          .getConstructor(EntityResolver2.class)
+          .newInstance(resolver);
+
+      preparserClass.getMethod(
+          "registerPreparser",
+          String.class,
+          Class.forName(LOADER_INTERFACE, true, loader))
+        .invoke(preparser, XSD_GRAMMAR_TYPE, null);
+      preparserClass.getMethod(
+          "setEntityResolver", Class.forName(RESOLVER_INTERFACE, true, loader))
+        .invoke(preparser, wrapper);
+      preparserClass.getMethod(
+          "setGrammarPool", Class.forName(POOL_INTERFACE, true, loader))
+        .invoke(preparser, pool.pool);
+
+      final var inputSourceConstructor =
+        inputSourceClass.getConstructor(
+          String.class, String.class, String.class, InputStream.class, String.class);
+      final var preparse =
+        preparserClass.getMethod(
+          "preparseGrammar", String.class, inputSourceClass);
+
+      for (final var schema : schemas.mappings().values()) {
+        final var source =
+          resolver.resolveEntity(null, null, null, schema.fileIdentifier());
+        try (var stream = source.getByteStream()) {
+          preparse.invoke(
+            preparser,
+            XSD_GRAMMAR_TYPE,
+            inputSourceConstructor.newInstance(
+              null, source.getSystemId(), null, stream, null)
+          );
+        }
+      }
+    } catch (final InvocationTargetException e) {
+      throw new SAXException(
+        "Failed to load schemas into a grammar pool", unwrap(e));
+    } catch (final IOException e) {
+      throw new SAXException(
+        "Failed to load schemas into a grammar pool", e);
+    } catch (final ClassNotFoundException
+                   | NoSuchMethodException
+                   | InstantiationException
+                   | IllegalAccessException e) {
+      throw new UnsupportedOperationException(
+        "Xerces grammar pools are not available", e);
+    }
+
+    pool.lock();
+    return pool;
+  }
+
+  private static Exception unwrap(
+    final InvocationTargetException e)
+  {
+    if (e.getCause() instanceof final Exception x) {
+      return x;
+    }
+    return e;
+  }
+
+  /**
+   * @return The underlying Xerces {@code XMLGrammarPool}
+   */
+
+  Object pool()
+  {
+    return this.pool;
+  }
+
+  /**
+   * @return The number of XSD grammars currently held in the pool
+   */
+
+  public int size()
+  {
+    try {
+      final var grammars = (Object[])
+        this.retrieveInitialGrammarSet.invoke(this.pool, XSD_GRAMMAR_TYPE);
+      return grammars.length;
+    } catch (final IllegalAccessException | InvocationTargetException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * Remove all grammars from the pool. Readers using an unlocked pool will
+   * reload schemas on demand. A locked pool remains locked and empty, and so
+   * readers using it load schemas for every document.
+   */
+
+  public void clear()
+  {
+    try {
+      this.clear.invoke(this.pool);
+    } catch (final IllegalAccessException | InvocationTargetException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * Lock the pool. A locked pool continues to provide the grammars it
+   * already contains, but no further grammars are added to it.
+   */
+
+  void lock()
+  {
+    try {
+      this.lockPool.invoke(this.pool);
+      this.locked = true;
+    } catch (final IllegalAccessException | InvocationTargetException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * @return {@code true} if the pool is locked
+   */
+
+  public boolean isLocked()
+  {
+    return this.locked;
+  }
+}
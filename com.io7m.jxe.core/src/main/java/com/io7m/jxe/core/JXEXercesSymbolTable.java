@@ -0,0 +1,316 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jxe.core;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InaccessibleObjectException;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * <p>A thread-safe table of interned XML names for use with Xerces.</p>
+ *
+ * <p>By default, each Xerces reader interns every element and attribute
+ * name it encounters into a symbol table of its own. Readers that share a
+ * symbol table look up names that have already been seen instead, which
+ * reduces allocation for workloads consisting of many small documents that
+ * use the same vocabulary.</p>
+ *
+ * <p>The table holds at most a given number of names. Names are added to
+ * the table by readers as they parse, and so the table is checked each time
+ * it is given to a reader: when a reader is created or returned to a pool,
+ * and the table holds the maximum number of names or more, the table is
+ * replaced by a new empty table. A reader that is part way through a parse
+ * continues to use the table it was given until it is next reset, and so a
+ * single document can add names beyond the maximum only until the end of
+ * that document. Entries are also held through soft references, and are
+ * reclaimed when the garbage collector clears soft references under memory
+ * pressure. Access to the table is synchronized, so a single table may be
+ * used by any number of readers concurrently.</p>
+ *
+ * <p>Xerces is accessed reflectively, and so this class can only be used
+ * when Xerces is visible to the given class loader.</p>
+ */
+
+public final class JXEXercesSymbolTable
+{
+  /**
+   * The Xerces property used to install a symbol table on a parser.
+   */
+
+  static final String SYMBOL_TABLE_PROPERTY =
+    "http://apache.org/xml/properties/internal/symbol-table";
+
+  /**
+   * The default initial capacity of a symbol table.
+   */
+
+  public static final int DEFAULT_INITIAL_CAPACITY = 2039;
+
+  /**
+   * The default maximum number of names in a symbol table.
+   */
+
+  public static final int DEFAULT_MAXIMUM_SIZE = 65536;
+
+  private static final String SYMBOL_TABLE_CLASS =
+    "org.apache.xerces.util.SymbolTable";
+  private static final String SOFT_TABLE_CLASS =
+    "org.apache.xerces.util.SoftReferenceSymbolTable";
+  private static final String SYNCHRONIZED_TABLE_CLASS =
+    "org.apache.xerces.util.SynchronizedSymbolTable";
+
+  private final Constructor<?> softTableConstructor;
+  private final Constructor<?> synchronizedTableConstructor;
+  private final Field count;
+  private final int initialCapacity;
+  private final int maximumSize;
+  private final ReentrantLock lock;
+  private Object softTable;
+  private Object table;
+
+  private JXEXercesSymbolTable(
+    final Constructor<?> inSoftTableConstructor,
+    final Constructor<?> inSynchronizedTableConstructor,
+    final Field inCount,
+    final int inInitialCapacity,
+    final int inMaximumSize)
+    throws ReflectiveOperationException
+  {
+    this.softTableConstructor =
+      Objects.requireNonNull(inSoftTableConstructor, "softTableConstructor");
+    this.synchronizedTableConstructor =
+      Objects.requireNonNull(
+        inSynchronizedTableConstructor, "synchronizedTableConstructor");
+    this.count =
+      Objects.requireNonNull(inCount, "count");
+    this.initialCapacity =
+      inInitialCapacity;
+    this.maximumSize =
+      inMaximumSize;
+    this.lock =
+      new ReentrantLock();
+    this.replaceTable();
+  }
+
+  /**
+   * Determine if Xerces is visible to the given class loader.
+   *
+   * @param loader The class loader
+   *
+   * @return {@code true} if a symbol table can be created
+   */
+
+  public static boolean isAvailable(
+    final ClassLoader loader)
+  {
+    Objects.requireNonNull(loader, "loader");
+
+    try {
+      Class.forName(SYNCHRONIZED_TABLE_CLASS, false, loader);
+      Class.forName(SOFT_TABLE_CLASS, false, loader);
+      return true;
+    } catch (final ClassNotFoundException e) {
+      return false;
+    }
+  }
+
+  /**
+   * Create a new empty symbol table using the class loader that loaded
+   * this class.
+   *
+   * @return A new symbol table
+   *
+   * @throws UnsupportedOperationException If Xerces is not available
+   */
+
+  public static JXEXercesSymbolTable create()
+  {
+    return create(JXEXercesSymbolTable.class.getClassLoader());
+  }
+
+  /**
+   * Create a new empty symbol table using Xerces classes loaded from the
+   * given class loader. The class loader should be the one that loaded
+   * the parsers with which the table will be used.
+   *
+   * @param loader The class loader
+   *
+   * @return A new symbol table
+   *
+   * @throws UnsupportedOperationException If Xerces is not available
+   */
+
+  public static JXEXercesSymbolTable create(
+    final ClassLoader loader)
+  {
+    return create(loader, DEFAULT_INITIAL_CAPACITY);
+  }
+
+  /**
+   * Create a new empty symbol table using Xerces classes loaded from the
+   * given class loader. The class loader should be the one that loaded
+   * the parsers with which the table will be used.
+   *
+   * @param loader          The class loader
+   * @param initialCapacity The initial number of buckets in the table
+   *
+   * @return A new symbol table
+   *
+   * @throws UnsupportedOperationException If Xerces is not available
+   */
+
+  public static JXEXercesSymbolTable create(
+    final ClassLoader loader,
+    final int initialCapacity)
+  {
+    return create(loader, initialCapacity, DEFAULT_MAXIMUM_SIZE);
+  }
+
+  /**
+   * Create a new empty symbol table using Xerces classes loaded from the
+   * given class loader. The class loader should be the one that loaded
+   * the parsers with which the table will be used.
+   *
+   * @param loader          The class loader
+   * @param initialCapacity The initial number of buckets in the table
+   * @param maximumSize     The maximum number of names in the table
+   *
+   * @return A new symbol table
+   *
+   * @throws UnsupportedOperationException If Xerces is not available
+   */
+
+  public static JXEXercesSymbolTable create(
+    final ClassLoader loader,
+    final int initialCapacity,
+    final int maximumSize)
+  {
+    Objects.requireNonNull(loader, "loader");
+
+    if (initialCapacity < 1) {
+      throw new IllegalArgumentException(
+        "Initial capacity must be positive (received %d)".formatted(
+          Integer.valueOf(initialCapacity))
+      );
+    }
+    if (maximumSize < 1) {
+      throw new IllegalArgumentException(
+        "Maximum size must be positive (received %d)".formatted(
+          Integer.valueOf(maximumSize))
+      );
+    }
+
+    try {
+      final var symbolTableClass =
+        Class.forName(SYMBOL_TABLE_CLASS, true, loader);
+      final var softTableClass =
+        Class.forName(SOFT_TABLE_CLASS, true, loader);
+      final var synchronizedTableClass =
+        Class.forName(SYNCHRONIZED_TABLE_CLASS, true, loader);
+
+      final var count =
+        symbolTableClass.getDeclaredField("fCount");
+      count.setAccessible(true);
+
+      return new JXEXercesSymbolTable(
+        softTableClass.getConstructor(int.class),
+        synchronizedTableClass.getConstructor(symbolTableClass),
+        count,
+        initialCapacity,
+        maximumSize
+      );
+    } catch (final ReflectiveOperationException
+                   | InaccessibleObjectException e) {
+      throw new UnsupportedOperationException(
+        "Xerces symbol tables are not available", e);
+    }
+  }
+
+  /**
+   * @return The maximum number of names in the table
+   */
+
+  public int maximumSize()
+  {
+    return this.maximumSize;
+  }
+
+  /**
+   * @return The number of names currently held in the table
+   */
+
+  public int size()
+  {
+    this.lock.lock();
+    try {
+      return this.currentSize();
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  /**
+   * Retrieve the underlying Xerces {@code SymbolTable} to give to a reader,
+   * first replacing it with a new empty table if it is full.
+   *
+   * @return The underlying Xerces {@code SymbolTable}
+   */
+
+  Object table()
+  {
+    this.lock.lock();
+    try {
+      if (this.currentSize() >= this.maximumSize) {
+        this.replaceTable();
+      }
+      return this.table;
+    } catch (final ReflectiveOperationException e) {
+      throw new IllegalStateException(e);
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  private void replaceTable()
+    throws ReflectiveOperationException
+  {
+    this.softTable =
+      this.softTableConstructor.newInstance(
+        Integer.valueOf(this.initialCapacity));
+    this.table =
+      this.synchronizedTableConstructor.newInstance(this.softTable);
+  }
+
+  /*
+   * The count of the soft table is only modified whilst holding the monitor
+   * of the soft table, which the synchronized table acquires around every
+   * operation.
+   */
+
+  private int currentSize()
+  {
+    synchronized (this.softTable) {
+      try {
+        return this.count.getInt(this.softTable);
+      } catch (final IllegalAccessException e) {
+        throw new IllegalStateException(e);
+      }
+    }
+  }
+}
@@ -27,8 +27,11 @@ module com.io7m.jxe.core
   requires static org.osgi.annotation.bundle;
   requires static org.osgi.annotation.versioning;
 
+  requires jdk.jfr;
   requires org.slf4j;
 
+  uses com.io7m.jxe.core.JXEParserBackendProfileType;
+
   exports com.io7m.jxe.core;
 
   opens com.io7m.jxe.core
@@ -0,0 +1,221 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jxe.tests.core;
+
+import com.io7m.jxe.core.JXEBulkValidationResult;
+import com.io7m.jxe.core.JXEBulkValidator;
+import com.io7m.jxe.core.JXEBulkValidatorConfiguration;
+import com.io7m.jxe.core.JXEHardenedSAXParsers;
+import com.io7m.jxe.core.JXESchemaDefinition;
+import com.io7m.jxe.core.JXESchemaDefinitions;
+import com.io7m.jxe.core.JXEValidatingReaderTemplate;
+import com.io7m.jxe.core.JXEXInclude;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXParseException;
+
+import javax.xml.parsers.SAXParserFactory;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+
+public class JXEBulkValidatorTest
+{
+  private static final URI SIMPLE_NAMESPACE =
+    URI.create("urn:com.io7m.example:simple:1:0");
+
+  private Path tmpdir;
+  private JXEValidatingReaderTemplate template;
+
+  @BeforeEach
+  public void setUp()
+    throws Exception
+  {
+    this.tmpdir =
+      Files.createTempDirectory("jxe-tests-");
+
+    final var parsers =
+      new JXEHardenedSAXParsers(SAXParserFactory::newNSInstance);
+
+    this.template =
+      parsers.createValidatingReaderTemplate(
+        Optional.of(this.tmpdir),
+        JXEXInclude.XINCLUDE_ENABLED,
+        JXESchemaDefinitions.mappingsOf(
+          JXESchemaDefinition.of(
+            SIMPLE_NAMESPACE,
+            "/schema_simple_1_0.xsd",
+            JXEBulkValidatorTest.class.getResource("simple.xsd"))
+        )
+      );
+  }
+
+  @Test
+  public void testValidatePaths()
+    throws Exception
+  {
+    final var valid = this.copyResource("simple_valid.xml");
+    final var invalid = this.copyResource("simple_invalid.xml");
+    final var missing = this.tmpdir.resolve("missing.xml");
+
+    final var paths = new ArrayList<Path>();
+    for (int index = 0; index < 64; ++index) {
+      paths.add(valid);
+      paths.add(invalid);
+    }
+    paths.add(missing);
+
+    final var validator =
+      JXEBulkValidator.create(
+        JXEBulkValidatorConfiguration.builder()
+          .setTemplate(this.template)
+          .setMaximumConcurrency(4)
+          .build()
+      );
+
+    final var results = validator.validatePaths(paths);
+    Assertions.assertEquals(paths.size(), results.size());
+
+    for (int index = 0; index < 128; index += 2) {
+      final var validResult = results.get(index);
+      Assertions.assertTrue(validResult.isValid());
+      Assertions.assertEquals(valid.toUri().toString(), validResult.systemId());
+      Assertions.assertFalse(validResult.duration().isNegative());
+
+      final var invalidResult = results.get(index + 1);
+      Assertions.assertFalse(invalidResult.isValid());
+      Assertions.assertInstanceOf(
+        SAXParseException.class, invalidResult.error().orElseThrow());
+    }
+
+    final JXEBulkValidationResult missingResult = results.get(128);
+    Assertions.assertInstanceOf(
+      NoSuchFileException.class, missingResult.error().orElseThrow());
+  }
+
+  @Test
+  public void testValidateSourcesExecutor()
+    throws Exception
+  {
+    final var executor = Executors.newFixedThreadPool(2);
+
+    try {
+      final var validator =
+        JXEBulkValidator.create(
+          JXEBulkValidatorConfiguration.builder()
+            .setTemplate(this.template)
+            .setExecutor(executor)
+            .setMaximumConcurrency(2)
+            .build()
+        );
+
+      final var sources = new ArrayList<InputSource>();
+      for (int index = 0; index < 16; ++index) {
+        final var source =
+          new InputSource(
+            JXEBulkValidatorTest.class.getResourceAsStream(
+              "simple_valid.xml"));
+        source.setSystemId("valid-%d.xml".formatted(index));
+        sources.add(source);
+      }
+
+      final var results = validator.validateSources(sources);
+      for (int index = 0; index < 16; ++index) {
+        final var result = results.get(index);
+        Assertions.assertEquals("valid-%d.xml".formatted(index), result.systemId());
+        Assertions.assertTrue(result.isValid());
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  public void testValidateSourcesRuntimeException()
+    throws Exception
+  {
+    final var validator =
+      JXEBulkValidator.create(
+        JXEBulkValidatorConfiguration.builder()
+          .setTemplate(this.template)
+          .setMaximumConcurrency(2)
+          .build()
+      );
+
+    final var sources = new ArrayList<InputSource>();
+    for (int index = 0; index < 4; ++index) {
+      final var source =
+        new InputSource(
+          JXEBulkValidatorTest.class.getResourceAsStream("simple_valid.xml"));
+      source.setSystemId("valid-%d.xml".formatted(index));
+      sources.add(source);
+    }
+
+    final var failing = new InputSource(new InputStream()
+    {
+      @Override
+      public int read()
+      {
+        throw new IllegalStateException("Failed!");
+      }
+    });
+    failing.setSystemId("failing.xml");
+    sources.add(2, failing);
+
+    final var results = validator.validateSources(sources);
+    Assertions.assertEquals(5, results.size());
+
+    final var failed = results.get(2);
+    Assertions.assertEquals("failing.xml", failed.systemId());
+    Assertions.assertInstanceOf(
+      IllegalStateException.class, failed.error().orElseThrow());
+
+    for (final var index : new int[]{0, 1, 3, 4}) {
+      Assertions.assertTrue(results.get(index).isValid());
+    }
+  }
+
+  @Test
+  public void testConcurrencyInvalid()
+  {
+    Assertions.assertThrows(IllegalArgumentException.class, () -> {
+      JXEBulkValidatorConfiguration.builder()
+        .setTemplate(this.template)
+        .setMaximumConcurrency(0)
+        .build();
+    });
+  }
+
+  private Path copyResource(final String file)
+    throws IOException
+  {
+    try (InputStream stream =
+           JXEBulkValidatorTest.class.getResourceAsStream(file)) {
+      final Path path = this.tmpdir.resolve(file);
+      Files.copy(stream, path);
+      return path;
+    }
+  }
+}
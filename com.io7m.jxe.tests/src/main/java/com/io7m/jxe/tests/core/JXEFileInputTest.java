@@ -0,0 +1,348 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jxe.tests.core;
+
+import com.io7m.jxe.core.JXEFileCompression;
+import com.io7m.jxe.core.JXEFileInputConfiguration;
+import com.io7m.jxe.core.JXEFileInputMode;
+import com.io7m.jxe.core.JXEHardenedSAXParsers;
+import com.io7m.jxe.core.JXEHardenedSAXParsersConfiguration;
+import com.io7m.jxe.core.JXEReaderTemplateType;
+import com.io7m.jxe.core.JXEXInclude;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.xml.sax.SAXException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+public final class JXEFileInputTest
+{
+  /*
+   * Map everything, map nothing, and map only non-empty files.
+   */
+
+  private static final long[] THRESHOLDS = {
+    0L,
+    1L,
+    Long.MAX_VALUE,
+  };
+
+  private Path tmpdir;
+
+  @BeforeEach
+  public void setUp()
+    throws IOException
+  {
+    this.tmpdir =
+      Files.createTempDirectory("jxe-tests-");
+  }
+
+  private JXEReaderTemplateType template(
+    final long threshold)
+    throws Exception
+  {
+    final var parsers =
+      new JXEHardenedSAXParsers(
+        JXEHardenedSAXParsersConfiguration.builder()
+          .setFileInput(
+            JXEFileInputConfiguration.builder()
+              .setMode(JXEFileInputMode.FILE_INPUT_NIO)
+              .setMemoryMapThreshold(threshold)
+              .build())
+          .build()
+      );
+
+    return parsers.createNonValidatingReaderTemplate(
+      Optional.of(this.tmpdir),
+      JXEXInclude.XINCLUDE_ENABLED
+    );
+  }
+
+  @Test
+  public void testIncludeRegularFile()
+    throws Exception
+  {
+    for (final var threshold : THRESHOLDS) {
+      this.copyResource("simple.xml");
+      this.copyResource("simple_regular_file.xml");
+
+      final var template = this.template(threshold);
+      final var reader = template.newReader();
+      final var source = template.openDocument("simple_regular_file.xml");
+      try (var ignored = source.getByteStream()) {
+        reader.parse(source);
+      }
+    }
+  }
+
+  @Test
+  public void testOpenDocumentContent()
+    throws Exception
+  {
+    for (final var threshold : THRESHOLDS) {
+      final var path = this.copyResource("simple.xml");
+      final var template = this.template(threshold);
+      final var source = template.openDocument("simple.xml");
+
+      try (var stream = source.getByteStream()) {
+        Assertions.assertArrayEquals(
+          Files.readAllBytes(path),
+          stream.readAllBytes()
+        );
+      }
+    }
+  }
+
+  @Test
+  public void testIncludeRefuseTraversal()
+    throws Exception
+  {
+    for (final var threshold : THRESHOLDS) {
+      this.copyResource("simple_refuse_traversal.xml");
+
+      final var template = this.template(threshold);
+      final var reader = template.newReader();
+      final var source = template.openDocument("simple_refuse_traversal.xml");
+      try (var ignored = source.getByteStream()) {
+        final var ex =
+          Assertions.assertThrows(SAXException.class, () -> {
+            reader.parse(source);
+          });
+        Assertions.assertTrue(
+          ex.getMessage().contains(
+            "Refusing to allow access to files above the base directory")
+        );
+      }
+    }
+  }
+
+  @Test
+  public void testOpenDocumentRefuseTraversal()
+    throws Exception
+  {
+    for (final var threshold : THRESHOLDS) {
+      final var template = this.template(threshold);
+
+      final var ex =
+        Assertions.assertThrows(SAXException.class, () -> {
+          template.openDocument("../../../../../../../../etc/passwd");
+        });
+      Assertions.assertTrue(
+        ex.getMessage().contains(
+          "Refusing to allow access to files above the base directory")
+      );
+    }
+  }
+
+  private JXEReaderTemplateType compressedTemplate(
+    final long maximumSize)
+    throws Exception
+  {
+    final var parsers =
+      new JXEHardenedSAXParsers(
+        JXEHardenedSAXParsersConfiguration.builder()
+          .setFileInput(
+            JXEFileInputConfiguration.builder()
+              .addDecompression(JXEFileCompression.GZIP)
+              .addDecompression(JXEFileCompression.DEFLATE)
+              .setMaximumDecompressedSize(maximumSize)
+              .build())
+          .build()
+      );
+
+    return parsers.createNonValidatingReaderTemplate(
+      Optional.of(this.tmpdir),
+      JXEXInclude.XINCLUDE_ENABLED
+    );
+  }
+
+  @Test
+  public void testOpenDocumentCompressed()
+    throws Exception
+  {
+    final var path = this.copyResource("simple.xml");
+    final var data = Files.readAllBytes(path);
+    this.writeGzip("simple.xml.gz", data);
+    this.writeDeflate("simple.xml.zz", data);
+
+    final var template =
+      this.compressedTemplate(
+        JXEFileInputConfiguration.DEFAULT_MAXIMUM_DECOMPRESSED_SIZE);
+
+    for (final var name : new String[]{"simple.xml.gz", "simple.xml.zz"}) {
+      final var source = template.openDocument(name);
+      try (var stream = source.getByteStream()) {
+        Assertions.assertArrayEquals(data, stream.readAllBytes());
+      }
+    }
+  }
+
+  @Test
+  public void testIncludeCompressed()
+    throws Exception
+  {
+    final var path = this.copyResource("simple.xml");
+    this.writeGzip("simple.xml.gz", Files.readAllBytes(path));
+
+    final var text =
+      Files.readString(this.copyResource("simple_regular_file.xml"))
+        .replace("simple.xml", "simple.xml.gz");
+    this.writeGzip(
+      "simple_regular_file.xml.gz", text.getBytes(StandardCharsets.UTF_8));
+
+    final var template =
+      this.compressedTemplate(
+        JXEFileInputConfiguration.DEFAULT_MAXIMUM_DECOMPRESSED_SIZE);
+    final var reader = template.newReader();
+    final var source = template.openDocument("simple_regular_file.xml.gz");
+    try (var ignored = source.getByteStream()) {
+      reader.parse(source);
+    }
+  }
+
+  @Test
+  public void testOpenDocumentCompressionDisabled()
+    throws Exception
+  {
+    final var path = this.copyResource("simple.xml");
+    final var compressed =
+      this.writeGzip("simple.xml.gz", Files.readAllBytes(path));
+
+    final var template = this.template(Long.MAX_VALUE);
+    final var source = template.openDocument("simple.xml.gz");
+    try (var stream = source.getByteStream()) {
+      Assertions.assertArrayEquals(
+        Files.readAllBytes(compressed),
+        stream.readAllBytes()
+      );
+    }
+  }
+
+  @Test
+  public void testOpenDocumentDecompressedSizeExceeded()
+    throws Exception
+  {
+    final var text = new StringBuilder(1024 * 1024);
+    text.append("<simple>");
+    text.append(" ".repeat(1024 * 1024));
+    text.append("</simple>");
+    this.writeGzip(
+      "bomb.xml.gz", text.toString().getBytes(StandardCharsets.UTF_8));
+
+    final var template = this.compressedTemplate(4096L);
+    final var source = template.openDocument("bomb.xml.gz");
+    try (var stream = source.getByteStream()) {
+      final var ex =
+        Assertions.assertThrows(IOException.class, stream::readAllBytes);
+      Assertions.assertTrue(
+        ex.getMessage().contains("exceeds the limit of 4096 bytes"));
+    }
+
+    final var reader = template.newReader();
+    final var parsed = template.openDocument("bomb.xml.gz");
+    try (var ignored = parsed.getByteStream()) {
+      Assertions.assertThrows(Exception.class, () -> {
+        reader.parse(parsed);
+      });
+    }
+  }
+
+  @Test
+  public void testOpenDocumentCompressedMalformed()
+    throws Exception
+  {
+    this.copyResource("simple.xml");
+    Files.copy(
+      this.tmpdir.resolve("simple.xml"),
+      this.tmpdir.resolve("simple.xml.gz")
+    );
+
+    final var template =
+      this.compressedTemplate(
+        JXEFileInputConfiguration.DEFAULT_MAXIMUM_DECOMPRESSED_SIZE);
+
+    Assertions.assertThrows(IOException.class, () -> {
+      template.openDocument("simple.xml.gz");
+    });
+  }
+
+  @Test
+  public void testMaximumDecompressedSizeInvalid()
+  {
+    Assertions.assertThrows(IllegalArgumentException.class, () -> {
+      JXEFileInputConfiguration.builder()
+        .setMaximumDecompressedSize(0L)
+        .build();
+    });
+  }
+
+  private Path writeGzip(
+    final String file,
+    final byte[] data)
+    throws IOException
+  {
+    final var bytes = new ByteArrayOutputStream();
+    try (var stream = new GZIPOutputStream(bytes)) {
+      stream.write(data);
+    }
+    return this.write(file, bytes.toByteArray());
+  }
+
+  private Path writeDeflate(
+    final String file,
+    final byte[] data)
+    throws IOException
+  {
+    final var bytes = new ByteArrayOutputStream();
+    try (OutputStream stream = new DeflaterOutputStream(bytes)) {
+      stream.write(data);
+    }
+    return this.write(file, bytes.toByteArray());
+  }
+
+  private Path write(
+    final String file,
+    final byte[] data)
+    throws IOException
+  {
+    final Path path = this.tmpdir.resolve(file);
+    Files.write(path, data);
+    return path;
+  }
+
+  private Path copyResource(final String file)
+    throws IOException
+  {
+    try (InputStream stream =
+           JXEFileInputTest.class.getResourceAsStream(file)) {
+      final Path path = this.tmpdir.resolve(file);
+      Files.copy(stream, path, StandardCopyOption.REPLACE_EXISTING);
+      return path;
+    }
+  }
+}
@@ -0,0 +1,198 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jxe.tests.core;
+
+import com.io7m.jxe.core.JXEHardenedSAXParsers;
+import com.io7m.jxe.core.JXESchemaDefinition;
+import com.io7m.jxe.core.JXESchemaDefinitions;
+import com.io7m.jxe.core.JXESchemaResolutionMappings;
+import com.io7m.jxe.core.JXEXInclude;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+
+import javax.xml.parsers.SAXParserFactory;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+public class JXEFlightRecorderTest
+{
+  private static final URI SIMPLE_NAMESPACE =
+    URI.create("urn:com.io7m.example:simple:1:0");
+
+  private Path tmpdir;
+  private JXEHardenedSAXParsers parsers;
+  private JXESchemaResolutionMappings schemas;
+
+  @BeforeEach
+  public void setUp()
+    throws IOException
+  {
+    this.tmpdir =
+      Files.createTempDirectory("jxe-tests-");
+    this.parsers =
+      new JXEHardenedSAXParsers(SAXParserFactory::newNSInstance);
+    this.schemas =
+      JXESchemaDefinitions.mappingsOf(
+        JXESchemaDefinition.of(
+          SIMPLE_NAMESPACE,
+          "/schema_simple_1_0.xsd",
+          JXEFlightRecorderTest.class.getResource("simple.xsd"))
+      );
+  }
+
+  private interface RecordedActionType
+  {
+    void execute()
+      throws Exception;
+  }
+
+  private List<RecordedEvent> record(
+    final String eventName,
+    final RecordedActionType action)
+    throws Exception
+  {
+    final var file = this.tmpdir.resolve("recording.jfr");
+    try (var recording = new Recording()) {
+      recording.enable(eventName).withThreshold(Duration.ZERO);
+      recording.start();
+      action.execute();
+      recording.stop();
+      recording.dump(file);
+    }
+    return RecordingFile.readAllEvents(file)
+      .stream()
+      .filter(e -> e.getEventType().getName().equals(eventName))
+      .toList();
+  }
+
+  @Test
+  public void testSchemaCompile()
+    throws Exception
+  {
+    final var events =
+      this.record("jxe.SchemaCompile", () -> {
+        this.parsers.createXMLReader(
+          Optional.empty(), JXEXInclude.XINCLUDE_DISABLED, this.schemas);
+        this.parsers.createXMLReader(
+          Optional.empty(), JXEXInclude.XINCLUDE_DISABLED, this.schemas);
+      });
+
+    Assertions.assertEquals(1, events.size());
+    final var event = events.get(0);
+    Assertions.assertEquals(1, event.getInt("namespaceCount"));
+    Assertions.assertTrue(event.getBoolean("succeeded"));
+  }
+
+  @Test
+  public void testReaderCreate()
+    throws Exception
+  {
+    final var events =
+      this.record("jxe.ReaderCreate", () -> {
+        this.parsers.createXMLReaderNonValidating(
+          Optional.empty(), JXEXInclude.XINCLUDE_DISABLED);
+      });
+
+    Assertions.assertEquals(1, events.size());
+    final var event = events.get(0);
+    Assertions.assertFalse(event.getString("backend").isEmpty());
+    Assertions.assertFalse(event.getBoolean("validating"));
+  }
+
+  @Test
+  public void testEntityResolve()
+    throws Exception
+  {
+    this.copyResource("simple.xml");
+    final var path = this.copyResource("simple_regular_file.xml");
+
+    final var events =
+      this.record("jxe.EntityResolve", () -> {
+        final var reader =
+          this.parsers.createXMLReaderNonValidating(
+            Optional.of(this.tmpdir), JXEXInclude.XINCLUDE_ENABLED);
+        try (InputStream input = Files.newInputStream(path)) {
+          reader.parse(new InputSource(input));
+        }
+      });
+
+    Assertions.assertEquals(1, events.size());
+    final var event = events.get(0);
+    Assertions.assertEquals("RESOLVED", event.getString("outcome"));
+    Assertions.assertEquals(
+      "RESOLVED_FROM_FILESYSTEM",
+      event.getString("source"));
+    Assertions.assertTrue(event.getString("systemId").endsWith("simple.xml"));
+  }
+
+  @Test
+  public void testEntityResolveRejected()
+    throws Exception
+  {
+    final var path = this.copyResource("simple_refuse_traversal.xml");
+
+    final var events =
+      this.record("jxe.EntityResolve", () -> {
+        final var reader =
+          this.parsers.createXMLReaderNonValidating(
+            Optional.of(this.tmpdir), JXEXInclude.XINCLUDE_ENABLED);
+        try (InputStream input = Files.newInputStream(path)) {
+          Assertions.assertThrows(SAXException.class, () -> {
+            reader.parse(new InputSource(input));
+          });
+        }
+      });
+
+    Assertions.assertEquals(1, events.size());
+    final var event = events.get(0);
+    Assertions.assertEquals(
+      "REJECTED_PATH_TRAVERSAL",
+      event.getString("outcome"));
+    Assertions.assertEquals("NONE", event.getString("source"));
+  }
+
+  private Path copyResource(
+    final String file)
+    throws IOException
+  {
+    final URL url = JXEFlightRecorderTest.class.getResource(file);
+    if (url == null) {
+      throw new AssertionError("No such resource: " + file);
+    }
+    try (InputStream stream = url.openStream()) {
+      final Path path = this.tmpdir.resolve(file);
+      try (OutputStream out = Files.newOutputStream(path)) {
+        stream.transferTo(out);
+      }
+      return path;
+    }
+  }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jxe.tests.core;
+
+import com.io7m.jxe.core.JXEHardenedDispatchingResolver;
+import com.io7m.jxe.core.JXESchemaDefinition;
+import com.io7m.jxe.core.JXESchemaDefinitions;
+import com.io7m.jxe.core.JXESchemaResolutionMappings;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.xml.sax.SAXException;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Optional;
+
+public final class JXEHardenedDispatchingResolverTest
+{
+  private static JXESchemaResolutionMappings manyMappings(
+    final int count)
+  {
+    final var definitions = new ArrayList<JXESchemaDefinition>(count);
+    for (int index = 0; index < count; ++index) {
+      definitions.add(
+        JXESchemaDefinition.of(
+          URI.create("urn:com.io7m.example:n%d:1:0".formatted(index)),
+          "/schema_%d.xsd".formatted(index),
+          JXEHardenedDispatchingResolverTest.class.getResource("simple.xsd"))
+      );
+    }
+    return JXESchemaDefinitions.mappingsOfList(definitions);
+  }
+
+  @Test
+  public void testLookupByFileIdentifier()
+  {
+    final var mappings = manyMappings(300);
+    final var resolver =
+      JXEHardenedDispatchingResolver.create(Optional.empty(), mappings);
+
+    for (final var definition : mappings.mappings().values()) {
+      Assertions.assertEquals(
+        Optional.of(definition),
+        resolver.schemaForFileIdentifier(definition.fileIdentifier())
+      );
+      Assertions.assertEquals(
+        Optional.of(definition),
+        resolver.schemaForNamespace(definition.namespace())
+      );
+    }
+
+    Assertions.assertEquals(
+      Optional.empty(),
+      resolver.schemaForFileIdentifier("/nonexistent.xsd"));
+    Assertions.assertEquals(
+      Optional.empty(),
+      resolver.schemaForNamespace(URI.create("urn:nonexistent")));
+  }
+
+  @Test
+  public void testResolveFromMappings()
+    throws Exception
+  {
+    final var mappings = manyMappings(300);
+    final var resolver =
+      JXEHardenedDispatchingResolver.create(Optional.empty(), mappings);
+
+    final var source =
+      resolver.resolveEntity(null, null, null, "/schema_299.xsd");
+
+    try (var stream = source.getByteStream()) {
+      Assertions.assertTrue(stream.readAllBytes().length > 0);
+    }
+    Assertions.assertEquals(
+      JXEHardenedDispatchingResolverTest.class.getResource("simple.xsd")
+        .toString(),
+      source.getSystemId()
+    );
+  }
+
+  @Test
+  public void testResolveUnmappedRefused()
+  {
+    final var resolver =
+      JXEHardenedDispatchingResolver.create(Optional.empty(), manyMappings(3));
+
+    final var ex =
+      Assertions.assertThrows(SAXException.class, () -> {
+        resolver.resolveEntity(null, null, null, "/schema_3.xsd");
+      });
+    Assertions.assertTrue(
+      ex.getMessage().contains("Refusing to allow access to the filesystem")
+    );
+  }
+}
@@ -0,0 +1,202 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jxe.tests.core;
+
+import com.io7m.jxe.core.JXEHardenedStAXParsers;
+import com.io7m.jxe.core.JXESchemaDefinition;
+import com.io7m.jxe.core.JXESchemaDefinitions;
+import com.io7m.jxe.core.JXESchemaResolutionMappings;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.xml.sax.SAXParseException;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+public final class JXEHardenedStAXParsersTest
+{
+  private static final URI SIMPLE_NAMESPACE =
+    URI.create("urn:com.io7m.example:simple:1:0");
+
+  private JXEHardenedStAXParsers parsers;
+  private JXESchemaResolutionMappings schemas;
+  private Path tmpdir;
+
+  @BeforeEach
+  public void setUp()
+    throws Exception
+  {
+    this.tmpdir =
+      Files.createTempDirectory("jxe-tests-");
+    this.parsers =
+      new JXEHardenedStAXParsers();
+    this.schemas =
+      JXESchemaDefinitions.mappingsOf(
+        JXESchemaDefinition.of(
+          SIMPLE_NAMESPACE,
+          "/schema_simple_1_0.xsd",
+          JXEHardenedStAXParsersTest.class.getResource("simple.xsd"))
+      );
+  }
+
+  private static InputStream resource(
+    final String name)
+  {
+    return JXEHardenedStAXParsersTest.class.getResourceAsStream(name);
+  }
+
+  private static String readAll(
+    final XMLStreamReader reader)
+    throws XMLStreamException
+  {
+    final var text = new StringBuilder();
+    while (reader.hasNext()) {
+      final var event = reader.next();
+      if (event == XMLStreamConstants.CHARACTERS) {
+        text.append(reader.getText());
+      }
+    }
+    return text.toString();
+  }
+
+  @Test
+  public void testNonValidating()
+    throws Exception
+  {
+    try (var stream = resource("simple.xml")) {
+      final var reader =
+        this.parsers.createXMLStreamReader(
+          Optional.of(this.tmpdir), stream, "simple.xml");
+      Assertions.assertEquals("Hello.", readAll(reader).trim());
+    }
+  }
+
+  @Test
+  public void testNonValidatingIllFormed()
+    throws Exception
+  {
+    try (var stream = resource("simple_ill_formed.xml")) {
+      final var reader =
+        this.parsers.createXMLStreamReader(
+          Optional.of(this.tmpdir), stream, "simple_ill_formed.xml");
+      Assertions.assertThrows(XMLStreamException.class, () -> readAll(reader));
+    }
+  }
+
+  @Test
+  public void testExternalEntityNotLoaded()
+    throws Exception
+  {
+    try (var stream = resource("simple_external_entity.xml")) {
+      final var reader =
+        this.parsers.createXMLStreamReader(
+          Optional.of(this.tmpdir), stream, "simple_external_entity.xml");
+
+      try {
+        final var text = readAll(reader);
+        Assertions.assertFalse(text.contains("root:"));
+      } catch (final XMLStreamException e) {
+        // Rejecting the document outright is also acceptable.
+      }
+    }
+  }
+
+  @Test
+  public void testBillionLaughs()
+    throws Exception
+  {
+    try (var stream = resource("billion.xml")) {
+      final var reader =
+        this.parsers.createXMLStreamReader(
+          Optional.of(this.tmpdir), stream, "billion.xml");
+
+      try {
+        final var text = readAll(reader);
+        Assertions.assertFalse(text.contains("lollollol"));
+      } catch (final XMLStreamException e) {
+        // Rejecting the document outright is also acceptable.
+      }
+    }
+  }
+
+  @Test
+  public void testValidatingValid()
+    throws Exception
+  {
+    try (var stream = resource("simple_valid.xml")) {
+      final var reader =
+        this.parsers.createValidatingXMLStreamReader(
+          Optional.of(this.tmpdir), this.schemas, stream, "simple_valid.xml");
+      Assertions.assertEquals("Hello.", readAll(reader).trim());
+    }
+  }
+
+  @Test
+  public void testValidatingValidElementText()
+    throws Exception
+  {
+    try (var stream = resource("simple_valid.xml")) {
+      final var reader =
+        this.parsers.createValidatingXMLStreamReader(
+          Optional.of(this.tmpdir), this.schemas, stream, "simple_valid.xml");
+
+      Assertions.assertEquals(XMLStreamConstants.START_ELEMENT, reader.nextTag());
+      Assertions.assertEquals("Hello.", reader.getElementText().trim());
+      Assertions.assertEquals(XMLStreamConstants.END_DOCUMENT, reader.next());
+    }
+  }
+
+  @Test
+  public void testValidatingInvalid()
+    throws Exception
+  {
+    try (var stream = resource("simple_invalid.xml")) {
+      final var reader =
+        this.parsers.createValidatingXMLStreamReader(
+          Optional.of(this.tmpdir), this.schemas, stream, "simple_invalid.xml");
+
+      final var ex =
+        Assertions.assertThrows(XMLStreamException.class, () -> readAll(reader));
+      Assertions.assertInstanceOf(
+        SAXParseException.class, ex.getNestedException());
+    }
+  }
+
+  @Test
+  public void testValidatingEventReader()
+    throws Exception
+  {
+    try (var stream = resource("simple_invalid.xml")) {
+      final var reader =
+        this.parsers.createValidatingXMLEventReader(
+          Optional.of(this.tmpdir), this.schemas, stream, "simple_invalid.xml");
+
+      Assertions.assertThrows(Exception.class, () -> {
+        while (reader.hasNext()) {
+          reader.nextEvent();
+        }
+      });
+    }
+  }
+}
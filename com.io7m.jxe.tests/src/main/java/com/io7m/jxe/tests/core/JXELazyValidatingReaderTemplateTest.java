@@ -0,0 +1,267 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jxe.tests.core;
+
+import com.io7m.jxe.core.JXEHardenedSAXParsers;
+import com.io7m.jxe.core.JXELazyValidatingReaderTemplate;
+import com.io7m.jxe.core.JXESchemaDefinition;
+import com.io7m.jxe.core.JXESchemaDefinitions;
+import com.io7m.jxe.core.JXESchemaResolutionMappings;
+import com.io7m.jxe.core.JXEXInclude;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.xml.sax.ErrorHandler;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.SAXParseException;
+import org.xml.sax.XMLReader;
+
+import javax.xml.parsers.SAXParserFactory;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+public class JXELazyValidatingReaderTemplateTest
+{
+  private static final URI SIMPLE_NAMESPACE =
+    URI.create("urn:com.io7m.example:simple:1:0");
+  private static final URI OTHER_NAMESPACE =
+    URI.create("urn:com.io7m.example:other:1:0");
+  private static final URI BROKEN_NAMESPACE =
+    URI.create("urn:com.io7m.example:broken:1:0");
+
+  private JXEHardenedSAXParsers parsers;
+  private JXESchemaResolutionMappings schemas;
+  private Path tmpdir;
+
+  @BeforeEach
+  public void setUp()
+    throws Exception
+  {
+    this.tmpdir =
+      Files.createTempDirectory("jxe-tests-");
+    this.parsers =
+      new JXEHardenedSAXParsers(SAXParserFactory::newNSInstance);
+
+    /*
+     * The broken schema is never needed by any document, and so is never
+     * compiled.
+     */
+
+    this.schemas =
+      JXESchemaDefinitions.mappingsOf(
+        JXESchemaDefinition.of(
+          SIMPLE_NAMESPACE,
+          "/schema_simple_1_0.xsd",
+          JXELazyValidatingReaderTemplateTest.class.getResource("simple.xsd")),
+        JXESchemaDefinition.of(
+          OTHER_NAMESPACE,
+          "/schema_other_1_0.xsd",
+          JXELazyValidatingReaderTemplateTest.class.getResource("other.xsd")),
+        JXESchemaDefinition.of(
+          BROKEN_NAMESPACE,
+          "/schema_broken_1_0.xsd",
+          JXELazyValidatingReaderTemplateTest.class.getResource("broken.xsd"))
+      );
+  }
+
+  private JXELazyValidatingReaderTemplate template()
+    throws Exception
+  {
+    return this.parsers.createLazyValidatingReaderTemplate(
+      Optional.of(this.tmpdir),
+      JXEXInclude.XINCLUDE_ENABLED,
+      this.schemas
+    );
+  }
+
+  private static void parse(
+    final XMLReader reader,
+    final String name)
+    throws Exception
+  {
+    reader.setErrorHandler(new FatalErrorHandler());
+
+    try (InputStream input =
+           JXELazyValidatingReaderTemplateTest.class.getResourceAsStream(name)) {
+      reader.parse(new InputSource(input));
+    }
+  }
+
+  @Test
+  public void testEagerTemplateFails()
+  {
+    Assertions.assertThrows(SAXException.class, () -> {
+      this.parsers.createValidatingReaderTemplate(
+        Optional.of(this.tmpdir),
+        JXEXInclude.XINCLUDE_ENABLED,
+        this.schemas
+      );
+    });
+  }
+
+  @Test
+  public void testTemplateAccessors()
+    throws Exception
+  {
+    final var template = this.template();
+    Assertions.assertEquals(Optional.of(this.tmpdir), template.baseDirectory());
+    Assertions.assertEquals(JXEXInclude.XINCLUDE_ENABLED, template.xinclude());
+    Assertions.assertEquals(this.schemas, template.schemas());
+  }
+
+  @Test
+  public void testValid()
+    throws Exception
+  {
+    final var template = this.template();
+    parse(template.newReader(), "simple_valid.xml");
+    parse(template.newReader(), "simple_valid.xml");
+  }
+
+  @Test
+  public void testInvalid()
+    throws Exception
+  {
+    final var template = this.template();
+    Assertions.assertThrows(SAXParseException.class, () -> {
+      parse(template.newReader(), "simple_invalid.xml");
+    });
+    parse(template.newReader(), "simple_valid.xml");
+  }
+
+  @Test
+  public void testMultipleNamespacesValid()
+    throws Exception
+  {
+    parse(this.template().newReader(), "other_valid.xml");
+  }
+
+  @Test
+  public void testMultipleNamespacesInvalid()
+    throws Exception
+  {
+    final var template = this.template();
+    Assertions.assertThrows(SAXParseException.class, () -> {
+      parse(template.newReader(), "other_invalid.xml");
+    });
+  }
+
+  @Test
+  public void testUnmappedNamespaceInvalid()
+    throws Exception
+  {
+    final var template = this.template();
+    Assertions.assertThrows(SAXException.class, () -> {
+      parse(template.newReader(), "simple_unmapped.xml");
+    });
+  }
+
+  @Test
+  public void testLocationHintIgnoredForMappedNamespace()
+    throws Exception
+  {
+    parse(this.template().newReader(), "simple_location_hint.xml");
+  }
+
+  @Test
+  public void testLocationHintRefusedForUnmappedNamespace()
+    throws Exception
+  {
+    final var template = this.template();
+    final var ex =
+      Assertions.assertThrows(SAXException.class, () -> {
+        parse(template.newReader(), "simple_unmapped_location_hint.xml");
+      });
+    Assertions.assertTrue(
+      ex.getMessage().contains("Refusing to load a schema"),
+      ex.getMessage());
+  }
+
+  @Test
+  public void testRelativeLocationHintRefusedForUnmappedNamespace()
+    throws Exception
+  {
+    try (var input =
+           JXELazyValidatingReaderTemplateTest.class.getResourceAsStream(
+             "unmapped.xsd")) {
+      Files.copy(input, this.tmpdir.resolve("unmapped.xsd"));
+    }
+
+    final var template = this.template();
+    final var ex =
+      Assertions.assertThrows(SAXException.class, () -> {
+        parse(
+          template.newReader(),
+          "simple_unmapped_relative_location_hint.xml");
+      });
+    Assertions.assertTrue(
+      ex.getMessage().contains("Refusing to load a schema"),
+      ex.getMessage());
+  }
+
+  @Test
+  public void testPooled()
+    throws Exception
+  {
+    final var pool = this.template().createPool(1);
+    for (int index = 0; index < 3; ++index) {
+      try (var borrowed = pool.borrow()) {
+        parse(borrowed.reader(), "simple_valid.xml");
+      }
+      try (var borrowed = pool.borrow()) {
+        final var reader = borrowed.reader();
+        Assertions.assertThrows(SAXParseException.class, () -> {
+          parse(reader, "simple_invalid.xml");
+        });
+      }
+    }
+    Assertions.assertEquals(1L, pool.statistics().created());
+  }
+
+  private static final class FatalErrorHandler implements ErrorHandler
+  {
+    FatalErrorHandler()
+    {
+
+    }
+
+    @Override
+    public void warning(final SAXParseException e)
+      throws SAXException
+    {
+      throw e;
+    }
+
+    @Override
+    public void error(final SAXParseException e)
+      throws SAXException
+    {
+      throw e;
+    }
+
+    @Override
+    public void fatalError(final SAXParseException e)
+      throws SAXException
+    {
+      throw e;
+    }
+  }
+}
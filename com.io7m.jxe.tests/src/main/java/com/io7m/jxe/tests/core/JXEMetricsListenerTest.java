@@ -0,0 +1,312 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jxe.tests.core;
+
+import com.io7m.jxe.core.JXEHardenedDispatchingResolver;
+import com.io7m.jxe.core.JXEHardenedSAXParsers;
+import com.io7m.jxe.core.JXEHardenedSAXParsersConfiguration;
+import com.io7m.jxe.core.JXEMetricsListenerType;
+import com.io7m.jxe.core.JXEMetricsListeners;
+import com.io7m.jxe.core.JXEResolutionRejection;
+import com.io7m.jxe.core.JXEResolutionSource;
+import com.io7m.jxe.core.JXEResolverConfiguration;
+import com.io7m.jxe.core.JXESchemaDefinition;
+import com.io7m.jxe.core.JXESchemaDefinitions;
+import com.io7m.jxe.core.JXESchemaResolutionMappings;
+import com.io7m.jxe.core.JXEXInclude;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+
+import javax.xml.parsers.SAXParserFactory;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+public class JXEMetricsListenerTest
+{
+  private static final URI SIMPLE_NAMESPACE =
+    URI.create("urn:com.io7m.example:simple:1:0");
+
+  private Path tmpdir;
+  private Recorder metrics;
+  private JXEHardenedSAXParsers parsers;
+  private JXESchemaResolutionMappings schemas;
+
+  @BeforeEach
+  public void setUp()
+    throws IOException
+  {
+    this.tmpdir =
+      Files.createTempDirectory("jxe-tests-");
+    this.metrics =
+      new Recorder();
+    this.parsers =
+      new JXEHardenedSAXParsers(
+        JXEHardenedSAXParsersConfiguration.builder()
+          .setParsers(SAXParserFactory::newNSInstance)
+          .setMetrics(this.metrics)
+          .build()
+      );
+    this.schemas =
+      JXESchemaDefinitions.mappingsOf(
+        JXESchemaDefinition.of(
+          SIMPLE_NAMESPACE,
+          "/schema_simple_1_0.xsd",
+          JXEMetricsListenerTest.class.getResource("simple.xsd"))
+      );
+  }
+
+  @Test
+  public void testNoopIsDefault()
+  {
+    Assertions.assertSame(
+      JXEMetricsListeners.noop(),
+      JXEHardenedSAXParsersConfiguration.builder().build().metrics()
+    );
+    Assertions.assertSame(
+      JXEMetricsListeners.noop(),
+      JXEResolverConfiguration.builder().build().metrics()
+    );
+  }
+
+  @Test
+  public void testReaderCreation()
+    throws Exception
+  {
+    this.parsers.createXMLReaderNonValidating(
+      Optional.empty(), JXEXInclude.XINCLUDE_DISABLED);
+    this.parsers.createXMLReader(
+      Optional.empty(), JXEXInclude.XINCLUDE_DISABLED, this.schemas);
+
+    Assertions.assertEquals(2, this.metrics.readers.size());
+    Assertions.assertEquals(Boolean.FALSE, this.metrics.readers.get(0));
+    Assertions.assertEquals(Boolean.TRUE, this.metrics.readers.get(1));
+  }
+
+  @Test
+  public void testReaderCreationPooled()
+    throws Exception
+  {
+    final var pool =
+      this.parsers.createNonValidatingReaderTemplate(
+        Optional.empty(), JXEXInclude.XINCLUDE_DISABLED)
+        .createPool(1);
+
+    pool.borrow().close();
+    pool.borrow().close();
+
+    Assertions.assertEquals(1, this.metrics.readers.size());
+  }
+
+  @Test
+  public void testSchemaCompiledOnce()
+    throws Exception
+  {
+    this.parsers.createXMLReader(
+      Optional.empty(), JXEXInclude.XINCLUDE_DISABLED, this.schemas);
+    this.parsers.createXMLReader(
+      Optional.empty(), JXEXInclude.XINCLUDE_DISABLED, this.schemas);
+
+    Assertions.assertEquals(List.of(Boolean.TRUE), this.metrics.compilations);
+  }
+
+  @Test
+  public void testResolvedFromFilesystem()
+    throws Exception
+  {
+    this.copyResource("simple.xml");
+    final var path = this.copyResource("simple_regular_file.xml");
+
+    final var reader =
+      this.parsers.createXMLReaderNonValidating(
+        Optional.of(this.tmpdir), JXEXInclude.XINCLUDE_ENABLED);
+
+    try (InputStream input = Files.newInputStream(path)) {
+      reader.parse(new InputSource(input));
+    }
+
+    Assertions.assertEquals(
+      List.of(JXEResolutionSource.RESOLVED_FROM_FILESYSTEM),
+      this.metrics.resolved
+    );
+    Assertions.assertEquals(
+      Long.valueOf(Files.size(this.tmpdir.resolve("simple.xml"))),
+      this.metrics.bytes.get(JXEResolutionSource.RESOLVED_FROM_FILESYSTEM)
+    );
+  }
+
+  @Test
+  public void testResolvedFromSchemaMappings()
+    throws Exception
+  {
+    final var resolver =
+      JXEHardenedDispatchingResolver.create(
+        JXEResolverConfiguration.builder()
+          .setSchemas(this.schemas)
+          .setMetrics(this.metrics)
+          .build()
+      );
+
+    final var source =
+      resolver.resolveEntity(null, null, null, "/schema_simple_1_0.xsd");
+
+    final long size;
+    try (InputStream input = source.getByteStream()) {
+      size = input.readAllBytes().length;
+    }
+
+    Assertions.assertEquals(
+      List.of(JXEResolutionSource.RESOLVED_FROM_SCHEMA_MAPPINGS),
+      this.metrics.resolved
+    );
+    Assertions.assertEquals(
+      Long.valueOf(size),
+      this.metrics.bytes.get(JXEResolutionSource.RESOLVED_FROM_SCHEMA_MAPPINGS)
+    );
+  }
+
+  @Test
+  public void testRejectedTraversal()
+    throws Exception
+  {
+    final var path = this.copyResource("simple_refuse_traversal.xml");
+    final var reader =
+      this.parsers.createXMLReaderNonValidating(
+        Optional.of(this.tmpdir), JXEXInclude.XINCLUDE_ENABLED);
+
+    try (InputStream input = Files.newInputStream(path)) {
+      Assertions.assertThrows(SAXException.class, () -> {
+        reader.parse(new InputSource(input));
+      });
+    }
+
+    Assertions.assertEquals(
+      List.of(JXEResolutionRejection.REJECTED_PATH_TRAVERSAL),
+      this.metrics.rejections
+    );
+  }
+
+  @Test
+  public void testRejectedFilesystemAccess()
+    throws Exception
+  {
+    final var path = this.copyResource("simple_regular_file.xml");
+    final var reader =
+      this.parsers.createXMLReaderNonValidating(
+        Optional.empty(), JXEXInclude.XINCLUDE_ENABLED);
+
+    try (InputStream input = Files.newInputStream(path)) {
+      Assertions.assertThrows(SAXException.class, () -> {
+        reader.parse(new InputSource(input));
+      });
+    }
+
+    Assertions.assertEquals(
+      List.of(JXEResolutionRejection.REJECTED_FILESYSTEM_ACCESS_DISABLED),
+      this.metrics.rejections
+    );
+  }
+
+  private Path copyResource(
+    final String file)
+    throws IOException
+  {
+    final URL url = JXEMetricsListenerTest.class.getResource(file);
+    if (url == null) {
+      throw new AssertionError("No such resource: " + file);
+    }
+    try (InputStream stream = url.openStream()) {
+      final Path path = this.tmpdir.resolve(file);
+      try (OutputStream out = Files.newOutputStream(path)) {
+        stream.transferTo(out);
+      }
+      return path;
+    }
+  }
+
+  private static final class Recorder implements JXEMetricsListenerType
+  {
+    private final List<Boolean> readers =
+      new CopyOnWriteArrayList<>();
+    private final List<Boolean> compilations =
+      new CopyOnWriteArrayList<>();
+    private final List<JXEResolutionSource> resolved =
+      new CopyOnWriteArrayList<>();
+    private final List<JXEResolutionRejection> rejections =
+      new CopyOnWriteArrayList<>();
+    private final Map<JXEResolutionSource, Long> bytes =
+      new ConcurrentHashMap<>();
+
+    Recorder()
+    {
+
+    }
+
+    @Override
+    public void onReaderCreated(
+      final String backend,
+      final boolean validating,
+      final long durationNanos)
+    {
+      Assertions.assertFalse(backend.isEmpty());
+      Assertions.assertTrue(durationNanos >= 0L);
+      this.readers.add(Boolean.valueOf(validating));
+    }
+
+    @Override
+    public void onSchemaCompiled(
+      final long durationNanos,
+      final boolean succeeded)
+    {
+      this.compilations.add(Boolean.valueOf(succeeded));
+    }
+
+    @Override
+    public void onResolved(
+      final JXEResolutionSource source)
+    {
+      this.resolved.add(source);
+    }
+
+    @Override
+    public void onResolutionRejected(
+      final JXEResolutionRejection reason)
+    {
+      this.rejections.add(reason);
+    }
+
+    @Override
+    public void onBytesServed(
+      final JXEResolutionSource source,
+      final long count)
+    {
+      this.bytes.merge(source, Long.valueOf(count), Long::sum);
+    }
+  }
+}
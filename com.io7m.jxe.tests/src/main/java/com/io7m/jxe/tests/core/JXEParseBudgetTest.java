@@ -0,0 +1,374 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jxe.tests.core;
+
+import com.io7m.jxe.core.JXECancellationToken;
+import com.io7m.jxe.core.JXEHardenedSAXParsers;
+import com.io7m.jxe.core.JXENonValidatingReaderTemplate;
+import com.io7m.jxe.core.JXEParseBudget;
+import com.io7m.jxe.core.JXEParseCancelledException;
+import com.io7m.jxe.core.JXEParseInputLimitException;
+import com.io7m.jxe.core.JXEParseTimeoutException;
+import com.io7m.jxe.core.JXEXInclude;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+
+import javax.xml.parsers.SAXParserFactory;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+public class JXEParseBudgetTest
+{
+  private JXEHardenedSAXParsers parsers;
+  private JXENonValidatingReaderTemplate template;
+  private Path tmpdir;
+
+  @BeforeEach
+  public void setUp()
+    throws Exception
+  {
+    this.tmpdir =
+      Files.createTempDirectory("jxe-tests-");
+    this.parsers =
+      new JXEHardenedSAXParsers(SAXParserFactory::newNSInstance);
+    this.template =
+      this.parsers.createNonValidatingReaderTemplate(
+        Optional.of(this.tmpdir),
+        JXEXInclude.XINCLUDE_ENABLED
+      );
+  }
+
+  private static InputSource source(
+    final String text)
+  {
+    return new InputSource(
+      new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8)));
+  }
+
+  @Test
+  public void testWithinBudget()
+    throws Exception
+  {
+    final var token = JXECancellationToken.create();
+    final var reader =
+      this.template.newReader(
+        JXEParseBudget.builder()
+          .setTimeout(Duration.ofSeconds(10L))
+          .setMaximumInputBytes(100L)
+          .setCancellation(token)
+          .build()
+      );
+
+    reader.parse(source("<a><b>x</b></a>"));
+    reader.parse(source("<a><b>y</b></a>"));
+  }
+
+  @Test
+  public void testInputLimitExceeded()
+    throws Exception
+  {
+    final var reader =
+      this.template.newReader(
+        JXEParseBudget.builder()
+          .setMaximumInputBytes(16L)
+          .build()
+      );
+
+    Assertions.assertThrows(JXEParseInputLimitException.class, () -> {
+      reader.parse(source("<a>" + "x".repeat(1024) + "</a>"));
+    });
+  }
+
+  @Test
+  public void testInputLimitIncludesResolvedResources()
+    throws Exception
+  {
+    Files.writeString(
+      this.tmpdir.resolve("included.xml"),
+      "<b>" + "x".repeat(1024) + "</b>"
+    );
+    Files.writeString(
+      this.tmpdir.resolve("main.xml"),
+      "<a xmlns:xi='http://www.w3.org/2001/XInclude'>"
+        + "<xi:include href='included.xml'/>"
+        + "</a>"
+    );
+
+    final var reader =
+      this.template.newReader(
+        JXEParseBudget.builder()
+          .setMaximumInputBytes(512L)
+          .build()
+      );
+
+    Assertions.assertThrows(JXEParseInputLimitException.class, () -> {
+      reader.parse(this.template.openDocument("main.xml"));
+    });
+  }
+
+  @Test
+  public void testSystemIdResolvedFromBaseDirectory()
+    throws Exception
+  {
+    Files.writeString(
+      this.tmpdir.resolve("main.xml"),
+      "<a>" + "x".repeat(1024) + "</a>"
+    );
+
+    final var reader =
+      this.template.newReader(
+        JXEParseBudget.builder()
+          .setMaximumInputBytes(512L)
+          .build()
+      );
+
+    Assertions.assertThrows(JXEParseInputLimitException.class, () -> {
+      reader.parse("main.xml");
+    });
+  }
+
+  @Test
+  public void testSystemIdNonFileRefused()
+    throws Exception
+  {
+    final var reader =
+      this.template.newReader(
+        JXEParseBudget.builder()
+          .setMaximumInputBytes(512L)
+          .build()
+      );
+
+    final var ex =
+      Assertions.assertThrows(SAXException.class, () -> {
+        reader.parse("http://www.example.com/main.xml");
+      });
+    Assertions.assertTrue(
+      ex.getMessage().contains("Refusing to resolve a non-file URI"),
+      ex.getMessage());
+  }
+
+  @Test
+  public void testSystemIdOutsideBaseDirectoryRefused()
+    throws Exception
+  {
+    final var reader =
+      this.template.newReader(
+        JXEParseBudget.builder()
+          .setMaximumInputBytes(512L)
+          .build()
+      );
+
+    Assertions.assertThrows(SAXException.class, () -> {
+      reader.parse("../main.xml");
+    });
+  }
+
+  @Test
+  public void testSourceWithoutStreamRefused()
+    throws Exception
+  {
+    final var reader =
+      this.template.newReader(
+        JXEParseBudget.builder()
+          .setMaximumInputBytes(512L)
+          .build()
+      );
+
+    Assertions.assertThrows(IOException.class, () -> {
+      reader.parse(new InputSource());
+    });
+  }
+
+  @Test
+  @Timeout(value = 10L, unit = TimeUnit.SECONDS)
+  public void testTimeoutStalledInput()
+    throws Exception
+  {
+    final var reader =
+      this.template.newReader(
+        JXEParseBudget.builder()
+          .setTimeout(Duration.ofMillis(250L))
+          .build()
+      );
+
+    Assertions.assertThrows(JXEParseTimeoutException.class, () -> {
+      reader.parse(new InputSource(new StalledStream("<a>")));
+    });
+  }
+
+  @Test
+  public void testCancelledBeforeParse()
+    throws Exception
+  {
+    final var token = JXECancellationToken.create();
+    token.cancel();
+
+    final var reader =
+      this.template.newReader(
+        JXEParseBudget.builder()
+          .setCancellation(token)
+          .build()
+      );
+
+    Assertions.assertThrows(JXEParseCancelledException.class, () -> {
+      reader.parse(source("<a/>"));
+    });
+  }
+
+  @Test
+  @Timeout(value = 10L, unit = TimeUnit.SECONDS)
+  public void testCancelledStalledInput()
+    throws Exception
+  {
+    final var token = JXECancellationToken.create();
+    final var reader =
+      this.template.newReader(
+        JXEParseBudget.builder()
+          .setCancellation(token)
+          .build()
+      );
+
+    final var executor = Executors.newSingleThreadScheduledExecutor();
+    try {
+      executor.schedule(token::cancel, 250L, TimeUnit.MILLISECONDS);
+
+      Assertions.assertThrows(JXEParseCancelledException.class, () -> {
+        reader.parse(new InputSource(new StalledStream("<a>")));
+      });
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  public void testInterrupted()
+    throws Exception
+  {
+    final var reader =
+      this.template.newReader(JXEParseBudget.builder().build());
+
+    Thread.currentThread().interrupt();
+    try {
+      Assertions.assertThrows(JXEParseCancelledException.class, () -> {
+        reader.parse(source("<a/>"));
+      });
+      Assertions.assertTrue(Thread.currentThread().isInterrupted());
+    } finally {
+      Thread.interrupted();
+    }
+  }
+
+  @Test
+  public void testPooledReader()
+    throws Exception
+  {
+    final var pool = this.template.createPool(1);
+    final var budget =
+      JXEParseBudget.builder()
+        .setMaximumInputBytes(16L)
+        .build();
+
+    try (var borrowed = pool.borrow()) {
+      Assertions.assertThrows(JXEParseInputLimitException.class, () -> {
+        borrowed.reader(budget)
+          .parse(source("<a>" + "x".repeat(1024) + "</a>"));
+      });
+    }
+    try (var borrowed = pool.borrow()) {
+      borrowed.reader(budget).parse(source("<a/>"));
+    }
+  }
+
+  @Test
+  public void testNonPositiveTimeout()
+  {
+    Assertions.assertThrows(IllegalArgumentException.class, () -> {
+      JXEParseBudget.builder()
+        .setTimeout(Duration.ZERO)
+        .build();
+    });
+  }
+
+  /**
+   * A stream that delivers a prefix and then blocks until it is closed.
+   */
+
+  private static final class StalledStream extends InputStream
+  {
+    private final byte[] prefix;
+    private final CountDownLatch closed;
+    private int position;
+
+    StalledStream(
+      final String inPrefix)
+    {
+      this.prefix = inPrefix.getBytes(StandardCharsets.UTF_8);
+      this.closed = new CountDownLatch(1);
+    }
+
+    @Override
+    public int read()
+      throws IOException
+    {
+      final var buffer = new byte[1];
+      final var r = this.read(buffer, 0, 1);
+      return r < 0 ? -1 : buffer[0] & 0xff;
+    }
+
+    @Override
+    public int read(
+      final byte[] buffer,
+      final int offset,
+      final int length)
+      throws IOException
+    {
+      if (this.position < this.prefix.length) {
+        final var count = Math.min(length, this.prefix.length - this.position);
+        System.arraycopy(this.prefix, this.position, buffer, offset, count);
+        this.position += count;
+        return count;
+      }
+
+      try {
+        this.closed.await();
+      } catch (final InterruptedException e) {
+        throw new InterruptedIOException();
+      }
+      throw new IOException("Stream closed");
+    }
+
+    @Override
+    public void close()
+    {
+      this.closed.countDown();
+    }
+  }
+}
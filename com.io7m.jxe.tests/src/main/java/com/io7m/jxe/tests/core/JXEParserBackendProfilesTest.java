@@ -0,0 +1,244 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jxe.tests.core;
+
+import com.io7m.jxe.core.JXEHardenedSAXParsers;
+import com.io7m.jxe.core.JXEHardenedSAXParsersConfiguration;
+import com.io7m.jxe.core.JXEParserBackendProfileType;
+import com.io7m.jxe.core.JXEParserBackendProfiles;
+import com.io7m.jxe.core.JXEParserTuning;
+import com.io7m.jxe.core.JXESchemaResolutionMappings;
+import com.io7m.jxe.core.JXEXInclude;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.xml.sax.InputSource;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.parsers.SAXParser;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public final class JXEParserBackendProfilesTest
+{
+  @Test
+  public void testStandardEndsWithBuiltins()
+  {
+    final var profiles = JXEParserBackendProfiles.standard();
+    final var size = profiles.size();
+    Assertions.assertSame(
+      JXEParserBackendProfiles.xerces(), profiles.get(size - 2));
+    Assertions.assertSame(
+      JXEParserBackendProfiles.jdk(), profiles.get(size - 1));
+  }
+
+  @Test
+  public void testDetectJDK()
+    throws Exception
+  {
+    final var parsers =
+      new JXEHardenedSAXParsers(
+        JXEHardenedSAXParsersConfiguration.builder()
+          .build()
+      );
+    Assertions.assertSame(
+      JXEParserBackendProfiles.jdk(),
+      parsers.backendProfile());
+  }
+
+  @Test
+  public void testDetectOnce()
+    throws Exception
+  {
+    final var profile = new CountingProfile();
+    final var parsers =
+      new JXEHardenedSAXParsers(
+        JXEHardenedSAXParsersConfiguration.builder()
+          .setBackendProfiles(List.of(profile))
+          .build()
+      );
+
+    for (int index = 0; index < 8; ++index) {
+      final var reader =
+        parsers.createXMLReaderNonValidating(
+          Optional.empty(),
+          JXEXInclude.XINCLUDE_DISABLED);
+
+      try (InputStream input =
+             JXEParserBackendProfilesTest.class.getResourceAsStream(
+               "simple.xml")) {
+        reader.parse(new InputSource(input));
+      }
+
+      parsers.createXMLReader(
+        Optional.empty(),
+        JXEXInclude.XINCLUDE_DISABLED,
+        JXESchemaResolutionMappings.builder().build());
+    }
+
+    Assertions.assertSame(profile, parsers.backendProfile());
+    Assertions.assertEquals(1, profile.matches.get());
+  }
+
+  @Test
+  public void testUnsupportedFeatureRejected()
+  {
+    final var profile = new CountingProfile()
+    {
+      @Override
+      public Map<String, Boolean> nonValidatingFeatures(
+        final JXEXInclude xinclude)
+      {
+        final var features =
+          new HashMap<>(super.nonValidatingFeatures(xinclude));
+        features.put("urn:com.io7m.jxe:nonexistent", Boolean.TRUE);
+        return features;
+      }
+    };
+
+    final var parsers =
+      new JXEHardenedSAXParsers(
+        JXEHardenedSAXParsersConfiguration.builder()
+          .setBackendProfiles(List.of(profile))
+          .build()
+      );
+
+    final var ex =
+      Assertions.assertThrows(ParserConfigurationException.class, () -> {
+        parsers.createXMLReaderNonValidating(
+          Optional.empty(),
+          JXEXInclude.XINCLUDE_DISABLED);
+      });
+    Assertions.assertTrue(
+      ex.getMessage().contains("urn:com.io7m.jxe:nonexistent"));
+  }
+
+  @Test
+  public void testTuningFeatureWeakensHardeningRejected()
+  {
+    final var profile = new CountingProfile()
+    {
+      @Override
+      public Map<String, Boolean> tuningFeatures(
+        final JXEParserTuning tuning)
+      {
+        return Map.of(XMLConstants.FEATURE_SECURE_PROCESSING, Boolean.FALSE);
+      }
+    };
+
+    final var parsers =
+      new JXEHardenedSAXParsers(
+        JXEHardenedSAXParsersConfiguration.builder()
+          .setBackendProfiles(List.of(profile))
+          .build()
+      );
+
+    final var ex =
+      Assertions.assertThrows(ParserConfigurationException.class, () -> {
+        parsers.createXMLReaderNonValidating(
+          Optional.empty(),
+          JXEXInclude.XINCLUDE_DISABLED);
+      });
+    Assertions.assertTrue(
+      ex.getMessage().contains(XMLConstants.FEATURE_SECURE_PROCESSING));
+  }
+
+  @Test
+  public void testTuningPropertyWeakensHardeningRejected()
+  {
+    final var profile = new CountingProfile()
+    {
+      @Override
+      public Map<String, Object> tuningProperties(
+        final JXEParserTuning tuning)
+      {
+        return Map.of(XMLConstants.ACCESS_EXTERNAL_DTD, "all");
+      }
+    };
+
+    final var parsers =
+      new JXEHardenedSAXParsers(
+        JXEHardenedSAXParsersConfiguration.builder()
+          .setBackendProfiles(List.of(profile))
+          .build()
+      );
+
+    final var ex =
+      Assertions.assertThrows(ParserConfigurationException.class, () -> {
+        parsers.createXMLReaderNonValidating(
+          Optional.empty(),
+          JXEXInclude.XINCLUDE_DISABLED);
+      });
+    Assertions.assertTrue(
+      ex.getMessage().contains(XMLConstants.ACCESS_EXTERNAL_DTD));
+  }
+
+  private static class CountingProfile implements JXEParserBackendProfileType
+  {
+    private final AtomicInteger matches = new AtomicInteger();
+
+    CountingProfile()
+    {
+
+    }
+
+    @Override
+    public String name()
+    {
+      return "counting";
+    }
+
+    @Override
+    public boolean matches(
+      final SAXParser parser)
+    {
+      this.matches.incrementAndGet();
+      return true;
+    }
+
+    @Override
+    public Map<String, Boolean> nonValidatingFeatures(
+      final JXEXInclude xinclude)
+    {
+      return JXEParserBackendProfiles.jdk().nonValidatingFeatures(xinclude);
+    }
+
+    @Override
+    public Map<String, Object> nonValidatingProperties()
+    {
+      return JXEParserBackendProfiles.jdk().nonValidatingProperties();
+    }
+
+    @Override
+    public Map<String, Boolean> validatingFeatures(
+      final JXEXInclude xinclude)
+    {
+      return JXEParserBackendProfiles.jdk().validatingFeatures(xinclude);
+    }
+
+    @Override
+    public Map<String, Object> validatingProperties(
+      final JXESchemaResolutionMappings schemas)
+    {
+      return JXEParserBackendProfiles.jdk().validatingProperties(schemas);
+    }
+  }
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jxe.tests.core;
+
+import com.io7m.jxe.core.JXEHardenedSAXParsers;
+import com.io7m.jxe.core.JXEHardenedSAXParsersConfiguration;
+import com.io7m.jxe.core.JXEParserTuning;
+import com.io7m.jxe.core.JXEParserTuningType;
+import com.io7m.jxe.core.JXESchemaDefinition;
+import com.io7m.jxe.core.JXESchemaDefinitions;
+import com.io7m.jxe.core.JXEXInclude;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.SAXParseException;
+import org.xml.sax.helpers.DefaultHandler;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.SAXParserFactory;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.Optional;
+
+public class JXEParserTuningTest
+{
+  private static final URI SIMPLE_NAMESPACE =
+    URI.create("urn:com.io7m.example:simple:1:0");
+
+  private static JXEHardenedSAXParsers parsers(
+    final JXEParserTuning tuning)
+  {
+    return new JXEHardenedSAXParsers(
+      JXEHardenedSAXParsersConfiguration.builder()
+        .setParsers(SAXParserFactory::newNSInstance)
+        .setTuning(tuning)
+        .build()
+    );
+  }
+
+  private static JXEParserTuning largeBuffers()
+  {
+    return JXEParserTuning.builder()
+      .setInputBufferSize(1024 * 1024)
+      .setSchemaFullChecking(true)
+      .setIdentityConstraintChecking(false)
+      .setBalanceSyntaxTrees(true)
+      .setXincludeFixupBaseURIs(false)
+      .setXincludeFixupLanguage(false)
+      .build();
+  }
+
+  @Test
+  public void testNonValidating()
+    throws Exception
+  {
+    final var reader =
+      parsers(largeBuffers())
+        .createXMLReaderNonValidating(
+          Optional.empty(),
+          JXEXInclude.XINCLUDE_ENABLED);
+
+    Assertions.assertTrue(
+      reader.getFeature(XMLConstants.FEATURE_SECURE_PROCESSING));
+
+    try (InputStream input =
+           JXEParserTuningTest.class.getResourceAsStream("simple.xml")) {
+      reader.parse(new InputSource(input));
+    }
+  }
+
+  @Test
+  public void testValidating()
+    throws Exception
+  {
+    final var reader =
+      parsers(largeBuffers())
+        .createXMLReader(
+          Optional.empty(),
+          JXEXInclude.XINCLUDE_DISABLED,
+          JXESchemaDefinitions.mappingsOf(
+            JXESchemaDefinition.of(
+              SIMPLE_NAMESPACE,
+              "/schema_simple_1_0.xsd",
+              JXEParserTuningTest.class.getResource("simple.xsd"))
+          ));
+
+    reader.setErrorHandler(new ErrorsAreFatal());
+
+    try (InputStream input =
+           JXEParserTuningTest.class.getResourceAsStream(
+             "simple_valid.xml")) {
+      reader.parse(new InputSource(input));
+    }
+    try (InputStream input =
+           JXEParserTuningTest.class.getResourceAsStream(
+             "simple_invalid.xml")) {
+      Assertions.assertThrows(SAXParseException.class, () -> {
+        reader.parse(new InputSource(input));
+      });
+    }
+  }
+
+  @Test
+  public void testStillHardened()
+    throws Exception
+  {
+    final var reader =
+      parsers(largeBuffers())
+        .createXMLReaderNonValidating(
+          Optional.empty(),
+          JXEXInclude.XINCLUDE_DISABLED);
+
+    reader.setErrorHandler(new ErrorsAreFatal());
+
+    try (InputStream input =
+           JXEParserTuningTest.class.getResourceAsStream("billion.xml")) {
+      Assertions.assertThrows(SAXException.class, () -> {
+        reader.parse(new InputSource(input));
+      });
+    }
+  }
+
+  @Test
+  public void testInputBufferSizeTooSmall()
+  {
+    Assertions.assertThrows(IllegalArgumentException.class, () -> {
+      JXEParserTuning.builder()
+        .setInputBufferSize(JXEParserTuningType.MINIMUM_INPUT_BUFFER_SIZE - 1)
+        .build();
+    });
+  }
+
+  @Test
+  public void testInputBufferSizeTooLarge()
+  {
+    Assertions.assertThrows(IllegalArgumentException.class, () -> {
+      JXEParserTuning.builder()
+        .setInputBufferSize(JXEParserTuningType.MAXIMUM_INPUT_BUFFER_SIZE + 1)
+        .build();
+    });
+  }
+
+  private static final class ErrorsAreFatal extends DefaultHandler
+  {
+    ErrorsAreFatal()
+    {
+
+    }
+
+    @Override
+    public void error(
+      final SAXParseException e)
+      throws SAXException
+    {
+      throw e;
+    }
+  }
+}
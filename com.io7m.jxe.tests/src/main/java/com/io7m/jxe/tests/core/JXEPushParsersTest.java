@@ -0,0 +1,239 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jxe.tests.core;
+
+import com.io7m.jxe.core.JXEHardenedSAXParsers;
+import com.io7m.jxe.core.JXEPushParser;
+import com.io7m.jxe.core.JXEPushParsers;
+import com.io7m.jxe.core.JXEPushParsersConfiguration;
+import com.io7m.jxe.core.JXESchemaDefinition;
+import com.io7m.jxe.core.JXESchemaDefinitions;
+import com.io7m.jxe.core.JXEXInclude;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.xml.sax.Attributes;
+import org.xml.sax.SAXParseException;
+import org.xml.sax.helpers.DefaultHandler;
+
+import javax.xml.parsers.SAXParserFactory;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+public class JXEPushParsersTest
+{
+  private static final URI SIMPLE_NAMESPACE =
+    URI.create("urn:com.io7m.example:simple:1:0");
+
+  private JXEHardenedSAXParsers parsers;
+  private JXEPushParsers push;
+
+  @BeforeEach
+  public void setUp()
+    throws Exception
+  {
+    this.parsers =
+      new JXEHardenedSAXParsers(SAXParserFactory::newNSInstance);
+
+    final var template =
+      this.parsers.createValidatingReaderTemplate(
+        Optional.empty(),
+        JXEXInclude.XINCLUDE_DISABLED,
+        JXESchemaDefinitions.mappingsOf(
+          JXESchemaDefinition.of(
+            SIMPLE_NAMESPACE,
+            "/schema_simple_1_0.xsd",
+            JXEPushParsersTest.class.getResource("simple.xsd"))
+        ));
+
+    this.push =
+      JXEPushParsers.create(
+        JXEPushParsersConfiguration.builder()
+          .setTemplate(template)
+          .setMaximumConcurrency(2)
+          .setMaximumBufferedBytes(4096L)
+          .build()
+      );
+  }
+
+  @AfterEach
+  public void tearDown()
+  {
+    this.push.close();
+  }
+
+  private static byte[] resource(
+    final String name)
+    throws IOException
+  {
+    try (InputStream stream =
+           JXEPushParsersTest.class.getResourceAsStream(name)) {
+      return stream.readAllBytes();
+    }
+  }
+
+  private static void pushInChunks(
+    final JXEPushParser parser,
+    final byte[] data,
+    final int chunkSize)
+    throws IOException
+  {
+    for (int offset = 0; offset < data.length; offset += chunkSize) {
+      final var length = Math.min(chunkSize, data.length - offset);
+      parser.push(ByteBuffer.wrap(data, offset, length));
+    }
+  }
+
+  @Test
+  public void testValid()
+    throws Exception
+  {
+    final var elements = new CopyOnWriteArrayList<String>();
+    final var parser =
+      this.push.begin("valid.xml", new ElementRecorder(elements));
+
+    pushInChunks(parser, resource("simple_valid.xml"), 7);
+    parser.complete();
+
+    parser.result().get(10L, TimeUnit.SECONDS);
+    Assertions.assertEquals(List.of("simple"), elements);
+    Assertions.assertEquals(0L, parser.bufferedBytes());
+  }
+
+  @Test
+  public void testInvalid()
+    throws Exception
+  {
+    final var parser =
+      this.push.begin("urn:invalid", new DefaultHandler());
+
+    pushInChunks(parser, resource("simple_invalid.xml"), 5);
+    parser.complete();
+
+    final var ex =
+      Assertions.assertThrows(CompletionException.class, () -> {
+        parser.result().join();
+      });
+    Assertions.assertInstanceOf(SAXParseException.class, ex.getCause());
+  }
+
+  @Test
+  public void testManyInterleaved()
+    throws Exception
+  {
+    final var data = resource("simple_valid.xml");
+    final var parsersInFlight = new ArrayList<JXEPushParser>();
+    for (int index = 0; index < 32; ++index) {
+      parsersInFlight.add(
+        this.push.begin("document" + index + ".xml", new DefaultHandler()));
+    }
+
+    for (int offset = 0; offset < data.length; offset += 3) {
+      final var length = Math.min(3, data.length - offset);
+      for (final var parser : parsersInFlight) {
+        parser.push(ByteBuffer.wrap(data, offset, length));
+      }
+    }
+    for (final var parser : parsersInFlight) {
+      parser.complete();
+    }
+    for (final var parser : parsersInFlight) {
+      parser.result().get(10L, TimeUnit.SECONDS);
+    }
+  }
+
+  @Test
+  public void testBufferLimitExceeded()
+    throws Exception
+  {
+    final var parser =
+      this.push.begin("urn:large", new DefaultHandler());
+
+    final var ex =
+      Assertions.assertThrows(IOException.class, () -> {
+        parser.push(ByteBuffer.allocate(8192));
+      });
+    Assertions.assertTrue(ex.getMessage().contains("4096"));
+
+    Assertions.assertThrows(CompletionException.class, () -> {
+      parser.result().join();
+    });
+  }
+
+  @Test
+  public void testCancelled()
+    throws Exception
+  {
+    final var parser =
+      this.push.begin("urn:cancelled", new DefaultHandler());
+
+    parser.push(ByteBuffer.wrap(
+      "<?xml version=\"1.0\"?>".getBytes(StandardCharsets.UTF_8)));
+    parser.cancel();
+
+    Assertions.assertThrows(CancellationException.class, () -> {
+      parser.result().join();
+    });
+    Assertions.assertThrows(IOException.class, () -> {
+      parser.push(ByteBuffer.allocate(1));
+    });
+  }
+
+  @Test
+  public void testPushAfterComplete()
+  {
+    final var parser =
+      this.push.begin("urn:complete", new DefaultHandler());
+
+    parser.complete();
+    Assertions.assertThrows(IllegalStateException.class, () -> {
+      parser.push(ByteBuffer.allocate(1));
+    });
+  }
+
+  private static final class ElementRecorder extends DefaultHandler
+  {
+    private final List<String> elements;
+
+    ElementRecorder(
+      final List<String> inElements)
+    {
+      this.elements = inElements;
+    }
+
+    @Override
+    public void startElement(
+      final String uri,
+      final String localName,
+      final String qName,
+      final Attributes attributes)
+    {
+      this.elements.add(localName);
+    }
+  }
+}
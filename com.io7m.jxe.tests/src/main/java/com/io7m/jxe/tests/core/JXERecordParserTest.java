@@ -0,0 +1,407 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jxe.tests.core;
+
+import com.io7m.jxe.core.JXEHardenedSAXParsers;
+import com.io7m.jxe.core.JXERecord;
+import com.io7m.jxe.core.JXERecordParser;
+import com.io7m.jxe.core.JXERecordParserConfiguration;
+import com.io7m.jxe.core.JXESchemaDefinition;
+import com.io7m.jxe.core.JXESchemaDefinitions;
+import com.io7m.jxe.core.JXEValidatingReaderTemplate;
+import com.io7m.jxe.core.JXEXInclude;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.xml.sax.Attributes;
+import org.xml.sax.SAXException;
+import org.xml.sax.SAXParseException;
+import org.xml.sax.helpers.DefaultHandler;
+
+import javax.xml.parsers.SAXParserFactory;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+
+public class JXERecordParserTest
+{
+  private static final URI RECORDS_NAMESPACE =
+    URI.create("urn:com.io7m.example:records:1:0");
+
+  private Path tmpdir;
+  private JXEValidatingReaderTemplate template;
+
+  @BeforeEach
+  public void setUp()
+    throws Exception
+  {
+    this.tmpdir =
+      Files.createTempDirectory("jxe-tests-");
+
+    final var parsers =
+      new JXEHardenedSAXParsers(SAXParserFactory::newNSInstance);
+
+    this.template =
+      parsers.createValidatingReaderTemplate(
+        Optional.of(this.tmpdir),
+        JXEXInclude.XINCLUDE_DISABLED,
+        JXESchemaDefinitions.mappingsOf(
+          JXESchemaDefinition.of(
+            RECORDS_NAMESPACE,
+            "/schema_records_1_0.xsd",
+            JXERecordParserTest.class.getResource("records.xsd"))
+        )
+      );
+  }
+
+  @Test
+  public void testParseInOrder()
+    throws Exception
+  {
+    final var file = this.writeRecords(5000, -1);
+    final var parser = this.parser(4, 1024L);
+
+    final var received = new ArrayList<Record>();
+    final var count = parser.parse(file, record -> {
+      received.add(replay(record));
+    });
+
+    Assertions.assertEquals(5000L, count);
+    Assertions.assertEquals(5000, received.size());
+    for (int index = 0; index < 5000; ++index) {
+      final var record = received.get(index);
+      Assertions.assertEquals(index, record.index);
+      Assertions.assertEquals(Integer.toString(index), record.id);
+      Assertions.assertEquals(
+        "Record " + index + " & more", record.text.toString());
+      Assertions.assertEquals(
+        List.of("r=" + RECORDS_NAMESPACE), record.prefixes);
+    }
+  }
+
+  @Test
+  public void testParseForkJoinPool()
+    throws Exception
+  {
+    final var pool = new ForkJoinPool(2);
+
+    try {
+      final var file = this.writeRecords(1000, -1);
+      final var parser =
+        JXERecordParser.create(
+          JXERecordParserConfiguration.builder()
+            .setTemplate(this.template)
+            .setMaximumConcurrency(2)
+            .setChunkSize(512L)
+            .setPool(pool)
+            .build()
+        );
+
+      final var received = new ArrayList<Long>();
+      parser.parse(file, record -> received.add(Long.valueOf(record.index())));
+
+      Assertions.assertEquals(1000, received.size());
+      for (int index = 0; index < 1000; ++index) {
+        Assertions.assertEquals(index, received.get(index).longValue());
+      }
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  public void testParseSingleChunk()
+    throws Exception
+  {
+    final var file = this.writeRecords(3, -1);
+    final var parser = this.parser(4, 1L << 20);
+
+    final var received = new ArrayList<Record>();
+    parser.parse(file, record -> received.add(replay(record)));
+    Assertions.assertEquals(3, received.size());
+  }
+
+  @Test
+  public void testParseInvalidRecord()
+    throws Exception
+  {
+    final var file = this.writeRecords(5000, 3000);
+    final var parser = this.parser(4, 1024L);
+
+    final var received = new ArrayList<Record>();
+    final var ex =
+      Assertions.assertThrows(SAXParseException.class, () -> {
+        parser.parse(file, record -> received.add(replay(record)));
+      });
+
+    Assertions.assertEquals(3000, received.size());
+    Assertions.assertEquals(file.toUri().toString(), ex.getSystemId());
+
+    final var lines = Files.readAllLines(file);
+    Assertions.assertTrue(
+      lines.get(ex.getLineNumber() - 1).contains("id=\"x\""),
+      lines.get(ex.getLineNumber() - 1)
+    );
+  }
+
+  @Test
+  public void testParseTruncated()
+    throws Exception
+  {
+    final var file = this.tmpdir.resolve("truncated.xml");
+    final var text =
+      Files.readString(this.writeRecords(100, -1), StandardCharsets.UTF_8);
+    Files.writeString(file, text.substring(0, text.length() - 20));
+
+    final var parser = this.parser(2, 256L);
+    Assertions.assertThrows(SAXParseException.class, () -> {
+      parser.parse(file, record -> {
+
+      });
+    });
+  }
+
+  @Test
+  public void testParseTrailingContent()
+    throws Exception
+  {
+    final var file = this.tmpdir.resolve("trailing.xml");
+    final var text =
+      Files.readString(this.writeRecords(100, -1), StandardCharsets.UTF_8);
+    Files.writeString(file, text + "<records/>");
+
+    final var parser = this.parser(2, 256L);
+    Assertions.assertThrows(SAXParseException.class, () -> {
+      parser.parse(file, record -> {
+
+      });
+    });
+  }
+
+  @Test
+  public void testParseExternalEntityRefused()
+    throws Exception
+  {
+    final var text = new StringBuilder(256);
+    text.append("<?xml version=\"1.0\" encoding=\"UTF-8\" ?>\n");
+    text.append("<!DOCTYPE r:records [\n");
+    text.append("  <!ENTITY passwd SYSTEM \"file:///etc/passwd\">\n");
+    text.append("]>\n");
+    text.append("<r:records xmlns:r=\"");
+    text.append(RECORDS_NAMESPACE);
+    text.append("\">\n");
+    for (int index = 0; index < 100; ++index) {
+      text.append("  <r:record id=\"%d\">&passwd;</r:record>\n".formatted(
+        Integer.valueOf(index)));
+    }
+    text.append("</r:records>\n");
+
+    final var file = this.tmpdir.resolve("entity.xml");
+    Files.writeString(file, text.toString());
+
+    final var parser = this.parser(2, 256L);
+    Assertions.assertThrows(SAXException.class, () -> {
+      parser.parse(file, record -> {
+        final var content = replay(record).text.toString();
+        Assertions.assertFalse(content.contains("root:"));
+      });
+    });
+  }
+
+  @Test
+  public void testParseEncodingUnsupported()
+    throws Exception
+  {
+    final var file = this.tmpdir.resolve("utf16.xml");
+    Files.writeString(
+      file,
+      "<?xml version=\"1.0\" encoding=\"UTF-16\" ?><records/>",
+      StandardCharsets.UTF_16
+    );
+
+    final var parser = this.parser(2, 256L);
+    Assertions.assertThrows(SAXParseException.class, () -> {
+      parser.parse(file, record -> {
+
+      });
+    });
+  }
+
+  @Test
+  public void testParseMalformedPrologueComment()
+    throws Exception
+  {
+    final var file = this.tmpdir.resolve("comment.xml");
+    Files.writeString(
+      file,
+      "<?xml version=\"1.0\" encoding=\"UTF-8\" ?>\n"
+        + "<!-x <r:records xmlns:r=\"" + RECORDS_NAMESPACE + "\"> -->\n"
+        + "<r:records xmlns:r=\"" + RECORDS_NAMESPACE + "\">\n"
+        + "  <r:record id=\"0\">Record</r:record>\n"
+        + "</r:records>\n"
+    );
+
+    final var parser = this.parser(2, 256L);
+    Assertions.assertThrows(SAXParseException.class, () -> {
+      parser.parse(file, record -> {
+
+      });
+    });
+  }
+
+  @Test
+  public void testReceiverAborts()
+    throws Exception
+  {
+    final var file = this.writeRecords(1000, -1);
+    final var parser = this.parser(4, 256L);
+
+    final var ex =
+      Assertions.assertThrows(SAXException.class, () -> {
+        parser.parse(file, record -> {
+          if (record.index() == 10L) {
+            throw new SAXException("Stop!");
+          }
+        });
+      });
+    Assertions.assertEquals("Stop!", ex.getMessage());
+  }
+
+  @Test
+  public void testChunkSizeInvalid()
+  {
+    Assertions.assertThrows(IllegalArgumentException.class, () -> {
+      JXERecordParserConfiguration.builder()
+        .setTemplate(this.template)
+        .setChunkSize(0L)
+        .build();
+    });
+  }
+
+  @Test
+  public void testConcurrencyInvalid()
+  {
+    Assertions.assertThrows(IllegalArgumentException.class, () -> {
+      JXERecordParserConfiguration.builder()
+        .setTemplate(this.template)
+        .setMaximumConcurrency(0)
+        .build();
+    });
+  }
+
+  private JXERecordParser parser(
+    final int concurrency,
+    final long chunkSize)
+  {
+    return JXERecordParser.create(
+      JXERecordParserConfiguration.builder()
+        .setTemplate(this.template)
+        .setMaximumConcurrency(concurrency)
+        .setChunkSize(chunkSize)
+        .build()
+    );
+  }
+
+  private Path writeRecords(
+    final int count,
+    final int invalid)
+    throws Exception
+  {
+    final var text = new StringBuilder(count * 64);
+    text.append("<?xml version=\"1.0\" encoding=\"UTF-8\" ?>\n");
+    text.append("<!-- A comment containing <r:record> -->\n");
+    text.append("<r:records xmlns:r=\"");
+    text.append(RECORDS_NAMESPACE);
+    text.append("\">\n");
+
+    for (int index = 0; index < count; ++index) {
+      final var id =
+        index == invalid ? "x" : Integer.toString(index);
+      text.append("  <r:record id=\"");
+      text.append(id);
+      text.append("\">Record <![CDATA[");
+      text.append(index);
+      text.append("]]><!-- </r:records> --> &amp; more</r:record>\n");
+    }
+
+    text.append("</r:records>\n");
+
+    final var file = Files.createTempFile(this.tmpdir, "records-", ".xml");
+    Files.writeString(file, text.toString(), StandardCharsets.UTF_8);
+    return file;
+  }
+
+  private static Record replay(
+    final JXERecord record)
+    throws SAXException
+  {
+    final var result = new Record(record.index());
+    record.recording().replay(new DefaultHandler()
+    {
+      @Override
+      public void startPrefixMapping(
+        final String prefix,
+        final String uri)
+      {
+        result.prefixes.add(prefix + "=" + uri);
+      }
+
+      @Override
+      public void startElement(
+        final String uri,
+        final String localName,
+        final String qName,
+        final Attributes attributes)
+      {
+        Assertions.assertEquals(RECORDS_NAMESPACE.toString(), uri);
+        Assertions.assertEquals("record", localName);
+        result.id = attributes.getValue("id");
+      }
+
+      @Override
+      public void characters(
+        final char[] ch,
+        final int start,
+        final int length)
+      {
+        result.text.append(ch, start, length);
+      }
+    });
+    return result;
+  }
+
+  private static final class Record
+  {
+    private final long index;
+    private final List<String> prefixes;
+    private final StringBuilder text;
+    private String id;
+
+    Record(
+      final long inIndex)
+    {
+      this.index = inIndex;
+      this.prefixes = new ArrayList<>();
+      this.text = new StringBuilder();
+    }
+  }
+}
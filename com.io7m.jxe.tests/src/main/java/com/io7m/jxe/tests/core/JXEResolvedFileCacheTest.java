@@ -0,0 +1,216 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jxe.tests.core;
+
+import com.io7m.jxe.core.JXEHardenedDispatchingResolver;
+import com.io7m.jxe.core.JXEResolvedFileCache;
+import com.io7m.jxe.core.JXEResolverConfiguration;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.xml.sax.SAXException;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+
+public final class JXEResolvedFileCacheTest
+{
+  private Path tmpdir;
+  private Path base;
+
+  @BeforeEach
+  public void setUp()
+    throws IOException
+  {
+    this.tmpdir = Files.createTempDirectory("jxe-tests-");
+    this.base = Files.createDirectories(this.tmpdir.resolve("base"));
+  }
+
+  private JXEHardenedDispatchingResolver resolver(
+    final JXEResolvedFileCache cache)
+  {
+    return JXEHardenedDispatchingResolver.create(
+      JXEResolverConfiguration.builder()
+        .setBaseDirectory(this.base)
+        .setFileCache(cache)
+        .build()
+    );
+  }
+
+  private static String read(
+    final JXEHardenedDispatchingResolver resolver,
+    final String systemId)
+    throws Exception
+  {
+    final var source = resolver.resolveEntity(null, null, null, systemId);
+    try (var stream = source.getByteStream()) {
+      return new String(stream.readAllBytes(), StandardCharsets.UTF_8);
+    }
+  }
+
+  private void write(
+    final String name,
+    final String text)
+    throws IOException
+  {
+    Files.writeString(this.base.resolve(name), text, StandardCharsets.UTF_8);
+  }
+
+  @Test
+  public void testRepeatedResolutionHits()
+    throws Exception
+  {
+    this.write("a.xml", "<a/>");
+
+    final var cache = JXEResolvedFileCache.create(1024L);
+    final var resolver = this.resolver(cache);
+
+    Assertions.assertEquals("<a/>", read(resolver, "a.xml"));
+    Assertions.assertEquals("<a/>", read(resolver, "a.xml"));
+    Assertions.assertEquals("<a/>", read(resolver, "a.xml"));
+
+    Assertions.assertEquals(1L, cache.misses());
+    Assertions.assertEquals(2L, cache.hits());
+    Assertions.assertEquals(1, cache.size());
+    Assertions.assertEquals(4L, cache.sizeInBytes());
+  }
+
+  @Test
+  public void testSharedAcrossResolvers()
+    throws Exception
+  {
+    this.write("a.xml", "<a/>");
+
+    final var cache = JXEResolvedFileCache.create(1024L);
+    Assertions.assertEquals("<a/>", read(this.resolver(cache), "a.xml"));
+    Assertions.assertEquals("<a/>", read(this.resolver(cache), "a.xml"));
+
+    Assertions.assertEquals(1L, cache.misses());
+    Assertions.assertEquals(1L, cache.hits());
+  }
+
+  @Test
+  public void testModifiedFileReread()
+    throws Exception
+  {
+    this.write("a.xml", "<a/>");
+
+    final var cache = JXEResolvedFileCache.create(1024L);
+    final var resolver = this.resolver(cache);
+
+    Assertions.assertEquals("<a/>", read(resolver, "a.xml"));
+    this.write("a.xml", "<abc/>");
+    Assertions.assertEquals("<abc/>", read(resolver, "a.xml"));
+
+    Assertions.assertEquals(2L, cache.misses());
+    Assertions.assertEquals(6L, cache.sizeInBytes());
+  }
+
+  @Test
+  public void testDeletedFileRefused()
+    throws Exception
+  {
+    this.write("a.xml", "<a/>");
+
+    final var cache = JXEResolvedFileCache.create(1024L);
+    final var resolver = this.resolver(cache);
+
+    Assertions.assertEquals("<a/>", read(resolver, "a.xml"));
+    Files.delete(this.base.resolve("a.xml"));
+
+    Assertions.assertThrows(NoSuchFileException.class, () -> {
+      read(resolver, "a.xml");
+    });
+  }
+
+  @Test
+  public void testBoundedByBytes()
+    throws Exception
+  {
+    this.write("a.xml", "<aaaa/>");
+    this.write("b.xml", "<bbbb/>");
+    this.write("c.xml", "<cccccccccccccc/>");
+
+    final var cache = JXEResolvedFileCache.create(14L);
+    final var resolver = this.resolver(cache);
+
+    read(resolver, "a.xml");
+    read(resolver, "b.xml");
+    Assertions.assertEquals(2, cache.size());
+    Assertions.assertEquals(14L, cache.sizeInBytes());
+
+    /*
+     * Files larger than the bound are served but never cached.
+     */
+
+    Assertions.assertEquals("<cccccccccccccc/>", read(resolver, "c.xml"));
+    Assertions.assertEquals(2, cache.size());
+
+    this.write("d.xml", "<d/>");
+    read(resolver, "d.xml");
+    Assertions.assertEquals(2, cache.size());
+    Assertions.assertEquals(11L, cache.sizeInBytes());
+  }
+
+  @Test
+  public void testTraversalStillRefused()
+    throws Exception
+  {
+    Files.writeString(this.tmpdir.resolve("outside.xml"), "<x/>");
+
+    final var cache = JXEResolvedFileCache.create(1024L);
+    final var resolver = this.resolver(cache);
+
+    for (int index = 0; index < 2; ++index) {
+      final var ex =
+        Assertions.assertThrows(SAXException.class, () -> {
+          read(resolver, "../outside.xml");
+        });
+      Assertions.assertTrue(
+        ex.getMessage().contains("above the base directory"));
+    }
+    Assertions.assertEquals(0, cache.size());
+  }
+
+  @Test
+  public void testClear()
+    throws Exception
+  {
+    this.write("a.xml", "<a/>");
+
+    final var cache = JXEResolvedFileCache.create(1024L);
+    read(this.resolver(cache), "a.xml");
+    cache.clear();
+
+    Assertions.assertEquals(0, cache.size());
+    Assertions.assertEquals(0L, cache.sizeInBytes());
+  }
+
+  @Test
+  public void testInvalidBounds()
+  {
+    Assertions.assertThrows(IllegalArgumentException.class, () -> {
+      JXEResolvedFileCache.create(-1L);
+    });
+    Assertions.assertThrows(IllegalArgumentException.class, () -> {
+      JXEResolvedFileCache.create(1L, 0);
+    });
+  }
+}
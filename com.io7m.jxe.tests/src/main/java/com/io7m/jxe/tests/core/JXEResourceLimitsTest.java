@@ -0,0 +1,239 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jxe.tests.core;
+
+import com.io7m.jxe.core.JXEHardenedSAXParsers;
+import com.io7m.jxe.core.JXEHardenedSAXParsersConfiguration;
+import com.io7m.jxe.core.JXEResourceLimits;
+import com.io7m.jxe.core.JXESchemaDefinition;
+import com.io7m.jxe.core.JXESchemaDefinitions;
+import com.io7m.jxe.core.JXEXInclude;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXParseException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
+
+import javax.xml.parsers.SAXParserFactory;
+import java.io.StringReader;
+import java.net.URI;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class JXEResourceLimitsTest
+{
+  private static final URI SIMPLE_NAMESPACE =
+    URI.create("urn:com.io7m.example:simple:1:0");
+
+  private static JXEHardenedSAXParsers parsers(
+    final JXEResourceLimits limits)
+  {
+    return new JXEHardenedSAXParsers(
+      JXEHardenedSAXParsersConfiguration.builder()
+        .setParsers(SAXParserFactory::newNSInstance)
+        .setResourceLimits(limits)
+        .build()
+    );
+  }
+
+  private static XMLReader nonValidating(
+    final JXEResourceLimits limits)
+    throws Exception
+  {
+    return parsers(limits).createXMLReaderNonValidating(
+      Optional.empty(),
+      JXEXInclude.XINCLUDE_DISABLED
+    );
+  }
+
+  private static void parse(
+    final XMLReader reader,
+    final String text)
+    throws Exception
+  {
+    reader.parse(new InputSource(new StringReader(text)));
+  }
+
+  private static void checkRejected(
+    final XMLReader reader,
+    final String text)
+  {
+    final var errors = new AtomicInteger();
+    reader.setErrorHandler(new DefaultHandler()
+    {
+      @Override
+      public void fatalError(
+        final SAXParseException e)
+      {
+        errors.incrementAndGet();
+      }
+    });
+
+    Assertions.assertThrows(SAXParseException.class, () -> {
+      parse(reader, text);
+    });
+    Assertions.assertTrue(errors.get() > 0);
+  }
+
+  @Test
+  public void testWithinLimits()
+    throws Exception
+  {
+    final var reader =
+      nonValidating(
+        JXEResourceLimits.builder()
+          .setMaximumElementDepth(3)
+          .setMaximumAttributeCount(2)
+          .setMaximumNameLength(4)
+          .setMaximumTotalCharacters(8L)
+          .build()
+      );
+
+    parse(reader, "<a x='1' y='2'><b><c>abcd</c></b>efgh</a>");
+  }
+
+  @Test
+  public void testElementDepthExceeded()
+    throws Exception
+  {
+    final var reader =
+      nonValidating(
+        JXEResourceLimits.builder()
+          .setMaximumElementDepth(2)
+          .build()
+      );
+
+    checkRejected(reader, "<a><b><c/></b></a>");
+  }
+
+  @Test
+  public void testAttributeCountExceeded()
+    throws Exception
+  {
+    final var reader =
+      nonValidating(
+        JXEResourceLimits.builder()
+          .setMaximumAttributeCount(2)
+          .build()
+      );
+
+    checkRejected(reader, "<a x='1' y='2' z='3'/>");
+  }
+
+  @Test
+  public void testNameLengthExceeded()
+    throws Exception
+  {
+    final var reader =
+      nonValidating(
+        JXEResourceLimits.builder()
+          .setMaximumNameLength(4)
+          .build()
+      );
+
+    checkRejected(reader, "<a><abcdefgh/></a>");
+  }
+
+  @Test
+  public void testTotalCharactersExceeded()
+    throws Exception
+  {
+    final var reader =
+      nonValidating(
+        JXEResourceLimits.builder()
+          .setMaximumTotalCharacters(8L)
+          .build()
+      );
+
+    checkRejected(reader, "<a>abcd<b>efgh</b>i</a>");
+  }
+
+  @Test
+  public void testEntitySizeExceeded()
+    throws Exception
+  {
+    final var reader =
+      nonValidating(
+        JXEResourceLimits.builder()
+          .setMaximumTotalEntitySize(15L)
+          .build()
+      );
+
+    checkRejected(
+      reader,
+      "<!DOCTYPE a [<!ENTITY e 'xxxxxxxxxx'>]><a>&e;&e;</a>"
+    );
+  }
+
+  @Test
+  public void testValidatingElementDepthExceeded()
+    throws Exception
+  {
+    final var template =
+      parsers(
+        JXEResourceLimits.builder()
+          .setMaximumElementDepth(1)
+          .build()
+      ).createValidatingReaderTemplate(
+        Optional.empty(),
+        JXEXInclude.XINCLUDE_DISABLED,
+        JXESchemaDefinitions.mappingsOf(
+          JXESchemaDefinition.of(
+            SIMPLE_NAMESPACE,
+            "/schema_simple_1_0.xsd",
+            JXEResourceLimitsTest.class.getResource("simple.xsd"))
+        ));
+
+    checkRejected(
+      template.newReader(),
+      "<simple xmlns='urn:com.io7m.example:simple:1:0'><x/></simple>"
+    );
+  }
+
+  @Test
+  public void testPooledReaderLimitsReset()
+    throws Exception
+  {
+    final var template =
+      parsers(
+        JXEResourceLimits.builder()
+          .setMaximumTotalCharacters(8L)
+          .build()
+      ).createNonValidatingReaderTemplate(
+        Optional.empty(),
+        JXEXInclude.XINCLUDE_DISABLED
+      );
+
+    final var pool = template.createPool(1);
+    for (int index = 0; index < 4; ++index) {
+      try (var borrowed = pool.borrow()) {
+        parse(borrowed.reader(), "<a>abcdefgh</a>");
+      }
+    }
+  }
+
+  @Test
+  public void testNegativeLimit()
+  {
+    Assertions.assertThrows(IllegalArgumentException.class, () -> {
+      JXEResourceLimits.builder()
+        .setMaximumElementDepth(-1)
+        .build();
+    });
+  }
+}
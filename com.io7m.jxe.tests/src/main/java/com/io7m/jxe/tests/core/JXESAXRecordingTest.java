@@ -0,0 +1,345 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jxe.tests.core;
+
+import com.io7m.jxe.core.JXEHardenedSAXParsers;
+import com.io7m.jxe.core.JXESAXRecorder;
+import com.io7m.jxe.core.JXESAXRecording;
+import com.io7m.jxe.core.JXESchemaDefinition;
+import com.io7m.jxe.core.JXESchemaDefinitions;
+import com.io7m.jxe.core.JXEXInclude;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.xml.sax.Attributes;
+import org.xml.sax.ContentHandler;
+import org.xml.sax.InputSource;
+import org.xml.sax.Locator;
+import org.xml.sax.SAXException;
+import org.xml.sax.SAXParseException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
+
+import javax.xml.parsers.SAXParserFactory;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class JXESAXRecordingTest
+{
+  private static final URI SIMPLE_NAMESPACE =
+    URI.create("urn:com.io7m.example:simple:1:0");
+
+  private static final String DOCUMENT = """
+    <?xml version="1.0" encoding="UTF-8"?>
+    <r:root xmlns:r="urn:root" xmlns="urn:default" a="1" r:b="two">
+      <?target some data?>
+      <item id="x">Hello &amp; goodbye.</item>
+      <item id="y">%s</item>
+      <empty/>
+      <r:item><![CDATA[<not markup>]]></r:item>
+    </r:root>
+    """.formatted("Long text. ".repeat(100));
+
+  private JXEHardenedSAXParsers parsers;
+
+  @BeforeEach
+  public void setUp()
+  {
+    this.parsers =
+      new JXEHardenedSAXParsers(SAXParserFactory::newNSInstance);
+  }
+
+  private XMLReader reader()
+    throws Exception
+  {
+    return this.parsers.createXMLReaderNonValidating(
+      Optional.empty(), JXEXInclude.XINCLUDE_DISABLED);
+  }
+
+  private String parseTrace()
+    throws Exception
+  {
+    final var trace = new Trace();
+    final var reader = this.reader();
+    reader.setContentHandler(trace);
+    reader.parse(new InputSource(new StringReader(DOCUMENT)));
+    return trace.text.toString();
+  }
+
+  private JXESAXRecording record()
+    throws Exception
+  {
+    final var recorder = JXESAXRecorder.create();
+    final var reader = this.reader();
+    reader.setContentHandler(recorder);
+    reader.parse(new InputSource(new StringReader(DOCUMENT)));
+    return recorder.recording();
+  }
+
+  private static String replayTrace(
+    final JXESAXRecording recording)
+    throws SAXException
+  {
+    final var trace = new Trace();
+    recording.replay(trace);
+    return trace.text.toString();
+  }
+
+  @Test
+  public void testReplayIdentical()
+    throws Exception
+  {
+    final var expected = this.parseTrace();
+    final var recording = this.record();
+
+    Assertions.assertEquals(expected, replayTrace(recording));
+    Assertions.assertEquals(expected, replayTrace(recording));
+  }
+
+  @Test
+  public void testStringsDeduplicated()
+    throws Exception
+  {
+    final var recording = this.record();
+
+    /*
+     * The repeated element names and indentation are stored once.
+     */
+
+    Assertions.assertTrue(recording.stringCount() < 30);
+    Assertions.assertTrue(recording.textSizeInChars() >= 1100);
+    Assertions.assertTrue(recording.eventsSizeInBytes() < 200);
+  }
+
+  @Test
+  public void testReplayConcurrent()
+    throws Exception
+  {
+    final var expected = this.parseTrace();
+    final var recording = this.record();
+
+    final var executor = Executors.newFixedThreadPool(4);
+
+    try {
+      final var futures = new ArrayList<Future<String>>();
+      for (int index = 0; index < 64; ++index) {
+        final Callable<String> task = () -> replayTrace(recording);
+        futures.add(executor.submit(task));
+      }
+      for (final var future : futures) {
+        Assertions.assertEquals(expected, future.get());
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  public void testReplayValidated()
+    throws Exception
+  {
+    final var reader =
+      this.parsers.createXMLReader(
+        Optional.empty(),
+        JXEXInclude.XINCLUDE_DISABLED,
+        JXESchemaDefinitions.mappingsOf(
+          JXESchemaDefinition.of(
+            SIMPLE_NAMESPACE,
+            "/schema_simple_1_0.xsd",
+            JXESAXRecordingTest.class.getResource("simple.xsd"))
+        ));
+
+    final var recorder = JXESAXRecorder.create();
+    reader.setContentHandler(recorder);
+    reader.setErrorHandler(new DefaultHandler()
+    {
+      @Override
+      public void error(
+        final SAXParseException e)
+        throws SAXException
+      {
+        throw e;
+      }
+    });
+
+    try (InputStream input =
+           JXESAXRecordingTest.class.getResourceAsStream("simple_valid.xml")) {
+      reader.parse(new InputSource(input));
+    }
+
+    final var trace = replayTrace(recorder.recording());
+    Assertions.assertTrue(
+      trace.contains("start {urn:com.io7m.example:simple:1:0}simple"),
+      trace);
+    Assertions.assertTrue(trace.contains("Hello."), trace);
+  }
+
+  @Test
+  public void testReplayBufferSizedToLongestText()
+    throws Exception
+  {
+    final var empty = JXESAXRecorder.create();
+    empty.startDocument();
+    empty.endDocument();
+    Assertions.assertEquals(0, empty.recording().longestTextInChars());
+    Assertions.assertEquals(
+      "startDocument\nendDocument\n",
+      replayTrace(empty.recording()));
+
+    final var recorder = JXESAXRecorder.create();
+    recorder.startDocument();
+    recorder.characters("xabcx".toCharArray(), 1, 3);
+    recorder.characters("de".toCharArray(), 0, 2);
+    recorder.endDocument();
+    Assertions.assertEquals(3, recorder.recording().longestTextInChars());
+    Assertions.assertEquals(
+      "startDocument\nchars abc\nchars de\nendDocument\n",
+      replayTrace(recorder.recording()));
+
+    /*
+     * The parser may deliver the long text in more than one chunk.
+     */
+
+    final var recording = this.record();
+    Assertions.assertTrue(recording.longestTextInChars() > 64);
+    Assertions.assertTrue(recording.longestTextInChars() <= 1100);
+    Assertions.assertEquals(this.parseTrace(), replayTrace(recording));
+  }
+
+  @Test
+  public void testRecordingIncomplete()
+  {
+    final var recorder = JXESAXRecorder.create();
+    recorder.startDocument();
+    Assertions.assertThrows(IllegalStateException.class, recorder::recording);
+  }
+
+  private static final class Trace implements ContentHandler
+  {
+    private final StringBuilder text = new StringBuilder();
+
+    Trace()
+    {
+
+    }
+
+    @Override
+    public void setDocumentLocator(
+      final Locator locator)
+    {
+
+    }
+
+    @Override
+    public void startDocument()
+    {
+      this.text.append("startDocument\n");
+    }
+
+    @Override
+    public void endDocument()
+    {
+      this.text.append("endDocument\n");
+    }
+
+    @Override
+    public void startPrefixMapping(
+      final String prefix,
+      final String uri)
+    {
+      this.text.append("prefix ").append(prefix).append(' ').append(uri)
+        .append('\n');
+    }
+
+    @Override
+    public void endPrefixMapping(
+      final String prefix)
+    {
+      this.text.append("endPrefix ").append(prefix).append('\n');
+    }
+
+    @Override
+    public void startElement(
+      final String uri,
+      final String localName,
+      final String qName,
+      final Attributes atts)
+    {
+      this.text.append("start {").append(uri).append('}').append(localName)
+        .append(' ').append(qName);
+      for (int index = 0; index < atts.getLength(); ++index) {
+        this.text.append(" [")
+          .append(atts.getURI(index)).append('|')
+          .append(atts.getLocalName(index)).append('|')
+          .append(atts.getQName(index)).append('|')
+          .append(atts.getType(index)).append('|')
+          .append(atts.getValue(index)).append(']');
+      }
+      this.text.append('\n');
+    }
+
+    @Override
+    public void endElement(
+      final String uri,
+      final String localName,
+      final String qName)
+    {
+      this.text.append("end {").append(uri).append('}').append(localName)
+        .append(' ').append(qName).append('\n');
+    }
+
+    @Override
+    public void characters(
+      final char[] ch,
+      final int start,
+      final int length)
+    {
+      this.text.append("chars ").append(ch, start, length).append('\n');
+    }
+
+    @Override
+    public void ignorableWhitespace(
+      final char[] ch,
+      final int start,
+      final int length)
+    {
+      this.text.append("ws ").append(ch, start, length).append('\n');
+    }
+
+    @Override
+    public void processingInstruction(
+      final String target,
+      final String data)
+    {
+      this.text.append("pi ").append(target).append(' ').append(data)
+        .append('\n');
+    }
+
+    @Override
+    public void skippedEntity(
+      final String name)
+    {
+      this.text.append("skipped ").append(name).append('\n');
+    }
+  }
+}
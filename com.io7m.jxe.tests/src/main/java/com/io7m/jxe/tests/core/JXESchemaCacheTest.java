@@ -0,0 +1,325 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jxe.tests.core;
+
+import com.io7m.jxe.core.JXEHardenedSAXParsers;
+import com.io7m.jxe.core.JXESchemaCache;
+import com.io7m.jxe.core.JXESchemaDefinition;
+import com.io7m.jxe.core.JXESchemaDefinitions;
+import com.io7m.jxe.core.JXESchemaResolutionMappings;
+import com.io7m.jxe.core.JXEXInclude;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.xml.sax.SAXException;
+
+import javax.xml.parsers.SAXParserFactory;
+import javax.xml.transform.stream.StreamSource;
+import javax.xml.validation.Schema;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Optional;
+
+public final class JXESchemaCacheTest
+{
+  private static final URI SIMPLE_NAMESPACE =
+    URI.create("urn:com.io7m.example:simple:1:0");
+  private static final URI IMPORTER_NAMESPACE =
+    URI.create("urn:com.io7m.example:importer:1:0");
+
+  private static JXESchemaResolutionMappings simpleMappings(
+    final String fileIdentifier)
+  {
+    return JXESchemaDefinitions.mappingsOf(
+      JXESchemaDefinition.of(
+        SIMPLE_NAMESPACE,
+        fileIdentifier,
+        JXESchemaCacheTest.class.getResource("simple.xsd"))
+    );
+  }
+
+  @Test
+  public void testCacheHit()
+    throws Exception
+  {
+    final var cache = JXESchemaCache.create();
+
+    final var schema0 =
+      cache.schemaFor(simpleMappings("/schema_simple_1_0.xsd"));
+    final var schema1 =
+      cache.schemaFor(simpleMappings("/schema_simple_1_0.xsd"));
+
+    Assertions.assertSame(schema0, schema1);
+
+    final var stats = cache.statistics();
+    Assertions.assertEquals(1L, stats.hits());
+    Assertions.assertEquals(1L, stats.misses());
+    Assertions.assertEquals(0L, stats.evictions());
+    Assertions.assertEquals(1, stats.size());
+    Assertions.assertEquals(JXESchemaCache.DEFAULT_MAXIMUM_SIZE, stats.maximumSize());
+  }
+
+  @Test
+  public void testCacheDistinctFileIdentifiers()
+    throws Exception
+  {
+    final var cache = JXESchemaCache.create();
+
+    final var schema0 =
+      cache.schemaFor(simpleMappings("/schema_simple_1_0.xsd"));
+    final var schema1 =
+      cache.schemaFor(simpleMappings("/other.xsd"));
+
+    Assertions.assertNotSame(schema0, schema1);
+
+    final var stats = cache.statistics();
+    Assertions.assertEquals(0L, stats.hits());
+    Assertions.assertEquals(2L, stats.misses());
+  }
+
+  @Test
+  public void testCacheEviction()
+    throws Exception
+  {
+    final var cache = JXESchemaCache.create(1);
+
+    final var schema0 =
+      cache.schemaFor(simpleMappings("/a.xsd"));
+    cache.schemaFor(simpleMappings("/b.xsd"));
+    final var schema2 =
+      cache.schemaFor(simpleMappings("/a.xsd"));
+
+    Assertions.assertNotSame(schema0, schema2);
+
+    final var stats = cache.statistics();
+    Assertions.assertEquals(0L, stats.hits());
+    Assertions.assertEquals(3L, stats.misses());
+    Assertions.assertEquals(2L, stats.evictions());
+    Assertions.assertEquals(1, stats.size());
+
+    cache.clear();
+    Assertions.assertEquals(0, cache.statistics().size());
+  }
+
+  @Test
+  public void testCacheFailureNotCached()
+  {
+    final var cache = JXESchemaCache.create();
+    final var mappings =
+      JXESchemaDefinitions.mappingsOf(
+        JXESchemaDefinition.of(
+          SIMPLE_NAMESPACE,
+          "/broken.xsd",
+          JXESchemaCacheTest.class.getResource("simple_ill_formed.xml"))
+      );
+
+    Assertions.assertThrows(SAXException.class, () -> {
+      cache.schemaFor(mappings);
+    });
+    Assertions.assertThrows(SAXException.class, () -> {
+      cache.schemaFor(mappings);
+    });
+
+    final var stats = cache.statistics();
+    Assertions.assertEquals(2L, stats.misses());
+    Assertions.assertEquals(0, stats.size());
+  }
+
+  @Test
+  public void testCacheInvalidSize()
+  {
+    Assertions.assertThrows(IllegalArgumentException.class, () -> {
+      JXESchemaCache.create(0);
+    });
+  }
+
+  @Test
+  public void testParsersReuseCompiledSchemas()
+    throws Exception
+  {
+    final var cache = JXESchemaCache.create();
+    final var parsers =
+      new JXEHardenedSAXParsers(SAXParserFactory::newNSInstance, cache);
+
+    Assertions.assertSame(cache, parsers.schemaCache());
+
+    for (int index = 0; index < 3; ++index) {
+      parsers.createXMLReader(
+        Optional.empty(),
+        JXEXInclude.XINCLUDE_DISABLED,
+        simpleMappings("/schema_simple_1_0.xsd")
+      );
+    }
+
+    final var stats = cache.statistics();
+    Assertions.assertEquals(2L, stats.hits());
+    Assertions.assertEquals(1L, stats.misses());
+  }
+
+  /*
+   * The importing schema is deliberately given to the schema factory before
+   * the schema that it imports.
+   */
+
+  private static JXESchemaResolutionMappings importerMappings(
+    final String importerIdentifier,
+    final String importerFile,
+    final String simpleIdentifier)
+  {
+    return JXESchemaResolutionMappings.builder()
+      .putMappings(
+        IMPORTER_NAMESPACE,
+        JXESchemaDefinition.of(
+          IMPORTER_NAMESPACE,
+          importerIdentifier,
+          JXESchemaCacheTest.class.getResource(importerFile)))
+      .putMappings(
+        SIMPLE_NAMESPACE,
+        JXESchemaDefinition.of(
+          SIMPLE_NAMESPACE,
+          simpleIdentifier,
+          JXESchemaCacheTest.class.getResource("simple.xsd")))
+      .build();
+  }
+
+  private static void validateImporter(
+    final Schema schema)
+    throws Exception
+  {
+    final var file =
+      JXESchemaCacheTest.class.getResource("importer_valid.xml");
+    try (var stream = file.openStream()) {
+      schema.newValidator()
+        .validate(new StreamSource(stream, file.toString()));
+    }
+  }
+
+  @Test
+  public void testImportServedFromMappings()
+    throws Exception
+  {
+    final var cache = JXESchemaCache.create();
+    final var mappings =
+      importerMappings(
+        "/schema_importer_1_0.xsd",
+        "importer_network.xsd",
+        "/schema_simple_1_0.xsd"
+      );
+
+    validateImporter(cache.schemaFor(mappings));
+  }
+
+  @Test
+  public void testImportLocationNotRead()
+    throws Exception
+  {
+    final var directory =
+      Files.createTempDirectory("jxe-tests-");
+    final var simpleFile =
+      directory.resolve("simple.xsd");
+
+    /*
+     * The import in the importing schema resolves to this file, which
+     * declares an incompatible element. The import must be served from the
+     * mappings instead.
+     */
+
+    Files.writeString(
+      simpleFile,
+      String.join(
+        "\n",
+        "<xsd:schema",
+        "  targetNamespace=\"urn:com.io7m.example:simple:1:0\"",
+        "  xmlns:xsd=\"http://www.w3.org/2001/XMLSchema\">",
+        "  <xsd:element name=\"simple\" type=\"xsd:int\"/>",
+        "</xsd:schema>"
+      ),
+      StandardCharsets.UTF_8
+    );
+
+    final var cache = JXESchemaCache.create();
+    final var mappings =
+      importerMappings(
+        directory.resolve("importer.xsd").toUri().toString(),
+        "importer.xsd",
+        simpleFile.toUri().toString()
+      );
+
+    validateImporter(cache.schemaFor(mappings));
+  }
+
+  @Test
+  public void testImportUnmappedRefused()
+    throws Exception
+  {
+    final var directory =
+      Files.createTempDirectory("jxe-tests-");
+    final var importerFile =
+      directory.resolve("importer.xsd");
+    final var unmappedFile =
+      directory.resolve("unmapped.xsd");
+
+    /*
+     * The imported schema exists next to the importing schema, but its
+     * namespace is not in the mappings, and so it must not be loaded.
+     */
+
+    Files.writeString(
+      importerFile,
+      String.join(
+        "\n",
+        "<xsd:schema",
+        "  targetNamespace=\"urn:com.io7m.example:importer:1:0\"",
+        "  xmlns:xsd=\"http://www.w3.org/2001/XMLSchema\">",
+        "  <xsd:import",
+        "    namespace=\"urn:com.io7m.example:unmapped:1:0\"",
+        "    schemaLocation=\"unmapped.xsd\"/>",
+        "</xsd:schema>"
+      ),
+      StandardCharsets.UTF_8
+    );
+    Files.writeString(
+      unmappedFile,
+      String.join(
+        "\n",
+        "<xsd:schema",
+        "  targetNamespace=\"urn:com.io7m.example:unmapped:1:0\"",
+        "  xmlns:xsd=\"http://www.w3.org/2001/XMLSchema\">",
+        "  <xsd:element name=\"unmapped\" type=\"xsd:int\"/>",
+        "</xsd:schema>"
+      ),
+      StandardCharsets.UTF_8
+    );
+
+    final var cache = JXESchemaCache.create();
+    final var mappings =
+      JXESchemaDefinitions.mappingsOf(
+        JXESchemaDefinition.of(
+          IMPORTER_NAMESPACE,
+          importerFile.toUri().toString(),
+          importerFile.toUri().toURL())
+      );
+
+    final var ex =
+      Assertions.assertThrows(SAXException.class, () -> {
+        cache.schemaFor(mappings);
+      });
+    Assertions.assertTrue(
+      ex.getMessage().contains("Refusing to load a resource"),
+      ex.getMessage());
+  }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jxe.tests.core;
+
+import com.io7m.jxe.core.JXEHardenedDispatchingResolver;
+import com.io7m.jxe.core.JXESchemaCache;
+import com.io7m.jxe.core.JXESchemaContentCache;
+import com.io7m.jxe.core.JXESchemaDefinition;
+import com.io7m.jxe.core.JXESchemaDefinitions;
+import com.io7m.jxe.core.JXESchemaResolutionMappings;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.ReadOnlyBufferException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+public final class JXESchemaContentCacheTest
+{
+  private static final URI SIMPLE_NAMESPACE =
+    URI.create("urn:com.io7m.example:simple:1:0");
+
+  private Path tmpdir;
+  private Path schemaFile;
+  private JXESchemaResolutionMappings mappings;
+
+  @BeforeEach
+  public void setUp()
+    throws Exception
+  {
+    this.tmpdir =
+      Files.createTempDirectory("jxe-tests-");
+    this.schemaFile =
+      this.tmpdir.resolve("simple.xsd");
+
+    try (InputStream stream =
+           JXESchemaContentCacheTest.class.getResourceAsStream("simple.xsd")) {
+      Files.copy(stream, this.schemaFile);
+    }
+
+    this.mappings =
+      JXESchemaDefinitions.mappingsOf(
+        JXESchemaDefinition.of(
+          SIMPLE_NAMESPACE,
+          "/schema_simple_1_0.xsd",
+          this.schemaFile.toUri().toURL())
+      );
+  }
+
+  @Test
+  public void testPreloadServesWithoutLocation()
+    throws Exception
+  {
+    final var contents = JXESchemaContentCache.create();
+    contents.preload(this.mappings);
+
+    Assertions.assertEquals(1, contents.size());
+    Assertions.assertEquals(Files.size(this.schemaFile), contents.sizeInBytes());
+
+    Files.delete(this.schemaFile);
+
+    final var definition =
+      this.mappings.mappings().get(SIMPLE_NAMESPACE);
+    final var buffer =
+      contents.content(definition);
+
+    Assertions.assertTrue(buffer.isReadOnly());
+    Assertions.assertThrows(ReadOnlyBufferException.class, () -> {
+      buffer.put(0, (byte) 0);
+    });
+
+    final var schemas = JXESchemaCache.create(4, contents);
+    Assertions.assertSame(contents, schemas.contentCache());
+    Assertions.assertNotNull(schemas.schemaFor(this.mappings));
+
+    final var resolver =
+      JXEHardenedDispatchingResolver.create(
+        Optional.empty(), this.mappings, contents);
+    final var source =
+      resolver.resolveEntity(null, null, null, "/schema_simple_1_0.xsd");
+
+    try (var stream = source.getByteStream()) {
+      Assertions.assertEquals(buffer.capacity(), stream.readAllBytes().length);
+    }
+  }
+
+  @Test
+  public void testSchemaCacheLoadsOnce()
+    throws Exception
+  {
+    final var schemas = JXESchemaCache.create();
+    schemas.schemaFor(this.mappings);
+
+    Files.delete(this.schemaFile);
+
+    schemas.clear();
+    Assertions.assertNotNull(schemas.schemaFor(this.mappings));
+    Assertions.assertEquals(1, schemas.contentCache().size());
+  }
+}
@@ -0,0 +1,451 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jxe.tests.core;
+
+import com.io7m.jxe.core.JXEHardenedSAXParsers;
+import com.io7m.jxe.core.JXEHardenedSAXParsersConfiguration;
+import com.io7m.jxe.core.JXESchemaDefinition;
+import com.io7m.jxe.core.JXESchemaDefinitions;
+import com.io7m.jxe.core.JXESchemaResolutionMappings;
+import com.io7m.jxe.core.JXEValidatingReaderTemplate;
+import com.io7m.jxe.core.JXEXInclude;
+import com.io7m.jxe.core.JXEXercesGrammarPool;
+import com.io7m.jxe.core.JXEXercesSymbolTable;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.xml.sax.ErrorHandler;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.SAXParseException;
+
+import javax.xml.parsers.SAXParserFactory;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class JXEValidatingReaderTemplateTest
+{
+  private static final URI SIMPLE_NAMESPACE =
+    URI.create("urn:com.io7m.example:simple:1:0");
+
+  private JXEHardenedSAXParsers parsers;
+  private JXESchemaResolutionMappings schemas;
+  private Path tmpdir;
+
+  @BeforeEach
+  public void setUp()
+    throws Exception
+  {
+    this.tmpdir =
+      Files.createTempDirectory("jxe-tests-");
+    this.parsers =
+      new JXEHardenedSAXParsers(SAXParserFactory::newNSInstance);
+    this.schemas =
+      JXESchemaDefinitions.mappingsOf(
+        JXESchemaDefinition.of(
+          SIMPLE_NAMESPACE,
+          "/schema_simple_1_0.xsd",
+          JXEValidatingReaderTemplateTest.class.getResource("simple.xsd"))
+      );
+  }
+
+  private JXEValidatingReaderTemplate template()
+    throws Exception
+  {
+    return this.parsers.createValidatingReaderTemplate(
+      Optional.of(this.tmpdir),
+      JXEXInclude.XINCLUDE_ENABLED,
+      this.schemas
+    );
+  }
+
+  private void parse(
+    final JXEValidatingReaderTemplate template,
+    final String name)
+    throws Exception
+  {
+    final var reader = template.newReader();
+    reader.setErrorHandler(new FatalErrorHandler());
+
+    try (InputStream input =
+           JXEValidatingReaderTemplateTest.class.getResourceAsStream(name)) {
+      reader.parse(new InputSource(input));
+    }
+  }
+
+  @Test
+  public void testTemplateAccessors()
+    throws Exception
+  {
+    final var template = this.template();
+    Assertions.assertEquals(Optional.of(this.tmpdir), template.baseDirectory());
+    Assertions.assertEquals(JXEXInclude.XINCLUDE_ENABLED, template.xinclude());
+    Assertions.assertEquals(this.schemas, template.schemas());
+    Assertions.assertSame(
+      template.schema(),
+      this.parsers.schemaCache().schemaFor(this.schemas));
+  }
+
+  @Test
+  public void testTemplateReadersDistinct()
+    throws Exception
+  {
+    final var template = this.template();
+    Assertions.assertNotSame(template.newReader(), template.newReader());
+  }
+
+  @Test
+  public void testTemplateValid()
+    throws Exception
+  {
+    final var template = this.template();
+    this.parse(template, "simple_valid.xml");
+    this.parse(template, "simple_valid.xml");
+  }
+
+  @Test
+  public void testTemplateInvalid()
+    throws Exception
+  {
+    final var template = this.template();
+    Assertions.assertThrows(SAXException.class, () -> {
+      this.parse(template, "simple_invalid.xml");
+    });
+    this.parse(template, "simple_valid.xml");
+  }
+
+  @Test
+  public void testTemplateGrammarPoolShared()
+    throws Exception
+  {
+    final var template0 = this.template();
+    final var template1 = this.template();
+    Assertions.assertEquals(template0.grammarPool(), template1.grammarPool());
+
+    this.parse(template0, "simple_valid.xml");
+    this.parse(template1, "simple_valid.xml");
+
+    template0.grammarPool().ifPresent(pool -> {
+      Assertions.assertEquals(1, pool.size());
+    });
+  }
+
+  @Test
+  public void testTemplateGrammarPoolPreloaded()
+    throws Exception
+  {
+    final var template = this.template();
+    Assumptions.assumeTrue(template.grammarPool().isPresent());
+
+    final var pool = template.grammarPool().orElseThrow();
+    Assertions.assertTrue(pool.isLocked());
+    Assertions.assertEquals(1, pool.size());
+
+    this.parse(template, "simple_valid.xml");
+    Assertions.assertEquals(1, pool.size());
+  }
+
+  @Test
+  public void testTemplateGrammarPoolEvicted()
+    throws Exception
+  {
+    Assumptions.assumeTrue(this.template().grammarPool().isPresent());
+
+    final var boundedParsers =
+      new JXEHardenedSAXParsers(
+        JXEHardenedSAXParsersConfiguration.builder()
+          .setMaximumGrammarPools(1)
+          .build()
+      );
+    final var otherSchemas =
+      JXESchemaDefinitions.mappingsOf(
+        JXESchemaDefinition.of(
+          SIMPLE_NAMESPACE,
+          "/schema_simple_1_0_other.xsd",
+          JXEValidatingReaderTemplateTest.class.getResource("simple.xsd"))
+      );
+
+    final var template0 =
+      boundedParsers.createValidatingReaderTemplate(
+        Optional.of(this.tmpdir), JXEXInclude.XINCLUDE_ENABLED, this.schemas);
+    final var template1 =
+      boundedParsers.createValidatingReaderTemplate(
+        Optional.of(this.tmpdir), JXEXInclude.XINCLUDE_ENABLED, this.schemas);
+    Assertions.assertEquals(template0.grammarPool(), template1.grammarPool());
+
+    boundedParsers.createValidatingReaderTemplate(
+      Optional.of(this.tmpdir), JXEXInclude.XINCLUDE_ENABLED, otherSchemas);
+
+    final var template2 =
+      boundedParsers.createValidatingReaderTemplate(
+        Optional.of(this.tmpdir), JXEXInclude.XINCLUDE_ENABLED, this.schemas);
+    Assertions.assertNotEquals(template0.grammarPool(), template2.grammarPool());
+
+    this.parse(template0, "simple_valid.xml");
+    this.parse(template2, "simple_valid.xml");
+  }
+
+  @Test
+  public void testGrammarPoolMaximumInvalid()
+  {
+    Assertions.assertThrows(IllegalArgumentException.class, () -> {
+      JXEHardenedSAXParsersConfiguration.builder()
+        .setMaximumGrammarPools(0)
+        .build();
+    });
+  }
+
+  @Test
+  public void testTemplateGrammarPoolSupplied()
+    throws Exception
+  {
+    Assumptions.assumeTrue(this.template().grammarPool().isPresent());
+
+    final var pool =
+      JXEXercesGrammarPool.createLocked(this.schemas);
+    final var suppliedParsers =
+      new JXEHardenedSAXParsers(
+        JXEHardenedSAXParsersConfiguration.builder()
+          .setGrammarPool(pool)
+          .build()
+      );
+    final var template =
+      suppliedParsers.createValidatingReaderTemplate(
+        Optional.of(this.tmpdir),
+        JXEXInclude.XINCLUDE_ENABLED,
+        this.schemas
+      );
+
+    Assertions.assertEquals(Optional.of(pool), template.grammarPool());
+    Assertions.assertTrue(pool.isLocked());
+    Assertions.assertEquals(1, pool.size());
+    this.parse(template, "simple_valid.xml");
+    Assertions.assertEquals(1, pool.size());
+
+    Assertions.assertThrows(SAXException.class, () -> {
+      this.parse(template, "simple_invalid.xml");
+    });
+
+    pool.clear();
+    Assertions.assertEquals(0, pool.size());
+    this.parse(template, "simple_valid.xml");
+    Assertions.assertEquals(0, pool.size());
+  }
+
+  @Test
+  public void testTemplateGrammarPoolUnlockedRejected()
+  {
+    Assumptions.assumeTrue(
+      JXEXercesGrammarPool.isAvailable(
+        JXEValidatingReaderTemplateTest.class.getClassLoader()));
+
+    final var pool = JXEXercesGrammarPool.create();
+    Assertions.assertFalse(pool.isLocked());
+    Assertions.assertThrows(IllegalArgumentException.class, () -> {
+      JXEHardenedSAXParsersConfiguration.builder()
+        .setGrammarPool(pool)
+        .build();
+    });
+  }
+
+  @Test
+  public void testTemplateSymbolTableAbsent()
+    throws Exception
+  {
+    Assertions.assertEquals(Optional.empty(), this.template().symbolTable());
+  }
+
+  @Test
+  public void testTemplateSymbolTableSupplied()
+    throws Exception
+  {
+    Assumptions.assumeTrue(this.template().grammarPool().isPresent());
+
+    final var table =
+      JXEXercesSymbolTable.create();
+    final var suppliedParsers =
+      new JXEHardenedSAXParsers(
+        JXEHardenedSAXParsersConfiguration.builder()
+          .setSymbolTable(table)
+          .build()
+      );
+
+    final var template =
+      suppliedParsers.createValidatingReaderTemplate(
+        Optional.of(this.tmpdir),
+        JXEXInclude.XINCLUDE_ENABLED,
+        this.schemas
+      );
+    final var nonValidating =
+      suppliedParsers.createNonValidatingReaderTemplate(
+        Optional.of(this.tmpdir),
+        JXEXInclude.XINCLUDE_ENABLED
+      );
+
+    Assertions.assertEquals(Optional.of(table), template.symbolTable());
+    Assertions.assertEquals(Optional.of(table), nonValidating.symbolTable());
+
+    final var executor = Executors.newFixedThreadPool(4);
+    try {
+      final var tasks = new ArrayList<Callable<Void>>();
+      for (int index = 0; index < 32; ++index) {
+        tasks.add(() -> {
+          this.parse(template, "simple_valid.xml");
+          try (InputStream input =
+                 JXEValidatingReaderTemplateTest.class.getResourceAsStream(
+                   "simple_valid.xml")) {
+            nonValidating.newReader().parse(new InputSource(input));
+          }
+          return null;
+        });
+      }
+
+      for (final Future<Void> future : executor.invokeAll(tasks)) {
+        future.get();
+      }
+    } finally {
+      executor.shutdown();
+    }
+
+    Assertions.assertThrows(SAXException.class, () -> {
+      this.parse(template, "simple_invalid.xml");
+    });
+  }
+
+  @Test
+  public void testTemplateSymbolTableBounded()
+    throws Exception
+  {
+    Assumptions.assumeTrue(this.template().grammarPool().isPresent());
+
+    final var table =
+      JXEXercesSymbolTable.create(
+        JXEValidatingReaderTemplateTest.class.getClassLoader(), 16, 64);
+    final var suppliedParsers =
+      new JXEHardenedSAXParsers(
+        JXEHardenedSAXParsersConfiguration.builder()
+          .setSymbolTable(table)
+          .build()
+      );
+    final var nonValidating =
+      suppliedParsers.createNonValidatingReaderTemplate(
+        Optional.of(this.tmpdir),
+        JXEXInclude.XINCLUDE_ENABLED
+      );
+
+    Assertions.assertEquals(64, table.maximumSize());
+
+    final var pool = nonValidating.createPool(1);
+    for (int document = 0; document < 16; ++document) {
+      final var text = new StringBuilder(4096);
+      text.append("<root>");
+      for (int index = 0; index < 100; ++index) {
+        text.append("<e%d_%d/>".formatted(document, index));
+      }
+      text.append("</root>");
+
+      try (var borrowed = pool.borrow()) {
+        Assertions.assertTrue(
+          table.size() <= table.maximumSize(),
+          "Table size %d".formatted(table.size()));
+        borrowed.reader()
+          .parse(new InputSource(new StringReader(text.toString())));
+        Assertions.assertTrue(table.size() >= 100);
+      }
+    }
+  }
+
+  @Test
+  public void testSymbolTableMaximumInvalid()
+  {
+    Assertions.assertThrows(IllegalArgumentException.class, () -> {
+      JXEXercesSymbolTable.create(
+        JXEValidatingReaderTemplateTest.class.getClassLoader(), 16, 0);
+    });
+  }
+
+  @Test
+  public void testSymbolTableCapacityInvalid()
+  {
+    Assertions.assertThrows(IllegalArgumentException.class, () -> {
+      JXEXercesSymbolTable.create(
+        JXEValidatingReaderTemplateTest.class.getClassLoader(), 0);
+    });
+  }
+
+  @Test
+  public void testTemplateConcurrent()
+    throws Exception
+  {
+    final var template = this.template();
+    final var executor = Executors.newFixedThreadPool(4);
+
+    try {
+      final var tasks = new ArrayList<Callable<Void>>();
+      for (int index = 0; index < 32; ++index) {
+        tasks.add(() -> {
+          this.parse(template, "simple_valid.xml");
+          return null;
+        });
+      }
+
+      for (final Future<Void> future : executor.invokeAll(tasks)) {
+        future.get();
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  private static final class FatalErrorHandler implements ErrorHandler
+  {
+    FatalErrorHandler()
+    {
+
+    }
+
+    @Override
+    public void warning(final SAXParseException e)
+      throws SAXException
+    {
+      throw e;
+    }
+
+    @Override
+    public void error(final SAXParseException e)
+      throws SAXException
+    {
+      throw e;
+    }
+
+    @Override
+    public void fatalError(final SAXParseException e)
+      throws SAXException
+    {
+      throw e;
+    }
+  }
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jxe.tests.core;
+
+import com.io7m.jxe.core.JXESchemaDefinition;
+import com.io7m.jxe.core.JXESchemaDefinitions;
+import com.io7m.jxe.core.JXEValidators;
+import com.io7m.jxe.core.JXEValidatorsConfiguration;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.xml.sax.SAXException;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stax.StAXSource;
+import javax.xml.transform.stream.StreamSource;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class JXEValidatorsTest
+{
+  private static final URI SIMPLE_NAMESPACE =
+    URI.create("urn:com.io7m.example:simple:1:0");
+
+  private Path tmpdir;
+  private JXEValidators validators;
+
+  @BeforeEach
+  public void setUp()
+    throws Exception
+  {
+    this.tmpdir =
+      Files.createTempDirectory("jxe-tests-");
+    this.validators =
+      JXEValidators.create(
+        JXEValidatorsConfiguration.builder()
+          .setBaseDirectory(this.tmpdir)
+          .setMaximumPoolSize(2)
+          .setSchemas(
+            JXESchemaDefinitions.mappingsOf(
+              JXESchemaDefinition.of(
+                SIMPLE_NAMESPACE,
+                "/schema_simple_1_0.xsd",
+                JXEValidatorsTest.class.getResource("simple.xsd"))
+            ))
+          .build()
+      );
+  }
+
+  private static InputStream resource(
+    final String name)
+  {
+    return JXEValidatorsTest.class.getResourceAsStream(name);
+  }
+
+  @Test
+  public void testStreamValid()
+    throws Exception
+  {
+    try (var stream = resource("simple_valid.xml")) {
+      this.validators.validate(new StreamSource(stream));
+    }
+  }
+
+  @Test
+  public void testStreamInvalid()
+    throws Exception
+  {
+    try (var stream = resource("simple_invalid.xml")) {
+      Assertions.assertFalse(this.validators.isValid(new StreamSource(stream)));
+    }
+    try (var stream = resource("simple_valid.xml")) {
+      Assertions.assertTrue(this.validators.isValid(new StreamSource(stream)));
+    }
+  }
+
+  @Test
+  public void testStreamIllFormed()
+    throws Exception
+  {
+    try (var stream = resource("simple_ill_formed.xml")) {
+      Assertions.assertThrows(SAXException.class, () -> {
+        this.validators.validate(new StreamSource(stream));
+      });
+    }
+  }
+
+  @Test
+  public void testStreamExternalEntityRefused()
+    throws Exception
+  {
+    try (var stream = resource("simple_external_entity.xml")) {
+      Assertions.assertThrows(Exception.class, () -> {
+        this.validators.validate(new StreamSource(stream));
+      });
+    }
+  }
+
+  @Test
+  public void testDOM()
+    throws Exception
+  {
+    final var documents = DocumentBuilderFactory.newInstance();
+    documents.setNamespaceAware(true);
+
+    try (var stream = resource("simple_valid.xml")) {
+      final var document = documents.newDocumentBuilder().parse(stream);
+      Assertions.assertTrue(this.validators.isValid(new DOMSource(document)));
+    }
+    try (var stream = resource("simple_invalid.xml")) {
+      final var document = documents.newDocumentBuilder().parse(stream);
+      Assertions.assertFalse(this.validators.isValid(new DOMSource(document)));
+    }
+  }
+
+  @Test
+  public void testStAX()
+    throws Exception
+  {
+    final var inputs = XMLInputFactory.newDefaultFactory();
+    inputs.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
+
+    try (var stream = resource("simple_valid.xml")) {
+      final var reader = inputs.createXMLStreamReader(stream);
+      Assertions.assertTrue(this.validators.isValid(new StAXSource(reader)));
+    }
+    try (var stream = resource("simple_invalid.xml")) {
+      final var reader = inputs.createXMLStreamReader(stream);
+      Assertions.assertFalse(this.validators.isValid(new StAXSource(reader)));
+    }
+  }
+
+  @Test
+  public void testConcurrent()
+    throws Exception
+  {
+    final var executor = Executors.newFixedThreadPool(4);
+
+    try {
+      final var tasks = new ArrayList<Callable<Boolean>>();
+      for (int index = 0; index < 32; ++index) {
+        final var name =
+          (index % 2 == 0) ? "simple_valid.xml" : "simple_invalid.xml";
+        tasks.add(() -> {
+          try (var stream = resource(name)) {
+            return Boolean.valueOf(
+              this.validators.isValid(new StreamSource(stream)));
+          }
+        });
+      }
+
+      final var futures = executor.invokeAll(tasks);
+      for (int index = 0; index < futures.size(); ++index) {
+        final Future<Boolean> future = futures.get(index);
+        Assertions.assertEquals(
+          Boolean.valueOf(index % 2 == 0), future.get());
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+}
@@ -0,0 +1,299 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jxe.tests.core;
+
+import com.io7m.jxe.core.JXEHardenedSAXParsers;
+import com.io7m.jxe.core.JXESchemaDefinition;
+import com.io7m.jxe.core.JXESchemaDefinitions;
+import com.io7m.jxe.core.JXEXInclude;
+import com.io7m.jxe.core.JXEXMLReaderPool;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.xml.sax.ErrorHandler;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.SAXParseException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
+
+import javax.xml.parsers.SAXParserFactory;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class JXEXMLReaderPoolTest
+{
+  private static final URI SIMPLE_NAMESPACE =
+    URI.create("urn:com.io7m.example:simple:1:0");
+
+  private static final String XINCLUDE =
+    "http://apache.org/xml/features/xinclude";
+
+  private JXEHardenedSAXParsers parsers;
+  private Path tmpdir;
+
+  @BeforeEach
+  public void setUp()
+    throws Exception
+  {
+    this.tmpdir =
+      Files.createTempDirectory("jxe-tests-");
+    this.parsers =
+      new JXEHardenedSAXParsers(SAXParserFactory::newNSInstance);
+  }
+
+  private JXEXMLReaderPool validatingPool(
+    final int size)
+    throws Exception
+  {
+    return this.parsers.createValidatingReaderTemplate(
+      Optional.of(this.tmpdir),
+      JXEXInclude.XINCLUDE_ENABLED,
+      JXESchemaDefinitions.mappingsOf(
+        JXESchemaDefinition.of(
+          SIMPLE_NAMESPACE,
+          "/schema_simple_1_0.xsd",
+          JXEXMLReaderPoolTest.class.getResource("simple.xsd"))
+      )
+    ).createPool(size);
+  }
+
+  private static void parse(
+    final XMLReader reader,
+    final String name)
+    throws Exception
+  {
+    reader.setErrorHandler(new FatalErrorHandler());
+    try (InputStream input =
+           JXEXMLReaderPoolTest.class.getResourceAsStream(name)) {
+      reader.parse(new InputSource(input));
+    }
+  }
+
+  @Test
+  public void testPoolReuse()
+    throws Exception
+  {
+    final var pool = this.validatingPool(2);
+
+    final XMLReader first;
+    try (var borrowed = pool.borrow()) {
+      first = borrowed.reader();
+      parse(first, "simple_valid.xml");
+      Assertions.assertEquals(1, pool.statistics().borrowed());
+    }
+
+    try (var borrowed = pool.borrow()) {
+      Assertions.assertSame(first, borrowed.reader());
+      parse(borrowed.reader(), "simple_valid.xml");
+    }
+
+    final var stats = pool.statistics();
+    Assertions.assertEquals(1L, stats.created());
+    Assertions.assertEquals(1L, stats.reused());
+    Assertions.assertEquals(0L, stats.discarded());
+    Assertions.assertEquals(0, stats.borrowed());
+    Assertions.assertEquals(1, stats.idle());
+    Assertions.assertEquals(0.0, stats.utilization());
+  }
+
+  @Test
+  public void testPoolReuseAfterFailure()
+    throws Exception
+  {
+    final var pool = this.validatingPool(1);
+
+    try (var borrowed = pool.borrow()) {
+      Assertions.assertThrows(SAXException.class, () -> {
+        parse(borrowed.reader(), "simple_invalid.xml");
+      });
+    }
+
+    try (var borrowed = pool.borrow()) {
+      parse(borrowed.reader(), "simple_valid.xml");
+    }
+
+    try (var borrowed = pool.borrow()) {
+      Assertions.assertThrows(SAXException.class, () -> {
+        parse(borrowed.reader(), "simple_invalid.xml");
+      });
+    }
+  }
+
+  @Test
+  public void testPoolHandlersCleared()
+    throws Exception
+  {
+    final var pool = this.validatingPool(1);
+
+    try (var borrowed = pool.borrow()) {
+      borrowed.reader().setContentHandler(new DefaultHandler());
+      borrowed.reader().setDTDHandler(new DefaultHandler());
+    }
+
+    try (var borrowed = pool.borrow()) {
+      Assertions.assertNull(borrowed.reader().getContentHandler());
+      Assertions.assertNull(borrowed.reader().getDTDHandler());
+      Assertions.assertNotNull(borrowed.reader().getEntityResolver());
+    }
+  }
+
+  @Test
+  public void testPoolTamperedReaderNotReused()
+    throws Exception
+  {
+    final var pool = this.validatingPool(1);
+
+    try (var borrowed = pool.borrow()) {
+      borrowed.reader().setFeature(XINCLUDE, false);
+      borrowed.reader().setEntityResolver(null);
+    }
+
+    try (var borrowed = pool.borrow()) {
+      Assertions.assertTrue(borrowed.reader().getFeature(XINCLUDE));
+      Assertions.assertNotNull(borrowed.reader().getEntityResolver());
+      parse(borrowed.reader(), "simple_valid.xml");
+    }
+  }
+
+  @Test
+  public void testPoolBounded()
+    throws Exception
+  {
+    final var pool = this.validatingPool(1);
+
+    try (var borrowed = pool.borrow()) {
+      Assertions.assertEquals(
+        Optional.empty(),
+        pool.borrow(Duration.ofMillis(10L)));
+      Assertions.assertEquals(1.0, pool.statistics().utilization());
+    }
+
+    final var again = pool.borrow(Duration.ofMillis(10L));
+    Assertions.assertTrue(again.isPresent());
+    again.get().close();
+  }
+
+  @Test
+  public void testPoolClosedReader()
+    throws Exception
+  {
+    final var pool = this.validatingPool(1);
+    final var borrowed = pool.borrow();
+    borrowed.close();
+    borrowed.close();
+
+    Assertions.assertThrows(IllegalStateException.class, borrowed::reader);
+    Assertions.assertEquals(0, pool.statistics().borrowed());
+    Assertions.assertEquals(1, pool.statistics().idle());
+  }
+
+  @Test
+  public void testPoolInvalidSize()
+    throws Exception
+  {
+    Assertions.assertThrows(IllegalArgumentException.class, () -> {
+      this.validatingPool(0);
+    });
+  }
+
+  @Test
+  public void testPoolNonValidating()
+    throws Exception
+  {
+    final var pool =
+      this.parsers.createNonValidatingReaderTemplate(
+        Optional.of(this.tmpdir),
+        JXEXInclude.XINCLUDE_ENABLED
+      ).createPool(1);
+
+    for (int index = 0; index < 3; ++index) {
+      try (var borrowed = pool.borrow()) {
+        parse(borrowed.reader(), "simple.xml");
+      }
+    }
+
+    Assertions.assertEquals(1L, pool.statistics().created());
+  }
+
+  @Test
+  public void testPoolConcurrent()
+    throws Exception
+  {
+    final var pool = this.validatingPool(2);
+    final var executor = Executors.newFixedThreadPool(4);
+
+    try {
+      final var tasks = new ArrayList<Callable<Void>>();
+      for (int index = 0; index < 32; ++index) {
+        tasks.add(() -> {
+          try (var borrowed = pool.borrow()) {
+            parse(borrowed.reader(), "simple_valid.xml");
+          }
+          return null;
+        });
+      }
+
+      for (final Future<Void> future : executor.invokeAll(tasks)) {
+        future.get();
+      }
+    } finally {
+      executor.shutdown();
+    }
+
+    final var stats = pool.statistics();
+    Assertions.assertTrue(stats.created() <= 2L);
+    Assertions.assertEquals(0, stats.borrowed());
+  }
+
+  private static final class FatalErrorHandler implements ErrorHandler
+  {
+    FatalErrorHandler()
+    {
+
+    }
+
+    @Override
+    public void warning(final SAXParseException e)
+      throws SAXException
+    {
+      throw e;
+    }
+
+    @Override
+    public void error(final SAXParseException e)
+      throws SAXException
+    {
+      throw e;
+    }
+
+    @Override
+    public void fatalError(final SAXParseException e)
+      throws SAXException
+    {
+      throw e;
+    }
+  }
+}
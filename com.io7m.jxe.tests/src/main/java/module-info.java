@@ -29,6 +29,7 @@ open module com.io7m.jxe.tests
   requires org.junit.platform.launcher;
 
   requires nl.jqno.equalsverifier;
+  requires jdk.jfr;
   requires org.slf4j;
 
   exports com.io7m.jxe.tests.core;